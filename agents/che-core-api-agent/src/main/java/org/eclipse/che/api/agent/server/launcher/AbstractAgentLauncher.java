@@ -13,6 +13,7 @@ package org.eclipse.che.api.agent.server.launcher;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import org.eclipse.che.api.agent.server.launcher.ReadinessProbeScheduler.ReadinessProbe;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ServerException;
@@ -30,9 +31,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
@@ -56,61 +61,117 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
                                                                     .setDaemon(true)
                                                                     .build());
 
-    private final AgentLaunchingChecker agentLaunchingChecker;
-    private final long                  agentPingDelayMs;
-    private final long                  agentMaxStartTimeMs;
-
+    private final AgentLaunchingChecker   agentLaunchingChecker;
+    private final ReadinessProbeScheduler probeScheduler;
+    private final long                    agentPingDelayMs;
+    private final long                    agentMaxPingDelayMs;
+    private final long                    agentMaxStartTimeMs;
+
+    /**
+     * Creates launcher which checks the agent state with the delay growing from
+     * {@code agentPingDelayMs} to {@code agentMaxPingDelayMs}, the agent is also
+     * checked when it writes to its output.
+     */
     public AbstractAgentLauncher(long agentMaxStartTimeMs,
                                  long agentPingDelayMs,
-                                 AgentLaunchingChecker agentLaunchingChecker) {
+                                 long agentMaxPingDelayMs,
+                                 AgentLaunchingChecker agentLaunchingChecker,
+                                 ReadinessProbeScheduler probeScheduler) {
         this.agentPingDelayMs = agentPingDelayMs;
+        this.agentMaxPingDelayMs = agentMaxPingDelayMs;
         this.agentMaxStartTimeMs = agentMaxStartTimeMs;
         this.agentLaunchingChecker = agentLaunchingChecker;
+        this.probeScheduler = probeScheduler;
     }
 
     @Override
     public void launch(Instance machine, Agent agent) throws ServerException {
+        CompletableFuture<Void> launched = launchAsync(machine, agent);
+        try {
+            launched.get();
+        } catch (InterruptedException e) {
+            launched.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new ServerException(format("Launching agent %s is interrupted", agent.getName()));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            }
+            throw new ServerException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Starts the agent process and returns without waiting for the agent, the agent
+     * state is checked by the probe scheduler. Cancelling the returned future stops the checks.
+     */
+    @Override
+    public CompletableFuture<Void> launchAsync(Instance machine, Agent agent) {
+        CompletableFuture<Void> launched = new CompletableFuture<>();
         if (isNullOrEmpty(agent.getScript())) {
-            return;
+            launched.complete(null);
+            return launched;
         }
         ListLineConsumer agentLogger = new ListLineConsumer();
+        AtomicReference<ReadinessProbe> probeRef = new AtomicReference<>();
         LineConsumer lineConsumer = new AbstractLineConsumer() {
             @Override
             public void writeLine(String line) throws IOException {
                 machine.getLogger().writeLine(line);
                 agentLogger.writeLine(line);
+                // output of the agent often means it has started or opened its port
+                ReadinessProbe probe = probeRef.get();
+                if (probe != null) {
+                    probe.probeNow();
+                }
             }
         };
+        final InstanceProcess process;
         try {
-            final InstanceProcess process = start(machine, agent, lineConsumer);
-            LOG.debug("Waiting for agent {} is launched. Workspace ID:{}", agent.getId(), machine.getWorkspaceId());
-
-            final long pingStartTimestamp = System.currentTimeMillis();
-            while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
-                if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
-                    return;
-                } else {
-                    Thread.sleep(agentPingDelayMs);
-                }
+            process = start(machine, agent, lineConsumer);
+        } catch (ServerException e) {
+            if (e instanceof MachineException) {
+                logAsErrorAgentStartLogs(agent.getName(), agentLogger.getText());
+                e = new ServerException(e.getServiceError());
             }
-
-            process.kill();
-        } catch (MachineException e) {
-            logAsErrorAgentStartLogs(agent.getName(), agentLogger.getText());
-            throw new ServerException(e.getServiceError());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new ServerException(format("Launching agent %s is interrupted", agent.getName()));
-        } finally {
+            close(lineConsumer, agentLogger);
+            launched.completeExceptionally(e);
+            return launched;
+        }
+        LOG.debug("Waiting for agent {} is launched. Workspace ID:{}", agent.getId(), machine.getWorkspaceId());
+
+        ReadinessProbe probe = probeScheduler.schedule(() -> agentLaunchingChecker.isLaunched(agent, process, machine),
+                                                       agentPingDelayMs,
+                                                       agentMaxPingDelayMs,
+                                                       agentMaxStartTimeMs);
+        probeRef.set(probe);
+        // the probe may be completed by the timer thread, the process is killed in the launcher pool
+        probe.getFuture().whenCompleteAsync((ignored, error) -> {
             try {
-                lineConsumer.close();
-            } catch (IOException ignored) {
+                if (error == null) {
+                    launched.complete(null);
+                } else if (error instanceof TimeoutException) {
+                    // agent is not launched in time, kill its process
+                    process.kill();
+                    logAsErrorAgentStartLogs(agent.getName(), agentLogger.getText());
+                    launched.completeExceptionally(new ServerException(format("Fail launching agent %s. Workspace ID:%s",
+                                                                              agent.getName(),
+                                                                              machine.getWorkspaceId())));
+                } else if (error instanceof MachineException) {
+                    throw (MachineException)error;
+                } else {
+                    launched.completeExceptionally(new ServerException(error.getMessage(), error));
+                }
+            } catch (MachineException e) {
+                logAsErrorAgentStartLogs(agent.getName(), agentLogger.getText());
+                launched.completeExceptionally(new ServerException(e.getServiceError()));
+            } finally {
+                close(lineConsumer, agentLogger);
             }
-            agentLogger.close();
-        }
-
-        logAsErrorAgentStartLogs(agent.getName(), agentLogger.getText());
-        throw new ServerException(format("Fail launching agent %s. Workspace ID:%s", agent.getName(), machine.getWorkspaceId()));
+        }, executor);
+        launched.whenComplete((ignored, error) -> probe.cancel());
+        return launched;
     }
 
     protected InstanceProcess start(Instance machine, Agent agent, LineConsumer lineConsumer) throws ServerException {
@@ -139,6 +200,14 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
         return process;
     }
 
+    private static void close(LineConsumer lineConsumer, ListLineConsumer agentLogger) {
+        try {
+            lineConsumer.close();
+        } catch (IOException ignored) {
+        }
+        agentLogger.close();
+    }
+
     @VisibleForTesting
     void logAsErrorAgentStartLogs(String agentName, String logs) {
         if (!logs.isEmpty()) {
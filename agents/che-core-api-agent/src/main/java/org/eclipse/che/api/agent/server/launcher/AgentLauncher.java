@@ -14,6 +14,8 @@ import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.machine.server.spi.Instance;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Launches {@link Agent#getScript()} on the {@link Instance}.
  *
@@ -48,4 +50,26 @@ public interface AgentLauncher {
      *      if script execution failed
      */
     void launch(Instance machine, Agent agent) throws ServerException;
+
+    /**
+     * Executes agents scripts over target machine without waiting for the agent to be launched,
+     * if launcher supports that. By default the agent is launched in the calling thread.
+     *
+     * @param machine
+     *      the machine instance
+     * @param agent
+     *      the agent
+     * @return the future which is completed once the agent is launched or failed with
+     *      {@link ServerException} if launch failed, cancelling the future stops launching
+     */
+    default CompletableFuture<Void> launchAsync(Instance machine, Agent agent) {
+        CompletableFuture<Void> launched = new CompletableFuture<>();
+        try {
+            launch(machine, agent);
+            launched.complete(null);
+        } catch (ServerException | RuntimeException e) {
+            launched.completeExceptionally(e);
+        }
+        return launched;
+    }
 }
@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Runs readiness probes of agents, so threads waiting for agents don't poll them
+ * themselves. Probes are timed by a single scheduler thread while the checks,
+ * which usually block on network calls, are run in a separate bounded pool.
+ * The delay between probes grows exponentially from the minimal to the maximal
+ * delay and is randomized, so probes of workspaces started at the same time
+ * are spread over time.
+ *
+ * @see ReadinessProbe
+ */
+@Singleton
+public class ReadinessProbeScheduler {
+    private static final double BACKOFF_MULTIPLIER = 2;
+    private static final double JITTER             = 0.2;
+    private static final int    CHECK_THREADS      = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private final ScheduledExecutorService timer;
+    private final ExecutorService          checkExecutor;
+
+    @Inject
+    public ReadinessProbeScheduler() {
+        this(Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("ReadinessProbeTimer-%d")
+                                                                                  .setUncaughtExceptionHandler(
+                                                                                          LoggingUncaughtExceptionHandler.getInstance())
+                                                                                  .setDaemon(true)
+                                                                                  .build()),
+             newCheckExecutor());
+    }
+
+    ReadinessProbeScheduler(ScheduledExecutorService timer, ExecutorService checkExecutor) {
+        this.timer = timer;
+        this.checkExecutor = checkExecutor;
+    }
+
+    /**
+     * Starts probing immediately.
+     *
+     * @param check
+     *         returns true when the agent is ready, an exception thrown by the check fails the probe
+     * @param minDelayMs
+     *         delay after the first unsuccessful check, probes are never run more often than that
+     * @param maxDelayMs
+     *         the delay between checks is not increased over this value
+     * @param timeoutMs
+     *         time after which the probe fails with {@link TimeoutException}
+     * @return started probe
+     */
+    public ReadinessProbe schedule(Callable<Boolean> check, long minDelayMs, long maxDelayMs, long timeoutMs) {
+        checkArgument(minDelayMs >= 0, "Delay must not be negative");
+        ReadinessProbe probe = new ReadinessProbe(ThreadLocalPropagateContext.wrap(check),
+                                                  minDelayMs,
+                                                  Math.max(minDelayMs, maxDelayMs));
+        try {
+            probe.start(timeoutMs);
+        } catch (RejectedExecutionException e) {
+            probe.fail(e);
+        }
+        return probe;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+        checkExecutor.shutdownNow();
+    }
+
+    /** Checks wait in the queue when all threads are busy, idle threads are stopped. */
+    private static ExecutorService newCheckExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(CHECK_THREADS,
+                                                             CHECK_THREADS,
+                                                             60,
+                                                             SECONDS,
+                                                             new LinkedBlockingQueue<>(),
+                                                             new ThreadFactoryBuilder().setNameFormat("ReadinessProbe-%d")
+                                                                                       .setUncaughtExceptionHandler(
+                                                                                               LoggingUncaughtExceptionHandler.getInstance())
+                                                                                       .setDaemon(true)
+                                                                                       .build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Probe of a single agent. Its future is completed when the check succeeds
+     * and failed when the check throws an exception or the probe times out.
+     */
+    public class ReadinessProbe {
+        private final Callable<Boolean>       check;
+        private final CompletableFuture<Void> ready;
+        private final long                    minDelayNanos;
+        private final long                    maxDelayNanos;
+
+        private long               delayNanos;
+        private long               lastCheckNanos;
+        private long               nextCheckNanos;
+        private boolean            checking;
+        private boolean            checkRequested;
+        private ScheduledFuture<?> next;
+        private ScheduledFuture<?> timeout;
+
+        private ReadinessProbe(Callable<Boolean> check, long minDelayMs, long maxDelayMs) {
+            this.check = check;
+            this.minDelayNanos = MILLISECONDS.toNanos(minDelayMs);
+            this.maxDelayNanos = MILLISECONDS.toNanos(maxDelayMs);
+            this.delayNanos = minDelayNanos;
+            this.lastCheckNanos = System.nanoTime() - minDelayNanos;
+            this.ready = new CompletableFuture<>();
+            ready.whenComplete((ignored, error) -> cancelTasks());
+        }
+
+        /** Returns the future which is completed once the agent is ready. */
+        public CompletableFuture<Void> getFuture() {
+            return ready;
+        }
+
+        /**
+         * Checks the agent as soon as the minimal delay since the previous check passes,
+         * is called when the agent signals it may be ready, e.g. writes to its output.
+         */
+        public synchronized void probeNow() {
+            if (ready.isDone()) {
+                return;
+            }
+            if (checking) {
+                checkRequested = true;
+                return;
+            }
+            long delay = Math.max(0, lastCheckNanos + minDelayNanos - System.nanoTime());
+            if (next == null || nextCheckNanos - System.nanoTime() > delay) {
+                if (next != null) {
+                    next.cancel(false);
+                }
+                scheduleAfter(delay);
+            }
+        }
+
+        /** Stops probing, the future of the probe is cancelled. */
+        public void cancel() {
+            ready.cancel(false);
+        }
+
+        private synchronized void start(long timeoutMs) {
+            timeout = timer.schedule(() -> fail(new TimeoutException(format("Not ready in %d ms", timeoutMs))),
+                                        timeoutMs,
+                                        MILLISECONDS);
+            scheduleAfter(0);
+        }
+
+        private synchronized void scheduleAfter(long delayNanos) {
+            if (ready.isDone()) {
+                return;
+            }
+            nextCheckNanos = System.nanoTime() + delayNanos;
+            next = timer.schedule(this::submitCheck, delayNanos, NANOSECONDS);
+        }
+
+        /** Is run by the timer, hands the check over to the check pool. */
+        private synchronized void submitCheck() {
+            if (ready.isDone() || checking) {
+                return;
+            }
+            checking = true;
+            next = null;
+            try {
+                checkExecutor.execute(this::check);
+            } catch (RejectedExecutionException e) {
+                checking = false;
+                fail(e);
+            }
+        }
+
+        private void check() {
+            if (ready.isDone()) {
+                // the probe is cancelled or timed out while the check was waiting in the queue
+                return;
+            }
+            boolean isReady = false;
+            Exception error = null;
+            try {
+                isReady = check.call();
+            } catch (Exception e) {
+                error = e;
+            }
+
+            synchronized (this) {
+                checking = false;
+                lastCheckNanos = System.nanoTime();
+                if (error != null) {
+                    fail(error);
+                    return;
+                }
+                if (isReady) {
+                    ready.complete(null);
+                    return;
+                }
+                try {
+                    if (checkRequested) {
+                        checkRequested = false;
+                        scheduleAfter(minDelayNanos);
+                    } else {
+                        scheduleAfter(nextDelay());
+                    }
+                } catch (RejectedExecutionException e) {
+                    fail(e);
+                }
+            }
+        }
+
+        private long nextDelay() {
+            long delay = delayNanos;
+            if (maxDelayNanos > minDelayNanos) {
+                delayNanos = (long)Math.min(maxDelayNanos, delayNanos * BACKOFF_MULTIPLIER);
+                delay = Math.min(maxDelayNanos, delay + (long)(delay * JITTER * ThreadLocalRandom.current().nextDouble()));
+            }
+            return delay;
+        }
+
+        private void fail(Throwable error) {
+            ready.completeExceptionally(error);
+        }
+
+        private synchronized void cancelTasks() {
+            if (next != null) {
+                next.cancel(false);
+            }
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.eclipse.che.api.machine.server.spi.InstanceProcess;
 import org.mockito.Mock;
 import org.mockito.stubbing.Answer;
 import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
@@ -55,11 +56,13 @@ public class AbstractAgentLauncherTest {
     @Mock
     private AgentLaunchingChecker agentChecker;
 
-    private AbstractAgentLauncher launcher;
+    private ReadinessProbeScheduler probeScheduler;
+    private AbstractAgentLauncher   launcher;
 
     @BeforeMethod
     public void setUp() throws Exception {
-        launcher = spy(new TestAgentLauncher(500, 100, agentChecker));
+        probeScheduler = new ReadinessProbeScheduler();
+        launcher = spy(new TestAgentLauncher(500, 100, agentChecker, probeScheduler));
 
         when(agent.getScript()).thenReturn("script content");
         doReturn(process).when(launcher).start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
@@ -68,6 +71,11 @@ public class AbstractAgentLauncherTest {
                                      any(Instance.class))).thenReturn(true);
     }
 
+    @AfterMethod
+    public void tearDown() throws Exception {
+        probeScheduler.shutdown();
+    }
+
     @Test
     public void shouldBeAbleToCheckAgentState() throws Exception {
         // when
@@ -132,7 +140,7 @@ public class AbstractAgentLauncherTest {
     @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "Fail launching agent .*. Workspace ID:.*")
     public void shouldNotCheckIfAgentIsLaunchedMoreThanAgentMaxStartTime() throws Exception {
         // given
-        launcher = spy(new TestAgentLauncher(200, 100, agentChecker));
+        launcher = spy(new TestAgentLauncher(200, 100, agentChecker, probeScheduler));
         doReturn(process).when(launcher).start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
         when(agentChecker.isLaunched(any(Agent.class),
                                      any(InstanceProcess.class),
@@ -155,7 +163,7 @@ public class AbstractAgentLauncherTest {
     @Test
     public void shouldNotCheckMoreFrequentThanAgentCheckDelay() throws Exception {
         // given
-        launcher = spy(new TestAgentLauncher(200, 10, agentChecker));
+        launcher = spy(new TestAgentLauncher(200, 10, agentChecker, probeScheduler));
         doReturn(process).when(launcher).start(any(Instance.class), any(Agent.class), any(LineConsumer.class));
         // record time of each check of agent state
         ArrayList<Long> checkTimestamps = new ArrayList<>(5);
@@ -199,14 +207,15 @@ public class AbstractAgentLauncherTest {
 
     @Test
     public void shouldSetBackInterruptedFlagIfThreadWasInterrupted() throws Exception {
+        Thread launchingThread = Thread.currentThread();
         try {
             // imitate interruption of launching thread
             when(agentChecker.isLaunched(any(Agent.class),
                                          any(InstanceProcess.class),
                                          any(Instance.class))).thenAnswer(invocationOnMock -> {
-                Thread.currentThread().interrupt();
+                launchingThread.interrupt();
                 return false;
-            });
+            }).thenReturn(false);
 
             // when
             launcher.launch(machine, agent);
@@ -221,13 +230,14 @@ public class AbstractAgentLauncherTest {
 
     @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "Launching agent .* is interrupted")
     public void shouldThrowServerExceptionIfAgentCheckWasInterrupted() throws Exception {
+        Thread launchingThread = Thread.currentThread();
         try {
             when(agentChecker.isLaunched(any(Agent.class),
                                          any(InstanceProcess.class),
                                          any(Instance.class))).thenAnswer(invocationOnMock -> {
-                Thread.currentThread().interrupt();
+                launchingThread.interrupt();
                 return false;
-            });
+            }).thenReturn(false);
 
             // when
             launcher.launch(machine, agent);
@@ -256,7 +266,7 @@ public class AbstractAgentLauncherTest {
     @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "Fail launching agent .*\\. Workspace ID:.*")
     public void shouldLogAgentStartLogsIfTimeoutReached() throws Exception {
         // given
-        launcher = spy(new TestAgentLauncher(-1, 100, agentChecker));
+        launcher = spy(new TestAgentLauncher(-1, 100, agentChecker, probeScheduler));
         when(agentChecker.isLaunched(any(Agent.class),
                                      any(InstanceProcess.class),
                                      any(Instance.class))).thenReturn(false);
@@ -286,7 +296,7 @@ public class AbstractAgentLauncherTest {
     @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "An error on process kill")
     public void shouldLogAgentStartLogsIfMachineExceptionOccursAfterAgentStartTimeoutHadReached() throws Exception {
         // given
-        launcher = spy(new TestAgentLauncher(-1, 100, agentChecker));
+        launcher = spy(new TestAgentLauncher(-1, 100, agentChecker, probeScheduler));
         when(agentChecker.isLaunched(any(Agent.class),
                                      any(InstanceProcess.class),
                                      any(Instance.class))).thenReturn(false);
@@ -304,8 +314,9 @@ public class AbstractAgentLauncherTest {
     private static class TestAgentLauncher extends AbstractAgentLauncher {
         public TestAgentLauncher(long agentMaxStartTimeMs,
                                  long agentPingDelayMs,
-                                 AgentLaunchingChecker agentLaunchingChecker) {
-            super(agentMaxStartTimeMs, agentPingDelayMs, agentLaunchingChecker);
+                                 AgentLaunchingChecker agentLaunchingChecker,
+                                 ReadinessProbeScheduler probeScheduler) {
+            super(agentMaxStartTimeMs, agentPingDelayMs, agentPingDelayMs, agentLaunchingChecker, probeScheduler);
         }
 
         @Override
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.agent.server.launcher;
+
+import org.eclipse.che.api.agent.server.launcher.ReadinessProbeScheduler.ReadinessProbe;
+import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests {@link ReadinessProbeScheduler}.
+ */
+public class ReadinessProbeSchedulerTest {
+    private ReadinessProbeScheduler scheduler;
+
+    @BeforeMethod
+    public void setUp() {
+        scheduler = new ReadinessProbeScheduler(Executors.newSingleThreadScheduledExecutor(), Executors.newFixedThreadPool(2));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void completesProbeOnceCheckSucceeds() throws Exception {
+        AtomicInteger checks = new AtomicInteger();
+
+        ReadinessProbe probe = scheduler.schedule(() -> checks.incrementAndGet() == 3, 10, 10, 5_000);
+
+        probe.getFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(checks.get(), 3);
+    }
+
+    @Test
+    public void failsProbeWhenAgentIsNotReadyInTime() throws Exception {
+        ReadinessProbe probe = scheduler.schedule(() -> false, 10, 10, 100);
+
+        try {
+            probe.getFuture().get(5, TimeUnit.SECONDS);
+            fail("Probe is expected to time out");
+        } catch (ExecutionException x) {
+            assertTrue(x.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    public void failsProbeWhenCheckThrowsException() throws Exception {
+        ReadinessProbe probe = scheduler.schedule(() -> {
+            throw new MachineException("check failed");
+        }, 10, 10, 5_000);
+
+        try {
+            probe.getFuture().get(5, TimeUnit.SECONDS);
+            fail("Probe is expected to fail");
+        } catch (ExecutionException x) {
+            assertEquals(x.getCause().getMessage(), "check failed");
+        }
+    }
+
+    @Test
+    public void increasesDelayBetweenChecksUpToMaxDelay() throws Exception {
+        List<Long> checkTimestamps = new CopyOnWriteArrayList<>();
+
+        ReadinessProbe probe = scheduler.schedule(() -> {
+            checkTimestamps.add(System.nanoTime());
+            return checkTimestamps.size() == 5;
+        }, 20, 60, 5_000);
+
+        probe.getFuture().get(5, TimeUnit.SECONDS);
+        // delays are 20, 40, 60 and 60 ms plus jitter which doesn't exceed the max delay
+        long[] minDelays = {20, 40, 60, 60};
+        for (int i = 1; i < checkTimestamps.size(); i++) {
+            long delayMs = TimeUnit.NANOSECONDS.toMillis(checkTimestamps.get(i) - checkTimestamps.get(i - 1));
+            assertTrue(delayMs >= minDelays[i - 1], "Delay " + i + " is " + delayMs + " ms");
+        }
+    }
+
+    @Test
+    public void checksAgentEarlierWhenItSignalsItMayBeReady() throws Exception {
+        List<Long> checkTimestamps = new CopyOnWriteArrayList<>();
+        CountDownLatch threeChecks = new CountDownLatch(3);
+
+        ReadinessProbe probe = scheduler.schedule(() -> {
+            checkTimestamps.add(System.nanoTime());
+            threeChecks.countDown();
+            return checkTimestamps.size() == 4;
+        }, 100, 10_000, 10_000);
+        assertTrue(threeChecks.await(5, TimeUnit.SECONDS));
+        // the next check is expected not earlier than in 400 ms
+        probe.probeNow();
+
+        probe.getFuture().get(5, TimeUnit.SECONDS);
+        long delayMs = TimeUnit.NANOSECONDS.toMillis(checkTimestamps.get(3) - checkTimestamps.get(2));
+        assertTrue(delayMs >= 100 && delayMs < 350, "Delay is " + delayMs + " ms");
+    }
+
+    @Test
+    public void timesOutProbeWhileChecksOfOtherProbesBlock() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.schedule(() -> release.await(5, TimeUnit.SECONDS), 10, 10, 5_000);
+        scheduler.schedule(() -> release.await(5, TimeUnit.SECONDS), 10, 10, 5_000);
+
+        ReadinessProbe probe = scheduler.schedule(() -> false, 10, 10, 100);
+
+        try {
+            probe.getFuture().get(2, TimeUnit.SECONDS);
+            fail("Probe is expected to time out");
+        } catch (ExecutionException x) {
+            assertTrue(x.getCause() instanceof TimeoutException);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void stopsChecksWhenProbeIsCancelled() throws Exception {
+        AtomicInteger checks = new AtomicInteger();
+        ReadinessProbe probe = scheduler.schedule(() -> checks.incrementAndGet() < 0, 10, 10, 5_000);
+
+        probe.cancel();
+        int checksAfterCancel = checks.get();
+        Thread.sleep(100);
+
+        assertTrue(probe.getFuture().isCancelled());
+        assertTrue(checks.get() <= checksAfterCancel + 1);
+    }
+}
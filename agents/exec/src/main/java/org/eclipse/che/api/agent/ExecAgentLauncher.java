@@ -12,14 +12,15 @@ package org.eclipse.che.api.agent;
 
 import org.eclipse.che.api.agent.server.launcher.AbstractAgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.ProcessIsLaunchedChecker;
+import org.eclipse.che.api.agent.server.launcher.ReadinessProbeScheduler;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.impl.AgentImpl;
-import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.machine.server.spi.Instance;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Starts exec agent.
@@ -33,16 +34,22 @@ public class ExecAgentLauncher extends AbstractAgentLauncher {
     @Inject
     public ExecAgentLauncher(@Named("che.agent.dev.max_start_time_ms") long agentMaxStartTimeMs,
                              @Named("che.agent.dev.ping_delay_ms") long agentPingDelayMs,
-                             @Named("machine.terminal_agent.run_command") String runCommand) {
-        super(agentMaxStartTimeMs, agentPingDelayMs, new ProcessIsLaunchedChecker("che-websocket-terminal"));
+                             @Named("che.agent.dev.max_ping_delay_ms") long agentMaxPingDelayMs,
+                             @Named("machine.terminal_agent.run_command") String runCommand,
+                             ReadinessProbeScheduler probeScheduler) {
+        super(agentMaxStartTimeMs,
+              agentPingDelayMs,
+              agentMaxPingDelayMs,
+              new ProcessIsLaunchedChecker("che-websocket-terminal"),
+              probeScheduler);
         this.runCommand = runCommand;
     }
 
     @Override
-    public void launch(Instance machine, Agent agent) throws ServerException {
+    public CompletableFuture<Void> launchAsync(Instance machine, Agent agent) {
         final AgentImpl agentCopy = new AgentImpl(agent);
         agentCopy.setScript(agent.getScript() + "\n" + runCommand);
-        super.launch(machine, agentCopy);
+        return super.launchAsync(machine, agentCopy);
     }
 
     @Override
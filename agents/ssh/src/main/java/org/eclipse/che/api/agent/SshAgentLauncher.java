@@ -17,6 +17,7 @@ import org.eclipse.che.api.agent.server.launcher.AbstractAgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.CompositeAgentLaunchingChecker;
 import org.eclipse.che.api.agent.server.launcher.MappedPortIsListeningAgentChecker;
 import org.eclipse.che.api.agent.server.launcher.ProcessIsLaunchedChecker;
+import org.eclipse.che.api.agent.server.launcher.ReadinessProbeScheduler;
 
 import javax.inject.Named;
 
@@ -30,11 +31,15 @@ import javax.inject.Named;
 public class SshAgentLauncher extends AbstractAgentLauncher {
     @Inject
     public SshAgentLauncher(@Named("che.agent.dev.max_start_time_ms") long agentMaxStartTimeMs,
-                            @Named("che.agent.dev.ping_delay_ms") long agentPingDelayMs) {
+                            @Named("che.agent.dev.ping_delay_ms") long agentPingDelayMs,
+                            @Named("che.agent.dev.max_ping_delay_ms") long agentMaxPingDelayMs,
+                            ReadinessProbeScheduler probeScheduler) {
         super(agentMaxStartTimeMs,
               agentPingDelayMs,
+              agentMaxPingDelayMs,
               new CompositeAgentLaunchingChecker(new ProcessIsLaunchedChecker("sshd"),
-                                                 new MappedPortIsListeningAgentChecker("22/tcp")));
+                                                 new MappedPortIsListeningAgentChecker("22/tcp")),
+              probeScheduler);
     }
 
     @Override
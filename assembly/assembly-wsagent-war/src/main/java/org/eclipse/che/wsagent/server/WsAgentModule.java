@@ -34,7 +34,7 @@ import org.eclipse.che.api.core.rest.CoreRestModule;
 import org.eclipse.che.api.core.util.FileCleaner.FileCleanerModule;
 import org.eclipse.che.api.core.websocket.WebSocketMessageReceiver;
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
-import org.eclipse.che.api.core.websocket.impl.BasicWebSocketMessageTransmitter;
+import org.eclipse.che.api.core.websocket.impl.AsyncWebSocketMessageTransmitter;
 import org.eclipse.che.api.core.websocket.impl.GuiceInjectorEndpointConfigurator;
 import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.GitUserResolver;
@@ -113,7 +113,7 @@ public class WsAgentModule extends AbstractModule {
 
     private void configureWebSocket() {
         requestStaticInjection(GuiceInjectorEndpointConfigurator.class);
-        bind(WebSocketMessageTransmitter.class).to(BasicWebSocketMessageTransmitter.class);
+        bind(WebSocketMessageTransmitter.class).to(AsyncWebSocketMessageTransmitter.class);
 
         bind(WebSocketMessageReceiver.class).to(JsonRpcMessageReceiver.class);
     }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 
@@ -40,15 +41,25 @@ public class JsonRpcEntityValidator {
     }
 
     public void validate(String message) throws JsonRpcException {
+        parse(message);
+    }
+
+    /**
+     * Validates a message and returns the parsed json tree, so it
+     * can be processed further without parsing the message again.
+     */
+    public JsonElement parse(String message) throws JsonRpcException {
         checkNotNull(message, "Message must not be null");
         checkArgument(!message.isEmpty(), "Message must not be empty");
 
         LOG.debug("Validating message: {}", message);
 
         try {
-            jsonParser.parse(message);
+            JsonElement jsonElement = jsonParser.parse(message);
 
             LOG.debug("Validation successful");
+
+            return jsonElement;
         } catch (JsonParseException e) {
             LOG.debug("Validation failed: {}", e.getMessage(), e);
 
@@ -43,6 +43,14 @@ public class JsonRpcError {
         this.message = getMessage(message, jsonParser);
     }
 
+    @AssistedInject
+    public JsonRpcError(@Assisted("jsonObject") JsonObject error) {
+        checkNotNull(error, "Json object must not be null");
+
+        this.code = error.get("code").getAsInt();
+        this.message = error.get("message").getAsString();
+    }
+
     private static String getMessage(String message, JsonParser jsonParser) {
         return jsonParser.parse(message).getAsJsonObject().get("message").getAsString();
     }
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonElement;
+
 import org.eclipse.che.api.core.jsonrpc.JsonRpcEntityQualifier.JsonRpcEntityType;
 import org.eclipse.che.api.core.websocket.WebSocketMessageReceiver;
 import org.slf4j.Logger;
@@ -17,16 +19,18 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static org.eclipse.che.api.core.jsonrpc.JsonRpcList.isArray;
 
 /**
  * Receives and process messages coming from web socket service. Basically
  * it validates, qualifies and transforms a raw web socket message to a JSON
- * RPC known structure and pass it further to appropriate dispatchers. In case
+ * RPC known structure and pass it further to appropriate dispatchers. A message
+ * is parsed only once, the resulting json tree is shared by validation,
+ * qualification and creation of JSON RPC entities. Requests are dispatched
+ * asynchronously by {@link RequestProcessor}. In case
  * of any {@link JsonRpcException} happens during request/response processing
  * this class is also responsible for an error transmission.
  */
@@ -40,6 +44,7 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
     private final JsonRpcEntityValidator  entityValidator;
     private final JsonRpcErrorTransmitter errorTransmitter;
     private final JsonRpcFactory          jsonRpcFactory;
+    private final RequestProcessor        requestProcessor;
 
     @Inject
     public JsonRpcMessageReceiver(RequestDispatcher requestDispatcher,
@@ -47,13 +52,15 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
                                   JsonRpcEntityQualifier entityQualifier,
                                   JsonRpcEntityValidator entityValidator,
                                   JsonRpcErrorTransmitter errorTransmitter,
-                                  JsonRpcFactory jsonRpcFactory) {
+                                  JsonRpcFactory jsonRpcFactory,
+                                  RequestProcessor requestProcessor) {
         this.requestDispatcher = requestDispatcher;
         this.responseDispatcher = responseDispatcher;
         this.entityQualifier = entityQualifier;
         this.entityValidator = entityValidator;
         this.errorTransmitter = errorTransmitter;
         this.jsonRpcFactory = jsonRpcFactory;
+        this.requestProcessor = requestProcessor;
     }
 
     @Override
@@ -63,40 +70,69 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
         checkNotNull(message, "Message must not be null");
         checkArgument(!message.isEmpty(), "Message must not be empty");
 
-        LOG.debug("Receiving message: " + message + ", from endpoint: " + endpointId);
+        LOG.debug("Receiving message: {}, from endpoint: {}", message, endpointId);
         try {
-            entityValidator.validate(message);
+            JsonElement jsonElement = entityValidator.parse(message);
 
-            if (isArray(message)) {
+            if (jsonElement.isJsonArray()) {
                 LOG.debug("Message is an array, processing an array");
 
-                JsonRpcList list = jsonRpcFactory.createList(message);
-                List<String> messages = list.toStringifiedList();
-                for (String listMessage : messages) {
-                    processObject(endpointId, listMessage);
+                for (JsonElement item : jsonElement.getAsJsonArray()) {
+                    processObject(endpointId, item);
                 }
             } else {
                 LOG.debug("Message is not an array");
 
-                processObject(endpointId, message);
+                processObject(endpointId, jsonElement);
             }
         } catch (JsonRpcException e) {
             errorTransmitter.transmit(endpointId, e);
         }
     }
 
-    private void processObject(String endpointId, String message) throws JsonRpcException {
-        LOG.debug("Processing end object: " + message);
+    @Override
+    public void onClose(String endpointId) {
+        checkNotNull(endpointId, "Endpoint ID must not be null");
+
+        LOG.debug("Endpoint session is closed, cancelling pending requests: {}", endpointId);
+
+        responseDispatcher.cancel(endpointId);
+    }
+
+    private void processRequest(String endpointId, JsonRpcRequest request) {
+        try {
+            requestProcessor.process(endpointId, request.getMethod(), () -> {
+                try {
+                    requestDispatcher.dispatch(endpointId, request);
+                } catch (JsonRpcException e) {
+                    errorTransmitter.transmit(endpointId, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.error("Request is rejected: {}", e.getMessage());
+
+            // only the rejected request is answered with an error, other requests of the same batch are processed
+            if (request.hasId()) {
+                errorTransmitter.transmit(endpointId,
+                                          new JsonRpcException(-32000, "The server is too busy to process the request", request.getId()));
+            }
+        }
+    }
+
+    private void processObject(String endpointId, JsonElement jsonElement) throws JsonRpcException {
+        LOG.debug("Processing end object: {}", jsonElement);
 
-        JsonRpcEntityType type = entityQualifier.qualify(message);
+        JsonRpcEntityType type = jsonElement.isJsonObject()
+                                 ? entityQualifier.qualify(jsonElement.getAsJsonObject())
+                                 : JsonRpcEntityType.UNDEFINED;
 
         switch (type) {
             case REQUEST:
-                JsonRpcRequest request = jsonRpcFactory.createRequest(message);
-                requestDispatcher.dispatch(endpointId, request);
+                JsonRpcRequest request = jsonRpcFactory.createRequest(jsonElement.getAsJsonObject());
+                processRequest(endpointId, request);
                 break;
             case RESPONSE:
-                JsonRpcResponse response = jsonRpcFactory.createResponse(message);
+                JsonRpcResponse response = jsonRpcFactory.createResponse(jsonElement.getAsJsonObject());
                 responseDispatcher.dispatch(endpointId, response);
                 break;
             case UNDEFINED:
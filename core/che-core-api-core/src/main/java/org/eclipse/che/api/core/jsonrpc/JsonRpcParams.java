@@ -55,6 +55,19 @@ public class JsonRpcParams {
         }
     }
 
+    @AssistedInject
+    public JsonRpcParams(@Assisted("jsonElement") JsonElement jsonElement) {
+        checkNotNull(jsonElement, "Json element must not be null");
+
+        if (jsonElement.isJsonArray()) {
+            JsonArray jsonArray = jsonElement.getAsJsonArray();
+            paramsList = new ArrayList<>(jsonArray.size());
+            jsonArray.forEach(it -> paramsList.add(it));
+        } else {
+            params = jsonElement;
+        }
+    }
+
     @AssistedInject
     public JsonRpcParams(@Assisted("params") Object params, JsonParser jsonParser) {
         this.params = params == null ? EMPTY_OBJECT : jsonParser.parse(params.toString());
@@ -52,6 +52,25 @@ public class JsonRpcRequest {
         }
     }
 
+    @AssistedInject
+    public JsonRpcRequest(@Assisted("jsonObject") JsonObject jsonObject, JsonRpcFactory jsonRpcFactory) {
+        checkNotNull(jsonObject, "Json object must not be null");
+
+        method = jsonObject.get("method").getAsString();
+
+        if (jsonObject.has("id")) {
+            id = jsonObject.get("id").getAsString();
+        } else {
+            id = null;
+        }
+
+        if (jsonObject.has("params")) {
+            params = jsonRpcFactory.createParams(jsonObject.get("params"));
+        } else {
+            params = null;
+        }
+    }
+
     @AssistedInject
     public JsonRpcRequest(@Assisted("id") String id, @Assisted("method") String method, @Assisted("params") JsonRpcParams params,
                           JsonParser jsonParser) {
@@ -52,6 +52,23 @@ public class JsonRpcResponse {
                      : null;
     }
 
+    @AssistedInject
+    public JsonRpcResponse(@Assisted("jsonObject") JsonObject response) {
+        checkNotNull(response, "Json object must not be null");
+
+        this.id = response.has("id")
+                  ? response.get("id").getAsString()
+                  : null;
+
+        this.result = response.has("result")
+                      ? new JsonRpcResult(response.get("result"))
+                      : null;
+
+        this.error = response.has("error")
+                     ? new JsonRpcError(response.get("error").getAsJsonObject())
+                     : null;
+    }
+
     @AssistedInject
     public JsonRpcResponse(@Assisted("id") String id, @Assisted("result") JsonRpcResult result, @Assisted("error") JsonRpcError error) {
         checkNotNull(id, "ID must not be null");
@@ -37,7 +37,7 @@ class JsonRpcUtils {
         } else if (type.equals(Void.class)) {
             return null;
         } else {
-            return DtoFactory.getInstance().createDtoFromJson(element.toString(), type);
+            return DtoFactory.getInstance().createDtoFromJson(element, type);
         }
     }
 
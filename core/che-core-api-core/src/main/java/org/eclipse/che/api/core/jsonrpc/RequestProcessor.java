@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Processes JSON RPC requests in a pool of threads, so a slow request
+ * handler does not block requests of other endpoints. Requests of a single
+ * endpoint (or of a single method of an endpoint if ordering per method is
+ * enabled) are processed one by one in order they were received. Each
+ * endpoint has a limit of requests waiting to be processed, requests that
+ * exceed the limit are rejected.
+ */
+@Singleton
+public class RequestProcessor {
+    private static final Logger LOG = LoggerFactory.getLogger(RequestProcessor.class);
+
+    private final Executor                 executor;
+    private final int                      queueSize;
+    private final boolean                  orderPerMethod;
+    private final Map<String, SerialQueue> queues = new ConcurrentHashMap<>();
+
+    @Inject
+    public RequestProcessor(@Named("che.jsonrpc.processor.pool_size") int poolSize,
+                            @Named("che.jsonrpc.processor.queue_size") int queueSize,
+                            @Named("che.jsonrpc.processor.order_per_method") boolean orderPerMethod) {
+        this(Executors.newFixedThreadPool(poolSize, new ThreadFactoryBuilder().setNameFormat("JsonRpcRequestProcessor-%d")
+                                                                              .setDaemon(true)
+                                                                              .build()),
+             queueSize,
+             orderPerMethod);
+    }
+
+    RequestProcessor(Executor executor, int queueSize, boolean orderPerMethod) {
+        checkArgument(queueSize > 0, "Queue size must be positive");
+
+        this.executor = executor;
+        this.queueSize = queueSize;
+        this.orderPerMethod = orderPerMethod;
+    }
+
+    /**
+     * Schedules processing of a request received from an endpoint.
+     *
+     * @param endpointId
+     *         identifier of an endpoint the request is received from
+     * @param method
+     *         request method
+     * @param task
+     *         request processing
+     *
+     * @throws RejectedExecutionException
+     *         if the limit of requests waiting to be processed is exceeded
+     */
+    public void process(String endpointId, String method, Runnable task) {
+        checkNotNull(endpointId, "Endpoint ID must not be null");
+        checkNotNull(method, "Method name must not be null");
+        checkNotNull(task, "Task must not be null");
+
+        String key = orderPerMethod ? endpointId + '@' + method : endpointId;
+
+        SerialQueue[] created = new SerialQueue[1];
+        queues.compute(key, (k, queue) -> {
+            if (queue == null) {
+                queue = created[0] = new SerialQueue(k);
+            } else if (queue.tasks.size() >= queueSize) {
+                throw new RejectedExecutionException("Too many requests are waiting to be processed: " + k);
+            }
+            queue.tasks.addLast(task);
+            return queue;
+        });
+
+        if (created[0] != null) {
+            schedule(created[0]);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService)executor).shutdownNow();
+        }
+    }
+
+    private void schedule(SerialQueue queue) {
+        try {
+            executor.execute(queue);
+        } catch (RejectedExecutionException e) {
+            LOG.error("Can't schedule processing of requests: {}", queue.key, e);
+            queues.remove(queue.key, queue);
+        }
+    }
+
+    /**
+     * Requests of a single key. The queue is present in the map while it has
+     * requests, at most one task of a queue is processed at a time, after each
+     * task the queue is rescheduled so other queues are not starved.
+     */
+    private class SerialQueue implements Runnable {
+        private final String          key;
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+        private SerialQueue(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            Runnable[] next = new Runnable[1];
+            queues.computeIfPresent(key, (k, queue) -> {
+                next[0] = queue.tasks.peekFirst();
+                return queue;
+            });
+
+            if (next[0] == null) {
+                return;
+            }
+
+            try {
+                next[0].run();
+            } catch (RuntimeException e) {
+                LOG.error("Error while processing request: {}", key, e);
+            } finally {
+                // even an error thrown by the task must not leave the queue stuck
+                boolean[] hasMore = new boolean[1];
+                queues.computeIfPresent(key, (k, queue) -> {
+                    queue.tasks.pollFirst();
+                    hasMore[0] = !queue.tasks.isEmpty();
+                    return hasMore[0] ? queue : null;
+                });
+
+                if (hasMore[0]) {
+                    schedule(this);
+                }
+            }
+        }
+    }
+}
@@ -10,28 +10,58 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.eclipse.che.api.core.jsonrpc.transmission.MethodNameConfigurator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.function.BiConsumer;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
- * Dispatches JSON RPC responses
+ * Dispatches JSON RPC responses. Promises of the requests that are waiting for
+ * a response are kept per endpoint until the response is dispatched, the request
+ * times out or the endpoint session is closed. In two latter cases the promise
+ * is failed with a corresponding {@link JsonRpcError}.
  */
 @Singleton
 public class ResponseDispatcher {
     private static final Logger LOG = LoggerFactory.getLogger(MethodNameConfigurator.class);
 
-    private final Map<String, JsonRpcPromise> promises = new HashMap<>();
-    private final Map<String, Class<?>>       rClasses = new HashMap<>();
+    static final int REQUEST_TIMEOUT_ERROR_CODE = -32001;
+    static final int ENDPOINT_CLOSED_ERROR_CODE = -32002;
+
+    private final Map<String, Map<String, PendingRequest>> pendingRequests = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService                 timeoutExecutor;
+    private final long                                     requestTimeoutMs;
+
+    @Inject
+    public ResponseDispatcher(@Named("che.jsonrpc.request_timeout_ms") long requestTimeoutMs) {
+        this(Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("JsonRpcRequestTimeout-%d")
+                                                                                  .setDaemon(true)
+                                                                                  .build()),
+             requestTimeoutMs);
+    }
+
+    ResponseDispatcher(ScheduledExecutorService timeoutExecutor, long requestTimeoutMs) {
+        this.timeoutExecutor = timeoutExecutor;
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
 
     private static void checkArguments(String endpointId, String requestId, Class<?> rClass, JsonRpcPromise success) {
         checkNotNull(endpointId, "Endpoint ID must not be null");
@@ -45,10 +75,6 @@ public class ResponseDispatcher {
         checkNotNull(success, "Json rpc promise must not be null");
     }
 
-    private static String combine(String endpointId, String requestId) {
-        return endpointId + '@' + requestId;
-    }
-
     @SuppressWarnings("unchecked")
     private static <T> T cast(Object object) {
         return (T)object;
@@ -80,26 +106,66 @@ public class ResponseDispatcher {
         String responseId = response.getId();
         LOG.debug("Fetching response ID: {}", responseId);
 
-        String key = combine(endpointId, responseId);
-        LOG.debug("Generating key: {}", key);
-
-        Class<?> rClass = rClasses.get(key);
-        LOG.debug("Fetching result class: {}", rClass);
+        PendingRequest pending = responseId == null ? null : remove(endpointId, responseId);
+        if (pending == null) {
+            LOG.warn("Received a response to an unknown or expired request: {}, from endpoint: {}", responseId, endpointId);
+            return;
+        }
+        LOG.debug("Fetching result class: {}", pending.rClass);
 
         if (response.hasResult()) {
-            processResult(endpointId, response, key, rClass);
+            processResult(endpointId, response, pending);
         } else if (response.hasError()) {
-            processError(endpointId, response, key);
+            processError(endpointId, response.getError(), pending);
         } else {
             LOG.error("Received incorrect response: no error, no result");
         }
     }
 
-    private void processError(String endpointId, JsonRpcResponse response, String key) {
+    /**
+     * Fails promises of all the requests sent to the endpoint that are
+     * still waiting for a response, is called when the endpoint session
+     * is closed.
+     */
+    public void cancel(String endpointId) {
+        checkNotNull(endpointId, "Endpoint ID must not be null");
+
+        Map<String, PendingRequest> requests = pendingRequests.remove(endpointId);
+        if (requests == null) {
+            return;
+        }
+
+        LOG.debug("Cancelling {} pending requests of endpoint: {}", requests.size(), endpointId);
+
+        JsonRpcError error = new JsonRpcError(ENDPOINT_CLOSED_ERROR_CODE, "Endpoint connection is closed");
+        requests.values().forEach(pending -> {
+            pending.cancelTimeout();
+            processError(endpointId, error, pending);
+        });
+    }
+
+    /** Returns the number of requests sent to the endpoint that are waiting for a response. */
+    public int getPendingCount(String endpointId) {
+        Map<String, PendingRequest> requests = pendingRequests.get(endpointId);
+        return requests == null ? 0 : requests.size();
+    }
+
+    /** Returns the numbers of requests that are waiting for a response mapped by endpoint identifiers. */
+    public Map<String, Integer> getPendingCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        pendingRequests.forEach((endpointId, requests) -> counts.put(endpointId, requests.size()));
+        return counts;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timeoutExecutor.shutdownNow();
+    }
+
+    private void processError(String endpointId, JsonRpcError error, PendingRequest pending) {
         LOG.debug("Response has error. Proceeding...");
 
-        JsonRpcError error = response.getError();
-        BiConsumer<String, JsonRpcError> consumer = cast(promises.get(key).getFailureConsumer());
+        BiConsumer<String, JsonRpcError> consumer = cast(pending.promise.getFailureConsumer());
         if (consumer != null) {
             LOG.debug("Failure consumer is found, accepting...");
             consumer.accept(endpointId, error);
@@ -108,14 +174,20 @@ public class ResponseDispatcher {
         }
     }
 
-    private void processResult(String endpointId, JsonRpcResponse response, String key, Class<?> rClass) {
+    private void processResult(String endpointId, JsonRpcResponse response, PendingRequest pending) {
         LOG.debug("Response has result. Proceeding...");
 
+        BiConsumer<String, ?> consumer = pending.promise.getSuccessConsumer();
+        if (consumer == null) {
+            LOG.debug("Success consumer is not found, skipping");
+            return;
+        }
+
         JsonRpcResult result = response.getResult();
         if (result.isArray()) {
-            processMany(endpointId, response, rClass, cast(promises.get(key).getSuccessConsumer()));
+            processMany(endpointId, response, pending.rClass, cast(consumer));
         } else {
-            processOne(endpointId, response, rClass, cast(promises.get(key).getSuccessConsumer()));
+            processOne(endpointId, response, pending.rClass, cast(consumer));
         }
     }
 
@@ -131,11 +203,55 @@ public class ResponseDispatcher {
     private <R> JsonRpcPromise registerInternal(String endpointId, String requestId, Class<R> rClass, JsonRpcPromise promise) {
         checkArguments(endpointId, requestId, rClass, promise);
 
-        String key = combine(endpointId, requestId);
-
-        promises.put(key, promise);
-        rClasses.put(key, rClass);
+        PendingRequest pending = new PendingRequest(promise, rClass);
+        pendingRequests.compute(endpointId, (id, requests) -> {
+            Map<String, PendingRequest> result = requests == null ? new ConcurrentHashMap<>() : requests;
+            result.put(requestId, pending);
+            return result;
+        });
+        pending.timeout = timeoutExecutor.schedule(() -> expire(endpointId, requestId), requestTimeoutMs, MILLISECONDS);
 
         return promise;
     }
+
+    private void expire(String endpointId, String requestId) {
+        PendingRequest pending = remove(endpointId, requestId);
+        if (pending != null) {
+            LOG.debug("Request {} sent to endpoint {} is timed out", requestId, endpointId);
+
+            processError(endpointId, new JsonRpcError(REQUEST_TIMEOUT_ERROR_CODE, "Request timed out"), pending);
+        }
+    }
+
+    private PendingRequest remove(String endpointId, String requestId) {
+        PendingRequest[] removed = new PendingRequest[1];
+        pendingRequests.computeIfPresent(endpointId, (id, requests) -> {
+            removed[0] = requests.remove(requestId);
+            return requests.isEmpty() ? null : requests;
+        });
+
+        if (removed[0] != null) {
+            removed[0].cancelTimeout();
+        }
+        return removed[0];
+    }
+
+    private static class PendingRequest {
+        private final JsonRpcPromise promise;
+        private final Class<?>       rClass;
+
+        private volatile ScheduledFuture<?> timeout;
+
+        private PendingRequest(JsonRpcPromise promise, Class<?> rClass) {
+            this.promise = promise;
+            this.rClass = rClass;
+        }
+
+        private void cancelTimeout() {
+            ScheduledFuture<?> timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        }
+    }
 }
@@ -10,23 +10,34 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.notification;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -41,47 +52,40 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     bus.publish(new MyEvent());
  * </pre>
  *
+ * <p>Subscribers of each event class, including subscribers of its super classes and
+ * interfaces, are resolved once into an immutable array which is dropped whenever
+ * a subscriber is added or removed, so publishing doesn't take any locks.
+ *
+ * <p>Subscribers are called on the publisher's thread unless they are subscribed with
+ * {@link #subscribeAsync(EventSubscriber, Class)}. Such subscribers get events from
+ * a mailbox drained in a pool of threads, one event at a time in order they were published.
+ *
  * @author andrew00x
  */
 @Singleton
 public class EventService {
     private static final Logger LOG = LoggerFactory.getLogger(EventService.class);
 
-    private static final int CACHE_NUM  = 1 << 2;
-    private static final int CACHE_MASK = CACHE_NUM - 1;
-    private static final int SEG_SIZE   = 32;
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
 
-    private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
-    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    private final ConcurrentMap<Class<?>, Class<?>[]> typeCache;
+    private final Executor                            asyncExecutor;
+    private final Object                              lock;
+
+    /** Guarded by {@link #lock}, replaced as a whole on each modification. */
+    private volatile DispatchTable dispatchTable;
 
-    @SuppressWarnings("unchecked")
     public EventService() {
-        subscribersByEventType = new ConcurrentHashMap<>();
-        typeCache = new LoadingCache[CACHE_NUM];
-        for (int i = 0; i < CACHE_NUM; i++) {
-            typeCache[i] = CacheBuilder.newBuilder().concurrencyLevel(SEG_SIZE).build(
-                    new CacheLoader<Class<?>, Set<Class<?>>>() {
-                        @Override
-                        public Set<Class<?>> load(Class<?> eventClass) {
-                            LinkedList<Class<?>> parents = new LinkedList<>();
-                            Set<Class<?>> classes = new HashSet<>();
-                            parents.add(eventClass);
-                            while (!parents.isEmpty()) {
-                                Class<?> clazz = parents.pop();
-                                classes.add(clazz);
-                                Class<?> parent = clazz.getSuperclass();
-                                if (parent != null) {
-                                    parents.add(parent);
-                                }
-                                Class<?>[] interfaces = clazz.getInterfaces();
-                                if (interfaces.length > 0) {
-                                    Collections.addAll(parents, interfaces);
-                                }
-                            }
-                            return classes;
-                        }
-                    });
-        }
+        this(Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("EventServiceAsyncDelivery-%d")
+                                                                     .setDaemon(true)
+                                                                     .build()));
+    }
+
+    EventService(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        this.typeCache = new ConcurrentHashMap<>();
+        this.lock = new Object();
+        this.dispatchTable = new DispatchTable(ImmutableMap.of());
     }
 
     /**
@@ -91,24 +95,12 @@ public class EventService {
      *         event
      * @return published event
      */
-    @SuppressWarnings("unchecked")
     public <T> T publish(T event) {
         if (event == null) {
             throw new IllegalArgumentException("Null event.");
         }
-        final Class<?> eventClass = event.getClass();
-        for (Class<?> clazz : typeCache[eventClass.hashCode() & CACHE_MASK].getUnchecked(eventClass)) {
-            final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
-            if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
-                for (EventSubscriber eventSubscriber : eventSubscribers) {
-                    try {
-                        LOG.debug("Publish event {} for {}", event, eventSubscriber);
-                        eventSubscriber.onEvent(event);
-                    } catch (RuntimeException e) {
-                        LOG.error(e.getMessage(), e);
-                    }
-                }
-            }
+        for (Subscription subscription : dispatchTable.get(event.getClass())) {
+            subscription.deliver(event);
         }
         return event;
     }
@@ -122,7 +114,7 @@ public class EventService {
      */
     public void subscribe(EventSubscriber<?> subscriber) {
         final Class<?> eventType = getEventType(subscriber);
-        doSubscribe(subscriber, eventType);
+        doSubscribe(subscriber, eventType, false);
     }
 
     /**
@@ -133,19 +125,49 @@ public class EventService {
      * @param eventType The event to subscribe to.
      */
     public <T> void subscribe(EventSubscriber<? extends T> subscriber, Class<T> eventType) {
-        doSubscribe(subscriber, eventType);
+        doSubscribe(subscriber, eventType, false);
     }
 
-    private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
-        Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
-        if (entries == null) {
-            Set<EventSubscriber> newEntries = new CopyOnWriteArraySet<>();
-            entries = subscribersByEventType.putIfAbsent(eventType, newEntries);
-            if (entries == null) {
-                entries = newEntries;
+    /**
+     * Subscribe event listener which is called asynchronously, the publisher doesn't wait for it.
+     * The event to subscribe to is inferred by checking the generic type arguments of the given subscriber.
+     *
+     * @param subscriber
+     *         event subscriber
+     */
+    public void subscribeAsync(EventSubscriber<?> subscriber) {
+        final Class<?> eventType = getEventType(subscriber);
+        doSubscribe(subscriber, eventType, true);
+    }
+
+    /**
+     * Subscribe to an event asynchronously. The given subscriber gets instances of the specified event
+     * in order they were published, one at a time, but not on the publisher's thread.
+     *
+     * @param subscriber The subscriber to call when an event is published.
+     * @param eventType The event to subscribe to.
+     */
+    public <T> void subscribeAsync(EventSubscriber<? extends T> subscriber, Class<T> eventType) {
+        doSubscribe(subscriber, eventType, true);
+    }
+
+    private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType, boolean async) {
+        synchronized (lock) {
+            final Map<Class<?>, Subscription[]> subscriptions = dispatchTable.subscriptionsByEventType;
+            final Subscription[] entries = subscriptions.getOrDefault(eventType, NO_SUBSCRIPTIONS);
+            for (Subscription entry : entries) {
+                if (entry.subscriber.equals(subscriber)) {
+                    return;
+                }
             }
+            final Subscription[] newEntries = new Subscription[entries.length + 1];
+            System.arraycopy(entries, 0, newEntries, 0, entries.length);
+            newEntries[entries.length] = async ? new AsyncSubscription(subscriber, eventType) : new Subscription(subscriber, eventType);
+
+            final Map<Class<?>, Subscription[]> newSubscriptions = new HashMap<>(subscriptions);
+            newSubscriptions.put(eventType, newEntries);
+            dispatchTable = new DispatchTable(ImmutableMap.copyOf(newSubscriptions));
         }
-        entries.add(subscriber);
     }
 
     /**
@@ -164,14 +186,47 @@ public class EventService {
     }
 
     private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
-        final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
-        if (entries != null && !entries.isEmpty()) {
-            boolean changed = entries.remove(subscriber);
-            if (changed) {
-                if (entries.isEmpty()) {
-                    subscribersByEventType.remove(eventType);
+        synchronized (lock) {
+            final Map<Class<?>, Subscription[]> subscriptions = dispatchTable.subscriptionsByEventType;
+            final Subscription[] entries = subscriptions.get(eventType);
+            if (entries == null) {
+                return;
+            }
+            final List<Subscription> newEntries = new ArrayList<>(entries.length);
+            for (Subscription entry : entries) {
+                if (!entry.subscriber.equals(subscriber)) {
+                    newEntries.add(entry);
                 }
             }
+            if (newEntries.size() == entries.length) {
+                return;
+            }
+
+            final Map<Class<?>, Subscription[]> newSubscriptions = new HashMap<>(subscriptions);
+            if (newEntries.isEmpty()) {
+                newSubscriptions.remove(eventType);
+            } else {
+                newSubscriptions.put(eventType, newEntries.toArray(new Subscription[newEntries.size()]));
+            }
+            dispatchTable = new DispatchTable(ImmutableMap.copyOf(newSubscriptions));
+        }
+    }
+
+    /** Returns delivery statistics of all the current subscribers. */
+    public List<SubscriberMetrics> getMetrics() {
+        final List<SubscriberMetrics> metrics = new ArrayList<>();
+        for (Subscription[] entries : dispatchTable.subscriptionsByEventType.values()) {
+            for (Subscription entry : entries) {
+                metrics.add(entry.getMetrics());
+            }
+        }
+        return metrics;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (asyncExecutor instanceof ExecutorService) {
+            ((ExecutorService)asyncExecutor).shutdown();
         }
     }
 
@@ -200,4 +255,238 @@ public class EventService {
         }
         return eventType;
     }
+
+    /** Returns the event class with all its super classes and interfaces, the event class goes first. */
+    private Class<?>[] getEventTypes(Class<?> eventClass) {
+        return typeCache.computeIfAbsent(eventClass, key -> {
+            LinkedList<Class<?>> parents = new LinkedList<>();
+            Set<Class<?>> classes = new LinkedHashSet<>();
+            parents.add(key);
+            while (!parents.isEmpty()) {
+                Class<?> clazz = parents.pop();
+                classes.add(clazz);
+                Class<?> parent = clazz.getSuperclass();
+                if (parent != null) {
+                    parents.add(parent);
+                }
+                Class<?>[] interfaces = clazz.getInterfaces();
+                if (interfaces.length > 0) {
+                    Collections.addAll(parents, interfaces);
+                }
+            }
+            return classes.toArray(new Class<?>[classes.size()]);
+        });
+    }
+
+    /**
+     * Immutable snapshot of the subscribers with lazily resolved
+     * subscribers of each published event class.
+     */
+    private class DispatchTable {
+        private final Map<Class<?>, Subscription[]>           subscriptionsByEventType;
+        private final ConcurrentMap<Class<?>, Subscription[]> subscriptionsByEventClass;
+
+        private DispatchTable(Map<Class<?>, Subscription[]> subscriptionsByEventType) {
+            this.subscriptionsByEventType = subscriptionsByEventType;
+            this.subscriptionsByEventClass = new ConcurrentHashMap<>();
+        }
+
+        private Subscription[] get(Class<?> eventClass) {
+            if (subscriptionsByEventType.isEmpty()) {
+                return NO_SUBSCRIPTIONS;
+            }
+            return subscriptionsByEventClass.computeIfAbsent(eventClass, this::resolve);
+        }
+
+        private Subscription[] resolve(Class<?> eventClass) {
+            final List<Subscription> resolved = new ArrayList<>();
+            for (Class<?> clazz : getEventTypes(eventClass)) {
+                final Subscription[] entries = subscriptionsByEventType.get(clazz);
+                if (entries != null) {
+                    Collections.addAll(resolved, entries);
+                }
+            }
+            return resolved.isEmpty() ? NO_SUBSCRIPTIONS : resolved.toArray(new Subscription[resolved.size()]);
+        }
+    }
+
+    /** Subscriber which is called on the publisher's thread. */
+    private class Subscription {
+        final EventSubscriber subscriber;
+        final Class<?>        eventType;
+
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong failed    = new AtomicLong();
+        private final AtomicLong totalTime = new AtomicLong();
+        private final AtomicLong maxTime   = new AtomicLong();
+
+        Subscription(EventSubscriber subscriber, Class<?> eventType) {
+            this.subscriber = subscriber;
+            this.eventType = eventType;
+        }
+
+        void deliver(Object event) {
+            call(event);
+        }
+
+        boolean isAsync() {
+            return false;
+        }
+
+        int getPending() {
+            return 0;
+        }
+
+        SubscriberMetrics getMetrics() {
+            return new SubscriberMetrics(subscriber.toString(),
+                                         eventType,
+                                         isAsync(),
+                                         delivered.get(),
+                                         failed.get(),
+                                         totalTime.get(),
+                                         maxTime.get(),
+                                         getPending());
+        }
+
+        @SuppressWarnings("unchecked")
+        void call(Object event) {
+            LOG.debug("Publish event {} for {}", event, subscriber);
+            final long start = System.nanoTime();
+            try {
+                subscriber.onEvent(event);
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                LOG.error(e.getMessage(), e);
+            }
+            final long time = System.nanoTime() - start;
+            delivered.incrementAndGet();
+            totalTime.addAndGet(time);
+            maxTime.accumulateAndGet(time, Math::max);
+        }
+    }
+
+    /** Subscriber which gets events from its own mailbox, at most one event at a time. */
+    private class AsyncSubscription extends Subscription implements Runnable {
+        private final Deque<Object> mailbox   = new ArrayDeque<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        AsyncSubscription(EventSubscriber subscriber, Class<?> eventType) {
+            super(subscriber, eventType);
+        }
+
+        @Override
+        void deliver(Object event) {
+            synchronized (mailbox) {
+                mailbox.addLast(event);
+            }
+            schedule();
+        }
+
+        @Override
+        boolean isAsync() {
+            return true;
+        }
+
+        @Override
+        int getPending() {
+            synchronized (mailbox) {
+                return mailbox.size();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Object event;
+                while ((event = poll()) != null) {
+                    call(event);
+                }
+            } finally {
+                scheduled.set(false);
+            }
+
+            if (getPending() > 0) {
+                schedule();
+            }
+        }
+
+        private Object poll() {
+            synchronized (mailbox) {
+                return mailbox.pollFirst();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    asyncExecutor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    LOG.error("Can't deliver events to {}", subscriber, e);
+                }
+            }
+        }
+    }
+
+    /** Delivery statistics of a single subscriber, times are in nanoseconds. */
+    public static class SubscriberMetrics {
+        private final String   subscriber;
+        private final Class<?> eventType;
+        private final boolean  async;
+        private final long     delivered;
+        private final long     failed;
+        private final long     totalTime;
+        private final long     maxTime;
+        private final int      pending;
+
+        SubscriberMetrics(String subscriber,
+                          Class<?> eventType,
+                          boolean async,
+                          long delivered,
+                          long failed,
+                          long totalTime,
+                          long maxTime,
+                          int pending) {
+            this.subscriber = subscriber;
+            this.eventType = eventType;
+            this.async = async;
+            this.delivered = delivered;
+            this.failed = failed;
+            this.totalTime = totalTime;
+            this.maxTime = maxTime;
+            this.pending = pending;
+        }
+
+        public String getSubscriber() {
+            return subscriber;
+        }
+
+        public Class<?> getEventType() {
+            return eventType;
+        }
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public long getDelivered() {
+            return delivered;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getTotalTime() {
+            return totalTime;
+        }
+
+        public long getMaxTime() {
+            return maxTime;
+        }
+
+        public int getPending() {
+            return pending;
+        }
+    }
 }
@@ -45,8 +45,10 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -57,6 +59,12 @@ import static java.util.Objects.requireNonNull;
  * <p>The instance of this request is reusable, which means that
  * it is possible to call {@link #request()} method more than one time per instance
  *
+ * <p>Responses are requested gzip compressed. Connections which responses are fully read
+ * are kept alive by the JDK and reused by following requests to the same server,
+ * see "http.keepAlive" and "http.maxConnections" system properties.
+ * {@link #requestDto(Class)} and {@link #requestList(Class)} parse DTOs directly
+ * from the response stream.
+ *
  * @author Yevhenii Voevodin
  * @see DefaultHttpJsonRequestFactory
  */
@@ -64,6 +72,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
 
     private static final int      DEFAULT_QUERY_PARAMS_LIST_SIZE = 5;
     private static final Object[] EMPTY_ARRAY                    = new Object[0];
+    private static final String   GZIP                           = "gzip";
 
     private final String url;
 
@@ -159,6 +168,40 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         return doRequest(timeout, url, method, body, queryParams, authorizationHeaderValue);
     }
 
+    @Override
+    public <T> T requestDto(@NotNull Class<T> dtoInterface) throws IOException,
+                                                                    ServerException,
+                                                                    UnauthorizedException,
+                                                                    ForbiddenException,
+                                                                    NotFoundException,
+                                                                    ConflictException,
+                                                                    BadRequestException {
+        requireNonNull(dtoInterface, "Required non-null dto interface");
+        if (method == null) {
+            throw new IllegalStateException("Could not perform request, request method wasn't set");
+        }
+        return doRequest(timeout, url, method, body, queryParams, authorizationHeaderValue,
+                         (in, responseCode) -> DtoFactory.getInstance().createDtoFromJson(new InputStreamReader(in, UTF_8),
+                                                                                          dtoInterface));
+    }
+
+    @Override
+    public <T> List<T> requestList(@NotNull Class<T> dtoInterface) throws IOException,
+                                                                           ServerException,
+                                                                           UnauthorizedException,
+                                                                           ForbiddenException,
+                                                                           NotFoundException,
+                                                                           ConflictException,
+                                                                           BadRequestException {
+        requireNonNull(dtoInterface, "Required non-null dto interface");
+        if (method == null) {
+            throw new IllegalStateException("Could not perform request, request method wasn't set");
+        }
+        return doRequest(timeout, url, method, body, queryParams, authorizationHeaderValue,
+                         (in, responseCode) -> DtoFactory.getInstance().createListDtoFromJson(new InputStreamReader(in, UTF_8),
+                                                                                              dtoInterface));
+    }
+
     /**
      * Makes this request using {@link HttpURLConnection}.
      *
@@ -206,6 +249,29 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                                                                               UnauthorizedException,
                                                                               ConflictException,
                                                                               BadRequestException {
+        return doRequest(timeout, url, method, body, parameters, authorizationHeaderValue,
+                         (in, responseCode) -> new DefaultHttpJsonResponse(CharStreams.toString(new InputStreamReader(in, UTF_8)),
+                                                                           responseCode));
+    }
+
+    /**
+     * Makes this request using {@link HttpURLConnection} and reads successful response with the given reader.
+     *
+     * @see #doRequest(int, String, String, Object, List, String)
+     */
+    private <R> R doRequest(int timeout,
+                            String url,
+                            String method,
+                            Object body,
+                            List<Pair<String, ?>> parameters,
+                            String authorizationHeaderValue,
+                            ResponseReader<R> responseReader) throws IOException,
+                                                                     ServerException,
+                                                                     ForbiddenException,
+                                                                     NotFoundException,
+                                                                     UnauthorizedException,
+                                                                     ConflictException,
+                                                                     BadRequestException {
         final String authToken = EnvironmentContext.getCurrent().getSubject().getToken();
         final boolean hasQueryParams = parameters != null && !parameters.isEmpty();
         if (hasQueryParams || authToken != null) {
@@ -223,10 +289,12 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         final HttpURLConnection conn = (HttpURLConnection)new URL(url).openConnection();
         conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
         conn.setReadTimeout(timeout > 0 ? timeout : 60000);
+        boolean responseRead = false;
         try {
             conn.setRequestMethod(method);
             //drop a hint for server side that we want to receive application/json
             conn.addRequestProperty(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+            conn.addRequestProperty(HttpHeaders.ACCEPT_ENCODING, GZIP);
             if (!isNullOrEmpty(authorizationHeaderValue)) {
                 conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authorizationHeaderValue);
             } else if (authToken != null) {
@@ -253,9 +321,11 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                     in = conn.getInputStream();
                 }
                 final String str;
-                try (Reader reader = new InputStreamReader(in)) {
+                try (Reader reader = new InputStreamReader(decode(conn, in), UTF_8)) {
                     str = CharStreams.toString(reader);
                 }
+                // error response is fully read, so the connection may be reused
+                responseRead = true;
                 final String contentType = conn.getContentType();
                 if (contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON)) {
                     final ServiceError serviceError = DtoFactory.getInstance().createDtoFromJson(str, ServiceError.class);
@@ -285,12 +355,37 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                 throw new IOException(conn.getResponseMessage());
             }
 
-            try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-                return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
+            try (InputStream in = decode(conn, conn.getInputStream())) {
+                final R response = responseReader.read(in, responseCode);
+                // parser may stop before the end of the stream, the rest must be read to keep the connection alive
+                final byte[] buffer = new byte[1024];
+                while (in.read(buffer) != -1) {
+                    // skip the rest of the response
+                }
+                responseRead = true;
+                return response;
             }
         } finally {
-            conn.disconnect();
+            // fully read connection is kept alive by the JDK and reused by following
+            // requests to the same server, e.g. by frequent pings of workspace agents
+            if (!responseRead) {
+                conn.disconnect();
+            }
+        }
+    }
+
+    /** Wraps the response stream with gzip decoding stream if the response is compressed. */
+    private static InputStream decode(HttpURLConnection conn, InputStream in) throws IOException {
+        if (GZIP.equalsIgnoreCase(conn.getContentEncoding()) && conn.getContentLengthLong() != 0) {
+            return new GZIPInputStream(in);
         }
+        return in;
+    }
+
+    /** Reads successful response of the request. */
+    @FunctionalInterface
+    private interface ResponseReader<R> {
+        R read(InputStream in, int responseCode) throws IOException;
     }
 
     @Override
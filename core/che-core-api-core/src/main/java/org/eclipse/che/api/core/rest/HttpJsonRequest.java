@@ -19,6 +19,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.dto.server.JsonSerializable;
 
 import javax.validation.constraints.NotNull;
@@ -27,6 +28,8 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Defines simple set of methods for requesting json objects.
@@ -177,6 +180,76 @@ public interface HttpJsonRequest {
                                       ConflictException,
                                       BadRequestException;
 
+    /**
+     * Makes http request in the same way as {@link #request()} does and
+     * parses the response body into the given DTO.
+     *
+     * <p>Implementations may parse the DTO directly from the response stream
+     * without reading the whole response body into a string first.
+     *
+     * @param dtoInterface
+     *         DTO interface
+     * @return DTO created from the response body
+     * @see #request()
+     */
+    default <T> T requestDto(@NotNull Class<T> dtoInterface) throws IOException,
+                                                                     ServerException,
+                                                                     UnauthorizedException,
+                                                                     ForbiddenException,
+                                                                     NotFoundException,
+                                                                     ConflictException,
+                                                                     BadRequestException {
+        return request().asDto(dtoInterface);
+    }
+
+    /**
+     * Makes http request in the same way as {@link #request()} does and
+     * parses the response body into the list of given DTOs.
+     *
+     * <p>Implementations may parse the list directly from the response stream
+     * without reading the whole response body into a string first.
+     *
+     * @param dtoInterface
+     *         DTO interface
+     * @return list of DTOs created from the response body
+     * @see #request()
+     */
+    default <T> List<T> requestList(@NotNull Class<T> dtoInterface) throws IOException,
+                                                                            ServerException,
+                                                                            UnauthorizedException,
+                                                                            ForbiddenException,
+                                                                            NotFoundException,
+                                                                            ConflictException,
+                                                                            BadRequestException {
+        return request().asList(dtoInterface);
+    }
+
+    /**
+     * Makes http request in the same way as {@link #request()} does, but asynchronously
+     * using the given executor. {@link EnvironmentContext#getCurrent() Current context}
+     * is propagated to the thread which makes the request.
+     *
+     * <p>Returned future is completed exceptionally with exceptions thrown by {@link #request()}.
+     *
+     * @param executor
+     *         executor which makes the request
+     * @return future of {@link HttpJsonResponse} of this request
+     * @throws NullPointerException
+     *         when executor is null
+     */
+    default CompletableFuture<HttpJsonResponse> requestAsync(@NotNull Executor executor) {
+        Objects.requireNonNull(executor, "Required non-null executor");
+        final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+        executor.execute(ThreadLocalPropagateContext.wrap((Runnable)() -> {
+            try {
+                future.complete(request());
+            } catch (Exception x) {
+                future.completeExceptionally(x);
+            }
+        }));
+        return future;
+    }
+
     /**
      * Uses {@link HttpMethod#GET} as a request method.
      *
@@ -86,4 +86,33 @@ public class CompositeLineConsumer implements LineConsumer {
         }
     }
 
+    /**
+     * Writes given lines to each subconsumer at once.
+     * Do nothing if this consumer is closed or all subconsumers are closed.
+     *
+     * @param lines
+     *         lines to write
+     */
+    @Override
+    public void writeLines(List<String> lines) {
+        if (isOpen) {
+            for (LineConsumer lineConsumer : lineConsumers) {
+                try {
+                    lineConsumer.writeLines(lines);
+                } catch (ClosedByInterruptException interrupted) {
+                    Thread.currentThread().interrupt();
+                    isOpen = false;
+                    return;
+                } catch (ConsumerAlreadyClosedException e) {
+                    lineConsumers.remove(lineConsumer);
+                    if (lineConsumers.size() == 0) {
+                        isOpen = false;
+                    }
+                } catch (IOException e) {
+                    LOG.error(String.format("An error occurred while writing lines to the line consumer %s", lineConsumer), e);
+                }
+            }
+        }
+    }
+
 }
@@ -12,6 +12,7 @@ package org.eclipse.che.api.core.util;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Consumes text line by line for analysing, writing, storing, etc.
@@ -23,5 +24,12 @@ public interface LineConsumer extends Closeable {
     /** Consumes single line. */
     void writeLine(String line) throws IOException;
 
+    /** Consumes several lines at once, implementations may write them in a single operation. */
+    default void writeLines(List<String> lines) throws IOException {
+        for (String line : lines) {
+            writeLine(line);
+        }
+    }
+
     LineConsumer DEV_NULL = new AbstractLineConsumer() {};
 }
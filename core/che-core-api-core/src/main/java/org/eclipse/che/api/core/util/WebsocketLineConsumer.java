@@ -15,6 +15,7 @@ import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.util.List;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -33,9 +34,21 @@ public class WebsocketLineConsumer implements LineConsumer {
 
     @Override
     public void writeLine(String line) throws IOException {
+        send(line);
+    }
+
+    /** Sends the lines in a single message, lines are separated by line feed. */
+    @Override
+    public void writeLines(List<String> lines) throws IOException {
+        if (!lines.isEmpty()) {
+            send(String.join("\n", lines));
+        }
+    }
+
+    private void send(String body) {
         final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
         bm.setChannel(channel);
-        bm.setBody(line);
+        bm.setBody(body);
         try {
             WSConnectionContext.sendMessage(bm);
         } catch (Exception e) {
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Buffers consumed lines and passes them to the delegate consumer in batches,
+ * so the delegate writes many lines with a single operation, e.g. flushes a file once per batch.
+ *
+ * <p>Lines are flushed in the given executor once the batch size is reached
+ * or the flush interval passes. Writers never wait for the delegate,
+ * when the buffer is full new lines are dropped and the number of dropped lines
+ * is reported to the delegate with the next batch. All buffered lines are flushed on close.
+ * This implementation is thread safe.
+ */
+public class BatchingLineConsumer implements LineConsumer {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingLineConsumer.class);
+
+    private final LineConsumer                  delegate;
+    private final ScheduledExecutorService      flushExecutor;
+    private final int                           batchSize;
+    private final int                           capacity;
+    private final ConcurrentLinkedQueue<String> buffer;
+    private final AtomicInteger                 buffered;
+    private final AtomicLong                    dropped;
+    private final AtomicBoolean                 flushRequested;
+    private final ScheduledFuture<?>            periodicFlush;
+
+    private volatile boolean isOpen;
+    private          boolean isDelegateClosed;
+    private          long    reportedDropped;
+
+    /**
+     * Creates consumer which flushes lines periodically.
+     *
+     * @param delegate
+     *         consumer which receives batches of lines
+     * @param flushExecutor
+     *         executor which flushes lines to the delegate
+     * @param batchSize
+     *         number of buffered lines which triggers a flush
+     * @param flushIntervalMs
+     *         max time a line stays in the buffer
+     * @param capacity
+     *         max number of buffered lines, lines over it are dropped
+     */
+    public BatchingLineConsumer(LineConsumer delegate,
+                                ScheduledExecutorService flushExecutor,
+                                int batchSize,
+                                long flushIntervalMs,
+                                int capacity) {
+        this.delegate = delegate;
+        this.flushExecutor = flushExecutor;
+        this.batchSize = batchSize;
+        this.capacity = Math.max(capacity, batchSize);
+        this.buffer = new ConcurrentLinkedQueue<>();
+        this.buffered = new AtomicInteger();
+        this.dropped = new AtomicLong();
+        this.flushRequested = new AtomicBoolean();
+        this.isOpen = true;
+        this.periodicFlush = flushExecutor.scheduleWithFixedDelay(this::flushQuietly,
+                                                                  flushIntervalMs,
+                                                                  flushIntervalMs,
+                                                                  MILLISECONDS);
+    }
+
+    public boolean isOpen() {
+        return isOpen;
+    }
+
+    /** Returns the number of lines dropped because the buffer was full. */
+    public long getDroppedLines() {
+        return dropped.get();
+    }
+
+    /**
+     * Adds the line to the buffer.
+     * Do nothing if this consumer is closed.
+     */
+    @Override
+    public void writeLine(String line) {
+        if (!isOpen) {
+            return;
+        }
+        if (buffered.incrementAndGet() > capacity) {
+            buffered.decrementAndGet();
+            dropped.incrementAndGet();
+            requestFlush();
+            return;
+        }
+        buffer.offer(line);
+        if (buffered.get() >= batchSize) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * Flushes buffered lines and closes the delegate.
+     * Both happen under the flush lock, so a concurrent flush never writes to the closed delegate.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (isOpen) {
+            isOpen = false;
+            periodicFlush.cancel(false);
+            try {
+                flush();
+            } finally {
+                isDelegateClosed = true;
+                delegate.close();
+            }
+        }
+    }
+
+    /**
+     * Passes all the buffered lines to the delegate.
+     * Do nothing if the delegate is already closed.
+     */
+    public synchronized void flush() throws IOException {
+        flushRequested.set(false);
+        if (isDelegateClosed) {
+            return;
+        }
+        List<String> batch = new ArrayList<>(Math.min(buffered.get(), batchSize) + 1);
+        final long droppedNow = dropped.get();
+        if (droppedNow > reportedDropped) {
+            batch.add(String.format("[WARN] %d lines of output were skipped", droppedNow - reportedDropped));
+            reportedDropped = droppedNow;
+        }
+        for (String line; (line = buffer.poll()) != null; ) {
+            buffered.decrementAndGet();
+            batch.add(line);
+            if (batch.size() >= batchSize) {
+                delegate.writeLines(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            delegate.writeLines(batch);
+        }
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (ConsumerAlreadyClosedException e) {
+            isOpen = false;
+            periodicFlush.cancel(false);
+        } catch (IOException e) {
+            LOG.error(String.format("An error occurred while flushing lines to the line consumer %s", delegate), e);
+        }
+    }
+}
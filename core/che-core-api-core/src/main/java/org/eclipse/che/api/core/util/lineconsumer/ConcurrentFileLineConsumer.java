@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.util.List;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -68,6 +69,29 @@ public class ConcurrentFileLineConsumer implements LineConsumer {
         }
     }
 
+    /** Writes all the lines and flushes the file once. */
+    @Override
+    public void writeLines(List<String> lines) throws IOException {
+        if (isOpen && lock.readLock().tryLock()) {
+            try {
+                for (String line : lines) {
+                    if (line != null) {
+                        writer.write(line);
+                    }
+                    writer.write('\n');
+                }
+                writer.flush();
+            } catch (IOException e) {
+                if ("Stream closed".equals(e.getMessage())) {
+                    throw new ConsumerAlreadyClosedException(e.getMessage());
+                }
+                throw e;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (isOpen) {
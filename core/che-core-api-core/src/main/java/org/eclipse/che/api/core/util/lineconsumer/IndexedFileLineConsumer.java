@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Consumes logs, writes them into file and updates the index of lines of the file,
+ * so the file may be read by ranges of lines while it is written.
+ * The index is marked as complete when the consumer is closed.
+ * This implementation is thread safe.
+ *
+ * @see LineIndexedFile
+ */
+public class IndexedFileLineConsumer implements LineConsumer {
+    private final LineIndexedFile indexedFile;
+    private final OutputStream    output;
+
+    private long    offset;
+    private long[]  lineEnds;
+    private int     count;
+    private boolean isOpen;
+
+    public IndexedFileLineConsumer(LineIndexedFile indexedFile) throws IOException {
+        this.indexedFile = indexedFile;
+        this.output = new BufferedOutputStream(new FileOutputStream(indexedFile.getFile()));
+        this.lineEnds = new long[16];
+        this.isOpen = true;
+    }
+
+    public LineIndexedFile getIndexedFile() {
+        return indexedFile;
+    }
+
+    @Override
+    public void writeLine(String line) throws IOException {
+        writeLines(Collections.singletonList(line));
+    }
+
+    /** Writes all the lines, flushes the file once and then adds the lines to the index. */
+    @Override
+    public synchronized void writeLines(List<String> lines) throws IOException {
+        if (!isOpen) {
+            return;
+        }
+        count = 0;
+        for (String line : lines) {
+            if (line != null) {
+                // line feeds inside of the line start new lines of the file
+                int from = 0;
+                for (int lf; (lf = line.indexOf('\n', from)) >= 0; from = lf + 1) {
+                    write(line.substring(from, lf));
+                }
+                write(from == 0 ? line : line.substring(from));
+            } else {
+                write("");
+            }
+        }
+        output.flush();
+        indexedFile.linesWritten(lineEnds, count);
+    }
+
+    private void write(String line) throws IOException {
+        final byte[] bytes = line.getBytes(indexedFile.getCharset());
+        output.write(bytes);
+        output.write('\n');
+        offset += bytes.length + 1;
+        if (count == lineEnds.length) {
+            lineEnds = Arrays.copyOf(lineEnds, lineEnds.length * 2);
+        }
+        lineEnds[count++] = offset;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (isOpen) {
+            isOpen = false;
+            try {
+                output.close();
+            } finally {
+                indexedFile.complete();
+            }
+        }
+    }
+}
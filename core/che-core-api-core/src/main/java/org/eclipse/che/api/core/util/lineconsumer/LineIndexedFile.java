@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Text file with a sparse index of line offsets, allows to read a range of lines
+ * or the last lines of a large file without reading the file from the beginning.
+ *
+ * <p>The index keeps the offset of every n-th line. It is updated by the writer
+ * of the file, see {@link IndexedFileLineConsumer}, and catches up with lines
+ * written by others when the file is read. Lines are separated by line feed,
+ * a line which is not terminated yet is not visible to readers.
+ * This implementation is thread safe.
+ */
+public class LineIndexedFile {
+    private final File    file;
+    private final Charset charset;
+    private final int     interval;
+
+    /** offsets[i] is the offset of the line number {@code i * interval}. */
+    private long[]  offsets;
+    private int     indexed;
+    private long    lineCount;
+    private long    length;
+    private boolean complete;
+
+    /**
+     * Creates index of the file.
+     *
+     * @param file
+     *         indexed file
+     * @param charset
+     *         charset of the file content
+     * @param interval
+     *         number of lines between indexed offsets
+     */
+    public LineIndexedFile(File file, Charset charset, int interval) {
+        this.file = file;
+        this.charset = charset;
+        this.interval = interval;
+        this.offsets = new long[16];
+        this.indexed = 1;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /** Returns the number of complete lines in the file. */
+    public synchronized long getLineCount() throws IOException {
+        catchUp();
+        return lineCount;
+    }
+
+    /** Returns true if nothing is written to the file any more. */
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+
+    /** Marks the file as the one which is not written any more and wakes up waiting readers. */
+    public synchronized void complete() {
+        complete = true;
+        notifyAll();
+    }
+
+    /**
+     * Reads lines starting from the given one.
+     *
+     * @param fromLine
+     *         number of the first line to read, starting from 0
+     * @param maxLines
+     *         max number of lines to read
+     * @return read lines, empty if there are no lines after the given one
+     */
+    public Lines readLines(long fromLine, int maxLines) throws IOException {
+        final long start;
+        final long skip;
+        final int limit;
+        synchronized (this) {
+            catchUp();
+            if (fromLine >= lineCount || maxLines <= 0) {
+                return new Lines(fromLine, Collections.emptyList());
+            }
+            final int idx = (int)Math.min(fromLine / interval, indexed - 1);
+            start = offsets[idx];
+            skip = fromLine - (long)idx * interval;
+            limit = (int)Math.min(maxLines, lineCount - fromLine);
+        }
+        final List<String> lines = new ArrayList<>(Math.min(limit, 1024));
+        try (InputStream in = open(start)) {
+            for (long i = 0; i < skip; i++) {
+                skipLine(in);
+            }
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            for (int i = 0; i < limit; i++) {
+                line.reset();
+                for (int b; (b = in.read()) != '\n'; ) {
+                    if (b == -1) {
+                        throw new IOException("Unexpected end of file " + file);
+                    }
+                    line.write(b);
+                }
+                lines.add(new String(line.toByteArray(), charset));
+            }
+        }
+        return new Lines(fromLine, lines);
+    }
+
+    /**
+     * Reads the last lines of the file.
+     *
+     * @param maxLines
+     *         max number of lines to read
+     */
+    public Lines tail(int maxLines) throws IOException {
+        return readLines(Math.max(0, getLineCount() - maxLines), maxLines);
+    }
+
+    /**
+     * Waits until the file has more lines than the given number or the file is complete.
+     *
+     * @return true if there are more lines
+     */
+    public synchronized boolean awaitLines(long lines, long timeoutMs) throws IOException, InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMs;
+        for (long left = timeoutMs; getLineCount() <= lines && !complete && left > 0;
+             left = deadline - System.currentTimeMillis()) {
+            wait(left);
+        }
+        return lineCount > lines;
+    }
+
+    /**
+     * Is called by the writer of the file when lines are flushed.
+     *
+     * @param lineEnds
+     *         offsets in the file right after the line feed of each written line
+     * @param count
+     *         number of written lines
+     */
+    synchronized void linesWritten(long[] lineEnds, int count) {
+        for (int i = 0; i < count; i++) {
+            // lines may be already indexed by a reader which caught up with the file
+            if (lineEnds[i] > length) {
+                addLine(lineEnds[i]);
+            }
+        }
+        notifyAll();
+    }
+
+    private void catchUp() throws IOException {
+        if (complete && length == file.length() || !file.isFile()) {
+            return;
+        }
+        try (InputStream in = open(length)) {
+            long pos = length;
+            for (int b; (b = in.read()) != -1; ) {
+                pos++;
+                if (b == '\n') {
+                    addLine(pos);
+                }
+            }
+        }
+    }
+
+    private void addLine(long lineEnd) {
+        lineCount++;
+        length = lineEnd;
+        if (lineCount % interval == 0) {
+            if (indexed == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[indexed++] = lineEnd;
+        }
+    }
+
+    private InputStream open(long offset) throws IOException {
+        final FileInputStream in = new FileInputStream(file);
+        try {
+            in.getChannel().position(offset);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new BufferedInputStream(in, 64 * 1024);
+    }
+
+    private static void skipLine(InputStream in) throws IOException {
+        for (int b; (b = in.read()) != '\n'; ) {
+            if (b == -1) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+    }
+
+    /** Range of lines of the file. */
+    public static class Lines {
+        private final long         firstLine;
+        private final List<String> lines;
+
+        Lines(long firstLine, List<String> lines) {
+            this.firstLine = firstLine;
+            this.lines = lines;
+        }
+
+        /** Returns the number of the first line of the range. */
+        public long getFirstLine() {
+            return firstLine;
+        }
+
+        public List<String> getLines() {
+            return lines;
+        }
+
+        /** Returns the number of the line which follows the range. */
+        public long getNextLine() {
+            return firstLine + lines.size();
+        }
+    }
+}
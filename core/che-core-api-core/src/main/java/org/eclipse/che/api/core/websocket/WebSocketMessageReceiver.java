@@ -25,4 +25,13 @@ public interface WebSocketMessageReceiver {
      *         plain text message
      */
     void receive(String endpointId, String message);
+
+    /**
+     * Notifies that a web socket session of an endpoint is closed.
+     *
+     * @param endpointId
+     *         identifier of an endpoint known to an transmitter implementation
+     */
+    default void onClose(String endpointId) {
+    }
 }
@@ -0,0 +1,380 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
+import org.eclipse.che.api.core.websocket.impl.MessagesReSender.PendingMessage;
+import org.slf4j.Logger;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.getLastSeenSequence;
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.isSequenced;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Transmits messages over WEB SOCKET without blocking the caller. Each
+ * registered session gets its own bounded outbound queue which is drained
+ * by a shared pool of threads, so a slow remote endpoint affects only its own
+ * messages. Messages are written to a session with its asynchronous remote
+ * endpoint one after another, the next message is written when the previous
+ * write completes, so a drain thread never waits for a remote endpoint and
+ * messages are sent to a single session in the order they were queued.
+ *
+ * <p>When the queue of an endpoint is full the oldest pending message is
+ * dropped. Pending messages of an endpoint are re-sent through the queue of
+ * its session, they are put at the head of the queue, so they are written by
+ * the same queue as other messages and before them. The queue is removed when
+ * the session of the endpoint is removed from registry, messages which are
+ * still queued go to re-sender.
+ * If WEB SOCKET session is not opened or a message can't be written, messages
+ * are added to re-sender to try to send them when session will be opened again.
+ *
+ * <p>Each message gets the next sequence number of its endpoint. Messages sent
+ * to a client which has passed '{@value MessagesReSender#LAST_SEEN_PARAMETER}'
+ * request parameter are prefixed with their sequence number followed by
+ * '{@value #SEQUENCE_DELIMITER}', so the client knows the number of the last
+ * message it has received and detects missed ones.
+ *
+ * @author Dmitry Kuleshov
+ */
+@Singleton
+public class AsyncWebSocketMessageTransmitter implements WebSocketMessageTransmitter {
+    private static final Logger LOG = getLogger(AsyncWebSocketMessageTransmitter.class);
+
+    /** Delimits sequence number and text of a message sent to a client which tracks sequence numbers. */
+    public static final char SEQUENCE_DELIMITER = ':';
+
+    private final WebSocketSessionRegistry   registry;
+    private final MessagesReSender           reSender;
+    private final Executor                   executor;
+    private final int                        queueCapacity;
+    private final Map<String, EndpointQueue> queues = new ConcurrentHashMap<>();
+
+    @Inject
+    public AsyncWebSocketMessageTransmitter(WebSocketSessionRegistry registry,
+                                            MessagesReSender reSender,
+                                            @Named("che.websocket.transmitter.pool_size") int poolSize,
+                                            @Named("che.websocket.transmitter.queue_size") int queueCapacity) {
+        this(registry,
+             reSender,
+             Executors.newFixedThreadPool(poolSize, new ThreadFactoryBuilder().setNameFormat("WebSocketTransmitter-%d")
+                                                                              .setDaemon(true)
+                                                                              .build()),
+             queueCapacity);
+    }
+
+    AsyncWebSocketMessageTransmitter(WebSocketSessionRegistry registry,
+                                     MessagesReSender reSender,
+                                     Executor executor,
+                                     int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive, but was " + queueCapacity);
+        }
+        this.registry = registry;
+        this.reSender = reSender;
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+        registry.addRemoveListener(this::onSessionRemoved);
+        reSender.setResendHandler(this::resend);
+    }
+
+    @Override
+    public void transmit(String endpointId, String message) {
+        queues.compute(endpointId, (id, existing) -> {
+            final EndpointQueue queue = getQueue(id, existing);
+            final long sequence = reSender.nextSequence(id);
+
+            if (queue == null) {
+                LOG.debug("Session is not registered or closed, adding message to pending");
+
+                reSender.add(id, sequence, message);
+            } else {
+                LOG.debug("Session registered and open, queueing message");
+
+                queue.offer(sequence, message);
+            }
+            return queue;
+        });
+    }
+
+    @Override
+    public void transmit(String message) {
+        LOG.debug("Broadcasting a web socket transmission: {}", message);
+
+        for (String endpointId : registry.getEndpointIds()) {
+            queues.compute(endpointId, (id, existing) -> {
+                final EndpointQueue queue = getQueue(id, existing);
+                if (queue != null) {
+                    queue.offer(reSender.nextSequence(id), message);
+                }
+                return queue;
+            });
+        }
+    }
+
+    /**
+     * Returns backpressure metrics of the outbound queue of the endpoint,
+     * or an empty optional if there is no queue for the endpoint.
+     */
+    public Optional<QueueMetrics> getMetrics(String endpointId) {
+        return Optional.ofNullable(queues.get(endpointId)).map(EndpointQueue::getMetrics);
+    }
+
+    /** Returns backpressure metrics of all existing outbound queues mapped by endpoint identifiers. */
+    public Map<String, QueueMetrics> getMetrics() {
+        final Map<String, QueueMetrics> metrics = new HashMap<>();
+        queues.forEach((endpointId, queue) -> metrics.put(endpointId, queue.getMetrics()));
+        return metrics;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService)executor).shutdownNow();
+        }
+    }
+
+    /** Puts pending messages of the endpoint at the head of the queue of its registered session. */
+    private void resend(String endpointId) {
+        queues.compute(endpointId, (id, existing) -> {
+            final EndpointQueue queue = getQueue(id, existing);
+            if (queue != null) {
+                queue.offerFirst(reSender.takePending(id, getLastSeenSequence(queue.session)));
+            }
+            return queue;
+        });
+    }
+
+    /**
+     * Returns the queue of the open session registered for the endpoint, or {@code null}
+     * if there is no such session. If the existing queue is bound to another session its
+     * messages go to re-sender, a created queue starts with the pending messages of the
+     * endpoint which the client has not seen yet, so they are sent before any message
+     * queued later. Must be called under
+     * the lock of the endpoint entry of queues map.
+     */
+    private EndpointQueue getQueue(String endpointId, EndpointQueue existing) {
+        final Session session = registry.get(endpointId).filter(Session::isOpen).orElse(null);
+
+        if (existing != null && existing.session == session) {
+            return existing;
+        }
+        if (existing != null) {
+            existing.moveToReSender();
+        }
+        if (session == null) {
+            return null;
+        }
+
+        final EndpointQueue created = new EndpointQueue(endpointId, session);
+        created.offerFirst(reSender.takePending(endpointId, getLastSeenSequence(session)));
+        return created;
+    }
+
+    private void onSessionRemoved(String endpointId) {
+        queues.computeIfPresent(endpointId, (id, queue) -> {
+            queue.moveToReSender();
+            return null;
+        });
+    }
+
+    /** Snapshot of the state of an endpoint outbound queue. */
+    public static final class QueueMetrics {
+        private final int  depth;
+        private final long sent;
+        private final long dropped;
+
+        QueueMetrics(int depth, long sent, long dropped) {
+            this.depth = depth;
+            this.sent = sent;
+            this.dropped = dropped;
+        }
+
+        /** Number of messages waiting to be sent. */
+        public int getDepth() {
+            return depth;
+        }
+
+        /** Number of messages sent to the endpoint. */
+        public long getSent() {
+            return sent;
+        }
+
+        /** Number of messages dropped because the queue was full. */
+        public long getDropped() {
+            return dropped;
+        }
+
+        @Override
+        public String toString() {
+            return "QueueMetrics{" +
+                   "depth=" + depth +
+                   ", sent=" + sent +
+                   ", dropped=" + dropped +
+                   '}';
+        }
+    }
+
+    /**
+     * Outbound queue bound to a single session, at most one message of a queue
+     * is being written at a time which preserves messages order and satisfies
+     * the remote endpoint which allows a single outstanding write.
+     */
+    private final class EndpointQueue implements Runnable {
+        private final String        endpointId;
+        private final Session       session;
+        private final boolean       sequenced;
+        private final Deque<Frame>  frames  = new ArrayDeque<>();
+        private final AtomicBoolean active  = new AtomicBoolean();
+        private final AtomicLong    sent    = new AtomicLong();
+        private final AtomicLong    dropped = new AtomicLong();
+
+        private EndpointQueue(String endpointId, Session session) {
+            this.endpointId = endpointId;
+            this.session = session;
+            this.sequenced = isSequenced(session);
+        }
+
+        void offer(long sequence, String message) {
+            synchronized (this) {
+                if (frames.size() >= queueCapacity) {
+                    frames.pollFirst();
+                    dropped.incrementAndGet();
+                    LOG.debug("Outbound queue of endpoint {} is full, dropping the oldest message", endpointId);
+                }
+                frames.addLast(new Frame(sequence, message));
+            }
+            schedule();
+        }
+
+        void offerFirst(List<PendingMessage> messages) {
+            if (messages.isEmpty()) {
+                return;
+            }
+            synchronized (this) {
+                for (ListIterator<PendingMessage> it = messages.listIterator(messages.size()); it.hasPrevious(); ) {
+                    final PendingMessage pending = it.previous();
+                    frames.addFirst(new Frame(pending.getSequence(), pending.getMessage()));
+                }
+                while (frames.size() > queueCapacity) {
+                    frames.pollFirst();
+                    dropped.incrementAndGet();
+                }
+            }
+            schedule();
+        }
+
+        void moveToReSender() {
+            Frame frame;
+            while ((frame = poll()) != null) {
+                reSender.add(endpointId, frame.sequence, frame.message);
+            }
+        }
+
+        QueueMetrics getMetrics() {
+            final int depth;
+            synchronized (this) {
+                depth = frames.size();
+            }
+            return new QueueMetrics(depth, sent.get(), dropped.get());
+        }
+
+        @Override
+        public void run() {
+            final Frame frame = session.isOpen() ? poll() : null;
+
+            if (frame == null) {
+                complete();
+                return;
+            }
+
+            final String text = sequenced ? Long.toString(frame.sequence) + SEQUENCE_DELIMITER + frame.message : frame.message;
+            try {
+                session.getAsyncRemote().sendText(text, result -> onSent(frame, result));
+            } catch (RuntimeException e) {
+                onSent(frame, new SendResult(e));
+            }
+        }
+
+        private void onSent(Frame frame, SendResult result) {
+            if (result.isOK()) {
+                sent.incrementAndGet();
+            } else {
+                LOG.debug("Error while trying to send a message to endpoint {}, adding message to pending",
+                          endpointId,
+                          result.getException());
+
+                reSender.add(endpointId, frame.sequence, frame.message);
+            }
+            complete();
+        }
+
+        /** Called when there is nothing to write or a write is completed, schedules next write if any. */
+        private void complete() {
+            active.set(false);
+            if (session.isOpen() && !isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (active.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    active.set(false);
+                    LOG.error("Can't schedule transmission of messages to endpoint {}", endpointId, e);
+                }
+            }
+        }
+
+        private synchronized Frame poll() {
+            return frames.pollFirst();
+        }
+
+        private synchronized boolean isEmpty() {
+            return frames.isEmpty();
+        }
+    }
+
+    /** Message queued for an endpoint with its sequence number. */
+    private static final class Frame {
+        private final long   sequence;
+        private final String message;
+
+        private Frame(long sequence, String message) {
+            this.sequence = sequence;
+            this.message = message;
+        }
+    }
+}
@@ -10,53 +10,146 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import com.google.common.base.Ticker;
+
+import org.slf4j.Logger;
+
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.Session;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period
  * when WEB SOCKET session was closed. If session is closed during re-send process it
  * stops and left messages will be re-sent as WEB SOCKET session becomes open again.
  *
+ * <p>Pending messages of each endpoint are kept in a bounded buffer limited by the
+ * number of messages and by the total size of their UTF-8 encoded text, when a limit
+ * is exceeded the oldest messages are dropped. Messages older than the configured time
+ * to live are evicted, buffers of endpoints that never reconnect are evicted the same way.
+ *
+ * <p>Each message of an endpoint gets a sequence number, numbers of an endpoint are
+ * consecutive. A reconnecting client passes the number of the last message it has
+ * received as '{@value #LAST_SEEN_PARAMETER}' request parameter, pending messages it
+ * has already seen are not re-sent and missed messages which can't be re-sent are counted.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
-    private static final int MAX_MESSAGES = 100;
+    private static final Logger LOG = getLogger(MessagesReSender.class);
+
+    /** Request parameter with sequence number of the last message received by a client. */
+    public static final String LAST_SEEN_PARAMETER = "last-seen";
+
+    /** Sequence number which precedes any message. */
+    public static final long NO_SEQUENCE = 0;
 
-    private final WebSocketSessionRegistry registry;
+    private final WebSocketSessionRegistry   registry;
+    private final int                        maxMessages;
+    private final long                       maxBytes;
+    private final long                       ttlNanos;
+    private final Ticker                     ticker;
+    private final Map<String, PendingBuffer> buffersMap = new ConcurrentHashMap<>();
+    private final AtomicLong                 lastSweep;
+    private final AtomicLong                 highestSequence;
 
-    private final Map<String, List<String>> messagesMap = new HashMap<>();
+    private volatile Consumer<String> resendHandler;
+
+    private final AtomicLong resentCounter  = new AtomicLong();
+    private final AtomicLong droppedCounter = new AtomicLong();
+    private final AtomicLong expiredCounter = new AtomicLong();
+    private final AtomicLong missedCounter  = new AtomicLong();
 
     @Inject
-    public MessagesReSender(WebSocketSessionRegistry registry) {
+    public MessagesReSender(WebSocketSessionRegistry registry,
+                            @Named("che.websocket.resender.max_messages") int maxMessages,
+                            @Named("che.websocket.resender.max_bytes") long maxBytes,
+                            @Named("che.websocket.resender.ttl_sec") long ttlSec) {
+        this(registry, maxMessages, maxBytes, ttlSec, Ticker.systemTicker());
+    }
+
+    MessagesReSender(WebSocketSessionRegistry registry, int maxMessages, long maxBytes, long ttlSec, Ticker ticker) {
         this.registry = registry;
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = SECONDS.toNanos(ttlSec);
+        this.ticker = ticker;
+        this.lastSweep = new AtomicLong(ticker.read());
+        // numbers start from the current time, so they are greater than numbers
+        // a client may have seen before the agent was restarted
+        this.highestSequence = new AtomicLong(MILLISECONDS.toMicros(System.currentTimeMillis()));
     }
 
-    public void add(String endpointId, String message) {
-        List<String> messages = messagesMap.get(endpointId);
+    /**
+     * Adds a message to the pending messages of the endpoint.
+     *
+     * @return sequence number assigned to the message
+     */
+    public long add(String endpointId, String message) {
+        final long now = ticker.read();
+        final long sequence = withBuffer(endpointId, now, buffer -> {
+            final long next = buffer.nextSequence();
+            buffer.add(new PendingMessage(next, message, now));
+            return next;
+        });
 
-        if (messages == null) {
-            messages = new LinkedList<>();
-            messagesMap.put(endpointId, messages);
-        }
+        sweepExpired(now);
 
-        if (messages.size() <= MAX_MESSAGES) {
-            messages.add(message);
-        }
+        return sequence;
     }
 
+    /** Adds a message which has already got a sequence number to the pending messages of the endpoint. */
+    void add(String endpointId, long sequence, String message) {
+        final long now = ticker.read();
+        withBuffer(endpointId, now, buffer -> {
+            buffer.add(new PendingMessage(sequence, message, now));
+            return sequence;
+        });
+
+        sweepExpired(now);
+    }
+
+    /** Returns sequence number of the next message of the endpoint. */
+    long nextSequence(String endpointId) {
+        final long now = ticker.read();
+        final long sequence = withBuffer(endpointId, now, PendingBuffer::nextSequence);
+
+        sweepExpired(now);
+
+        return sequence;
+    }
+
+    /**
+     * Re-sends pending messages of the endpoint which its client has not seen yet, if
+     * a re-send handler is set the endpoint is passed to the handler which takes the
+     * pending messages itself.
+     */
     public void resend(String endpointId) {
-        final List<String> messages = messagesMap.remove(endpointId);
+        final Consumer<String> handler = resendHandler;
+        if (handler != null) {
+            handler.accept(endpointId);
+            return;
+        }
 
-        if (messages == null || messages.isEmpty()) {
+        final PendingBuffer buffer = buffersMap.get(endpointId);
+
+        if (buffer == null) {
             return;
         }
 
@@ -68,18 +161,286 @@ public class MessagesReSender {
 
         final Session session = sessionOptional.get();
 
-        final List<String> backing = new ArrayList<>(messages);
-        messages.clear();
+        synchronized (buffer) {
+            buffer.expire(ticker.read());
+            buffer.skipSeen(endpointId, getLastSeenSequence(session));
+
+            PendingMessage pending;
+            while ((pending = buffer.peek()) != null) {
+                if (!session.isOpen()) {
+                    break;
+                }
+                session.getAsyncRemote().sendText(pending.message);
+                buffer.poll();
+                resentCounter.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Takes pending messages of the endpoint which follow the message with the given
+     * sequence number out of this re-sender, messages are returned in the order of
+     * their sequence numbers and are counted as re-sent.
+     */
+    List<PendingMessage> takePending(String endpointId, long lastSeenSequence) {
+        final PendingBuffer buffer = buffersMap.get(endpointId);
 
-        for (String message : backing) {
+        if (buffer == null) {
+            return new ArrayList<>();
+        }
+
+        synchronized (buffer) {
+            buffer.expire(ticker.read());
+            buffer.skipSeen(endpointId, lastSeenSequence);
+
+            final List<PendingMessage> messages = new ArrayList<>(buffer.messages.size());
+            PendingMessage pending;
+            while ((pending = buffer.poll()) != null) {
+                messages.add(pending);
+            }
+            resentCounter.addAndGet(messages.size());
+
+            return messages;
+        }
+    }
+
+    /**
+     * Sets handler which re-sends pending messages of an endpoint instead of this
+     * re-sender. It is used by a transmitter which owns outbound queues of sessions,
+     * so that re-sent messages are written to a session by the same queue as others.
+     */
+    void setResendHandler(Consumer<String> resendHandler) {
+        this.resendHandler = resendHandler;
+    }
+
+    /** Returns the number of messages pending for the endpoint. */
+    public int getPendingCount(String endpointId) {
+        final PendingBuffer buffer = buffersMap.get(endpointId);
+        if (buffer == null) {
+            return 0;
+        }
+        synchronized (buffer) {
+            return buffer.messages.size();
+        }
+    }
+
+    /** Returns the number of messages which were re-sent. */
+    public long getResentCount() {
+        return resentCounter.get();
+    }
+
+    /** Returns the number of messages dropped because pending buffer limits were exceeded. */
+    public long getDroppedCount() {
+        return droppedCounter.get();
+    }
+
+    /** Returns the number of messages evicted because they were pending for too long. */
+    public long getExpiredCount() {
+        return expiredCounter.get();
+    }
+
+    /** Returns the number of messages which reconnected clients have missed and which could not be re-sent. */
+    public long getMissedCount() {
+        return missedCounter.get();
+    }
+
+    /**
+     * Returns sequence number of the last message received by the client of the session,
+     * passed as '{@value #LAST_SEEN_PARAMETER}' request parameter, or {@link #NO_SEQUENCE}
+     * if the parameter is absent or malformed.
+     */
+    static long getLastSeenSequence(Session session) {
+        final String value = getLastSeenParameter(session);
+        if (value == null) {
+            return NO_SEQUENCE;
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            LOG.debug("Malformed last seen sequence number: {}", value);
+            return NO_SEQUENCE;
+        }
+    }
 
-            if (session.isOpen()) {
-                session.getAsyncRemote().sendText(message);
+    /** Checks whether the client of the session tracks sequence numbers of messages it receives. */
+    static boolean isSequenced(Session session) {
+        return getLastSeenParameter(session) != null;
+    }
+
+    private static String getLastSeenParameter(Session session) {
+        final Map<String, List<String>> parameters = session.getRequestParameterMap();
+        if (parameters == null) {
+            return null;
+        }
+
+        final List<String> values = parameters.get(LAST_SEEN_PARAMETER);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /** Returns the number of bytes of the message text encoded in UTF-8, as it is sent over WEB SOCKET. */
+    private static long utf8Length(String message) {
+        long length = 0;
+        for (int i = 0; i < message.length(); i++) {
+            final char c = message.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < message.length()
+                       && Character.isLowSurrogate(message.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /** Applies the action to the buffer of the endpoint under its monitor, the buffer is created if absent. */
+    private <T> T withBuffer(String endpointId, long now, Function<PendingBuffer, T> action) {
+        while (true) {
+            final PendingBuffer buffer = buffersMap.computeIfAbsent(endpointId, id -> new PendingBuffer(highestSequence.get()));
+            synchronized (buffer) {
+                if (buffer.evicted) {
+                    continue;
+                }
+                buffer.lastAccess = now;
+                buffer.expire(now);
+                return action.apply(buffer);
+            }
+        }
+    }
+
+    /**
+     * Evicts expired messages of all the endpoints, performed not more often than once
+     * per time to live period. Buffers of endpoints which have no registered session, no
+     * pending messages and were not accessed during time to live period are evicted too.
+     */
+    private void sweepExpired(long now) {
+        final long last = lastSweep.get();
+        if (now - last < ttlNanos || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+
+        LOG.debug("Evicting expired pending messages");
+
+        buffersMap.forEach((endpointId, buffer) -> {
+            synchronized (buffer) {
+                buffer.expire(now);
+                if (buffer.messages.isEmpty() && now - buffer.lastAccess > ttlNanos && !registry.get(endpointId).isPresent()) {
+                    buffer.evicted = true;
+                    buffersMap.remove(endpointId, buffer);
+                }
+            }
+        });
+    }
+
+    /** Message of an endpoint with its sequence number. */
+    static final class PendingMessage {
+        private final long   sequence;
+        private final String message;
+        private final long   timestamp;
+        private final long   size;
+
+        PendingMessage(long sequence, String message, long timestamp) {
+            this.sequence = sequence;
+            this.message = message;
+            this.timestamp = timestamp;
+            this.size = utf8Length(message);
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+
+        String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Ring of pending messages of a single endpoint ordered by sequence numbers, it also
+     * keeps the last sequence number of the endpoint, guarded by its own monitor.
+     */
+    private final class PendingBuffer {
+        private final Deque<PendingMessage> messages = new ArrayDeque<>();
+        private final long                  firstSequence;
+
+        private long    lastSequence;
+        private long    lastAccess;
+        private long    size;
+        private boolean evicted;
+
+        PendingBuffer(long lastSequence) {
+            this.firstSequence = lastSequence + 1;
+            this.lastSequence = lastSequence;
+        }
+
+        long nextSequence() {
+            final long next = ++lastSequence;
+            highestSequence.accumulateAndGet(next, Math::max);
+            return next;
+        }
+
+        void add(PendingMessage pending) {
+            final PendingMessage last = messages.peekLast();
+            if (last == null || last.sequence < pending.sequence) {
+                messages.addLast(pending);
             } else {
-                messages.add(message);
+                // a message which failed to be written after newer ones were added
+                final Deque<PendingMessage> newer = new ArrayDeque<>();
+                while (!messages.isEmpty() && messages.peekLast().sequence > pending.sequence) {
+                    newer.addFirst(messages.pollLast());
+                }
+                messages.addLast(pending);
+                messages.addAll(newer);
+            }
+            size += pending.size;
+
+            while (messages.size() > maxMessages || size > maxBytes) {
+                poll();
+                droppedCounter.incrementAndGet();
+            }
+        }
+
+        void expire(long now) {
+            PendingMessage pending;
+            while ((pending = messages.peekFirst()) != null && now - pending.timestamp > ttlNanos) {
+                poll();
+                expiredCounter.incrementAndGet();
             }
         }
 
-        messagesMap.put(endpointId, messages);
+        /** Discards messages the client has already seen and counts messages it has missed. */
+        void skipSeen(String endpointId, long lastSeenSequence) {
+            if (lastSeenSequence == NO_SEQUENCE) {
+                return;
+            }
+
+            PendingMessage pending;
+            while ((pending = messages.peekFirst()) != null && pending.sequence <= lastSeenSequence) {
+                poll();
+            }
+
+            if (pending != null && lastSeenSequence >= firstSequence - 1 && pending.sequence > lastSeenSequence + 1) {
+                final long missed = pending.sequence - lastSeenSequence - 1;
+                missedCounter.addAndGet(missed);
+                LOG.debug("Client of endpoint {} missed {} messages which can't be re-sent", endpointId, missed);
+            }
+        }
+
+        PendingMessage peek() {
+            return messages.peekFirst();
+        }
+
+        PendingMessage poll() {
+            final PendingMessage pending = messages.pollFirst();
+            if (pending != null) {
+                size -= pending.size;
+            }
+            return pending;
+        }
     }
 }
@@ -15,10 +15,14 @@ import org.slf4j.Logger;
 import javax.inject.Singleton;
 import javax.websocket.Session;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import static java.util.stream.Collectors.toSet;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -32,7 +36,8 @@ import static org.slf4j.LoggerFactory.getLogger;
 public class WebSocketSessionRegistry {
     private static final Logger LOG = getLogger(WebSocketSessionRegistry.class);
 
-    private final Map<String, Session> sessionsMap = new ConcurrentHashMap<>();
+    private final Map<String, Session>    sessionsMap     = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> removeListeners = new CopyOnWriteArrayList<>();
 
     public void add(String endpointId, Session session) {
         LOG.debug("Registering session with endpoint {}", session.getId(), endpointId);
@@ -44,6 +49,12 @@ public class WebSocketSessionRegistry {
         LOG.debug("Cancelling registration for session with endpoint {}", endpointId);
 
         sessionsMap.remove(endpointId);
+        removeListeners.forEach(listener -> listener.accept(endpointId));
+    }
+
+    /** Adds listener which is notified with identifier of endpoint when its session is removed, e.g. on session close. */
+    public void addRemoveListener(Consumer<String> listener) {
+        removeListeners.add(listener);
     }
 
     public Optional<Session> get(String endpointId) {
@@ -53,4 +64,8 @@ public class WebSocketSessionRegistry {
     public Set<Session> getSessions() {
         return sessionsMap.values().stream().collect(toSet());
     }
+
+    public Set<String> getEndpointIds() {
+        return new HashSet<>(sessionsMap.keySet());
+    }
 }
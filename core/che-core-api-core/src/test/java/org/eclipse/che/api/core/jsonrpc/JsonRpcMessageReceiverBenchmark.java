@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import com.google.common.base.Strings;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.assistedinject.FactoryModuleBuilder;
+import com.google.inject.name.Names;
+
+import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
+import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reception of small, large and batched JSON RPC notifications
+ * by {@link JsonRpcMessageReceiver} including binding of params to a DTO.
+ *
+ * <p>Run with {@code main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JsonRpcMessageReceiverBenchmark {
+    private static final String ENDPOINT_ID = "endpoint";
+    private static final String METHOD      = "benchmark";
+    private static final int    BATCH_SIZE  = 50;
+
+    private JsonRpcMessageReceiver receiver;
+
+    /** Keeps results of message processing reachable so they are not optimized away. */
+    private volatile Object sink;
+
+    private String smallMessage;
+    private String largeMessage;
+    private String batchMessage;
+
+    @Setup
+    public void setUp() {
+        Injector injector = Guice.createInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                install(new FactoryModuleBuilder().build(JsonRpcFactory.class));
+                bind(JsonParser.class).toInstance(new JsonParser());
+                bindConstant().annotatedWith(Names.named("che.jsonrpc.request_timeout_ms")).to(60_000L);
+                bind(RequestProcessor.class).toInstance(new RequestProcessor(Runnable::run, Integer.MAX_VALUE, false));
+                bind(WebSocketMessageTransmitter.class).toInstance(new WebSocketMessageTransmitter() {
+                    @Override
+                    public void transmit(String endpointId, String message) {
+                        sink = message;
+                    }
+
+                    @Override
+                    public void transmit(String message) {
+                        sink = message;
+                    }
+                });
+            }
+        });
+
+        injector.getInstance(RequestHandlerRegistry.class)
+                .register(METHOD, (NotificationHandler)(endpointId, params) -> sink = params.getAs(ServiceError.class));
+        receiver = injector.getInstance(JsonRpcMessageReceiver.class);
+
+        smallMessage = notification("small").toString();
+        largeMessage = notification(Strings.repeat("large message line\n", 5_000)).toString();
+
+        JsonArray batch = new JsonArray();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(notification("batch message " + i));
+        }
+        batchMessage = batch.toString();
+    }
+
+    @Benchmark
+    public void small() {
+        receiver.receive(ENDPOINT_ID, smallMessage);
+    }
+
+    @Benchmark
+    public void large() {
+        receiver.receive(ENDPOINT_ID, largeMessage);
+    }
+
+    @Benchmark
+    public void batch() {
+        receiver.receive(ENDPOINT_ID, batchMessage);
+    }
+
+    private static JsonObject notification(String text) {
+        JsonObject params = new JsonObject();
+        params.addProperty("message", text);
+
+        JsonObject notification = new JsonObject();
+        notification.addProperty("jsonrpc", "2.0");
+        notification.addProperty("method", METHOD);
+        notification.add("params", params);
+        return notification;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonRpcMessageReceiverBenchmark.class.getSimpleName()).build()).run();
+    }
+}
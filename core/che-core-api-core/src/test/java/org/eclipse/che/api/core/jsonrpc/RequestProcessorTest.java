@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link RequestProcessor}
+ */
+public class RequestProcessorTest {
+    static final String ENDPOINT_ID       = "endpointId";
+    static final String OTHER_ENDPOINT_ID = "otherEndpointId";
+    static final String METHOD            = "method";
+    static final String OTHER_METHOD      = "otherMethod";
+    static final int    QUEUE_SIZE        = 2;
+
+    Queue<Runnable> tasks;
+    List<String>    processed;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        tasks = new LinkedList<>();
+        processed = new ArrayList<>();
+    }
+
+    @Test
+    public void shouldProcessRequestsOfEndpointOneByOne() throws Exception {
+        RequestProcessor processor = new RequestProcessor(tasks::add, QUEUE_SIZE, false);
+
+        processor.process(ENDPOINT_ID, METHOD, () -> processed.add("first"));
+        processor.process(ENDPOINT_ID, OTHER_METHOD, () -> processed.add("second"));
+
+        assertEquals(tasks.size(), 1);
+
+        runAll();
+
+        assertEquals(processed, asList("first", "second"));
+    }
+
+    @Test
+    public void shouldProcessRequestsOfDifferentEndpointsIndependently() throws Exception {
+        RequestProcessor processor = new RequestProcessor(tasks::add, QUEUE_SIZE, false);
+
+        processor.process(ENDPOINT_ID, METHOD, () -> processed.add("first"));
+        processor.process(OTHER_ENDPOINT_ID, METHOD, () -> processed.add("second"));
+
+        assertEquals(tasks.size(), 2);
+    }
+
+    @Test
+    public void shouldProcessRequestsOfDifferentMethodsIndependentlyWhenOrderedPerMethod() throws Exception {
+        RequestProcessor processor = new RequestProcessor(tasks::add, QUEUE_SIZE, true);
+
+        processor.process(ENDPOINT_ID, METHOD, () -> processed.add("first"));
+        processor.process(ENDPOINT_ID, OTHER_METHOD, () -> processed.add("second"));
+
+        assertEquals(tasks.size(), 2);
+    }
+
+    @Test
+    public void shouldContinueProcessingWhenRequestFails() throws Exception {
+        RequestProcessor processor = new RequestProcessor(tasks::add, QUEUE_SIZE, false);
+
+        processor.process(ENDPOINT_ID, METHOD, () -> {
+            throw new IllegalStateException();
+        });
+        processor.process(ENDPOINT_ID, METHOD, () -> processed.add("second"));
+
+        runAll();
+
+        assertEquals(processed, asList("second"));
+    }
+
+    @Test
+    public void shouldContinueProcessingWhenRequestThrowsError() throws Exception {
+        RequestProcessor processor = new RequestProcessor(tasks::add, QUEUE_SIZE, false);
+
+        processor.process(ENDPOINT_ID, METHOD, () -> {
+            throw new Error();
+        });
+        processor.process(ENDPOINT_ID, METHOD, () -> processed.add("second"));
+
+        boolean thrown = false;
+        try {
+            tasks.poll().run();
+        } catch (Error e) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+        runAll();
+        processor.process(ENDPOINT_ID, METHOD, () -> processed.add("third"));
+        runAll();
+
+        assertEquals(processed, asList("second", "third"));
+    }
+
+    @Test
+    public void shouldRejectRequestsWhenQueueIsFull() throws Exception {
+        RequestProcessor processor = new RequestProcessor(tasks::add, QUEUE_SIZE, false);
+
+        processor.process(ENDPOINT_ID, METHOD, () -> processed.add("first"));
+        processor.process(ENDPOINT_ID, METHOD, () -> processed.add("second"));
+
+        boolean rejected = false;
+        try {
+            processor.process(ENDPOINT_ID, METHOD, () -> processed.add("third"));
+        } catch (RejectedExecutionException e) {
+            rejected = true;
+        }
+        assertTrue(rejected);
+
+        runAll();
+        processor.process(ENDPOINT_ID, METHOD, () -> processed.add("fourth"));
+        runAll();
+
+        assertEquals(processed, asList("first", "second", "fourth"));
+    }
+
+    private void runAll() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+}
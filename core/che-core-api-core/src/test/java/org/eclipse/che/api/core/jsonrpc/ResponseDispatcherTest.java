@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import com.google.gson.JsonPrimitive;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiConsumer;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link ResponseDispatcher}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class ResponseDispatcherTest {
+    static final String ENDPOINT_ID = "endpointId";
+    static final String REQUEST_ID  = "0";
+    static final long   TIMEOUT_MS  = 1000;
+
+    @Mock
+    ScheduledExecutorService timeoutExecutor;
+    @Mock
+    BiConsumer<String, String> successConsumer;
+    @Mock
+    BiConsumer<String, String> failureConsumer;
+
+    ResponseDispatcher dispatcher;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dispatcher = new ResponseDispatcher(timeoutExecutor, TIMEOUT_MS);
+
+        dispatcher.registerPromiseOfOne(ENDPOINT_ID, REQUEST_ID, String.class, new JsonRpcPromise<String>().onSuccess(successConsumer)
+                                                                                                         .onFailure(failureConsumer));
+    }
+
+    @Test
+    public void shouldAcceptResultAndRemovePendingRequest() throws Exception {
+        JsonRpcResponse response = new JsonRpcResponse(REQUEST_ID, new JsonRpcResult(new JsonPrimitive("result")), null);
+
+        assertEquals(dispatcher.getPendingCount(ENDPOINT_ID), 1);
+
+        dispatcher.dispatch(ENDPOINT_ID, response);
+
+        verify(successConsumer).accept(ENDPOINT_ID, "result");
+        assertEquals(dispatcher.getPendingCount(ENDPOINT_ID), 0);
+        assertEquals(dispatcher.getPendingCounts().size(), 0);
+    }
+
+    @Test
+    public void shouldIgnoreResponseToUnknownRequest() throws Exception {
+        JsonRpcResponse response = new JsonRpcResponse("unknown", new JsonRpcResult(new JsonPrimitive("result")), null);
+
+        dispatcher.dispatch(ENDPOINT_ID, response);
+
+        verify(successConsumer, never()).accept(anyString(), anyString());
+        assertEquals(dispatcher.getPendingCount(ENDPOINT_ID), 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldFailPromiseOnTimeout() throws Exception {
+        ArgumentCaptor<Runnable> timeoutCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(timeoutExecutor).schedule(timeoutCaptor.capture(), eq(TIMEOUT_MS), any());
+
+        timeoutCaptor.getValue().run();
+
+        BiConsumer<String, JsonRpcError> consumer = (BiConsumer)failureConsumer;
+        ArgumentCaptor<JsonRpcError> errorCaptor = ArgumentCaptor.forClass(JsonRpcError.class);
+        verify(consumer).accept(eq(ENDPOINT_ID), errorCaptor.capture());
+        assertEquals(errorCaptor.getValue().getCode(), ResponseDispatcher.REQUEST_TIMEOUT_ERROR_CODE);
+        assertEquals(dispatcher.getPendingCount(ENDPOINT_ID), 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldFailPendingPromisesOnCancel() throws Exception {
+        dispatcher.cancel(ENDPOINT_ID);
+
+        BiConsumer<String, JsonRpcError> consumer = (BiConsumer)failureConsumer;
+        ArgumentCaptor<JsonRpcError> errorCaptor = ArgumentCaptor.forClass(JsonRpcError.class);
+        verify(consumer).accept(eq(ENDPOINT_ID), errorCaptor.capture());
+        assertEquals(errorCaptor.getValue().getCode(), ResponseDispatcher.ENDPOINT_CLOSED_ERROR_CODE);
+        assertEquals(dispatcher.getPendingCount(ENDPOINT_ID), 0);
+    }
+
+    @Test
+    public void shouldCancelTimeoutWhenResponseIsDispatched() throws Exception {
+        ScheduledFuture timeout = mock(ScheduledFuture.class);
+        doReturn(timeout).when(timeoutExecutor).schedule(any(Runnable.class), anyLong(), any());
+        dispatcher.registerPromiseOfOne(ENDPOINT_ID, "1", String.class, new JsonRpcPromise<>());
+
+        dispatcher.dispatch(ENDPOINT_ID, new JsonRpcResponse("1", new JsonRpcResult(new JsonPrimitive("result")), null));
+
+        verify(timeout).cancel(false);
+    }
+}
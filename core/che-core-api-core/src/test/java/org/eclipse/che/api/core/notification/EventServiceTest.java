@@ -15,6 +15,8 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -191,6 +193,77 @@ public class EventServiceTest {
         bus.unsubscribe(sb, CustomEventImpl.class);
     }
 
+    @Test
+    public void shouldDeliverEventsToAsyncSubscriberInOrder() {
+        final List<Runnable> tasks = new ArrayList<>();
+        bus = new EventService(tasks::add);
+        final List<String> events = new ArrayList<>();
+        bus.subscribeAsync(new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+            }
+        });
+
+        bus.publish("first");
+        bus.publish("second");
+
+        Assert.assertTrue(events.isEmpty());
+        Assert.assertEquals(tasks.size(), 1);
+        Assert.assertEquals(bus.getMetrics().get(0).getPending(), 2);
+
+        tasks.remove(0).run();
+
+        Assert.assertEquals(events, Arrays.asList("first", "second"));
+        Assert.assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void shouldNotDeliverEventToSubscriberAddedDuringPublishing() {
+        final List<String> events = new ArrayList<>();
+        final EventSubscriber<String> late = new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add("late:" + event);
+            }
+        };
+        bus.subscribe(new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+                bus.subscribe(late);
+            }
+        });
+
+        bus.publish("first");
+        Assert.assertEquals(events, Collections.singletonList("first"));
+
+        bus.publish("second");
+        Assert.assertEquals(events, Arrays.asList("first", "second", "late:second"));
+    }
+
+    @Test
+    public void shouldCollectSubscriberMetrics() {
+        bus.subscribe(new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                if ("fail".equals(event)) {
+                    throw new IllegalStateException(event);
+                }
+            }
+        });
+
+        bus.publish("hello");
+        bus.publish("fail");
+
+        final EventService.SubscriberMetrics metrics = bus.getMetrics().get(0);
+        Assert.assertEquals(metrics.getEventType(), String.class);
+        Assert.assertFalse(metrics.isAsync());
+        Assert.assertEquals(metrics.getDelivered(), 2);
+        Assert.assertEquals(metrics.getFailed(), 1);
+        Assert.assertTrue(metrics.getMaxTime() <= metrics.getTotalTime());
+    }
+
     static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
         final List<String> events = new ArrayList<>();
 
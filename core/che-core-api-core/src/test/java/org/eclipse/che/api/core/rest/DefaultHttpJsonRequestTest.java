@@ -45,6 +45,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.HttpMethod;
 
@@ -61,6 +65,7 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * Tests of {@link DefaultHttpJsonRequest}.
@@ -324,6 +329,78 @@ public class DefaultHttpJsonRequestTest {
         new DefaultHttpJsonRequest(getUrl(ctx) + "/token").usePostMethod().request();
     }
 
+    @Test
+    public void shouldReadListOfDtosFromResponseStream(ITestContext ctx) throws Exception {
+        final DefaultHttpJsonRequest request = new DefaultHttpJsonRequest(getUrl(ctx) + "/application-json");
+
+        final Link link = LinksHelper.createLink("GET", "localhost:8080/application-json", "rel");
+        final List<Link> links = request.usePostMethod()
+                                        .setBody(Collections.singletonList(link))
+                                        .requestList(Link.class);
+
+        assertEquals(links, Collections.singletonList(link));
+    }
+
+    @Test
+    public void shouldMakeRequestAsynchronously(ITestContext ctx) throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final HttpJsonResponse response = new DefaultHttpJsonRequest(getUrl(ctx) + "/application-json").useGetMethod()
+                                                                                                         .requestAsync(executor)
+                                                                                                         .get(10, TimeUnit.SECONDS);
+
+            assertEquals(response.asString(), TestService.JSON_OBJECT);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldCompleteAsynchronousRequestExceptionallyWhenRequestFails(ITestContext ctx) throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            new DefaultHttpJsonRequest(getUrl(ctx) + "/404/response-code-test").useGetMethod()
+                                                                              .requestAsync(executor)
+                                                                              .get(10, TimeUnit.SECONDS);
+            fail("Request is expected to fail");
+        } catch (ExecutionException x) {
+            assertTrue(x.getCause() instanceof NotFoundException);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldDecodeGzipResponseAsUtf8(ITestContext ctx) throws Exception {
+        final HttpJsonResponse response = new DefaultHttpJsonRequest(getUrl(ctx) + "/gzip/link").useGetMethod().request();
+
+        assertEquals(response.asDto(Link.class), TestService.UTF_8_LINK);
+    }
+
+    @Test
+    public void shouldReadDtoFromGzipResponse(ITestContext ctx) throws Exception {
+        final Link link = new DefaultHttpJsonRequest(getUrl(ctx) + "/gzip/link").useGetMethod().requestDto(Link.class);
+
+        assertEquals(link, TestService.UTF_8_LINK);
+    }
+
+    @Test
+    public void shouldReadListOfDtosFromGzipResponse(ITestContext ctx) throws Exception {
+        final List<Link> links = new DefaultHttpJsonRequest(getUrl(ctx) + "/gzip/links").useGetMethod().requestList(Link.class);
+
+        assertEquals(links, singletonList(TestService.UTF_8_LINK));
+    }
+
+    @Test
+    public void shouldReadServiceErrorFromGzipResponse(ITestContext ctx) throws Exception {
+        try {
+            new DefaultHttpJsonRequest(getUrl(ctx) + "/gzip/409/error").useGetMethod().request();
+            fail("Request is expected to fail");
+        } catch (ConflictException x) {
+            assertEquals(x.getMessage(), "gzip error a\u00e7\u00e3o");
+        }
+    }
+
     @Filter
     public static class EnvironmentFilter implements RequestFilter {
 
@@ -30,11 +30,15 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.URLDecoder;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -50,6 +54,10 @@ import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 public class TestService extends Service {
 
     public static final String JSON_OBJECT = new JsonArrayImpl<>(singletonList("element")).toJson();
+    public static final Link   UTF_8_LINK  = DtoFactory.newDto(Link.class)
+                                                       .withHref("http://localhost:8080/a\u00e7\u00e3o")
+                                                       .withRel("rela\u00e7\u00e3o")
+                                                       .withMethod("GET");
 
     @GET
     @Path("/{response-code}/response-code-test")
@@ -126,4 +134,39 @@ public class TestService extends Service {
                        .header("Link", createLinkHeader(page, "getStringList", singletonMap("query-param", param), value))
                        .build();
     }
+
+    @GET
+    @Path("/gzip/link")
+    public Response getGzipLink(@HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) throws IOException {
+        return gzip(Response.ok(), DtoFactory.getInstance().toJson(UTF_8_LINK), acceptEncoding);
+    }
+
+    @GET
+    @Path("/gzip/links")
+    public Response getGzipLinks(@HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) throws IOException {
+        return gzip(Response.ok(), "[" + DtoFactory.getInstance().toJson(UTF_8_LINK) + "]", acceptEncoding);
+    }
+
+    @GET
+    @Path("/gzip/{response-code}/error")
+    public Response getGzipError(@PathParam("response-code") int responseCode,
+                                 @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) throws IOException {
+        final ServiceError error = DtoFactory.newDto(ServiceError.class).withMessage("gzip error a\u00e7\u00e3o");
+        return gzip(Response.status(responseCode), DtoFactory.getInstance().toJson(error), acceptEncoding);
+    }
+
+    /** Compresses the json if the client accepts gzip encoding. */
+    private static Response gzip(Response.ResponseBuilder builder, String json, String acceptEncoding) throws IOException {
+        if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+            return builder.type(APPLICATION_JSON).entity(json.getBytes(UTF_8)).build();
+        }
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bout)) {
+            gzip.write(json.getBytes(UTF_8));
+        }
+        return builder.type(APPLICATION_JSON)
+                      .header("Content-Encoding", "gzip")
+                      .entity(bout.toByteArray())
+                      .build();
+    }
 }
@@ -22,6 +22,7 @@ import java.io.File;
 import java.io.Writer;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -69,6 +70,18 @@ public class FileLineConsumerTest {
         verify(writer).write(eq(message));
     }
 
+    @Test
+    public void shouldFlushFileOnceWhenWritingSeveralLines() throws Exception {
+        // when
+        fileLineConsumer.writeLines(Arrays.asList("line 1", "line 2", "line 3"));
+
+        // then
+        verify(writer).write(eq("line 1"));
+        verify(writer).write(eq("line 2"));
+        verify(writer).write(eq("line 3"));
+        verify(writer).flush();
+    }
+
     @Test
     public void shouldNotWriteIntoFileAfterConsumerClosing() throws Exception {
         // given
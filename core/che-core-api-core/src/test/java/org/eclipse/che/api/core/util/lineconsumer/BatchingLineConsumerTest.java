@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Tests {@link BatchingLineConsumer}.
+ */
+@Listeners(value = {MockitoTestNGListener.class})
+public class BatchingLineConsumerTest {
+    @Mock
+    private LineConsumer delegate;
+
+    private ScheduledExecutorService executor;
+
+    @BeforeMethod
+    public void setUp() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldFlushLinesOnceBatchSizeIsReached() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, executor, 3, 60_000, 100);
+
+        consumer.writeLine("line 1");
+        consumer.writeLine("line 2");
+        consumer.writeLine("line 3");
+
+        verify(delegate, timeout(5_000)).writeLines(Arrays.asList("line 1", "line 2", "line 3"));
+    }
+
+    @Test
+    public void shouldFlushLinesPeriodically() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, executor, 100, 10, 100);
+
+        consumer.writeLine("line 1");
+
+        verify(delegate, timeout(5_000)).writeLines(Collections.singletonList("line 1"));
+    }
+
+    @Test
+    public void shouldFlushBufferedLinesAndCloseDelegateOnClose() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, executor, 100, 60_000, 100);
+        consumer.writeLine("line 1");
+        consumer.writeLine("line 2");
+
+        consumer.close();
+
+        InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).writeLines(Arrays.asList("line 1", "line 2"));
+        inOrder.verify(delegate).close();
+        assertFalse(consumer.isOpen());
+    }
+
+    @Test
+    public void shouldNotBufferLinesAfterClose() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, executor, 100, 60_000, 100);
+        consumer.close();
+
+        consumer.writeLine("line 1");
+        consumer.flush();
+
+        verify(delegate, never()).writeLines(anyListOf(String.class));
+    }
+
+    @Test
+    public void shouldDropLinesWhenBufferIsFullAndReportThem() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, executor, 2, 60_000, 2);
+        // lines are flushed only on close
+        executor.shutdownNow();
+
+        consumer.writeLine("line 1");
+        consumer.writeLine("line 2");
+        consumer.writeLine("line 3");
+        consumer.writeLine("line 4");
+        consumer.close();
+
+        assertEquals(consumer.getDroppedLines(), 2);
+        verify(delegate).writeLines(Arrays.asList("[WARN] 2 lines of output were skipped", "line 1"));
+        verify(delegate).writeLines(Collections.singletonList("line 2"));
+    }
+
+    @Test
+    public void shouldStopFlushingWhenDelegateIsClosed() throws Exception {
+        BatchingLineConsumer consumer = new BatchingLineConsumer(delegate, executor, 1, 60_000, 100);
+        doThrow(new ConsumerAlreadyClosedException("Stream closed")).when(delegate).writeLines(anyListOf(String.class));
+
+        consumer.writeLine("line 1");
+
+        verify(delegate, timeout(5_000)).writeLines(Collections.singletonList("line 1"));
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        assertFalse(consumer.isOpen());
+    }
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link LineIndexedFile} and {@link IndexedFileLineConsumer}.
+ */
+public class LineIndexedFileTest {
+    private File            file;
+    private LineIndexedFile indexedFile;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        file = File.createTempFile("process", ".log");
+        indexedFile = new LineIndexedFile(file, StandardCharsets.UTF_8, 3);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void shouldReadRangeOfWrittenLines() throws Exception {
+        try (IndexedFileLineConsumer consumer = new IndexedFileLineConsumer(indexedFile)) {
+            consumer.writeLines(lines(10));
+
+            LineIndexedFile.Lines range = indexedFile.readLines(4, 3);
+
+            assertEquals(range.getLines(), asList("line 4", "line 5", "line 6"));
+            assertEquals(range.getFirstLine(), 4);
+            assertEquals(range.getNextLine(), 7);
+        }
+    }
+
+    @Test
+    public void shouldReadTailOfWrittenLines() throws Exception {
+        try (IndexedFileLineConsumer consumer = new IndexedFileLineConsumer(indexedFile)) {
+            consumer.writeLines(lines(10));
+            consumer.writeLine("last line \u00f1");
+
+            LineIndexedFile.Lines tail = indexedFile.tail(2);
+
+            assertEquals(tail.getLines(), asList("line 9", "last line \u00f1"));
+            assertEquals(tail.getFirstLine(), 9);
+        }
+    }
+
+    @Test
+    public void shouldReturnEmptyRangeAfterTheLastLine() throws Exception {
+        try (IndexedFileLineConsumer consumer = new IndexedFileLineConsumer(indexedFile)) {
+            consumer.writeLines(lines(2));
+
+            assertTrue(indexedFile.readLines(2, 10).getLines().isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldSplitLinesWhichContainLineFeeds() throws Exception {
+        try (IndexedFileLineConsumer consumer = new IndexedFileLineConsumer(indexedFile)) {
+            consumer.writeLines(asList("first\nsecond", "third"));
+
+            assertEquals(indexedFile.getLineCount(), 3);
+            assertEquals(indexedFile.readLines(1, 2).getLines(), asList("second", "third"));
+        }
+    }
+
+    @Test
+    public void shouldIndexFileWrittenByOthers() throws Exception {
+        Files.write(file.toPath(), "a\nb\nc\nd\ne\nnot terminated".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(indexedFile.getLineCount(), 5);
+        assertEquals(indexedFile.readLines(3, 10).getLines(), asList("d", "e"));
+    }
+
+    @Test
+    public void shouldCompleteIndexOnConsumerClose() throws Exception {
+        IndexedFileLineConsumer consumer = new IndexedFileLineConsumer(indexedFile);
+        assertFalse(indexedFile.isComplete());
+
+        consumer.close();
+
+        assertTrue(indexedFile.isComplete());
+    }
+
+    @Test
+    public void shouldWakeUpReaderWaitingForNewLines() throws Exception {
+        try (IndexedFileLineConsumer consumer = new IndexedFileLineConsumer(indexedFile)) {
+            consumer.writeLines(lines(1));
+            CompletableFuture<Boolean> awaited = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return indexedFile.awaitLines(1, 10_000);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            consumer.writeLine("new line");
+
+            assertTrue(awaited.get(5, TimeUnit.SECONDS));
+            assertEquals(indexedFile.readLines(1, 1).getLines(), Collections.singletonList("new line"));
+        }
+    }
+
+    private static List<String> lines(int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add("line " + i);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,324 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.eclipse.che.api.core.websocket.impl.AsyncWebSocketMessageTransmitter.QueueMetrics;
+import org.eclipse.che.api.core.websocket.impl.MessagesReSender.PendingMessage;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.LAST_SEEN_PARAMETER;
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.NO_SEQUENCE;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link AsyncWebSocketMessageTransmitter}
+ *
+ * @author Dmitry Kuleshov
+ */
+@Listeners(MockitoTestNGListener.class)
+public class AsyncWebSocketMessageTransmitterTest {
+    private static final String MESSAGE     = "message";
+    private static final String ENDPOINT_ID = "id";
+
+    @Mock
+    private WebSocketSessionRegistry registry;
+    @Mock
+    private MessagesReSender         reSender;
+    @Mock
+    private Session                  session;
+    @Mock
+    private RemoteEndpoint.Async     remote;
+    @Captor
+    private ArgumentCaptor<Consumer<String>> removeListener;
+    @Captor
+    private ArgumentCaptor<Consumer<String>> resendHandler;
+    @Captor
+    private ArgumentCaptor<SendHandler>      sendHandler;
+
+    private List<Runnable>                   tasks;
+    private AsyncWebSocketMessageTransmitter transmitter;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(session.getAsyncRemote()).thenReturn(remote);
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            ((SendHandler)invocation.getArguments()[1]).onResult(new SendResult());
+            return null;
+        }).when(remote).sendText(anyString(), any(SendHandler.class));
+
+        when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
+        final AtomicLong sequence = new AtomicLong();
+        when(reSender.nextSequence(ENDPOINT_ID)).then(invocation -> sequence.incrementAndGet());
+        when(registry.getEndpointIds()).thenReturn(singleton(ENDPOINT_ID));
+
+        tasks = new ArrayList<>();
+        final Executor deferred = tasks::add;
+        transmitter = new AsyncWebSocketMessageTransmitter(registry, reSender, deferred, 2);
+        verify(registry).addRemoveListener(removeListener.capture());
+        verify(reSender).setResendHandler(resendHandler.capture());
+    }
+
+    @Test
+    public void shouldNotSendMessageOnCallerThread() {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+        verify(remote, never()).sendText(anyString(), any(SendHandler.class));
+        assertEquals(tasks.size(), 1);
+
+        runTasks();
+
+        verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldScheduleSingleDrainTaskPerEndpoint() {
+        transmitter.transmit(ENDPOINT_ID, "1");
+        transmitter.transmit(ENDPOINT_ID, "2");
+
+        assertEquals(tasks.size(), 1);
+
+        runTasks();
+
+        final InOrder inOrder = inOrder(remote);
+        inOrder.verify(remote).sendText(eq("1"), any(SendHandler.class));
+        inOrder.verify(remote).sendText(eq("2"), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldWriteNextMessageWhenPreviousWriteIsCompleted() {
+        doNothing().when(remote).sendText(anyString(), any(SendHandler.class));
+        transmitter.transmit(ENDPOINT_ID, "1");
+        transmitter.transmit(ENDPOINT_ID, "2");
+
+        runTasks();
+
+        verify(remote).sendText(eq("1"), sendHandler.capture());
+        verify(remote, never()).sendText(eq("2"), any(SendHandler.class));
+        assertTrue(tasks.isEmpty());
+
+        sendHandler.getValue().onResult(new SendResult());
+        runTasks();
+
+        verify(remote).sendText(eq("2"), any(SendHandler.class));
+        assertEquals(transmitter.getMetrics(ENDPOINT_ID).get().getSent(), 1);
+    }
+
+    @Test
+    public void shouldAddMessageToPendingIfWriteFails() {
+        doAnswer(invocation -> {
+            ((SendHandler)invocation.getArguments()[1]).onResult(new SendResult(new IOException("broken pipe")));
+            return null;
+        }).when(remote).sendText(anyString(), any(SendHandler.class));
+
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        runTasks();
+
+        verify(reSender).add(eq(ENDPOINT_ID), anyLong(), eq(MESSAGE));
+        assertEquals(transmitter.getMetrics(ENDPOINT_ID).get().getSent(), 0);
+    }
+
+    @Test
+    public void shouldBroadcastToOpenSessions() {
+        transmitter.transmit(MESSAGE);
+        runTasks();
+
+        verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
+        verify(reSender, never()).add(anyString(), anyLong(), anyString());
+    }
+
+    @Test
+    public void shouldAddMessageToPendingIfSessionIsNotOpened() {
+        when(session.isOpen()).thenReturn(false);
+
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+        assertTrue(tasks.isEmpty());
+        verify(reSender).add(eq(ENDPOINT_ID), anyLong(), eq(MESSAGE));
+    }
+
+    @Test
+    public void shouldAddQueuedMessagesToPendingIfSessionIsClosedBeforeDrain() {
+        transmitter.transmit(ENDPOINT_ID, "1");
+        when(session.isOpen()).thenReturn(false);
+
+        runTasks();
+        transmitter.transmit(ENDPOINT_ID, "2");
+
+        verify(remote, never()).sendText(anyString(), any(SendHandler.class));
+        final InOrder inOrder = inOrder(reSender);
+        inOrder.verify(reSender).add(ENDPOINT_ID, 1L, "1");
+        inOrder.verify(reSender).add(ENDPOINT_ID, 2L, "2");
+        assertFalse(transmitter.getMetrics(ENDPOINT_ID).isPresent());
+    }
+
+    @Test
+    public void shouldStartQueueWithPendingMessages() {
+        when(reSender.takePending(ENDPOINT_ID, NO_SEQUENCE)).thenReturn(pending("1", "2"));
+
+        transmitter.transmit(ENDPOINT_ID, "3");
+        runTasks();
+
+        final InOrder inOrder = inOrder(remote);
+        inOrder.verify(remote).sendText(eq("1"), any(SendHandler.class));
+        inOrder.verify(remote).sendText(eq("2"), any(SendHandler.class));
+        inOrder.verify(remote).sendText(eq("3"), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldPutResentMessagesAtHeadOfQueue() {
+        transmitter.transmit(ENDPOINT_ID, "3");
+        when(reSender.takePending(ENDPOINT_ID, NO_SEQUENCE)).thenReturn(pending("1", "2"));
+
+        resendHandler.getValue().accept(ENDPOINT_ID);
+        assertEquals(tasks.size(), 1);
+        runTasks();
+
+        final InOrder inOrder = inOrder(remote);
+        inOrder.verify(remote).sendText(eq("1"), any(SendHandler.class));
+        inOrder.verify(remote).sendText(eq("2"), any(SendHandler.class));
+        inOrder.verify(remote).sendText(eq("3"), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldNotResendIfSessionIsNotOpened() {
+        when(session.isOpen()).thenReturn(false);
+
+        resendHandler.getValue().accept(ENDPOINT_ID);
+
+        verify(reSender, never()).takePending(anyString(), anyLong());
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void shouldDropOldestMessageWhenQueueIsFull() {
+        transmitter.transmit(ENDPOINT_ID, "1");
+        transmitter.transmit(ENDPOINT_ID, "2");
+        transmitter.transmit(ENDPOINT_ID, "3");
+
+        final QueueMetrics metrics = transmitter.getMetrics(ENDPOINT_ID).get();
+        assertEquals(metrics.getDepth(), 2);
+        assertEquals(metrics.getDropped(), 1);
+
+        runTasks();
+
+        verify(remote, never()).sendText(eq("1"), any(SendHandler.class));
+        verify(remote).sendText(eq("2"), any(SendHandler.class));
+        verify(remote).sendText(eq("3"), any(SendHandler.class));
+        assertEquals(transmitter.getMetrics(ENDPOINT_ID).get().getSent(), 2);
+    }
+
+    @Test
+    public void shouldSendRepeatedMessages() {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+        assertEquals(transmitter.getMetrics(ENDPOINT_ID).get().getDepth(), 2);
+
+        runTasks();
+
+        verify(remote, times(2)).sendText(eq(MESSAGE), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldRemoveIdleQueueWhenSessionIsRemoved() {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        runTasks();
+        assertTrue(transmitter.getMetrics(ENDPOINT_ID).isPresent());
+
+        removeListener.getValue().accept(ENDPOINT_ID);
+
+        assertFalse(transmitter.getMetrics(ENDPOINT_ID).isPresent());
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void shouldAddQueuedMessagesToReSenderWhenSessionIsRemoved() {
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+        when(session.isOpen()).thenReturn(false);
+
+        removeListener.getValue().accept(ENDPOINT_ID);
+
+        assertFalse(transmitter.getMetrics(ENDPOINT_ID).isPresent());
+        verify(reSender).add(eq(ENDPOINT_ID), anyLong(), eq(MESSAGE));
+    }
+
+    @Test
+    public void shouldPrefixMessagesWithSequenceNumbersIfClientTracksThem() {
+        when(session.getRequestParameterMap()).thenReturn(singletonMap(LAST_SEEN_PARAMETER, singletonList("0")));
+
+        transmitter.transmit(ENDPOINT_ID, "first");
+        transmitter.transmit(ENDPOINT_ID, "second");
+        runTasks();
+
+        final InOrder inOrder = inOrder(remote);
+        inOrder.verify(remote).sendText(eq("1:first"), any(SendHandler.class));
+        inOrder.verify(remote).sendText(eq("2:second"), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldResendOnlyMessagesFollowingLastSeenSequence() {
+        when(session.getRequestParameterMap()).thenReturn(singletonMap(LAST_SEEN_PARAMETER, singletonList("42")));
+
+        transmitter.transmit(ENDPOINT_ID, MESSAGE);
+
+        verify(reSender).takePending(ENDPOINT_ID, 42L);
+    }
+
+    private List<PendingMessage> pending(String... messages) {
+        final List<PendingMessage> pending = new ArrayList<>();
+        for (String message : messages) {
+            pending.add(new PendingMessage(pending.size() + 1, message, 0));
+        }
+        return pending;
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+}
@@ -82,4 +82,11 @@ public class BasicWebSocketEndpointTest {
 
         verify(registry).remove("id");
     }
+
+    @Test
+    public void shouldNotifyReceiverOnClose(){
+        endpoint.onClose(closeReason, "id");
+
+        verify(receiver).onClose("id");
+    }
 }
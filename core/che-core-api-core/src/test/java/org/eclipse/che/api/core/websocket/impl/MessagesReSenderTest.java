@@ -10,7 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
-import org.mockito.InjectMocks;
+import com.google.common.base.Ticker;
+
+import org.eclipse.che.api.core.websocket.impl.MessagesReSender.PendingMessage;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -20,8 +22,17 @@ import org.testng.annotations.Test;
 import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.LAST_SEEN_PARAMETER;
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.NO_SEQUENCE;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
@@ -29,6 +40,9 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Tests for {@link MessagesReSender}
@@ -42,8 +56,8 @@ public class MessagesReSenderTest {
 
     @Mock
     private WebSocketSessionRegistry sessionRegistry;
-    @InjectMocks
     private MessagesReSender         reSender;
+    private long                     nanos;
 
     @Mock
     private Session               session;
@@ -59,7 +73,13 @@ public class MessagesReSenderTest {
 
     @BeforeMethod
     public void before() {
-        reSender = new MessagesReSender(sessionRegistry);
+        nanos = 0;
+        reSender = new MessagesReSender(sessionRegistry, 3, 1024, 60, new Ticker() {
+            @Override
+            public long read() {
+                return nanos;
+            }
+        });
     }
 
     @Test
@@ -153,4 +173,176 @@ public class MessagesReSenderTest {
         verify(session, times(2)).getAsyncRemote();
         verify(endpoint, times(2)).sendText(MESSAGE);
     }
+
+    @Test
+    public void shouldDropOldestMessagesWhenMessagesLimitIsExceeded() {
+        for (int i = 0; i < 5; i++) {
+            reSender.add(ENDPOINT_ID, MESSAGE + i);
+        }
+
+        assertEquals(reSender.getPendingCount(ENDPOINT_ID), 3);
+        assertEquals(reSender.getDroppedCount(), 2);
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(endpoint, never()).sendText(MESSAGE + 0);
+        verify(endpoint, never()).sendText(MESSAGE + 1);
+        verify(endpoint).sendText(MESSAGE + 2);
+        verify(endpoint).sendText(MESSAGE + 4);
+    }
+
+    @Test
+    public void shouldDropOldestMessagesWhenBytesLimitIsExceeded() {
+        final String large = new String(new char[600]);
+
+        reSender.add(ENDPOINT_ID, large);
+        reSender.add(ENDPOINT_ID, MESSAGE);
+        reSender.add(ENDPOINT_ID, large);
+
+        assertEquals(reSender.getPendingCount(ENDPOINT_ID), 2);
+        assertEquals(reSender.getDroppedCount(), 1);
+    }
+
+    @Test
+    public void shouldMeasureMessagesInUtf8Bytes() {
+        // each char is encoded with 3 bytes in UTF-8, while it takes 2 bytes in UTF-16
+        final String euros = new String(new char[300]).replace('\0', '\u20ac');
+
+        reSender.add(ENDPOINT_ID, euros);
+        reSender.add(ENDPOINT_ID, MESSAGE);
+        reSender.add(ENDPOINT_ID, euros.substring(0, 50));
+
+        assertEquals(reSender.getPendingCount(ENDPOINT_ID), 2);
+        assertEquals(reSender.getDroppedCount(), 1);
+    }
+
+    @Test
+    public void shouldEvictExpiredMessages() {
+        reSender.add(ENDPOINT_ID, MESSAGE);
+        reSender.add("1", MESSAGE);
+
+        nanos += SECONDS.toNanos(61);
+        reSender.add("2", MESSAGE);
+
+        assertEquals(reSender.getPendingCount(ENDPOINT_ID), 0);
+        assertEquals(reSender.getPendingCount("1"), 0);
+        assertEquals(reSender.getPendingCount("2"), 1);
+        assertEquals(reSender.getExpiredCount(), 2);
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(endpoint, never()).sendText(anyString());
+    }
+
+    @Test
+    public void shouldTakePendingMessagesInOrderTheyWereAdded() {
+        reSender.add(ENDPOINT_ID, "first");
+        reSender.add(ENDPOINT_ID, "second");
+
+        assertEquals(messages(reSender.takePending(ENDPOINT_ID, NO_SEQUENCE)), asList("first", "second"));
+        assertEquals(reSender.getPendingCount(ENDPOINT_ID), 0);
+        assertEquals(reSender.getResentCount(), 2);
+        assertTrue(reSender.takePending(ENDPOINT_ID, NO_SEQUENCE).isEmpty());
+    }
+
+    @Test
+    public void shouldAssignConsecutiveSequenceNumbersPerEndpoint() {
+        final long first = reSender.add(ENDPOINT_ID, MESSAGE);
+        final long second = reSender.nextSequence(ENDPOINT_ID);
+        reSender.add("1", MESSAGE);
+        final long third = reSender.add(ENDPOINT_ID, MESSAGE);
+
+        assertTrue(first > NO_SEQUENCE);
+        assertEquals(second, first + 1);
+        assertEquals(third, first + 2);
+    }
+
+    @Test
+    public void shouldKeepSequenceNumbersOfEndpointWhenItsMessagesAreResent() {
+        final long first = reSender.add(ENDPOINT_ID, MESSAGE);
+        reSender.resend(ENDPOINT_ID);
+
+        assertEquals(reSender.add(ENDPOINT_ID, MESSAGE), first + 1);
+    }
+
+    @Test
+    public void shouldKeepPendingMessagesOrderedBySequenceNumbers() {
+        final long first = reSender.nextSequence(ENDPOINT_ID);
+        final long second = reSender.add(ENDPOINT_ID, "second");
+        reSender.add(ENDPOINT_ID, first, "first");
+
+        final List<PendingMessage> pending = reSender.takePending(ENDPOINT_ID, NO_SEQUENCE);
+
+        assertEquals(messages(pending), asList("first", "second"));
+        assertEquals(pending.get(1).getSequence(), second);
+    }
+
+    @Test
+    public void shouldResendOnlyMessagesFollowingLastSeenSequence() {
+        reSender.add(ENDPOINT_ID, "first");
+        final long lastSeen = reSender.add(ENDPOINT_ID, "second");
+        reSender.add(ENDPOINT_ID, "third");
+        when(session.getRequestParameterMap()).thenReturn(singletonMap(LAST_SEEN_PARAMETER,
+                                                                       singletonList(Long.toString(lastSeen))));
+
+        reSender.resend(ENDPOINT_ID);
+
+        verify(endpoint, never()).sendText("first");
+        verify(endpoint, never()).sendText("second");
+        verify(endpoint).sendText("third");
+        assertEquals(reSender.getResentCount(), 1);
+        assertEquals(reSender.getPendingCount(ENDPOINT_ID), 0);
+        assertEquals(reSender.getMissedCount(), 0);
+    }
+
+    @Test
+    public void shouldCountMissedMessagesWhichCanNotBeResent() {
+        final long lastSeen = reSender.add(ENDPOINT_ID, "seen");
+        for (int i = 0; i < 5; i++) {
+            reSender.add(ENDPOINT_ID, MESSAGE + i);
+        }
+
+        final List<PendingMessage> pending = reSender.takePending(ENDPOINT_ID, lastSeen);
+
+        assertEquals(messages(pending), asList(MESSAGE + 2, MESSAGE + 3, MESSAGE + 4));
+        assertEquals(reSender.getMissedCount(), 2);
+    }
+
+    @Test
+    public void shouldReadLastSeenSequenceFromRequestParameters() {
+        when(session.getRequestParameterMap()).thenReturn(singletonMap(LAST_SEEN_PARAMETER, singletonList("42")));
+
+        assertEquals(MessagesReSender.getLastSeenSequence(session), 42);
+        assertTrue(MessagesReSender.isSequenced(session));
+    }
+
+    @Test
+    public void shouldIgnoreMalformedLastSeenSequence() {
+        when(session.getRequestParameterMap()).thenReturn(singletonMap(LAST_SEEN_PARAMETER, singletonList("last")));
+
+        assertEquals(MessagesReSender.getLastSeenSequence(session), NO_SEQUENCE);
+    }
+
+    @Test
+    public void shouldNotTreatClientWithoutLastSeenParameterAsSequenced() {
+        assertEquals(MessagesReSender.getLastSeenSequence(session), NO_SEQUENCE);
+        assertFalse(MessagesReSender.isSequenced(session));
+    }
+
+    @Test
+    public void shouldPassEndpointToResendHandlerInsteadOfSendingMessages() {
+        final List<String> resent = new ArrayList<>();
+        reSender.setResendHandler(resent::add);
+        reSender.add(ENDPOINT_ID, MESSAGE);
+
+        reSender.resend(ENDPOINT_ID);
+
+        assertEquals(resent, singletonList(ENDPOINT_ID));
+        assertEquals(reSender.getPendingCount(ENDPOINT_ID), 1);
+        verify(endpoint, never()).sendText(anyString());
+    }
+
+    private static List<String> messages(List<PendingMessage> pending) {
+        return pending.stream().map(PendingMessage::getMessage).collect(toList());
+    }
 }
@@ -12,8 +12,10 @@
 package org.eclipse.che.dto.generator;
 
 import org.eclipse.che.dto.server.JsonArrayImpl;
+import org.eclipse.che.dto.server.JsonFieldAdapter;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
+import org.eclipse.che.dto.server.StreamingJsonSerializable;
 import org.eclipse.che.dto.shared.DelegateRule;
 import org.eclipse.che.dto.shared.DTOImpl;
 import org.eclipse.che.dto.shared.DelegateTo;
@@ -39,6 +41,8 @@ import java.util.Set;
 public class DtoImplServerTemplate extends DtoImpl {
     private static final String JSON_ARRAY_IMPL   = JsonArrayImpl.class.getCanonicalName();
     private static final String JSON_MAP_IMPL     = JsonStringMapImpl.class.getCanonicalName();
+    private static final String FIELD_ADAPTER     = JsonFieldAdapter.class.getCanonicalName();
+    private static final String STREAMING_DTO     = StreamingJsonSerializable.class.getCanonicalName();
     private static final String SERVER_DTO_MARKER = "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
 
     DtoImplServerTemplate(DtoTemplate template, Class<?> superInterface) {
@@ -72,6 +76,15 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        if (isStreamingSupported(dtoInterface)) {
+            List<Method> ownGetters = new ArrayList<>();
+            for (Method getter : getters) {
+                if (!superGetterNames.contains(getter.getName()) && getJavaFieldName(getter.getName()) != null) {
+                    ownGetters.add(getter);
+                }
+            }
+            emitStreamingSerializer(ownGetters, builder);
+        }
         emitDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
         emitCopyConstructor(methods, builder);
@@ -307,6 +320,121 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("    }\n\n");
     }
 
+    /**
+     * Returns true if the fields of the DTO implementation may be written and read by generated code,
+     * that is if the implementations of all its super DTOs support streaming as well.
+     */
+    private boolean isStreamingSupported(Class<?> dto) {
+        Class<?> superType = getSuperDtoInterface(dto);
+        if (superType == null || superType == JsonSerializable.class) {
+            return true;
+        }
+        final Class<?> superTypeImpl = getEnclosingTemplate().getDtoImplementation(superType);
+        if (superTypeImpl != null) {
+            return StreamingJsonSerializable.class.isAssignableFrom(superTypeImpl);
+        }
+        return isStreamingSupported(superType);
+    }
+
+    /**
+     * Generates {@link StreamingJsonSerializable} methods which write and read the fields declared by this implementation
+     * and delegate the rest to the super implementation. Fields are written in the same order and with the same
+     * adapters as Gson uses with reflection: fields of the subclass go first, values of String and primitive
+     * int, long and boolean fields are written and read directly.
+     */
+    private void emitStreamingSerializer(List<Method> getters, StringBuilder builder) {
+        final Class<?> superType = getSuperDtoInterface(getDtoInterface());
+        final boolean hasStreamingSuper = superType != null && superType != JsonSerializable.class;
+        for (Method getter : getters) {
+            if (isDirectlySerialized(getter.getReturnType())) {
+                continue;
+            }
+            String fieldName = getJavaFieldName(getter.getName());
+            Type fieldType = getter.getGenericReturnType();
+            String adapterType;
+            String typeToken;
+            if (fieldType instanceof Class<?>) {
+                Class<?> fieldClass = (Class<?>)fieldType;
+                adapterType = Primitives.wrap(fieldClass).getCanonicalName();
+                typeToken = "com.google.gson.reflect.TypeToken.get(" + fieldClass.getCanonicalName() + ".class)";
+            } else {
+                adapterType = getImplName(fieldType, false);
+                typeToken = "new com.google.gson.reflect.TypeToken<" + adapterType + ">() {}";
+            }
+            builder.append("    private static final ").append(FIELD_ADAPTER).append("<").append(adapterType).append("> ")
+                   .append(getFieldAdapterName(fieldName)).append(" =\n");
+            builder.append("        new ").append(FIELD_ADAPTER).append("<>(").append(typeToken).append(");\n");
+        }
+        builder.append("\n");
+
+        builder.append("    @Override\n");
+        builder.append("    public void writeJsonFields(com.google.gson.stream.JsonWriter out) throws java.io.IOException {\n");
+        for (Method getter : getters) {
+            String fieldName = getJavaFieldName(getter.getName());
+            String jsonName = escapeJavaString(getJsonFieldName(getter));
+            Class<?> fieldClass = getter.getReturnType();
+            if (isDirectlySerialized(fieldClass)) {
+                builder.append("      out.name(\"").append(jsonName).append("\").value(this.").append(fieldName).append(");\n");
+            } else {
+                builder.append("      out.name(\"").append(jsonName).append("\");\n");
+                builder.append("      ").append(getFieldAdapterName(fieldName)).append(".write(out, this.").append(fieldName)
+                       .append(");\n");
+            }
+        }
+        if (hasStreamingSuper) {
+            builder.append("      super.writeJsonFields(out);\n");
+        }
+        builder.append("    }\n\n");
+
+        builder.append("    @Override\n");
+        builder.append("    public boolean readJsonField(String name, com.google.gson.stream.JsonReader in) throws java.io.IOException {\n");
+        builder.append("      switch (name) {\n");
+        for (Method getter : getters) {
+            String fieldName = getJavaFieldName(getter.getName());
+            Class<?> fieldClass = getter.getReturnType();
+            builder.append("        case \"").append(escapeJavaString(getJsonFieldName(getter))).append("\": {\n");
+            if (fieldClass == String.class) {
+                builder.append("          this.").append(fieldName).append(" = ").append(FIELD_ADAPTER).append(".readString(in);\n");
+            } else if (isDirectlySerialized(fieldClass)) {
+                // null doesn't change the default value of primitive field
+                String wrapperName = Primitives.wrap(fieldClass).getSimpleName();
+                String readMethod = "read" + (fieldClass == int.class ? "Int" : wrapperName);
+                builder.append("          if (!").append(FIELD_ADAPTER).append(".skipNull(in)) {\n");
+                builder.append("            this.").append(fieldName).append(" = ").append(FIELD_ADAPTER).append(".")
+                       .append(readMethod).append("(in);\n");
+                builder.append("          }\n");
+            } else if (fieldClass.isPrimitive()) {
+                builder.append("          ").append(Primitives.wrap(fieldClass).getCanonicalName()).append(" v = ")
+                       .append(getFieldAdapterName(fieldName)).append(".read(in);\n");
+                builder.append("          if (v != null) {\n");
+                builder.append("            this.").append(fieldName).append(" = v;\n");
+                builder.append("          }\n");
+            } else {
+                builder.append("          this.").append(fieldName).append(" = ").append(getFieldAdapterName(fieldName))
+                       .append(".read(in);\n");
+            }
+            builder.append("          return true;\n");
+            builder.append("        }\n");
+        }
+        builder.append("        default:\n");
+        builder.append("          return ").append(hasStreamingSuper ? "super.readJsonField(name, in)" : "false").append(";\n");
+        builder.append("      }\n");
+        builder.append("    }\n\n");
+    }
+
+    /** Returns true if values of the type are written and read by generated code without adapters. */
+    private static boolean isDirectlySerialized(Class<?> type) {
+        return type == String.class || type == int.class || type == long.class || type == boolean.class;
+    }
+
+    private static String getFieldAdapterName(String fieldName) {
+        return "$" + fieldName + "JsonAdapter";
+    }
+
+    private static String escapeJavaString(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
     /** Generates a static factory method that creates a new instance based on a JsonElement. */
     private void emitDeserializer(List<Method> getters, StringBuilder builder) {
         // The default fromJsonElement(json) works in unsafe mode and clones the JSON's for 'any' properties
@@ -351,6 +479,9 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append(" implements ");
         builder.append(dtoInterface.getCanonicalName());
         builder.append(", JsonSerializable ");
+        if (isStreamingSupported(dtoInterface)) {
+            builder.append(", ").append(STREAMING_DTO).append(" ");
+        }
         builder.append(" {\n\n");
         emitFactoryMethod(builder);
         emitDefaultConstructor(builder);
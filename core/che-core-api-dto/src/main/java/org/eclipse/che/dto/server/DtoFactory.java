@@ -21,6 +21,7 @@ import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 import org.eclipse.che.commons.lang.reflect.ParameterizedTypeImpl;
@@ -73,6 +74,8 @@ public final class DtoFactory {
 
     /**
      * Ge a {@link Gson} serializer that is configured to serializes/deserializes DTOs correctly.
+     * Generated DTO implementations which implement {@link StreamingJsonSerializable} are written
+     * and read by the generated code without reflection.
      * 
      * @return A Gson.
      */
@@ -99,7 +102,8 @@ public final class DtoFactory {
     private final Gson dtoGson = new GsonBuilder()
             .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()))
             .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()))
-            .registerTypeAdapterFactory(new DtoInterfaceTAF()).create();
+            .registerTypeAdapterFactory(new DtoInterfaceTAF())
+            .registerTypeAdapterFactory(new StreamingDtoTAF()).create();
 
     /**
      * Created deep copy of DTO object.
@@ -441,6 +445,58 @@ public final class DtoFactory {
         }
     }
 
+    /**
+     * Provides adapters for DTO implementations which write and read their fields themselves,
+     * see {@link StreamingJsonSerializable}. New instances are created by the registered {@link DtoProvider}.
+     */
+    private class StreamingDtoTAF implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            final DtoProvider<?> prov = dtoImpl2Providers.get(type.getRawType());
+            if (prov != null && StreamingJsonSerializable.class.isAssignableFrom(type.getRawType())) {
+                return (TypeAdapter<T>)new StreamingDtoAdapter<>((DtoProvider<? extends StreamingJsonSerializable>)prov);
+            }
+            return null;
+        }
+    }
+
+    private static class StreamingDtoAdapter<T extends StreamingJsonSerializable> extends TypeAdapter<T> {
+        final DtoProvider<T> provider;
+
+        StreamingDtoAdapter(DtoProvider<T> provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            value.writeJsonFields(out);
+            out.endObject();
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            final T dto = provider.newInstance();
+            in.beginObject();
+            while (in.hasNext()) {
+                if (!dto.readJsonField(in.nextName(), in)) {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return dto;
+        }
+    }
+
     /**
      * Wraps Gson's default List/Map adapter factories serialize null List/Map fields as empty instead.
      * 
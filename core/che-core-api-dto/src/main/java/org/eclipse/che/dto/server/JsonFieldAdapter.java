@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes values of a field of a generated DTO implementation.
+ *
+ * <p>Values are written in the same way as Gson writes fields with reflection: if the field type
+ * is not parameterized, the adapter of the runtime type of the value is used unless it is a reflective one.
+ * Adapters are taken from {@link DtoFactory#getGson()} when they are used for the first time.
+ * Static methods read values of String and primitive fields the same way as default Gson adapters do.
+ *
+ * @see StreamingJsonSerializable
+ */
+public final class JsonFieldAdapter<T> {
+    private final TypeToken<T> type;
+
+    private volatile TypeAdapter<T> adapter;
+    private volatile RuntimeAdapter runtimeAdapter;
+
+    public JsonFieldAdapter(TypeToken<T> type) {
+        this.type = type;
+    }
+
+    public T read(JsonReader in) throws IOException {
+        return getAdapter().read(in);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void write(JsonWriter out, T value) throws IOException {
+        final TypeAdapter<T> declared = getAdapter();
+        if (value == null || !(type.getType() instanceof Class) || value.getClass() == type.getType()) {
+            declared.write(out, value);
+            return;
+        }
+        RuntimeAdapter runtime = runtimeAdapter;
+        if (runtime == null || runtime.type != value.getClass()) {
+            final TypeAdapter<?> candidate = DtoFactory.getInstance().getGson().getAdapter(value.getClass());
+            if (!(candidate instanceof ReflectiveTypeAdapterFactory.Adapter)
+                || declared instanceof ReflectiveTypeAdapterFactory.Adapter) {
+                runtime = new RuntimeAdapter(value.getClass(), candidate);
+            } else {
+                runtime = new RuntimeAdapter(value.getClass(), declared);
+            }
+            runtimeAdapter = runtime;
+        }
+        ((TypeAdapter<Object>)runtime.adapter).write(out, value);
+    }
+
+    /** Reads string value, returns null if the next value is null. */
+    public static String readString(JsonReader in) throws IOException {
+        final JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    /** Reads int value, the next value must not be null. */
+    public static int readInt(JsonReader in) throws IOException {
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException x) {
+            throw new JsonSyntaxException(x);
+        }
+    }
+
+    /** Reads long value, the next value must not be null. */
+    public static long readLong(JsonReader in) throws IOException {
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException x) {
+            throw new JsonSyntaxException(x);
+        }
+    }
+
+    /** Reads boolean value, the next value must not be null. */
+    public static boolean readBoolean(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    /** Consumes the next value if it is null and returns true, otherwise returns false. */
+    public static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    private TypeAdapter<T> getAdapter() {
+        TypeAdapter<T> result = adapter;
+        if (result == null) {
+            adapter = result = DtoFactory.getInstance().getGson().getAdapter(type);
+        }
+        return result;
+    }
+
+    /** Adapter used for the values of the runtime type. */
+    private static class RuntimeAdapter {
+        final Class<?>       type;
+        final TypeAdapter<?> adapter;
+
+        RuntimeAdapter(Class<?> type, TypeAdapter<?> adapter) {
+            this.type = type;
+            this.adapter = adapter;
+        }
+    }
+}
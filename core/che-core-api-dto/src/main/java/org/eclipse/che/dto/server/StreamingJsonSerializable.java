@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * DTO implementation which writes and reads its fields to and from JSON streams without reflection.
+ * Implemented by the generated server DTOs, see {@link DtoFactory#getGson()}.
+ *
+ * @see JsonFieldAdapter
+ */
+public interface StreamingJsonSerializable {
+
+    /** Writes names and values of all the fields of this DTO, the enclosing JSON object is written by the caller. */
+    void writeJsonFields(JsonWriter out) throws IOException;
+
+    /**
+     * Reads the value of the field with the given JSON name.
+     *
+     * @param name
+     *         JSON name of the field
+     * @param in
+     *         reader positioned at the value of the field
+     * @return false if this DTO has no field with the given name, the value is not read in this case
+     */
+    boolean readJsonField(String name, JsonReader in) throws IOException;
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+import org.eclipse.che.dto.definitions.ComplicatedDto;
+import org.eclipse.che.dto.definitions.DTOHierarchy.GrandchildDto;
+import org.eclipse.che.dto.definitions.SimpleDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.shared.DTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Compares writing and reading of server DTOs with generated streaming serializers,
+ * which are used by {@link DtoFactory}, and with Gson reflection.
+ *
+ * <p>Run with {@code main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DtoSerializationBenchmark {
+    private static final int ITEMS = 100;
+
+    private Gson streamingGson;
+    private Gson reflectiveGson;
+
+    private SimpleDto      simple;
+    private ComplicatedDto complicated;
+    private GrandchildDto  hierarchy;
+
+    private String simpleJson;
+    private String complicatedJson;
+    private String hierarchyJson;
+
+    @Setup
+    public void setUp() {
+        final DtoFactory dtoFactory = DtoFactory.getInstance();
+        streamingGson = dtoFactory.getGson();
+        // binds DTO interfaces to their implementations the same way as DtoFactory does,
+        // but implementations are written and read by the Gson reflective adapter
+        reflectiveGson = new GsonBuilder().registerTypeAdapterFactory(new TypeAdapterFactory() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+                final Class<?> rawType = type.getRawType();
+                if (rawType.isInterface() && rawType.isAnnotationPresent(DTO.class)) {
+                    return (TypeAdapter<T>)gson.getAdapter(dtoFactory.createDto(rawType).getClass());
+                }
+                return null;
+            }
+        }).create();
+
+        simple = simpleDto(1);
+
+        final List<SimpleDto> simpleDtos = new ArrayList<>();
+        final Map<String, SimpleDto> map = new HashMap<>();
+        final List<String> strings = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            simpleDtos.add(simpleDto(i));
+            map.put("key" + i, simpleDto(i));
+            strings.add("string" + i);
+        }
+        complicated = dtoFactory.createDto(ComplicatedDto.class)
+                                .withSimpleDtos(simpleDtos)
+                                .withMap(map)
+                                .withStrings(strings)
+                                .withSimpleEnum(ComplicatedDto.SimpleEnum.ONE)
+                                .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE, ComplicatedDto.SimpleEnum.TWO),
+                                                               asList(ComplicatedDto.SimpleEnum.THREE)));
+
+        final GrandchildDto shadowed = dtoFactory.createDto(GrandchildDto.class);
+        shadowed.setDtoField("shadowed");
+        hierarchy = dtoFactory.createDto(GrandchildDto.class);
+        hierarchy.setDtoField("dto");
+        hierarchy.setChildField("child");
+        hierarchy.setParentField("parent");
+        hierarchy.setShadowedField(shadowed);
+
+        simpleJson = streamingGson.toJson(simple, SimpleDto.class);
+        complicatedJson = streamingGson.toJson(complicated, ComplicatedDto.class);
+        hierarchyJson = streamingGson.toJson(hierarchy, GrandchildDto.class);
+    }
+
+    @Benchmark
+    public String writeSimpleStreaming() {
+        return streamingGson.toJson(simple, SimpleDto.class);
+    }
+
+    @Benchmark
+    public String writeSimpleReflective() {
+        return reflectiveGson.toJson(simple, SimpleDto.class);
+    }
+
+    @Benchmark
+    public SimpleDto readSimpleStreaming() {
+        return streamingGson.fromJson(simpleJson, SimpleDto.class);
+    }
+
+    @Benchmark
+    public SimpleDto readSimpleReflective() {
+        return reflectiveGson.fromJson(simpleJson, SimpleDto.class);
+    }
+
+    @Benchmark
+    public String writeComplicatedStreaming() {
+        return streamingGson.toJson(complicated, ComplicatedDto.class);
+    }
+
+    @Benchmark
+    public String writeComplicatedReflective() {
+        return reflectiveGson.toJson(complicated, ComplicatedDto.class);
+    }
+
+    @Benchmark
+    public ComplicatedDto readComplicatedStreaming() {
+        return streamingGson.fromJson(complicatedJson, ComplicatedDto.class);
+    }
+
+    @Benchmark
+    public ComplicatedDto readComplicatedReflective() {
+        return reflectiveGson.fromJson(complicatedJson, ComplicatedDto.class);
+    }
+
+    @Benchmark
+    public String writeHierarchyStreaming() {
+        return streamingGson.toJson(hierarchy, GrandchildDto.class);
+    }
+
+    @Benchmark
+    public String writeHierarchyReflective() {
+        return reflectiveGson.toJson(hierarchy, GrandchildDto.class);
+    }
+
+    @Benchmark
+    public GrandchildDto readHierarchyStreaming() {
+        return streamingGson.fromJson(hierarchyJson, GrandchildDto.class);
+    }
+
+    @Benchmark
+    public GrandchildDto readHierarchyReflective() {
+        return reflectiveGson.fromJson(hierarchyJson, GrandchildDto.class);
+    }
+
+    private static SimpleDto simpleDto(int id) {
+        return DtoFactory.getInstance().createDto(SimpleDto.class).withId(id).withName("name" + id).withDefault("default" + id);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DtoSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
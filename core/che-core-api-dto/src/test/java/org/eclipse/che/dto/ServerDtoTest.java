@@ -28,6 +28,7 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.StreamingJsonSerializable;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -174,6 +175,36 @@ public class ServerDtoTest {
         dtoFactory.toJson(dto1);
     }
 
+    @Test
+    public void testHierarchySerializerAndDeserializer() throws Exception {
+        GrandchildDto shadowed = dtoFactory.createDto(GrandchildDto.class);
+        shadowed.setDtoField("inner");
+        GrandchildDto dto = dtoFactory.createDto(GrandchildDto.class);
+        dto.setDtoField("dto");
+        dto.setChildField("child");
+        dto.setParentField("parent");
+        dto.setShadowedField(shadowed);
+
+        assertTrue(dto instanceof StreamingJsonSerializable);
+        final String json = dtoFactory.toJson(dto);
+
+        JsonObject jsonObject = new JsonParser().parse(json).getAsJsonObject();
+        assertEquals(jsonObject.get("dtoField").getAsString(), "dto");
+        assertEquals(jsonObject.get("childField").getAsString(), "child");
+        assertEquals(jsonObject.get("parentField").getAsString(), "parent");
+        assertEquals(jsonObject.getAsJsonObject("shadowedField").get("dtoField").getAsString(), "inner");
+        assertEquals(dtoFactory.createDtoFromJson(json, GrandchildDto.class), dto);
+    }
+
+    @Test
+    public void testDeserializerSkipsUnknownFields() throws Exception {
+        final String json = "{\"name\":\"foo\",\"unknown\":{\"a\":[1,2]},\"id\":null,\"default\":\"bar\"}";
+
+        SimpleDto dto = dtoFactory.createDtoFromJson(json, SimpleDto.class);
+
+        checkSimpleDto(dto, "foo", 0, "bar");
+    }
+
     /** Intentionally call several times to ensure non-reference equality */
     private static JsonElement createTestValueForAny() {
         return new JsonParser().parse("{a:100,b:{c:'blah'}}");
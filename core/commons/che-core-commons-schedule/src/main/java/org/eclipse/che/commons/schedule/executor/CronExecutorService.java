@@ -24,4 +24,13 @@ public interface CronExecutorService extends ScheduledExecutorService {
      * @param expression a cron expression
      */
     Future<?> schedule(Runnable task, CronExpression expression);
+
+    /**
+     * Schedules the specified task to execute according to the specified cron expression.
+     *
+     * @param task          the Runnable task to schedule
+     * @param expression    a cron expression
+     * @param overlapPolicy defines what happens when the task fires while its previous execution is still running
+     */
+    Future<?> schedule(Runnable task, CronExpression expression, OverlapPolicy overlapPolicy);
 }
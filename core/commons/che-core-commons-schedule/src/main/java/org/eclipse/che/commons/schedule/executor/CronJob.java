@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.schedule.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Job which runs the task at the times defined by the cron expression.
+ *
+ * <p>Only the next execution of the job is kept in the queue of the executor, when it fires
+ * the following one is scheduled, so the job doesn't occupy any thread between executions.
+ * The job is done when it is cancelled, when the executor is shut down
+ * or when the cron expression has no more fire times.
+ *
+ * <p>The job collects statistics of its executions.
+ *
+ * @see CronThreadPoolExecutor#schedule(Runnable, CronExpression, OverlapPolicy)
+ */
+public class CronJob implements Future<Object> {
+    private static final Logger LOG = LoggerFactory.getLogger(CronJob.class);
+
+    private final CronThreadPoolExecutor executor;
+    private final Runnable               task;
+    private final CronExpression         expression;
+    private final OverlapPolicy          overlapPolicy;
+    private final CountDownLatch         done;
+    private final AtomicInteger          running;
+    private final AtomicLong             executions;
+    private final AtomicLong             skipped;
+    private final AtomicLong             failures;
+    private final AtomicLong             totalRunTime;
+    private final AtomicLong             maxRunTime;
+
+    private volatile long    lastRunTime;
+    private volatile Date    nextFireTime;
+    private volatile boolean cancelled;
+
+    /** Next execution of the job, guarded by this. */
+    private ScheduledFuture<?> next;
+
+    CronJob(CronThreadPoolExecutor executor, Runnable task, CronExpression expression, OverlapPolicy overlapPolicy) {
+        this.executor = executor;
+        this.task = task;
+        this.expression = expression;
+        this.overlapPolicy = overlapPolicy;
+        this.done = new CountDownLatch(1);
+        this.running = new AtomicInteger();
+        this.executions = new AtomicLong();
+        this.skipped = new AtomicLong();
+        this.failures = new AtomicLong();
+        this.totalRunTime = new AtomicLong();
+        this.maxRunTime = new AtomicLong();
+    }
+
+    public Runnable getTask() {
+        return task;
+    }
+
+    public CronExpression getExpression() {
+        return expression;
+    }
+
+    public OverlapPolicy getOverlapPolicy() {
+        return overlapPolicy;
+    }
+
+    /** Returns the time of the next execution, or null if the job is done. */
+    public Date getNextFireTime() {
+        return isDone() ? null : nextFireTime;
+    }
+
+    /** Returns the number of started executions. */
+    public long getExecutions() {
+        return executions.get();
+    }
+
+    /** Returns the number of executions skipped because the previous execution was still running. */
+    public long getSkippedExecutions() {
+        return skipped.get();
+    }
+
+    /** Returns the number of executions which failed with an exception. */
+    public long getFailedExecutions() {
+        return failures.get();
+    }
+
+    /** Returns the number of currently running executions. */
+    public int getRunningExecutions() {
+        return running.get();
+    }
+
+    /** Returns the duration of the last finished execution in milliseconds. */
+    public long getLastRunTime() {
+        return lastRunTime;
+    }
+
+    /** Returns the duration of the longest execution in milliseconds. */
+    public long getMaxRunTime() {
+        return maxRunTime.get();
+    }
+
+    /** Returns the total duration of all the finished executions in milliseconds. */
+    public long getTotalRunTime() {
+        return totalRunTime.get();
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        synchronized (this) {
+            if (isDone()) {
+                return false;
+            }
+            cancelled = true;
+            if (next != null) {
+                next.cancel(mayInterruptIfRunning);
+            }
+        }
+        finish();
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public boolean isDone() {
+        return done.getCount() == 0;
+    }
+
+    /** Waits until the job is done. */
+    @Override
+    public Object get() throws InterruptedException {
+        done.await();
+        if (cancelled) {
+            throw new CancellationException();
+        }
+        return null;
+    }
+
+    /** Waits until the job is done. */
+    @Override
+    public Object get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+        if (!done.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        if (cancelled) {
+            throw new CancellationException();
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "CronJob{" +
+               "task=" + task +
+               ", expression=" + expression +
+               ", overlapPolicy=" + overlapPolicy +
+               ", nextFireTime=" + getNextFireTime() +
+               ", executions=" + executions +
+               ", skipped=" + skipped +
+               ", failures=" + failures +
+               ", lastRunTime=" + lastRunTime +
+               ", maxRunTime=" + maxRunTime +
+               ", totalRunTime=" + totalRunTime +
+               '}';
+    }
+
+    /**
+     * Schedules the first execution of the job after the current time,
+     * finishes the job if there is no such time.
+     */
+    void schedule() {
+        scheduleNext(new Date());
+    }
+
+    private void scheduleNext(Date after) {
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            final long now = System.currentTimeMillis();
+            Date time = expression.getNextValidTimeAfter(after);
+            // fire times which are already missed, e.g. because of busy pool, are not caught up
+            if (time != null && time.getTime() < now) {
+                time = expression.getNextValidTimeAfter(new Date(now));
+            }
+            if (time != null) {
+                final Date fireTime = time;
+                try {
+                    next = executor.schedule(() -> fire(fireTime), fireTime.getTime() - now, MILLISECONDS);
+                    nextFireTime = fireTime;
+                    return;
+                } catch (RejectedExecutionException x) {
+                    LOG.debug("Cron job {} is not scheduled any more, executor rejected it: {}", task, x.getMessage());
+                }
+            }
+        }
+        finish();
+    }
+
+    private void fire(Date fireTime) {
+        // next execution is scheduled before running the task, so the schedule
+        // doesn't drift when the task runs for a long time
+        scheduleNext(fireTime);
+
+        if (running.incrementAndGet() > 1 && overlapPolicy == OverlapPolicy.SKIP) {
+            running.decrementAndGet();
+            skipped.incrementAndGet();
+            LOG.warn("Execution of cron job {} scheduled at {} is skipped, previous execution is still running", task, fireTime);
+            return;
+        }
+        executions.incrementAndGet();
+        final long start = System.nanoTime();
+        try {
+            task.run();
+        } catch (RuntimeException x) {
+            failures.incrementAndGet();
+            LOG.error("Execution of cron job " + task + " failed: " + x.getLocalizedMessage(), x);
+        } finally {
+            final long runTime = MILLISECONDS.convert(System.nanoTime() - start, NANOSECONDS);
+            lastRunTime = runTime;
+            totalRunTime.addAndGet(runTime);
+            maxRunTime.accumulateAndGet(runTime, Math::max);
+            running.decrementAndGet();
+        }
+    }
+
+    private void finish() {
+        if (done.getCount() != 0) {
+            done.countDown();
+            executor.jobDone(this);
+        }
+    }
+}
@@ -14,26 +14,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
-import java.util.concurrent.CancellationException;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Future;
-import java.util.concurrent.RejectedExecutionException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Scheduled thread-pool executor implementation that leverages a CronExpression
  * to calculate future execution times for scheduled tasks.
+ *
+ * <p>Cron jobs share the delay queue of the executor with other scheduled tasks,
+ * only the next execution of each job is queued and no thread is occupied by a job
+ * between its executions, so the pool size doesn't depend on the number of jobs.
  */
 public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implements CronExecutorService {
 
     private static final Logger LOG = LoggerFactory.getLogger(CronThreadPoolExecutor.class);
 
-    private final List<CountDownLatch> cronJobWatchDogs;
+    private final Set<CronJob> cronJobs;
 
     /**
      * Constructs a new CronThreadPoolExecutor.
@@ -43,7 +43,7 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implemen
      */
     public CronThreadPoolExecutor(int corePoolSize) {
         super(corePoolSize);
-        this.cronJobWatchDogs = new ArrayList<>();
+        this.cronJobs = ConcurrentHashMap.newKeySet();
         this.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
     }
 
@@ -57,7 +57,7 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implemen
      */
     public CronThreadPoolExecutor(int corePoolSize, ThreadFactory threadFactory) {
         super(corePoolSize, threadFactory);
-        this.cronJobWatchDogs = new ArrayList<>();
+        this.cronJobs = ConcurrentHashMap.newKeySet();
         this.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
     }
 
@@ -71,7 +71,7 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implemen
      */
     public CronThreadPoolExecutor(int corePoolSize, RejectedExecutionHandler handler) {
         super(corePoolSize, handler);
-        this.cronJobWatchDogs = new ArrayList<>();
+        this.cronJobs = ConcurrentHashMap.newKeySet();
         this.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
     }
 
@@ -87,53 +87,38 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implemen
      */
     public CronThreadPoolExecutor(int corePoolSize, ThreadFactory threadFactory, RejectedExecutionHandler handler) {
         super(corePoolSize, threadFactory, handler);
-        this.cronJobWatchDogs = new ArrayList<>();
+        this.cronJobs = ConcurrentHashMap.newKeySet();
     }
 
+    /**
+     * Schedules the task with {@link OverlapPolicy#SKIP} policy.
+     *
+     * @see #schedule(Runnable, CronExpression, OverlapPolicy)
+     */
     @Override
-    public Future<?> schedule(final Runnable task, final CronExpression expression) {
-        if (task == null) {
+    public CronJob schedule(Runnable task, CronExpression expression) {
+        return schedule(task, expression, OverlapPolicy.SKIP);
+    }
+
+    @Override
+    public CronJob schedule(Runnable task, CronExpression expression, OverlapPolicy overlapPolicy) {
+        if (task == null || expression == null || overlapPolicy == null) {
             throw new NullPointerException();
         }
-        setCorePoolSize(getCorePoolSize() + 1);
-        Runnable scheduleTask = new Runnable() {
-            @Override
-            public void run() {
-                CountDownLatch countDownLatch = new CountDownLatch(1);
-                cronJobWatchDogs.add(countDownLatch);
-                Date now = new Date();
-                Date time = expression.getNextValidTimeAfter(now);
-                try {
-                    while (time != null) {
-                        CronThreadPoolExecutor.this
-                                .schedule(task, time.getTime() - now.getTime(), TimeUnit.MILLISECONDS);
-                        while (now.before(time)) {
-                            LOG.debug("Cron watch dog wait {} ", time.getTime() - now.getTime());
-                            if (countDownLatch.await(time.getTime() - now.getTime(), TimeUnit.MILLISECONDS)) {
-                                LOG.debug("Stopping cron watch dog.");
-                                return;
-                            }
-                            now = new Date();
-                        }
-                        time = expression.getNextValidTimeAfter(now);
-                    }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                } catch (RejectedExecutionException | CancellationException e) {
-                    LOG.error(e.getMessage(), e);
-                }
-            }
-        };
-        return this.submit(scheduleTask);
+        final CronJob job = new CronJob(this, task, expression, overlapPolicy);
+        cronJobs.add(job);
+        job.schedule();
+        return job;
+    }
+
+    /** Returns the cron jobs which are not done yet. */
+    public List<CronJob> getCronJobs() {
+        return new ArrayList<>(cronJobs);
     }
 
     @Override
     public void shutdown() {
-
-        for (CountDownLatch cronJobWatchDog : cronJobWatchDogs) {
-            cronJobWatchDog.countDown();
-        }
-        cronJobWatchDogs.clear();
+        cancelCronJobs();
         super.shutdown();
         LOG.debug("Active {} Pool {}, CEPTAS {} ,  EEDTAS {} , Task count {} , queue size {}",
                   getActiveCount(),
@@ -148,10 +133,7 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implemen
 
     @Override
     public List<Runnable> shutdownNow() {
-        for (CountDownLatch cronJobWatchDog : cronJobWatchDogs) {
-            cronJobWatchDog.countDown();
-        }
-        cronJobWatchDogs.clear();
+        cancelCronJobs();
         LOG.debug("Active {} Pool {}, CEPTAS {} ,  EEDTAS {} , Task count {} , queue size {}",
                   getActiveCount(),
                   getPoolSize(),
@@ -162,4 +144,16 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor implemen
                  );
         return super.shutdownNow();
     }
+
+    /** Is called by the job when it is done. */
+    void jobDone(CronJob job) {
+        cronJobs.remove(job);
+    }
+
+    private void cancelCronJobs() {
+        for (CronJob job : getCronJobs()) {
+            LOG.debug("Stopping cron job {}", job);
+            job.cancel(false);
+        }
+    }
 }
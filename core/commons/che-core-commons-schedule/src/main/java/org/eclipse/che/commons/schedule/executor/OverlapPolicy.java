@@ -0,0 +1,23 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.schedule.executor;
+
+/**
+ * Defines what happens when a cron job fires while its previous execution is still running.
+ *
+ * @see CronJob
+ */
+public enum OverlapPolicy {
+    /** The execution is skipped, the job runs at the next fire time after the previous execution is finished. */
+    SKIP,
+    /** The execution starts on another thread of the pool if there is one, so executions may run concurrently. */
+    ALLOW
+}
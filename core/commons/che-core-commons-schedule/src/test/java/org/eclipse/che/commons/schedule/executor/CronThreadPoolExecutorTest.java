@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.schedule.executor;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link CronThreadPoolExecutor} and {@link CronJob}.
+ */
+public class CronThreadPoolExecutorTest {
+    private static final String EVERY_SECOND = "* * * * * ?";
+
+    private CronThreadPoolExecutor executor;
+
+    @BeforeMethod
+    public void setUp() {
+        executor = new CronThreadPoolExecutor(2);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldRunCronJobRepeatedly() throws Exception {
+        final CountDownLatch executed = new CountDownLatch(2);
+
+        final CronJob job = executor.schedule(executed::countDown, new CronExpression(EVERY_SECOND));
+
+        assertTrue(executed.await(5, TimeUnit.SECONDS));
+        assertFalse(job.isDone());
+        assertEquals(executor.getCronJobs().size(), 1);
+        // jobs don't occupy threads between executions
+        assertEquals(executor.getCorePoolSize(), 2);
+    }
+
+    @Test
+    public void shouldSkipExecutionWhichOverlapsWithRunningOne() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CronJob job = executor.schedule(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException x) {
+                Thread.currentThread().interrupt();
+            }
+        }, new CronExpression(EVERY_SECOND), OverlapPolicy.SKIP);
+
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (job.getSkippedExecutions() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        release.countDown();
+
+        assertTrue(job.getSkippedExecutions() > 0);
+        assertEquals(job.getExecutions(), 1);
+    }
+
+    @Test
+    public void shouldCancelCronJobsOnShutdown() throws Exception {
+        final CronJob job = executor.schedule(() -> {}, new CronExpression(EVERY_SECOND));
+
+        executor.shutdown();
+
+        assertTrue(job.isCancelled());
+        assertTrue(job.isDone());
+        assertNull(job.getNextFireTime());
+        assertTrue(executor.getCronJobs().isEmpty());
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldFinishCronJobWhichHasNoMoreFireTimes() throws Exception {
+        final CronJob job = executor.schedule(() -> {}, new CronExpression("0 15 10 * * ? 2005"));
+
+        assertTrue(job.isDone());
+        assertFalse(job.isCancelled());
+        assertTrue(executor.getCronJobs().isEmpty());
+    }
+}
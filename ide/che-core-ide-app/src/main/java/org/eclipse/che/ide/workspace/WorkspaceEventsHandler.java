@@ -464,7 +464,10 @@ public class WorkspaceEventsHandler {
 
         @Override
         protected void onMessageReceived(String wsAgentLog) {
-            eventBus.fireEvent(new EnvironmentOutputEvent(wsAgentLog, wsMachineName));
+            // output is sent in batches of lines separated by line feed
+            for (String line : wsAgentLog.split("\n")) {
+                eventBus.fireEvent(new EnvironmentOutputEvent(line, wsMachineName));
+            }
         }
 
         @Override
@@ -76,6 +76,7 @@ import static org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEven
 import static org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType.STARTING;
 import static org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType.STOPPED;
 import static org.eclipse.che.ide.api.notification.StatusNotification.DisplayMode.FLOAT_MODE;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyObject;
@@ -364,6 +365,26 @@ public class WorkspaceEventsHandlerTest {
 
     @Test
     public void onWsAgentOutputEventReceivedTest() throws Exception {
+        trackWorkspaceWithDevMachine();
+        workspaceEventsHandler.wsAgentLogSubscriptionHandler.onMessageReceived("");
+
+        verify(eventBus).fireEvent(Matchers.<EnvironmentOutputEvent> anyObject());
+    }
+
+    @Test
+    public void shouldFireEventForEachLineOfWsAgentOutput() throws Exception {
+        trackWorkspaceWithDevMachine();
+        workspaceEventsHandler.wsAgentLogSubscriptionHandler.onMessageReceived("line1\nline2\nline3");
+
+        ArgumentCaptor<EnvironmentOutputEvent> eventCaptor = ArgumentCaptor.forClass(EnvironmentOutputEvent.class);
+        verify(eventBus, times(3)).fireEvent(eventCaptor.capture());
+        List<EnvironmentOutputEvent> events = eventCaptor.getAllValues();
+        assertEquals("line1", events.get(0).getContent());
+        assertEquals("line2", events.get(1).getContent());
+        assertEquals("line3", events.get(2).getContent());
+    }
+
+    private void trackWorkspaceWithDevMachine() {
         WorkspaceRuntimeDto runtime = mock(WorkspaceRuntimeDto.class);
         WorkspaceConfigDto workspaceConfig = mock(WorkspaceConfigDto.class);
         when(workspace.getRuntime()).thenReturn(runtime);
@@ -381,9 +402,6 @@ public class WorkspaceEventsHandlerTest {
         when(devMachineConfig.getName()).thenReturn(MACHINE_NAME);
 
         workspaceEventsHandler.trackWorkspaceEvents(workspace, callback);
-        workspaceEventsHandler.wsAgentLogSubscriptionHandler.onMessageReceived("");
-
-        verify(eventBus).fireEvent(Matchers.<EnvironmentOutputEvent> anyObject());
     }
 
 }
@@ -17,20 +17,30 @@ import javax.inject.Singleton;
 
 /**
  * Duplex WEB SOCKET endpoint, handles messages, errors, session open/close events.
+ * Messages prefixed with a sequence number followed by '{@value #SEQUENCE_DELIMITER}'
+ * are dispatched without the prefix, the number is kept as the last seen sequence
+ * number of the connection, messages which were already received are skipped.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class BasicWebSocketEndpoint implements WebSocketEndpoint {
+    private static final char SEQUENCE_DELIMITER = ':';
+
     private final WebSocketConnectionSustainer sustainer;
     private final MessagesReSender             reSender;
     private final WebSocketDispatcher          dispatcher;
+    private final WebSocketPropertyManager     propertyManager;
 
     @Inject
-    public BasicWebSocketEndpoint(WebSocketConnectionSustainer sustainer, MessagesReSender reSender, WebSocketDispatcher dispatcher) {
+    public BasicWebSocketEndpoint(WebSocketConnectionSustainer sustainer,
+                                  MessagesReSender reSender,
+                                  WebSocketDispatcher dispatcher,
+                                  WebSocketPropertyManager propertyManager) {
         this.sustainer = sustainer;
         this.reSender = reSender;
         this.dispatcher = dispatcher;
+        this.propertyManager = propertyManager;
     }
 
     @Override
@@ -57,6 +67,35 @@ public class BasicWebSocketEndpoint implements WebSocketEndpoint {
     public void onMessage(String url, String message) {
         Log.debug(getClass(), "Message received: " + message);
 
-        dispatcher.dispatch(url, message);
+        final int delimiter = getSequenceDelimiterIndex(message);
+        if (delimiter < 0) {
+            dispatcher.dispatch(url, message);
+            return;
+        }
+
+        final long sequence = Long.parseLong(message.substring(0, delimiter));
+        final long lastSeen = propertyManager.getLastSeenSequence(url);
+        if (lastSeen != 0 && sequence <= lastSeen) {
+            Log.debug(getClass(), "Skipping already received message " + sequence);
+            return;
+        }
+        if (lastSeen != 0 && sequence != lastSeen + 1) {
+            Log.warn(getClass(), "Missed " + (sequence - lastSeen - 1) + " messages of endpoint " + url);
+        }
+
+        propertyManager.setLastSeenSequence(url, sequence);
+        dispatcher.dispatch(url, message.substring(delimiter + 1));
+    }
+
+    /**
+     * Returns index of the delimiter which follows a sequence number at the
+     * start of the message, or -1 if the message has no sequence number.
+     */
+    private static int getSequenceDelimiterIndex(String message) {
+        int index = 0;
+        while (index < message.length() && Character.isDigit(message.charAt(index))) {
+            index++;
+        }
+        return index > 0 && index < message.length() && message.charAt(index) == SEQUENCE_DELIMITER ? index : -1;
     }
 }
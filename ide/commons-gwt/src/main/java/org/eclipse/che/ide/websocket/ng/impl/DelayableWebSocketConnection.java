@@ -23,6 +23,8 @@ import javax.inject.Inject;
  * @author Dmitry Kuleshov
  */
 public class DelayableWebSocketConnection implements WebSocketConnection {
+    private static final String LAST_SEEN_PARAMETER = "last-seen";
+
     private final WebSocketPropertyManager propertyManager;
     private final WebSocketEndpoint        endpoint;
     private final String                   url;
@@ -43,12 +45,12 @@ public class DelayableWebSocketConnection implements WebSocketConnection {
 
         if (isClosed() || isClosing()) {
             if (delay == 0) {
-                webSocketJsoWrapper = WebSocketJsoWrapper.connect(url, endpoint);
+                webSocketJsoWrapper = WebSocketJsoWrapper.connect(url, getConnectionUrl(), endpoint);
             } else {
                 new Timer() {
                     @Override
                     public void run() {
-                        webSocketJsoWrapper = WebSocketJsoWrapper.connect(url, endpoint);
+                        webSocketJsoWrapper = WebSocketJsoWrapper.connect(url, getConnectionUrl(), endpoint);
                     }
                 }.schedule(delay);
             }
@@ -94,4 +96,13 @@ public class DelayableWebSocketConnection implements WebSocketConnection {
     public boolean isConnecting() {
         return webSocketJsoWrapper != null && webSocketJsoWrapper.isConnecting();
     }
+
+    /**
+     * Returns the url extended with '{@value #LAST_SEEN_PARAMETER}' parameter, so the server
+     * re-sends only messages which follow the last one received over this connection.
+     */
+    private String getConnectionUrl() {
+        final String separator = url.contains("?") ? "&" : "?";
+        return url + separator + LAST_SEEN_PARAMETER + '=' + propertyManager.getLastSeenSequence(url);
+    }
 }
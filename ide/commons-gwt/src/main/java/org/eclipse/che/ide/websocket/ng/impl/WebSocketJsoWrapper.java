@@ -21,8 +21,12 @@ public class WebSocketJsoWrapper extends JavaScriptObject {
     protected WebSocketJsoWrapper() {
     }
 
-    public static native WebSocketJsoWrapper connect(String url, WebSocketEndpoint endpoint) /*-{
-        var webSocket = new WebSocket(url);
+    /**
+     * Opens a web socket to the connection URL, which may extend the URL of the
+     * connection with request parameters, the endpoint is notified with the URL.
+     */
+    public static native WebSocketJsoWrapper connect(String url, String connectionUrl, WebSocketEndpoint endpoint) /*-{
+        var webSocket = new WebSocket(connectionUrl);
         webSocket.onopen = function () {
             endpoint.@org.eclipse.che.ide.websocket.ng.impl.WebSocketEndpoint::onOpen(Ljava/lang/String;)(url);
         };
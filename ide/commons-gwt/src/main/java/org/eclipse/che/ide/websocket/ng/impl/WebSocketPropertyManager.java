@@ -20,6 +20,7 @@ import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static org.eclipse.che.ide.websocket.ng.impl.WebSocketPropertyManager.Properties.ATTEMPTS;
 import static org.eclipse.che.ide.websocket.ng.impl.WebSocketPropertyManager.Properties.DELAY;
+import static org.eclipse.che.ide.websocket.ng.impl.WebSocketPropertyManager.Properties.LAST_SEEN_SEQUENCE;
 import static org.eclipse.che.ide.websocket.ng.impl.WebSocketPropertyManager.Properties.SUSTAINER_ENABLED;
 import static org.eclipse.che.ide.websocket.ng.impl.WebSocketPropertyManager.Properties.URL;
 
@@ -51,6 +52,7 @@ public class WebSocketPropertyManager {
      * <li>Reconnection delay: 0</li>
      * <li>Reconnection attempts: 0</li>
      * <li>Sustainer status: enabled</li>
+     * <li>Last seen sequence number: 0</li>
      * </ul>
      *
      * @param url
@@ -62,6 +64,7 @@ public class WebSocketPropertyManager {
         properties.put(DELAY, "0");
         properties.put(ATTEMPTS, "0");
         properties.put(SUSTAINER_ENABLED, TRUE.toString());
+        properties.put(LAST_SEEN_SEQUENCE, "0");
 
         this.properties.put(url, properties);
     }
@@ -126,6 +129,14 @@ public class WebSocketPropertyManager {
         return Boolean.valueOf(getProperty(url, SUSTAINER_ENABLED));
     }
 
+    public void setLastSeenSequence(String url, long sequence) {
+        setProperty(url, LAST_SEEN_SEQUENCE, Long.toString(sequence));
+    }
+
+    public long getLastSeenSequence(String url) {
+        return Long.valueOf(getProperty(url, LAST_SEEN_SEQUENCE));
+    }
+
     private Map<String, String> getPropertiesMap(String url) {
         if (properties.containsKey(url)) {
             return properties.get(url);
@@ -141,18 +152,23 @@ public class WebSocketPropertyManager {
         /**
          * Defines a delay in milliseconds for connection/reconnection
          */
-        String DELAY             = "delay";
+        String DELAY              = "delay";
         /**
          * Defines current number of reconnection attempts
          */
-        String ATTEMPTS          = "attempts";
+        String ATTEMPTS           = "attempts";
         /**
          * Url of the connection
          */
-        String URL               = "url";
+        String URL                = "url";
         /**
          * Current connection sustainer status
          */
-        String SUSTAINER_ENABLED = "sustainer-status";
+        String SUSTAINER_ENABLED  = "sustainer-status";
+        /**
+         * Sequence number of the last message received over the connection,
+         * passed to the server when the connection is reestablished
+         */
+        String LAST_SEEN_SEQUENCE = "last-seen-sequence";
     }
 }
@@ -20,7 +20,11 @@ import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for {@link BasicWebSocketEndpoint}
@@ -35,6 +39,8 @@ public class BasicWebSocketEndpointTest {
     private  MessagesReSender             reSender;
     @Mock
     private  WebSocketDispatcher          dispatcher;
+    @Mock
+    private  WebSocketPropertyManager     propertyManager;
     @InjectMocks
     private BasicWebSocketEndpoint        endpoint;
 
@@ -66,4 +72,32 @@ public class BasicWebSocketEndpointTest {
         verify(dispatcher).dispatch("url", "message");
     }
 
+    @Test
+    public void shouldDispatchMessageWithoutSequenceNumberPrefix(){
+        endpoint.onMessage("url", "42:{\"jsonrpc\":\"2.0\"}");
+
+        verify(dispatcher).dispatch("url", "{\"jsonrpc\":\"2.0\"}");
+        verify(propertyManager).setLastSeenSequence("url", 42L);
+    }
+
+    @Test
+    public void shouldSkipAlreadyReceivedMessage(){
+        when(propertyManager.getLastSeenSequence("url")).thenReturn(42L);
+
+        endpoint.onMessage("url", "42:message");
+
+        verify(dispatcher, never()).dispatch(anyString(), anyString());
+        verify(propertyManager, never()).setLastSeenSequence(anyString(), anyLong());
+    }
+
+    @Test
+    public void shouldDispatchMessageFollowingMissedOnes(){
+        when(propertyManager.getLastSeenSequence("url")).thenReturn(40L);
+
+        endpoint.onMessage("url", "42:message");
+
+        verify(dispatcher).dispatch("url", "message");
+        verify(propertyManager).setLastSeenSequence("url", 42L);
+    }
+
 }
@@ -74,4 +74,13 @@ public class WebSocketPropertyManagerTest {
 
         assertTrue(sustainerEnabled);
     }
+
+    @Test
+    public void shouldInitializeDefaultLastSeenSequenceOnInitialize() {
+        propertyManager.initializeConnection("url");
+
+        final long lastSeen = propertyManager.getLastSeenSequence("url");
+
+        assertEquals(0, lastSeen);
+    }
 }
@@ -377,7 +377,8 @@ public class DockerConnector {
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
-                                                                  "/wait")) {
+                                                                  "/wait")
+                                                            .streaming()) {
             final DockerResponse response = connection.request();
             if (OK.getStatusCode() != response.getStatus()) {
                 throw getDockerException(response);
@@ -437,6 +438,7 @@ public class DockerConnector {
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/attach")
+                                                            .streaming()
                                                             .query("stdout", 1)
                                                             .query("stderr", 1)) {
             addQueryParamIfNotNull(connection, "stream", stream);
@@ -466,6 +468,7 @@ public class DockerConnector {
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("GET")
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/logs")
+                                                            .streaming()
                                                             .query("stdout", 1)
                                                             .query("stderr", 1)) {
             addQueryParamIfNotNull(connection, "details", params.isDetails());
@@ -532,6 +535,7 @@ public class DockerConnector {
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/exec/" + params.getExecId() + "/start")
+                                                            .streaming()
                                                             .header("Content-Type", MediaType.APPLICATION_JSON)
                                                             .header("Content-Length", entityBytesArray.length)
                                                             .entity(entityBytesArray)) {
@@ -628,7 +632,8 @@ public class DockerConnector {
             connection = connectionFactory.openConnection(dockerDaemonUri)
                                           .method("GET")
                                           .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/archive")
-                                          .query("path", params.getSourcePath());
+                                          .query("path", params.getSourcePath())
+                                          .streaming();
 
             final DockerResponse response = connection.request();
             if (response.getStatus() != OK.getStatusCode()) {
@@ -701,7 +706,8 @@ public class DockerConnector {
 
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("GET")
-                                                            .path(apiVersionPathPrefix + "/events")) {
+                                                            .path(apiVersionPathPrefix + "/events")
+                                                            .streaming()) {
             addQueryParamIfNotNull(connection, "since", params.getSinceSecond());
             addQueryParamIfNotNull(connection, "until", params.getUntilSecond());
             if (filters != null) {
@@ -765,6 +771,7 @@ public class DockerConnector {
 
         try (DockerConnection connection = dockerConnection.method("POST")
                                                            .path(apiVersionPathPrefix + "/build")
+                                                           .streaming()
                                                            .header("X-Registry-Config",
                                                                    authResolver.getXRegistryConfigHeaderValue(params.getAuthConfigs()))) {
             addQueryParamIfNotNull(connection, "rm", params.isRemoveIntermediateContainer());
@@ -908,6 +915,7 @@ public class DockerConnector {
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/images/" + fullRepo + "/push")
+                                                            .streaming()
                                                             .header("X-Registry-Auth",
                                                                     authResolver.getXRegistryAuthHeaderValue(
                                                                             params.getRegistry(),
@@ -1018,6 +1026,7 @@ public class DockerConnector {
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/images/create")
+                                                            .streaming()
                                                             .query("fromImage", params.getFullRepo())
                                                             .header("X-Registry-Auth",
                                                                     authResolver.getXRegistryAuthHeaderValue(
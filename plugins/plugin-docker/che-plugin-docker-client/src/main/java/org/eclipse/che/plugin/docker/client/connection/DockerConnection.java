@@ -30,6 +30,7 @@ public abstract class DockerConnection implements Closeable {
     private String    method;
     private String    path;
     private Entity<?> entity;
+    private boolean   streaming;
     private StringBuilder         query   = new StringBuilder();
     private List<Pair<String, ?>> headers = new LinkedList<>();
 
@@ -91,6 +92,15 @@ public abstract class DockerConnection implements Closeable {
         return this;
     }
 
+    /**
+     * Marks the request as the one which holds the connection for a long time,
+     * e.g. streams logs or events, such requests don't use pooled connections.
+     */
+    public DockerConnection streaming() {
+        this.streaming = true;
+        return this;
+    }
+
     public DockerResponse request() throws IOException {
         return request(method, path, query.toString(), headers, entity);
     }
@@ -103,6 +113,10 @@ public abstract class DockerConnection implements Closeable {
 
     public abstract void close();
 
+    protected boolean isStreaming() {
+        return streaming;
+    }
+
     static abstract class Entity<T> {
         final T entity;
 
@@ -10,24 +10,38 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client.connection;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Factory for connections to docker API.
  *
  * <p>Detects connection implementation by checking docker daemon URI.
+ * Connections to unix sockets are kept alive in a pool per socket,
+ * connections to tcp sockets are kept alive by {@link java.net.HttpURLConnection}.
  *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
     public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "che.docker.tcp_connection_timeout_ms";
     public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "che.docker.tcp_connection_read_timeout_ms";
+    public static final String MAX_POOLED_CONNECTIONS_PROPERTY     = "che.docker.connection_pool.max_connections";
+    public static final String IDLE_CONNECTION_TIMEOUT_MS_PROPERTY = "che.docker.connection_pool.idle_timeout_ms";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -37,18 +51,57 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
-    private final DockerCertificates dockerCertificates;
+    @Inject(optional = true)
+    @Named(MAX_POOLED_CONNECTIONS_PROPERTY)
+    private int maxPooledConnections = 20;
+
+    @Inject(optional = true)
+    @Named(IDLE_CONNECTION_TIMEOUT_MS_PROPERTY)
+    private long idleConnectionTimeoutMs = 30000;
+
+    private final DockerCertificates                              dockerCertificates;
+    private final ConcurrentMap<String, UnixSocketConnectionPool> pools;
+
+    private ScheduledExecutorService evictor;
 
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
+        this.pools = new ConcurrentHashMap<>();
     }
 
     public DockerConnection openConnection(URI dockerDaemonUri) {
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-            return new UnixSocketConnection(dockerDaemonUri.getPath());
+            if (maxPooledConnections <= 0) {
+                return new UnixSocketConnection(dockerDaemonUri.getPath());
+            }
+            return new UnixSocketConnection(dockerDaemonUri.getPath(),
+                                            pools.computeIfAbsent(dockerDaemonUri.getPath(), this::createPool));
         } else {
             return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
         }
     }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        pools.values().forEach(UnixSocketConnectionPool::close);
+    }
+
+    private synchronized UnixSocketConnectionPool createPool(String socketPath) {
+        final UnixSocketConnectionPool pool = new UnixSocketConnectionPool(socketPath,
+                                                                           maxPooledConnections,
+                                                                           idleConnectionTimeoutMs);
+        if (evictor == null) {
+            evictor = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("DockerConnectionEvictor-%d")
+                                              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                              .setDaemon(true)
+                                              .build());
+        }
+        evictor.scheduleWithFixedDelay(pool::evictIdle, idleConnectionTimeoutMs, idleConnectionTimeoutMs, TimeUnit.MILLISECONDS);
+        return pool;
+    }
 }
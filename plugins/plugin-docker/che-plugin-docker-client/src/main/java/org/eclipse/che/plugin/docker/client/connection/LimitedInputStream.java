@@ -59,6 +59,24 @@ public class LimitedInputStream extends InputStream {
         return doRead(b, 0, len);
     }
 
+    /**
+     * Skips the rest of the stream if it is not longer than the given number of bytes.
+     *
+     * @return true if the stream is read to the end
+     */
+    synchronized boolean skipRemaining(int maxBytes) throws IOException {
+        if (limit - pos > maxBytes) {
+            return false;
+        }
+        final byte[] buf = new byte[Math.max(1, limit - pos)];
+        while (pos < limit) {
+            if (doRead(buf, 0, buf.length) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (pos >= limit) {
             return -1;
@@ -34,6 +34,7 @@ public class TcpConnection extends DockerConnection {
     private final int                readTimeout;
 
     private HttpURLConnection connection;
+    private TcpDockerResponse response;
 
     public TcpConnection(URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) {
         if ("https".equals(baseUri.getScheme())) {
@@ -62,8 +63,10 @@ public class TcpConnection extends DockerConnection {
             ((HttpsURLConnection)connection).setSSLSocketFactory(certificates.getSslContext().getSocketFactory());
         }
         connection.setRequestMethod(method);
-        // needed to fix bug https://github.com/docker/docker/issues/12845
-        connection.setRequestProperty("Connection", "close");
+        if (isStreaming()) {
+            // needed to fix bug https://github.com/docker/docker/issues/12845
+            connection.setRequestProperty("Connection", "close");
+        }
         for (Pair<String, ?> header : headers) {
             connection.setRequestProperty(header.first, String.valueOf(header.second));
         }
@@ -79,13 +82,20 @@ public class TcpConnection extends DockerConnection {
                 entity.writeTo(output);
             }
         }
-        return new TcpDockerResponse(connection);
+        return response = new TcpDockerResponse(connection);
     }
 
+    /**
+     * Closes response of a short request, so fully read connection is kept alive
+     * by {@link HttpURLConnection} for the next request to the same daemon,
+     * connections of streaming requests are closed.
+     */
     @Override
     public void close() {
         if (connection != null) {
-            connection.disconnect();
+            if (isStreaming() || response == null || !response.release()) {
+                connection.disconnect();
+            }
         }
     }
 }
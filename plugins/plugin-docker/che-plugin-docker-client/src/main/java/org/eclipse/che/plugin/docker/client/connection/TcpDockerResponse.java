@@ -22,32 +22,39 @@ import java.util.Map;
 public class TcpDockerResponse implements DockerResponse {
     private final HttpURLConnection connection;
 
+    private boolean received;
+
     TcpDockerResponse(HttpURLConnection connection) {
         this.connection = connection;
     }
 
     @Override
     public int getStatus() throws IOException {
+        received = true;
         return connection.getResponseCode();
     }
 
     @Override
     public int getContentLength() throws IOException {
+        received = true;
         return connection.getContentLength();
     }
 
     @Override
     public String getContentType() throws IOException {
+        received = true;
         return connection.getContentType();
     }
 
     @Override
     public String getHeader(String name) throws IOException {
+        received = true;
         return connection.getHeaderField(name);
     }
 
     @Override
     public String[] getHeaders(String name) throws IOException {
+        received = true;
         final Map<String, List<String>> allHeaders = connection.getHeaderFields();
         final List<String> headers = allHeaders.get(name);
         return headers != null ? headers.toArray(new String[headers.size()]) : new String[0];
@@ -55,10 +62,28 @@ public class TcpDockerResponse implements DockerResponse {
 
     @Override
     public InputStream getInputStream() throws IOException {
+        received = true;
         InputStream entityStream = connection.getErrorStream();
         if (entityStream == null) {
             entityStream = connection.getInputStream();
         }
         return entityStream;
     }
+
+    /**
+     * Closes the body of received response, which returns the connection to keep-alive cache.
+     *
+     * @return false if the response is not received or its body can't be closed
+     */
+    boolean release() {
+        if (!received) {
+            return false;
+        }
+        try {
+            getInputStream().close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
 }
@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.docker.client.connection;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
 
 import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.plugin.docker.client.CLibrary;
@@ -24,6 +25,7 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.net.ConnectException;
 import java.util.List;
+import java.util.Set;
 
 import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
 import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
@@ -35,34 +37,103 @@ import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-    private final String dockerSocketPath;
+    /** Requests which may be repeated when the response to them is lost. */
+    private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
 
-    private int fd = -1;
+    private final String                   dockerSocketPath;
+    private final UnixSocketConnectionPool pool;
+
+    private int                            fd = -1;
+    private UnixSocketConnectionPool.Lease lease;
+    private UnixSocketDockerResponse       response;
 
     public UnixSocketConnection(String dockerSocketPath) {
+        this(dockerSocketPath, null);
+    }
+
+    /**
+     * Creates connection which takes sockets from the given pool,
+     * streaming requests and requests with stream entity use not pooled sockets.
+     */
+    public UnixSocketConnection(String dockerSocketPath, UnixSocketConnectionPool pool) {
         this.dockerSocketPath = dockerSocketPath;
+        this.pool = pool;
     }
 
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
             throws IOException {
-        fd = connect();
-        final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-        writeHttpHeaders(output, method, path, query, headers);
-        if (entity != null) {
-            entity.writeTo(output);
+        if (pool == null) {
+            fd = connect();
+            return response = send(fd, method, path, query, headers, entity);
+        }
+        final boolean replayable = !(entity instanceof StreamEntity);
+        if (isStreaming() || !replayable) {
+            lease = pool.acquireUnpooled();
+            return response = send(lease.fd, method, path, query, headers, entity);
+        }
+        for (; ; ) {
+            lease = pool.acquire();
+            boolean written = false;
+            try {
+                writeRequest(lease.fd, method, path, query, headers, entity);
+                written = true;
+                response = readResponse(lease.fd);
+                if (lease.reused) {
+                    // reused socket may be closed by docker, fail here to retry with another one
+                    response.getStatus();
+                }
+                return response;
+            } catch (IOException e) {
+                final boolean reused = lease.reused;
+                pool.release(lease, false);
+                lease = null;
+                // docker may have processed the request which is written, repeat only idempotent ones
+                if (!reused || written && !IDEMPOTENT_METHODS.contains(method)) {
+                    throw e;
+                }
+            }
         }
-        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
     }
 
-
     @Override
     public void close() {
-        if (fd != -1) {
+        if (lease != null) {
+            pool.release(lease, response != null && response.isFullyRead());
+            lease = null;
+        } else if (fd != -1) {
             getCLibrary().close(fd);
+            fd = -1;
         }
     }
 
+    private UnixSocketDockerResponse send(int fd,
+                                          String method,
+                                          String path,
+                                          String query,
+                                          List<Pair<String, ?>> headers,
+                                          Entity<?> entity) throws IOException {
+        writeRequest(fd, method, path, query, headers, entity);
+        return readResponse(fd);
+    }
+
+    private void writeRequest(int fd,
+                              String method,
+                              String path,
+                              String query,
+                              List<Pair<String, ?>> headers,
+                              Entity<?> entity) throws IOException {
+        final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
+        writeHttpHeaders(output, method, path, query, headers);
+        if (entity != null) {
+            entity.writeTo(output);
+        }
+    }
+
+    private UnixSocketDockerResponse readResponse(int fd) {
+        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+    }
+
     private int connect() throws IOException {
         final CLibrary cLib = getCLibrary();
         int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
@@ -72,6 +143,7 @@ public class UnixSocketConnection extends DockerConnection {
         final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
         int c = cLib.connect(fd, sockAddr, sockAddr.size());
         if (c == -1) {
+            cLib.close(fd);
             throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
         }
         return fd;
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Keeps connections to a docker unix socket alive between requests.
+ *
+ * <p>A connection is returned to the pool only when the response to its request
+ * is fully read, connections which are not reused during the idle timeout are closed.
+ * The number of pooled connections is limited, when all of them are in use
+ * a connection which is closed after a single request is opened instead,
+ * so callers never wait for a connection.
+ */
+public class UnixSocketConnectionPool {
+    private final String      socketPath;
+    private final int         maxConnections;
+    private final long        idleTimeoutMs;
+    private final Deque<Idle> idle;
+
+    private int     pooled;
+    private boolean closed;
+
+    public UnixSocketConnectionPool(String socketPath, int maxConnections, long idleTimeoutMs) {
+        this.socketPath = socketPath;
+        this.maxConnections = maxConnections;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.idle = new ArrayDeque<>();
+    }
+
+    /**
+     * Returns a connection to the socket, the most recently used idle connection if any.
+     *
+     * @throws IOException
+     *         if connection to the socket can't be opened
+     */
+    public Lease acquire() throws IOException {
+        boolean pooledLease;
+        synchronized (this) {
+            Idle recent = idle.pollFirst();
+            if (recent != null) {
+                return new Lease(recent.fd, true, true);
+            }
+            pooledLease = !closed && pooled < maxConnections;
+            if (pooledLease) {
+                pooled++;
+            }
+        }
+        try {
+            return new Lease(connect(), pooledLease, false);
+        } catch (IOException | RuntimeException e) {
+            if (pooledLease) {
+                synchronized (this) {
+                    pooled--;
+                }
+            }
+            throw e;
+        }
+    }
+
+    /** Opens a connection which is not pooled, is used by requests which hold the connection for a long time. */
+    public Lease acquireUnpooled() throws IOException {
+        return new Lease(connect(), false, false);
+    }
+
+    /**
+     * Returns the connection to the pool if it can be reused, otherwise closes it.
+     *
+     * @param lease
+     *         acquired connection
+     * @param reusable
+     *         whether the response to the last request of the connection is fully read
+     */
+    public void release(Lease lease, boolean reusable) {
+        if (lease.pooled) {
+            synchronized (this) {
+                if (reusable && !closed) {
+                    idle.addFirst(new Idle(lease.fd, System.currentTimeMillis()));
+                    return;
+                }
+                pooled--;
+            }
+        }
+        getCLibrary().close(lease.fd);
+    }
+
+    /** Closes connections which are idle longer than the idle timeout. */
+    public void evictIdle() {
+        long expiredAt = System.currentTimeMillis() - idleTimeoutMs;
+        List<Idle> expired = new ArrayList<>();
+        synchronized (this) {
+            for (Iterator<Idle> it = idle.descendingIterator(); it.hasNext(); ) {
+                Idle next = it.next();
+                if (next.releasedAt > expiredAt) {
+                    break;
+                }
+                it.remove();
+                expired.add(next);
+                pooled--;
+            }
+        }
+        expired.forEach(connection -> getCLibrary().close(connection.fd));
+    }
+
+    /** Closes idle connections, connections which are in use are closed once released. */
+    public void close() {
+        List<Idle> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            pooled -= idle.size();
+            idle.clear();
+        }
+        toClose.forEach(connection -> getCLibrary().close(connection.fd));
+    }
+
+    /** Returns the number of idle connections. */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    private int connect() throws IOException {
+        final CLibrary cLib = getCLibrary();
+        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+        if (fd == -1) {
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        final SockAddrUn sockAddr = new SockAddrUn(socketPath);
+        int c = cLib.connect(fd, sockAddr, sockAddr.size());
+        if (c == -1) {
+            cLib.close(fd);
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        return fd;
+    }
+
+    /** Connection acquired from the pool. */
+    public static class Lease {
+        final int     fd;
+        final boolean pooled;
+        final boolean reused;
+
+        private Lease(int fd, boolean pooled, boolean reused) {
+            this.fd = fd;
+            this.pooled = pooled;
+            this.reused = reused;
+        }
+    }
+
+    private static class Idle {
+        final int  fd;
+        final long releasedAt;
+
+        private Idle(int fd, long releasedAt) {
+            this.fd = fd;
+            this.releasedAt = releasedAt;
+        }
+    }
+}
@@ -26,6 +26,9 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
     };
 
+    /** Size of unread body which is skipped to reuse the connection. */
+    private static final int MAX_SKIPPED_BODY_SIZE = 8192;
+
     private final InputStream rawData;
 
     private InputStream data;
@@ -42,7 +45,7 @@ public class UnixSocketDockerResponse implements DockerResponse {
         if (status != -1) {
             return status;
         }
-        getInputStream();
+        readHeaders();
         final String statusLine = headersFields[0];
         if (statusLine.startsWith("HTTP/1.")) {
             int startCode = statusLine.indexOf(' ');
@@ -80,7 +83,7 @@ public class UnixSocketDockerResponse implements DockerResponse {
 
     @Override
     public String getHeader(String name) throws IOException {
-        getInputStream();
+        readHeaders();
         final String lowerCaseName = name.toLowerCase();
         for (String field : headersFields) {
             if (field.toLowerCase().startsWith(lowerCaseName)) {
@@ -95,7 +98,7 @@ public class UnixSocketDockerResponse implements DockerResponse {
 
     @Override
     public String[] getHeaders(String name) throws IOException {
-        getInputStream();
+        readHeaders();
         final String lowerCaseName = name.toLowerCase();
         final List<String> headers = new ArrayList<>(4);
         for (String field : headersFields) {
@@ -111,9 +114,25 @@ public class UnixSocketDockerResponse implements DockerResponse {
 
     @Override
     public synchronized InputStream getInputStream() throws IOException {
-        if (this.headersFields != null) {
+        if (data == null) {
+            readHeaders();
+            final int contentLength = getContentLength();
+            final int statusCode = getStatus();
+            if (contentLength == 0 || statusCode == 204 || statusCode == 304) {
+                data = EMPTY;
+            } else if (contentLength > 0) {
+                data = new LimitedInputStream(rawData, contentLength);
+            } else {
+                data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
+            }
+        }
+        return data;
+    }
+
+    private synchronized void readHeaders() throws IOException {
+        if (headersFields != null) {
             // already parsed
-            return data;
+            return;
         }
 
         final StringBuilder lineBuf = new StringBuilder();
@@ -143,13 +162,31 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
-        final int contentLength = getContentLength();
-        if (contentLength == 0) {
-            return data = EMPTY;
+    }
+
+    /**
+     * Returns true if the whole response is read and the connection may be used for the next request.
+     * Short unread body is skipped.
+     */
+    synchronized boolean isFullyRead() {
+        if (headersFields == null || !headersFields[0].startsWith("HTTP/1.1")) {
+            return false;
         }
-        if (contentLength > 0) {
-            return data = new LimitedInputStream(rawData, contentLength);
+        try {
+            if ("close".equalsIgnoreCase(getHeader("Connection"))) {
+                return false;
+            }
+            // body stream is not created yet if only the status or headers are read
+            final InputStream body = getInputStream();
+            if (body == EMPTY) {
+                return true;
+            }
+            if (body instanceof LimitedInputStream) {
+                return ((LimitedInputStream)body).skipRemaining(MAX_SKIPPED_BODY_SIZE);
+            }
+            return body instanceof ChunkedInputStream && ((ChunkedInputStream)body).isEof();
+        } catch (IOException e) {
+            return false;
         }
-        return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
 }
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Stand-in docker API served on a local unix socket, works on linux only.
+ * Requests are expected to have no body.
+ */
+class DockerApiStandIn implements AutoCloseable {
+    private final File          socketDir;
+    private final String        socketPath;
+    private final int           serverFd;
+    private final Responder     responder;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<String>  requests    = new CopyOnWriteArrayList<>();
+
+    /**
+     * Answers requests with responses given by the responder.
+     */
+    DockerApiStandIn(Responder responder) throws IOException {
+        this.responder = responder;
+        socketDir = Files.createTempDirectory("docker-sock").toFile();
+        socketPath = new File(socketDir, "docker.sock").getAbsolutePath();
+        serverFd = listen(socketPath);
+    }
+
+    /** Returns HTTP/1.1 response with the given status and body. */
+    static byte[] response(int status, String body) {
+        return ("HTTP/1.1 " + status + " Status\r\n" +
+                "Content-Type: application/json\r\n" +
+                (status == 204 ? "" : "Content-Length: " + body.length() + "\r\n") +
+                "\r\n" +
+                body).getBytes(StandardCharsets.UTF_8);
+    }
+
+    String getSocketPath() {
+        return socketPath;
+    }
+
+    /** Returns the number of accepted connections. */
+    int getConnectionsCount() {
+        return connections.get();
+    }
+
+    /** Returns request lines of received requests. */
+    List<String> getRequests() {
+        return requests;
+    }
+
+    @Override
+    public void close() {
+        getCLibrary().close(serverFd);
+        new File(socketPath).delete();
+        socketDir.delete();
+    }
+
+    private int listen(String socketPath) throws IOException {
+        final CLibrary cLib = getCLibrary();
+        final int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+        final CLibrary.SockAddrUn sockAddr = new CLibrary.SockAddrUn(socketPath);
+        if (ServerLibrary.INSTANCE.bind(fd, sockAddr, sockAddr.size()) == -1 || ServerLibrary.INSTANCE.listen(fd, 128) == -1) {
+            cLib.close(fd);
+            throw new IOException("Unable to listen on " + socketPath);
+        }
+        final Thread acceptor = new Thread(() -> {
+            for (; ; ) {
+                final int clientFd = ServerLibrary.INSTANCE.accept(fd, null, null);
+                if (clientFd == -1) {
+                    return;
+                }
+                connections.incrementAndGet();
+                final Thread handler = new Thread(() -> serve(clientFd));
+                handler.setDaemon(true);
+                handler.start();
+            }
+        }, "DockerApiStandIn");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return fd;
+    }
+
+    /** Answers requests on the connection until the client or the responder closes it. */
+    private void serve(int fd) {
+        try {
+            final InputStream input = new BufferedInputStream(new UnixSocketInputStream(fd));
+            final OutputStream output = new UnixSocketOutputStream(fd);
+            final StringBuilder request = new StringBuilder();
+            int requestsOnConnection = 0;
+            for (int c; (c = input.read()) != -1; ) {
+                request.append((char)c);
+                // a request has no body and ends with an empty line
+                if (request.length() >= 4 && request.lastIndexOf("\r\n\r\n") == request.length() - 4) {
+                    final String requestLine = request.substring(0, request.indexOf("\r\n"));
+                    request.setLength(0);
+                    requests.add(requestLine);
+                    final byte[] response = responder.respond(requestLine, requestsOnConnection++);
+                    if (response == null) {
+                        return;
+                    }
+                    output.write(response);
+                }
+            }
+        } catch (IOException ignored) {
+            // client closed the connection
+        } finally {
+            getCLibrary().close(fd);
+        }
+    }
+
+    interface Responder {
+        /**
+         * Returns response to the request or null to close the connection without response.
+         *
+         * @param requestLine
+         *         request line, e.g. {@code GET /info HTTP/1.1}
+         * @param index
+         *         index of the request among requests received on the same connection
+         */
+        byte[] respond(String requestLine, int index);
+    }
+
+    interface ServerLibrary extends Library {
+        ServerLibrary INSTANCE = (ServerLibrary)Native.loadLibrary("c", ServerLibrary.class);
+
+        int bind(int fd, CLibrary.SockAddrUn sockAddr, int addrLen);
+
+        int listen(int fd, int backlog);
+
+        int accept(int fd, Pointer addr, Pointer addrLen);
+    }
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures short requests to a stand-in docker API served on a local unix socket
+ * with connections taken from {@link UnixSocketConnectionPool} and with a new connection per request.
+ *
+ * <p>Run with {@code main} method from the test classpath, works on linux only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Threads(4)
+@Fork(1)
+public class UnixSocketConnectionBenchmark {
+    private static final byte[] RESPONSE = DockerApiStandIn.response(200, "{\"Id\":\"container\",\"Pid\":1}");
+
+    private DockerApiStandIn         dockerApi;
+    private String                   socketPath;
+    private UnixSocketConnectionPool pool;
+
+    @Setup
+    public void setUp() throws IOException {
+        dockerApi = new DockerApiStandIn((request, index) -> RESPONSE);
+        socketPath = dockerApi.getSocketPath();
+        pool = new UnixSocketConnectionPool(socketPath, 20, 30_000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+        dockerApi.close();
+    }
+
+    @Benchmark
+    public byte[] pooledConnection() throws IOException {
+        return inspect(new UnixSocketConnection(socketPath, pool));
+    }
+
+    @Benchmark
+    public byte[] connectionPerRequest() throws IOException {
+        return inspect(new UnixSocketConnection(socketPath));
+    }
+
+    private byte[] inspect(DockerConnection connection) throws IOException {
+        try (DockerConnection request = connection.method("GET").path("/containers/container/json")) {
+            final DockerResponse response = request.request();
+            if (response.getStatus() != 200) {
+                throw new IOException("Unexpected status " + response.getStatus());
+            }
+            return ByteStreams.toByteArray(response.getInputStream());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(UnixSocketConnectionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
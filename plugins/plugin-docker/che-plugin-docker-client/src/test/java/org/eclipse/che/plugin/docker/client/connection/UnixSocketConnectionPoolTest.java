@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+
+import org.eclipse.che.api.core.util.SystemInfo;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.plugin.docker.client.connection.DockerApiStandIn.response;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests {@link UnixSocketConnectionPool} and pooled {@link UnixSocketConnection}
+ * against a stand-in docker API, works on linux only.
+ */
+public class UnixSocketConnectionPoolTest {
+    private DockerApiStandIn         dockerApi;
+    private UnixSocketConnectionPool pool;
+
+    @BeforeMethod
+    public void setUp() {
+        if (!SystemInfo.isLinux()) {
+            throw new SkipException("Unix sockets are available on linux only");
+        }
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+        if (dockerApi != null) {
+            dockerApi.close();
+        }
+    }
+
+    @Test
+    public void reusesConnectionWhenResponseIsFullyRead() throws Exception {
+        start((request, index) -> response(200, "{\"Id\":\"container\"}"), 30_000);
+
+        assertEquals(get("/containers/container/json"), "{\"Id\":\"container\"}");
+        assertEquals(get("/containers/container/json"), "{\"Id\":\"container\"}");
+
+        assertEquals(dockerApi.getConnectionsCount(), 1);
+        assertEquals(pool.getIdleCount(), 1);
+    }
+
+    @Test
+    public void skipsShortUnreadBodyAndReusesConnection() throws Exception {
+        start((request, index) -> response(200, "{\"Id\":\"container\"}"), 30_000);
+
+        assertEquals(getStatus("GET", "/containers/container/json"), 200);
+        assertEquals(get("/containers/container/json"), "{\"Id\":\"container\"}");
+
+        assertEquals(dockerApi.getConnectionsCount(), 1);
+    }
+
+    @Test
+    public void closesConnectionWhenLongBodyIsNotRead() throws Exception {
+        start((request, index) -> response(200, Strings.repeat("a", 100_000)), 30_000);
+
+        assertEquals(getStatus("GET", "/images/json"), 200);
+
+        assertEquals(pool.getIdleCount(), 0);
+    }
+
+    @Test
+    public void reusesConnectionWhenOnlyStatusOfNoContentResponseIsRead() throws Exception {
+        start((request, index) -> response(204, ""), 30_000);
+
+        assertEquals(getStatus("POST", "/containers/container/start"), 204);
+        assertEquals(getStatus("POST", "/containers/container/start"), 204);
+
+        assertEquals(dockerApi.getConnectionsCount(), 1);
+        assertEquals(pool.getIdleCount(), 1);
+    }
+
+    @Test
+    public void evictsIdleConnections() throws Exception {
+        start((request, index) -> response(204, ""), 0);
+        getStatus("GET", "/_ping");
+
+        pool.evictIdle();
+
+        assertEquals(pool.getIdleCount(), 0);
+    }
+
+    @Test
+    public void retriesIdempotentRequestWhenReusedConnectionIsClosedWithoutResponse() throws Exception {
+        // the second request on each connection is dropped
+        start((request, index) -> index == 0 ? response(200, "{}") : null, 30_000);
+        get("/info");
+
+        assertEquals(get("/info"), "{}");
+
+        assertEquals(dockerApi.getConnectionsCount(), 2);
+        assertEquals(dockerApi.getRequests().size(), 3);
+    }
+
+    @Test
+    public void doesNotRetryNotIdempotentRequestWhenReusedConnectionIsClosedWithoutResponse() throws Exception {
+        start((request, index) -> index == 0 ? response(200, "{}") : null, 30_000);
+        get("/info");
+
+        try {
+            getStatus("POST", "/containers/create");
+            fail("Request is expected to fail");
+        } catch (IOException expected) {
+        }
+
+        assertEquals(dockerApi.getRequests().size(), 2);
+        assertEquals(dockerApi.getConnectionsCount(), 1);
+    }
+
+    private void start(DockerApiStandIn.Responder responder, long idleTimeoutMs) throws IOException {
+        dockerApi = new DockerApiStandIn(responder);
+        pool = new UnixSocketConnectionPool(dockerApi.getSocketPath(), 2, idleTimeoutMs);
+    }
+
+    private String get(String path) throws IOException {
+        try (DockerConnection connection = new UnixSocketConnection(dockerApi.getSocketPath(), pool).method("GET").path(path)) {
+            return new String(ByteStreams.toByteArray(connection.request().getInputStream()), UTF_8);
+        }
+    }
+
+    private int getStatus(String method, String path) throws IOException {
+        try (DockerConnection connection = new UnixSocketConnection(dockerApi.getSocketPath(), pool).method(method).path(path)) {
+            return connection.request().getStatus();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.extension.machine.client.outputspanel.console;
+
+/**
+ * Ring buffer of console lines with their colors.
+ * When the buffer is full the oldest line is dropped for every added one.
+ */
+class ConsoleLineBuffer {
+    private String[] texts;
+    private String[] colors;
+    private int      head;
+    private int      size;
+    private long     dropped;
+
+    ConsoleLineBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        texts = new String[capacity];
+        colors = new String[capacity];
+    }
+
+    /** Adds the line to the end of the buffer, drops the first line if the buffer is full. */
+    void add(String text, String color) {
+        if (size == texts.length) {
+            head = (head + 1) % texts.length;
+            size--;
+            dropped++;
+        }
+        final int idx = (head + size) % texts.length;
+        texts[idx] = text;
+        colors[idx] = color;
+        size++;
+    }
+
+    /** Replaces the last line, adds the line if the buffer is empty. */
+    void replaceLast(String text, String color) {
+        if (size == 0) {
+            add(text, color);
+            return;
+        }
+        final int idx = (head + size - 1) % texts.length;
+        texts[idx] = text;
+        colors[idx] = color;
+    }
+
+    String getText(int line) {
+        return texts[index(line)];
+    }
+
+    String getColor(int line) {
+        return colors[index(line)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getCapacity() {
+        return texts.length;
+    }
+
+    /** Returns the number of lines dropped since the buffer was created. */
+    long getDropped() {
+        return dropped;
+    }
+
+    void clear() {
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = null;
+            colors[i] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /** Changes the capacity keeping the last lines. */
+    void setCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        final int kept = Math.min(size, capacity);
+        final String[] newTexts = new String[capacity];
+        final String[] newColors = new String[capacity];
+        for (int i = 0; i < kept; i++) {
+            newTexts[i] = getText(size - kept + i);
+            newColors[i] = getColor(size - kept + i);
+        }
+        dropped += size - kept;
+        texts = newTexts;
+        colors = newColors;
+        head = 0;
+        size = kept;
+    }
+
+    private int index(int line) {
+        if (line < 0 || line >= size) {
+            throw new IndexOutOfBoundsException("Line " + line + " is out of buffer of size " + size);
+        }
+        return (head + line) % texts.length;
+    }
+}
@@ -11,22 +11,22 @@
 package org.eclipse.che.ide.extension.machine.client.outputspanel.console;
 
 import com.google.common.base.Strings;
+import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.dom.client.DivElement;
+import com.google.gwt.dom.client.Document;
 import com.google.gwt.dom.client.Element;
-import com.google.gwt.dom.client.Node;
-import com.google.gwt.dom.client.NodeList;
-import com.google.gwt.dom.client.PreElement;
+import com.google.gwt.dom.client.Style;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
 import com.google.gwt.event.dom.client.ScrollEvent;
 import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.regexp.shared.MatchResult;
 import com.google.gwt.regexp.shared.RegExp;
-import com.google.gwt.safehtml.shared.SafeHtml;
+import com.google.gwt.safehtml.shared.SafeHtmlUtils;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
-import com.google.gwt.user.client.DOM;
 import com.google.gwt.user.client.ui.Anchor;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.DockLayoutPanel;
@@ -43,6 +43,7 @@ import org.eclipse.che.ide.ui.Tooltip;
 import org.eclipse.che.ide.util.Pair;
 import org.vectomatic.dom.svg.ui.SVGImage;
 
+import javax.inject.Named;
 import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
@@ -52,12 +53,22 @@ import static org.eclipse.che.ide.ui.menu.PositionController.VerticalAlign.BOTTO
 
 /**
  * View representation of output console.
+ * <p>
+ * Printed lines are kept in a bounded buffer, only the lines visible in the scroll area are rendered.
+ * Lines printed within one animation frame are rendered at once.
  *
  * @author Artem Zatsarynnyi
  * @author Vitaliy Guliy
  */
 public class OutputConsoleViewImpl extends Composite implements OutputConsoleView, ScrollHandler {
 
+    /** Default max number of lines kept by the console. */
+    private static final int DEFAULT_MAX_LINES   = 10000;
+    /** Height of the line until the height of a rendered line is measured. */
+    private static final int DEFAULT_LINE_HEIGHT = 13;
+    /** Number of lines rendered above and below the visible ones. */
+    private static final int OVERSCAN_LINES      = 20;
+
     private final List<Pair<RegExp, String>> output2Color = newArrayList(new Pair<>(compile("\\[\\s*(DOCKER)\\s*\\]"), "#4EABFF"),
                                                                          new Pair<>(compile("\\[\\s*(ERROR)\\s*\\]"), "#FF2727"),
                                                                          new Pair<>(compile("\\[\\s*(WARN)\\s*\\]"), "#F5A623"),
@@ -122,11 +133,28 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     /** Scroll to the bottom immediately when view become visible. */
     private boolean followScheduled = false;
 
+    private final ConsoleLineBuffer lines;
+    private final DivElement        topSpacer;
+    private final DivElement        visibleLines;
+    private final DivElement        bottomSpacer;
+
+    private int     lineHeight = DEFAULT_LINE_HEIGHT;
+    private boolean wrap;
+    private boolean renderScheduled;
+
     @Inject
     public OutputConsoleViewImpl(MachineResources resources,
                                  MachineLocalizationConstant localization) {
         initWidget(UI_BINDER.createAndBindUi(this));
 
+        lines = new ConsoleLineBuffer(DEFAULT_MAX_LINES);
+        topSpacer = Document.get().createDivElement();
+        visibleLines = Document.get().createDivElement();
+        bottomSpacer = Document.get().createDivElement();
+        consoleLines.getElement().appendChild(topSpacer);
+        consoleLines.getElement().appendChild(visibleLines);
+        consoleLines.getElement().appendChild(bottomSpacer);
+
         reRunProcessButton.add(new SVGImage(resources.reRunIcon()));
         stopProcessButton.add(new SVGImage(resources.stopIcon()));
         clearOutputsButton.add(new SVGImage(resources.clearOutputsIcon()));
@@ -217,6 +245,22 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
                        localization.consolesAutoScrollButtonTooltip());
     }
 
+    /**
+     * Sets max number of lines kept by the console, the first lines are dropped when the number is exceeded.
+     * Use for example next snippet:
+     * <code>
+     *     bindConstant().annotatedWith(Names.named("machine.output.console.max_lines")).to(50000);
+     * </code>
+     * to define a constant. If no constant defined than default value is used - <code>10000</code>.
+     */
+    @Inject(optional = true)
+    void setMaxLines(@Named("machine.output.console.max_lines") int maxLines) {
+        if (maxLines > 0) {
+            lines.setCapacity(maxLines);
+            scheduleRender();
+        }
+    }
+
     @Override
     public void setDelegate(ActionDelegate delegate) {
         this.delegate = delegate;
@@ -234,11 +278,13 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
     @Override
     public void wrapText(boolean wrap) {
+        this.wrap = wrap;
         if (wrap) {
             consoleLines.getElement().setAttribute("wrap", "");
         } else {
             consoleLines.getElement().removeAttribute("wrap");
         }
+        scheduleRender();
     }
 
     @Override
@@ -249,7 +295,8 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
     @Override
     public void clearConsole() {
-        consoleLines.getElement().setInnerHTML("");
+        lines.clear();
+        scheduleRender();
     }
 
     @Override
@@ -318,63 +365,35 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     }
 
     @Override
-    public void print(final String text, boolean carriageReturn, String color) {
+    public void print(String text, boolean carriageReturn, String color) {
         if (this.carriageReturn) {
-            Node lastChild = consoleLines.getElement().getLastChild();
-            if (lastChild != null) {
-                lastChild.removeFromParent();
-            }
+            lines.replaceLast(text, color);
+        } else {
+            lines.add(text, color);
         }
 
         this.carriageReturn = carriageReturn;
 
-        final SafeHtml colorOutput = new SafeHtml() {
-            @Override
-            public String asString() {
-
-                if (Strings.isNullOrEmpty(text)) {
-                    return " ";
-                }
-
-                for (final Pair<RegExp, String> pair : output2Color) {
-                    final MatchResult matcher = pair.first.exec(text);
-
-                    if (matcher != null) {
-                        return text.replaceAll(matcher.getGroup(1),
-                                               "<span style=\"color: " + pair.second + "\">" + matcher.getGroup(1) + "</span>");
-                    }
-                }
-
-                return text;
-            }
-        };
-
-        PreElement pre = DOM.createElement("pre").cast();
-        pre.setInnerSafeHtml(colorOutput);
-        if (color != null) {
-            pre.getStyle().setColor(color);
-        }
-        consoleLines.getElement().appendChild(pre);
-
-        followOutput();
+        scheduleRender();
     }
 
     @Override
     public String getText() {
-        String text = "";
-        NodeList<Node> nodes = consoleLines.getElement().getChildNodes();
-
-        for (int i = 0; i < nodes.getLength(); i++) {
-            Node node = nodes.getItem(i);
-            Element element = node.cast();
-            text += element.getInnerText() + "\r\n";
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines.size(); i++) {
+            final String line = lines.getText(i);
+            if (line != null) {
+                text.append(line);
+            }
+            text.append("\r\n");
         }
-
-        return text;
+        return text.toString();
     }
 
     @Override
     public void onScroll(ScrollEvent event) {
+        scheduleRender();
+
         // Do nothing if content height less scroll area height
         if (scrollPanel.getElement().getScrollHeight() < scrollPanel.getElement().getOffsetHeight()) {
             followOutput = true;
@@ -397,6 +416,83 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
         }
     }
 
+    /** Renders the lines at the next animation frame, does nothing if the rendering is already scheduled. */
+    private void scheduleRender() {
+        if (renderScheduled) {
+            return;
+        }
+        renderScheduled = true;
+
+        AnimationScheduler.get().requestAnimationFrame(new AnimationScheduler.AnimationCallback() {
+            @Override
+            public void execute(double timestamp) {
+                renderScheduled = false;
+                render();
+            }
+        });
+    }
+
+    /**
+     * Renders the lines visible in the scroll area and a few lines around them,
+     * the rest of the lines are replaced with spacers of the same height.
+     * The last lines are rendered when following the output.
+     */
+    private void render() {
+        final Element scrollElement = scrollPanel.getElement();
+        final int size = lines.size();
+        final int visibleCount = scrollElement.getClientHeight() / lineHeight + 1;
+
+        int first;
+        if (followOutput) {
+            first = size - visibleCount - OVERSCAN_LINES;
+        } else {
+            first = Math.min(scrollElement.getScrollTop() / lineHeight, size) - OVERSCAN_LINES;
+        }
+        first = Math.max(0, first);
+        final int last = Math.min(size, first + visibleCount + 2 * OVERSCAN_LINES);
+
+        final StringBuilder html = new StringBuilder();
+        for (int i = first; i < last; i++) {
+            html.append("<pre");
+            final String color = lines.getColor(i);
+            if (color != null) {
+                html.append(" style=\"color: ").append(SafeHtmlUtils.htmlEscape(color)).append('"');
+            }
+            html.append('>').append(colorize(lines.getText(i))).append("</pre>");
+        }
+        visibleLines.setInnerHTML(html.toString());
+
+        // wrapped lines have different heights, so the height of a single line is measured only when text is not wrapped
+        if (!wrap && visibleLines.getFirstChildElement() != null) {
+            final int renderedHeight = visibleLines.getFirstChildElement().getOffsetHeight();
+            if (renderedHeight > 0) {
+                lineHeight = renderedHeight;
+            }
+        }
+        topSpacer.getStyle().setHeight(first * lineHeight, Style.Unit.PX);
+        bottomSpacer.getStyle().setHeight((size - last) * lineHeight, Style.Unit.PX);
+
+        followOutput();
+    }
+
+    /** Highlights the known output prefixes of the text. */
+    private String colorize(String text) {
+        if (Strings.isNullOrEmpty(text)) {
+            return " ";
+        }
+
+        for (final Pair<RegExp, String> pair : output2Color) {
+            final MatchResult matcher = pair.first.exec(text);
+
+            if (matcher != null) {
+                return text.replaceAll(matcher.getGroup(1),
+                                       "<span style=\"color: " + pair.second + "\">" + matcher.getGroup(1) + "</span>");
+            }
+        }
+
+        return text;
+    }
+
     /**
      * Scrolls to the bottom if following the output is enabled.
      */
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.extension.machine.client.outputspanel.console;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests {@link ConsoleLineBuffer}.
+ */
+public class ConsoleLineBufferTest {
+
+    @Test
+    public void shouldKeepAddedLines() {
+        ConsoleLineBuffer buffer = new ConsoleLineBuffer(3);
+
+        buffer.add("line 1", null);
+        buffer.add("line 2", "red");
+
+        assertEquals(2, buffer.size());
+        assertEquals("line 1", buffer.getText(0));
+        assertEquals("line 2", buffer.getText(1));
+        assertEquals("red", buffer.getColor(1));
+    }
+
+    @Test
+    public void shouldDropFirstLinesWhenCapacityIsExceeded() {
+        ConsoleLineBuffer buffer = new ConsoleLineBuffer(3);
+
+        for (int i = 0; i < 5; i++) {
+            buffer.add("line " + i, null);
+        }
+
+        assertEquals(3, buffer.size());
+        assertEquals(2, buffer.getDropped());
+        assertEquals("line 2", buffer.getText(0));
+        assertEquals("line 4", buffer.getText(2));
+    }
+
+    @Test
+    public void shouldReplaceLastLine() {
+        ConsoleLineBuffer buffer = new ConsoleLineBuffer(2);
+        buffer.add("line 1", null);
+        buffer.add("line 2", null);
+        buffer.add("progress 10%", null);
+
+        buffer.replaceLast("progress 20%", "green");
+
+        assertEquals(2, buffer.size());
+        assertEquals("line 2", buffer.getText(0));
+        assertEquals("progress 20%", buffer.getText(1));
+        assertEquals("green", buffer.getColor(1));
+    }
+
+    @Test
+    public void shouldKeepLastLinesWhenCapacityIsDecreased() {
+        ConsoleLineBuffer buffer = new ConsoleLineBuffer(4);
+        for (int i = 0; i < 6; i++) {
+            buffer.add("line " + i, null);
+        }
+
+        buffer.setCapacity(2);
+        buffer.add("line 6", null);
+
+        assertEquals(2, buffer.size());
+        assertEquals("line 5", buffer.getText(0));
+        assertEquals("line 6", buffer.getText(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldNotReturnLinesOfClearedBuffer() {
+        ConsoleLineBuffer buffer = new ConsoleLineBuffer(2);
+        buffer.add("line 1", null);
+
+        buffer.clear();
+
+        buffer.getText(0);
+    }
+}
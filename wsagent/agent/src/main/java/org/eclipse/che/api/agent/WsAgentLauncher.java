@@ -12,6 +12,8 @@ package org.eclipse.che.api.agent;
 
 import org.eclipse.che.api.agent.server.WsAgentPingRequestFactory;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
+import org.eclipse.che.api.agent.server.launcher.ReadinessProbeScheduler;
+import org.eclipse.che.api.agent.server.launcher.ReadinessProbeScheduler.ReadinessProbe;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
@@ -19,6 +21,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
+import org.eclipse.che.api.core.util.AbstractLineConsumer;
 import org.eclipse.che.api.environment.server.MachineProcessManager;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -33,6 +36,10 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static org.eclipse.che.api.workspace.shared.Constants.WS_AGENT_PROCESS_NAME;
@@ -52,8 +59,10 @@ public class WsAgentLauncher implements AgentLauncher {
 
     private final Provider<MachineProcessManager> machineProcessManagerProvider;
     private final WsAgentPingRequestFactory       wsAgentPingRequestFactory;
+    private final ReadinessProbeScheduler         probeScheduler;
     private final long                            wsAgentMaxStartTimeMs;
     private final long                            wsAgentPingDelayMs;
+    private final long                            wsAgentMaxPingDelayMs;
     private final String                          pingTimedOutErrorMessage;
     private final String                          wsAgentRunCommand;
 
@@ -63,11 +72,15 @@ public class WsAgentLauncher implements AgentLauncher {
                            @Nullable @Named("machine.ws_agent.run_command") String wsAgentRunCommand,
                            @Named("che.workspace.agent.dev.max_start_time_ms") long wsAgentMaxStartTimeMs,
                            @Named("che.workspace.agent.dev.ping_delay_ms") long wsAgentPingDelayMs,
-                           @Named("che.workspace.agent.dev.ping_timeout_error_msg") String pingTimedOutErrorMessage) {
+                           @Named("che.workspace.agent.dev.max_ping_delay_ms") long wsAgentMaxPingDelayMs,
+                           @Named("che.workspace.agent.dev.ping_timeout_error_msg") String pingTimedOutErrorMessage,
+                           ReadinessProbeScheduler probeScheduler) {
         this.machineProcessManagerProvider = machineProcessManagerProvider;
         this.wsAgentPingRequestFactory = wsAgentPingRequestFactory;
+        this.probeScheduler = probeScheduler;
         this.wsAgentMaxStartTimeMs = wsAgentMaxStartTimeMs;
         this.wsAgentPingDelayMs = wsAgentPingDelayMs;
+        this.wsAgentMaxPingDelayMs = wsAgentMaxPingDelayMs;
         this.pingTimedOutErrorMessage = pingTimedOutErrorMessage;
         this.wsAgentRunCommand = wsAgentRunCommand;
     }
@@ -84,16 +97,41 @@ public class WsAgentLauncher implements AgentLauncher {
 
     @Override
     public void launch(Instance machine, Agent agent) throws ServerException {
+        CompletableFuture<Void> launched = launchAsync(machine, agent);
+        try {
+            launched.get();
+        } catch (InterruptedException e) {
+            launched.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new ServerException("Ws agent pinging is interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            }
+            throw new ServerException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Starts ws agent and returns without waiting for it, ws agent is pinged by the probe
+     * scheduler and also once it writes to its output. Cancelling the returned future stops pinging.
+     */
+    @Override
+    public CompletableFuture<Void> launchAsync(Instance machine, Agent agent) {
+        CompletableFuture<Void> launched = new CompletableFuture<>();
         final HttpJsonRequest wsAgentPingRequest;
         try {
             wsAgentPingRequest = createPingRequest(machine);
         } catch (ServerException e) {
-            throw new MachineException(e.getServiceError());
+            launched.completeExceptionally(new MachineException(e.getServiceError()));
+            return launched;
         }
 
         String script = agent.getScript() + "\n" + firstNonNull(wsAgentRunCommand, DEFAULT_WS_AGENT_RUN_COMMAND);
 
         final String wsAgentPingUrl = wsAgentPingRequest.getUrl();
+        AtomicReference<ReadinessProbe> probeRef = new AtomicReference<>();
         try {
             // for server side type of command mean nothing
             // but we will use it as marker on
@@ -103,29 +141,48 @@ public class WsAgentLauncher implements AgentLauncher {
             machineProcessManagerProvider.get().exec(machine.getWorkspaceId(),
                                                      machine.getId(),
                                                      command,
-                                                     getWsAgentProcessOutputChannel(machine.getWorkspaceId()));
-
-            final long pingStartTimestamp = System.currentTimeMillis();
-            LOG.debug("Starts pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}",
-                      machine.getWorkspaceId(),
-                      wsAgentPingUrl,
-                      pingStartTimestamp);
-
-            while (System.currentTimeMillis() - pingStartTimestamp < wsAgentMaxStartTimeMs) {
-                if (pingWsAgent(wsAgentPingRequest)) {
-                    return;
-                } else {
-                    Thread.sleep(wsAgentPingDelayMs);
-                }
-            }
+                                                     getWsAgentProcessOutputChannel(machine.getWorkspaceId()),
+                                                     new AbstractLineConsumer() {
+                                                         @Override
+                                                         public void writeLine(String line) {
+                                                             // output of ws agent often means it has started
+                                                             ReadinessProbe probe = probeRef.get();
+                                                             if (probe != null) {
+                                                                 probe.probeNow();
+                                                             }
+                                                         }
+                                                     });
         } catch (BadRequestException | ServerException | NotFoundException e) {
-            throw new ServerException(e.getServiceError());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new ServerException("Ws agent pinging is interrupted");
+            launched.completeExceptionally(new ServerException(e.getServiceError()));
+            return launched;
         }
-        LOG.error("Fail pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}", machine.getWorkspaceId(), wsAgentPingUrl);
-        throw new ServerException(pingTimedOutErrorMessage);
+
+        final long pingStartTimestamp = System.currentTimeMillis();
+        LOG.debug("Starts pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}",
+                  machine.getWorkspaceId(),
+                  wsAgentPingUrl,
+                  pingStartTimestamp);
+
+        ReadinessProbe probe = probeScheduler.schedule(() -> pingWsAgent(wsAgentPingRequest),
+                                                       wsAgentPingDelayMs,
+                                                       wsAgentMaxPingDelayMs,
+                                                       wsAgentMaxStartTimeMs);
+        probeRef.set(probe);
+        probe.getFuture().whenComplete((ignored, error) -> {
+            if (error == null) {
+                launched.complete(null);
+            } else if (error instanceof TimeoutException) {
+                LOG.error("Fail pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}",
+                          machine.getWorkspaceId(),
+                          wsAgentPingUrl,
+                          pingStartTimestamp);
+                launched.completeExceptionally(new ServerException(pingTimedOutErrorMessage));
+            } else {
+                launched.completeExceptionally(new ServerException(error.getMessage(), error));
+            }
+        });
+        launched.whenComplete((ignored, error) -> probe.cancel());
+        return launched;
     }
 
     public static String getWsAgentProcessOutputChannel(String workspaceId) {
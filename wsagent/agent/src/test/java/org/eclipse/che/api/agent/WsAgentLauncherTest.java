@@ -11,6 +11,8 @@
 package org.eclipse.che.api.agent;
 
 import org.eclipse.che.api.agent.server.WsAgentPingRequestFactory;
+import org.eclipse.che.api.agent.server.launcher.ReadinessProbeScheduler;
+import org.eclipse.che.api.agent.server.launcher.ReadinessProbeScheduler.ReadinessProbe;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -20,6 +22,7 @@ import org.eclipse.che.api.core.model.machine.Server;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.environment.server.MachineProcessManager;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -29,6 +32,7 @@ import org.eclipse.che.api.machine.server.model.impl.ServerPropertiesImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.shared.Constants;
 import org.eclipse.che.commons.test.mockito.answer.SelfReturningAnswer;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -40,6 +44,7 @@ import org.testng.annotations.Test;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 import static org.eclipse.che.api.workspace.shared.Constants.WS_AGENT_PROCESS_NAME;
 
@@ -50,6 +55,7 @@ public class WsAgentLauncherTest {
     private static final String               WS_AGENT_PORT                = Constants.WS_AGENT_PORT;
     private static final long                 WS_AGENT_MAX_START_TIME_MS   = 1000;
     private static final long                 WS_AGENT_PING_DELAY_MS       = 1;
+    private static final long                 WS_AGENT_MAX_PING_DELAY_MS   = 8;
     private static final String               WS_AGENT_SERVER_LOCATION     = "ws-agent.com:456789/";
     private static final String               WS_AGENT_SERVER_URL          = "http://" + WS_AGENT_SERVER_LOCATION;
     private static final String               WS_AGENT_SERVER_LOCATION_EXT = "ws-agent-ext.com:456789/";
@@ -88,7 +94,9 @@ public class WsAgentLauncherTest {
                                               wsAgentPingRequestFactory, null,
                                               WS_AGENT_MAX_START_TIME_MS,
                                               WS_AGENT_PING_DELAY_MS,
-                                              WS_AGENT_TIMED_OUT_MESSAGE
+                                              WS_AGENT_MAX_PING_DELAY_MS,
+                                              WS_AGENT_TIMED_OUT_MESSAGE,
+                                              new ReadinessProbeScheduler()
         );
         pingRequest = Mockito.mock(HttpJsonRequest.class, new SelfReturningAnswer());
         Mockito.when(agent.getScript()).thenReturn("script");
@@ -112,7 +120,8 @@ public class WsAgentLauncherTest {
                                                                                "script\n" +
                                                                                WsAgentLauncher.DEFAULT_WS_AGENT_RUN_COMMAND,
                                                                                WS_AGENT_PROCESS_NAME)),
-                                                   Matchers.eq(WsAgentLauncher.getWsAgentProcessOutputChannel(WORKSPACE_ID)));
+                                                   Matchers.eq(WsAgentLauncher.getWsAgentProcessOutputChannel(WORKSPACE_ID)),
+                                                   Matchers.any(LineConsumer.class));
 
     }
 
@@ -165,7 +174,8 @@ public class WsAgentLauncherTest {
         Mockito.when(machineProcessManager.exec(Matchers.anyString(),
                                                 Matchers.anyString(),
                                                 Matchers.any(Command.class),
-                                                Matchers.anyString()))
+                                                Matchers.anyString(),
+                                                Matchers.any(LineConsumer.class)))
                .thenThrow(new NotFoundException("Test exception"));
 
         wsAgentLauncher.launch(machine, agent);
@@ -173,7 +183,8 @@ public class WsAgentLauncherTest {
         Mockito.verify(machineProcessManager).exec(Matchers.anyString(),
                                                    Matchers.anyString(),
                                                    Matchers.any(Command.class),
-                                                   Matchers.anyString());
+                                                   Matchers.anyString(),
+                                                   Matchers.any(LineConsumer.class));
     }
 
     @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "Test exception")
@@ -181,7 +192,8 @@ public class WsAgentLauncherTest {
         Mockito.when(machineProcessManager.exec(Matchers.anyString(),
                                                 Matchers.anyString(),
                                                 Matchers.any(Command.class),
-                                                Matchers.anyString()))
+                                                Matchers.anyString(),
+                                                Matchers.any(LineConsumer.class)))
                .thenThrow(new MachineException("Test exception"));
 
         wsAgentLauncher.launch(machine, agent);
@@ -189,7 +201,8 @@ public class WsAgentLauncherTest {
         Mockito.verify(machineProcessManager).exec(Matchers.anyString(),
                                                    Matchers.anyString(),
                                                    Matchers.any(Command.class),
-                                                   Matchers.anyString());
+                                                   Matchers.anyString(),
+                                                   Matchers.any(LineConsumer.class));
     }
 
     @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "Test exception")
@@ -197,7 +210,8 @@ public class WsAgentLauncherTest {
         Mockito.when(machineProcessManager.exec(Matchers.anyString(),
                                                 Matchers.anyString(),
                                                 Matchers.any(Command.class),
-                                                Matchers.anyString()))
+                                                Matchers.anyString(),
+                                                Matchers.any(LineConsumer.class)))
                .thenThrow(new BadRequestException("Test exception"));
 
         wsAgentLauncher.launch(machine, agent);
@@ -205,7 +219,35 @@ public class WsAgentLauncherTest {
         Mockito.verify(machineProcessManager).exec(Matchers.anyString(),
                                                    Matchers.anyString(),
                                                    Matchers.any(Command.class),
-                                                   Matchers.anyString());
+                                                   Matchers.anyString(),
+                                                   Matchers.any(LineConsumer.class));
+    }
+
+    @Test
+    public void shouldPingWsAgentWhenItWritesToOutput() throws Exception {
+        ReadinessProbeScheduler probeScheduler = Mockito.mock(ReadinessProbeScheduler.class);
+        ReadinessProbe probe = Mockito.mock(ReadinessProbe.class);
+        Mockito.when(probeScheduler.schedule(Matchers.any(), Matchers.anyLong(), Matchers.anyLong(), Matchers.anyLong()))
+               .thenReturn(probe);
+        Mockito.when(probe.getFuture()).thenReturn(CompletableFuture.completedFuture(null));
+        wsAgentLauncher = new WsAgentLauncher(() -> machineProcessManager,
+                                              wsAgentPingRequestFactory, null,
+                                              WS_AGENT_MAX_START_TIME_MS,
+                                              WS_AGENT_PING_DELAY_MS,
+                                              WS_AGENT_MAX_PING_DELAY_MS,
+                                              WS_AGENT_TIMED_OUT_MESSAGE,
+                                              probeScheduler);
+        ArgumentCaptor<LineConsumer> outputListener = ArgumentCaptor.forClass(LineConsumer.class);
+
+        wsAgentLauncher.launch(machine, agent);
+        Mockito.verify(machineProcessManager).exec(Matchers.anyString(),
+                                                   Matchers.anyString(),
+                                                   Matchers.any(Command.class),
+                                                   Matchers.anyString(),
+                                                   outputListener.capture());
+        outputListener.getValue().writeLine("Server startup in 1000 ms");
+
+        Mockito.verify(probe).probeNow();
     }
 
     @Test(expectedExceptions = ServerException.class,
@@ -26,10 +26,12 @@ public class LogParams {
     private String       filePath;
     private int          skip;
     private int          maxCount;
+    private boolean      diffFiles;
 
     private LogParams() {
         skip = -1;
         maxCount = -1;
+        diffFiles = true;
     }
 
     /**
@@ -146,6 +148,27 @@ public class LogParams {
         return this;
     }
 
+    /** Returns {@code true} if the files changed by each commit should be listed, {@code true} by default. */
+    public boolean isDiffFiles() {
+        return diffFiles;
+    }
+
+    /** Set whether the files changed by each commit should be listed. */
+    public void setDiffFiles(boolean diffFiles) {
+        this.diffFiles = diffFiles;
+    }
+
+    /**
+     * Create a {@link LogParams} object based on whether the files changed by each commit should be listed
+     *
+     * @param diffFiles
+     *         {@code true} if the files changed by each commit should be listed
+     */
+    public LogParams withDiffFiles(boolean diffFiles) {
+        this.diffFiles = diffFiles;
+        return this;
+    }
+
     /** Returns the Filter revisions list by range of files. */
     public List<String> getFileFilter() {
         return fileFilter == null ? new ArrayList<>() : fileFilter;
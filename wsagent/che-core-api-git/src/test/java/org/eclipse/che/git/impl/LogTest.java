@@ -19,6 +19,7 @@ import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.params.AddParams;
 import org.eclipse.che.api.git.params.CommitParams;
 import org.eclipse.che.api.git.params.LogParams;
+import org.eclipse.che.api.git.shared.Branch;
 import org.eclipse.che.api.git.shared.Revision;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -31,10 +32,14 @@ import java.util.Collections;
 import java.util.List;
 
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.git.impl.GitTestUtil.addFile;
 import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
 import static org.eclipse.che.git.impl.GitTestUtil.connectToInitializedGitRepository;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Igor Vinokur
@@ -316,4 +321,44 @@ public class LogTest {
         assertEquals(thirdAndFourthCommits.get(0).getMessage(), "add 4.txt file");
         assertEquals(thirdAndFourthCommits.get(1).getMessage(), "add 3.txt file");
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void shouldListBranchesContainingEachCommit(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "1.txt", "someChanges");
+        connection.add(AddParams.create());
+        connection.commit(CommitParams.create("add 1.txt file"));
+        connection.branchCreate("new-branch", null);
+
+        addFile(connection, "2.txt", "newChanges");
+        connection.add(AddParams.create());
+        connection.commit(CommitParams.create("add 2.txt file"));
+
+        //when
+        List<Revision> commits = connection.log(LogParams.create()).getCommits();
+
+        //then
+        assertEquals(commits.get(0).getBranches().stream().map(Branch::getName).collect(toList()),
+                     singletonList("refs/heads/master"));
+        assertEquals(commits.get(1).getBranches().stream().map(Branch::getName).collect(toList()),
+                     asList("refs/heads/master", "refs/heads/new-branch"));
+    }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void shouldNotListChangedFilesIfTheyAreNotRequested(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "1.txt", "someChanges");
+        connection.add(AddParams.create());
+        connection.commit(CommitParams.create("add 1.txt file"));
+
+        //when
+        Revision withFiles = connection.log(LogParams.create()).getCommits().get(0);
+        Revision withoutFiles = connection.log(LogParams.create().withDiffFiles(false)).getCommits().get(0);
+
+        //then
+        assertEquals(withFiles.getDiffCommitFile().size(), 1);
+        assertTrue(withoutFiles.getDiffCommitFile().isEmpty());
+    }
 }
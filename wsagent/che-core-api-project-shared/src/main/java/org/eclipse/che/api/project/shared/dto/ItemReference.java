@@ -85,4 +85,11 @@ public interface ItemReference extends Hyperlinks {
     ProjectConfigDto getProjectConfig();
 
     void setProjectConfig(ProjectConfigDto config);
+
+    /** Matches of the searched text in the file, set by search only when matches are requested. */
+    List<SearchMatchDto> getMatches();
+
+    void setMatches(List<SearchMatchDto> matches);
+
+    ItemReference withMatches(List<SearchMatchDto> matches);
 }
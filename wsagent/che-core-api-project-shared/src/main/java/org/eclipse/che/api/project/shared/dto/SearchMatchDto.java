@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Single match of the searched text in the found file.
+ * Lines are numbered from 1, columns and offsets are indexes of characters of the line and of the file content.
+ */
+@DTO
+public interface SearchMatchDto {
+    /** Number of the line where match starts. */
+    int getLineNumber();
+
+    void setLineNumber(int lineNumber);
+
+    SearchMatchDto withLineNumber(int lineNumber);
+
+    /** Column of the first character of match. */
+    int getStartColumn();
+
+    void setStartColumn(int startColumn);
+
+    SearchMatchDto withStartColumn(int startColumn);
+
+    /** Column after the last character of match, end of the line if match continues on the next lines. */
+    int getEndColumn();
+
+    void setEndColumn(int endColumn);
+
+    SearchMatchDto withEndColumn(int endColumn);
+
+    /** Offset of the first character of match in the file. */
+    int getStartOffset();
+
+    void setStartOffset(int startOffset);
+
+    SearchMatchDto withStartOffset(int startOffset);
+
+    /** Offset after the last character of match in the file. */
+    int getEndOffset();
+
+    void setEndOffset(int endOffset);
+
+    SearchMatchDto withEndOffset(int endOffset);
+
+    /** Text of the line where match starts, part of the line around match if the line is too long. */
+    String getPreview();
+
+    void setPreview(String preview);
+
+    SearchMatchDto withPreview(String preview);
+
+    /** Column of the first character of preview, not zero if preview is a part of the line. */
+    int getPreviewColumn();
+
+    void setPreviewColumn(int previewColumn);
+
+    SearchMatchDto withPreviewColumn(int previewColumn);
+}
@@ -20,7 +20,9 @@ import org.eclipse.che.api.project.shared.dto.AttributeDto;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.ProjectImporterDescriptor;
 import org.eclipse.che.api.project.shared.dto.ProjectTypeDto;
+import org.eclipse.che.api.project.shared.dto.SearchMatchDto;
 import org.eclipse.che.api.project.shared.dto.ValueDto;
+import org.eclipse.che.api.vfs.search.SearchMatch;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectProblemDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
@@ -146,4 +148,14 @@ public class DtoConverter {
     public static ProjectProblemDto asDto(RegisteredProject.Problem problem) {
         return newDto(ProjectProblemDto.class).withCode(problem.code).withMessage(problem.message);
     }
+
+    public static SearchMatchDto asDto(SearchMatch match) {
+        return newDto(SearchMatchDto.class).withLineNumber(match.getLineNumber())
+                                           .withStartColumn(match.getStartColumn())
+                                           .withEndColumn(match.getEndColumn())
+                                           .withStartOffset(match.getStartOffset())
+                                           .withEndOffset(match.getEndOffset())
+                                           .withPreview(match.getPreview())
+                                           .withPreviewColumn(match.getPreviewColumn());
+    }
 }
@@ -38,6 +38,8 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import static org.eclipse.che.api.project.shared.Constants.CHE_DIR;
+
 /**
  * Stores internal representation of Projects registered in the Workspace Agent.
  *
@@ -362,6 +364,10 @@ public class ProjectRegistry {
     private void initUnconfiguredFolders() {
         try {
             for (FolderEntry folder : root.getChildFolders()) {
+                // workspace metadata, e.g. search index, is kept in the .che folder of projects root
+                if (CHE_DIR.equals(folder.getName())) {
+                    continue;
+                }
                 if (!projects.containsKey(folder.getVirtualFile().getPath().toString())) {
                     putProject(null, folder, true, false);
                 }
@@ -861,10 +861,15 @@ public class ProjectService extends Service {
                                       @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
                                       @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
                                       @ApiParam(value = "Skip count")
-                                      @QueryParam("skipCount") int skipCount) throws NotFoundException,
-                                                                                     ForbiddenException,
-                                                                                     ConflictException,
-                                                                                     ServerException {
+                                      @QueryParam("skipCount") int skipCount,
+                                      @ApiParam(value = "Whether matches of the keywords in found files should be returned")
+                                      @QueryParam("includeMatches") boolean includeMatches,
+                                      @ApiParam(value = "Maximum matches returned for each found file. " +
+                                                        "If this parameter is dropped, default limit of searcher is used")
+                                      @QueryParam("maxMatchesPerFile") int maxMatchesPerFile) throws NotFoundException,
+                                                                                                     ForbiddenException,
+                                                                                                     ConflictException,
+                                                                                                     ServerException {
         final Searcher searcher;
         try {
             searcher = projectManager.getSearcher();
@@ -876,13 +881,18 @@ public class ProjectService extends Service {
         if (skipCount < 0) {
             throw new ConflictException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
         }
+        if (maxMatchesPerFile < 0) {
+            throw new ConflictException(String.format("Invalid 'maxMatchesPerFile' parameter: %d.", maxMatchesPerFile));
+        }
 
         final QueryExpression expr = new QueryExpression()
                 .setPath(path.startsWith("/") ? path : ('/' + path))
                 .setName(name)
                 .setText(text)
                 .setMaxItems(maxItems)
-                .setSkipCount(skipCount);
+                .setSkipCount(skipCount)
+                .setIncludeMatches(includeMatches)
+                .setMaxMatchesPerFile(maxMatchesPerFile);
 
         final SearchResult result = searcher.search(expr);
         final List<SearchResultEntry> searchResultEntries = result.getResults();
@@ -893,7 +903,14 @@ public class ProjectService extends Service {
             final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
 
             if (child != null && child.isFile()) {
-                items.add(injectFileLinks(asDto((FileEntry)child)));
+                final ItemReference item = injectFileLinks(asDto((FileEntry)child));
+                if (includeMatches) {
+                    item.setMatches(searchResultEntry.getMatches()
+                                                     .stream()
+                                                     .map(DtoConverter::asDto)
+                                                     .collect(Collectors.toList()));
+                }
+                items.add(item);
             }
         }
 
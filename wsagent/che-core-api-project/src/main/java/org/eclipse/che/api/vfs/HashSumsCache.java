@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Keeps hash sums of files calculated by {@link HashSumsCounter} with a single hash function.
+ * Cached hash sum of a file is used while length and last modification date of the file are
+ * the same as when the hash sum was calculated.
+ */
+public class HashSumsCache {
+    private final Cache<Path, HashSum> hashSums;
+
+    /**
+     * @param maxSize
+     *         max number of files which hash sums are kept, least recently used ones are evicted first
+     */
+    public HashSumsCache(int maxSize) {
+        hashSums = CacheBuilder.newBuilder()
+                               .concurrencyLevel(8)
+                               .maximumSize(maxSize)
+                               .build();
+    }
+
+    /** Returns cached hash sum of the file or {@code null} if there is no hash sum of its current state. */
+    public String get(Path path, long length, long lastModificationDate) {
+        final HashSum hashSum = hashSums.getIfPresent(path);
+        if (hashSum != null && hashSum.length == length && hashSum.lastModificationDate == lastModificationDate) {
+            return hashSum.value;
+        }
+        return null;
+    }
+
+    public void put(Path path, long length, long lastModificationDate, String value) {
+        hashSums.put(path, new HashSum(length, lastModificationDate, value));
+    }
+
+    public void invalidate(Path path) {
+        hashSums.invalidate(path);
+    }
+
+    public void invalidateAll() {
+        hashSums.invalidateAll();
+    }
+
+    private static final class HashSum {
+        private final long   length;
+        private final long   lastModificationDate;
+        private final String value;
+
+        private HashSum(long length, long lastModificationDate, String value) {
+            this.length = length;
+            this.lastModificationDate = lastModificationDate;
+            this.value = value;
+        }
+    }
+}
@@ -20,24 +20,40 @@ import org.eclipse.che.commons.lang.Pair;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.hash.Funnels.asOutputStream;
+import static java.util.Collections.singletonList;
 
 /**
  * Traverses recursively all files in folder given in constructor and calculates hash sum for each file.
  * Algorithm specified by {@code hashFunction} is used for calculating hash sum.
+ *
+ * <p>If {@code cache} is given, hash sums of files which length and last modification date are not
+ * changed since the previous calculation are taken from it. If {@code pool} is given, folders are
+ * traversed and files are hashed in parallel in that pool.
  */
 public class HashSumsCounter implements VirtualFileVisitor {
     private final VirtualFile                folder;
     private final HashFunction               hashFunction;
+    private final HashSumsCache              cache;
+    private final ForkJoinPool               pool;
     private final List<Pair<String, String>> hashSums;
 
 
     public HashSumsCounter(VirtualFile folder, HashFunction hashFunction) {
+        this(folder, hashFunction, null, null);
+    }
+
+    public HashSumsCounter(VirtualFile folder, HashFunction hashFunction, HashSumsCache cache, ForkJoinPool pool) {
         this.folder = folder;
         this.hashFunction = hashFunction;
+        this.cache = cache;
+        this.pool = pool;
         hashSums = newArrayList();
     }
 
@@ -50,27 +66,89 @@ public class HashSumsCounter implements VirtualFileVisitor {
      * </pre>
      */
     public List<Pair<String, String>> countHashSums() throws ServerException {
-        folder.accept(this);
-        return hashSums;
+        if (pool == null) {
+            folder.accept(this);
+            return hashSums;
+        }
+        try {
+            return pool.invoke(new CountTask(folder));
+        } catch (RuntimeException e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof ServerException) {
+                    throw (ServerException)cause;
+                }
+            }
+            throw e;
+        }
     }
 
     @Override
     public void visit(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.isFile()) {
-            try (InputStream in = virtualFile.getContent()) {
-                final Hasher hasher = hashFunction.newHasher();
-                ByteStreams.copy(in, asOutputStream(hasher));
-                final String hexHash = hasher.hash().toString();
-                hashSums.add(Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString()));
-            } catch (IOException e) {
-                throw new ServerException(e);
-            } catch (ForbiddenException e) {
-                throw new ServerException(e.getServiceError());
-            }
+            hashSums.add(countHashSum(virtualFile));
         } else {
             for (VirtualFile child : virtualFile.getChildren()) {
                 child.accept(this);
             }
         }
     }
+
+    private Pair<String, String> countHashSum(VirtualFile file) throws ServerException {
+        final String relativePath = file.getPath().subPath(folder.getPath()).toString();
+        long length = 0;
+        long lastModificationDate = 0;
+        if (cache != null) {
+            length = file.getLength();
+            lastModificationDate = file.getLastModificationDate();
+            final String cached = cache.get(file.getPath(), length, lastModificationDate);
+            if (cached != null) {
+                return Pair.of(cached, relativePath);
+            }
+        }
+
+        try (InputStream in = file.getContent()) {
+            final Hasher hasher = hashFunction.newHasher();
+            ByteStreams.copy(in, asOutputStream(hasher));
+            final String hexHash = hasher.hash().toString();
+            if (cache != null) {
+                cache.put(file.getPath(), length, lastModificationDate, hexHash);
+            }
+            return Pair.of(hexHash, relativePath);
+        } catch (IOException e) {
+            throw new ServerException(e);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
+    /** Counts hash sums of a file or of all files of a folder, keeps files in traversal order. */
+    private class CountTask extends RecursiveTask<List<Pair<String, String>>> {
+        private final VirtualFile virtualFile;
+
+        private CountTask(VirtualFile virtualFile) {
+            this.virtualFile = virtualFile;
+        }
+
+        @Override
+        protected List<Pair<String, String>> compute() {
+            try {
+                if (virtualFile.isFile()) {
+                    return singletonList(countHashSum(virtualFile));
+                }
+                final List<CountTask> tasks = new ArrayList<>();
+                for (VirtualFile child : virtualFile.getChildren()) {
+                    tasks.add(new CountTask(child));
+                }
+                invokeAll(tasks);
+
+                final List<Pair<String, String>> result = new ArrayList<>();
+                for (CountTask task : tasks) {
+                    result.addAll(task.join());
+                }
+                return result;
+            } catch (ServerException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }
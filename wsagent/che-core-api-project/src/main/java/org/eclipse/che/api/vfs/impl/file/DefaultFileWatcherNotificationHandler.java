@@ -74,6 +74,8 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
         try {
             LocalVirtualFileSystem virtualFileSystem = (LocalVirtualFileSystem)virtualFileSystemProvider.getVirtualFileSystem(true);
             Path vfsPath = Path.of(subPath);
+            // attributes of the item cached by file system are out of date since the item is changed
+            virtualFileSystem.invalidateAttributes(ROOT.newPath(vfsPath), isDir);
             VirtualFile virtualFile = virtualFileSystem.getRoot().getChild(vfsPath);
             if (virtualFile == null) {
                 virtualFile = new DeletedLocalVirtualFile(new File(root, subPath), ROOT.newPath(vfsPath), virtualFileSystem, isDir);
@@ -25,6 +25,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -59,7 +60,7 @@ public class LocalVirtualFile implements VirtualFile {
 
     @Override
     public boolean exists() {
-        return toIoFile().exists();
+        return fileSystem.getAttributes(this) != null;
     }
 
     @Override
@@ -69,12 +70,14 @@ public class LocalVirtualFile implements VirtualFile {
 
     @Override
     public boolean isFile() {
-        return toIoFile().isFile();
+        final BasicFileAttributes attributes = fileSystem.getAttributes(this);
+        return attributes != null && attributes.isRegularFile();
     }
 
     @Override
     public boolean isFolder() {
-        return toIoFile().isDirectory();
+        final BasicFileAttributes attributes = fileSystem.getAttributes(this);
+        return attributes != null && attributes.isDirectory();
     }
 
     @Override
@@ -157,15 +160,17 @@ public class LocalVirtualFile implements VirtualFile {
 
     @Override
     public long getLastModificationDate() {
-        return toIoFile().lastModified();
+        final BasicFileAttributes attributes = fileSystem.getAttributes(this);
+        return attributes == null ? 0 : attributes.lastModifiedTime().toMillis();
     }
 
     @Override
     public long getLength() throws ServerException {
-        if (isFolder()) {
+        final BasicFileAttributes attributes = fileSystem.getAttributes(this);
+        if (attributes == null || attributes.isDirectory()) {
             return 0;
         }
-        return toIoFile().length();
+        return attributes.size();
     }
 
     @Override
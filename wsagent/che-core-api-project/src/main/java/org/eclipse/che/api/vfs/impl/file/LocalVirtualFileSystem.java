@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -25,6 +26,7 @@ import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.Archiver;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.HashSumsCache;
 import org.eclipse.che.api.vfs.HashSumsCounter;
 import org.eclipse.che.api.vfs.LockedFileFinder;
 import org.eclipse.che.api.vfs.Path;
@@ -52,10 +54,13 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ExecutionException;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
@@ -66,6 +71,8 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.vfs.VirtualFileFilters.dotGitFilter;
 import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 
@@ -82,6 +89,10 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final long WAIT_FOR_FILE_LOCK_TIMEOUT = 60000; // 60 seconds
     private static final int  FILE_LOCK_MAX_THREADS      = 1024;
 
+    private static final int  ATTRIBUTES_CACHE_SIZE           = 10000;
+    private static final long ATTRIBUTES_CACHE_EXPIRE_SECONDS = 10;
+    private static final int  MD5_SUMS_CACHE_SIZE             = 100000;
+
     private static final String   VFS_SERVICE_DIR        = ".vfs";
     private static final String   FILE_LOCKS_DIR         = VFS_SERVICE_DIR + File.separatorChar + "locks";
     private static final String   LOCK_FILE_SUFFIX       = "_lock";
@@ -136,15 +147,40 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
-    @SuppressWarnings("unchecked")
+    /*
+     * Attributes of items read when their parent folder is listed, keyed by path of the listed folder and
+     * then by name of the item, so a subtree is invalidated by a scan of listed folders rather than of all
+     * cached items. Size of the cache is limited by total number of items. Entries are invalidated when items
+     * are modified through this file system or file watcher reports about their changes, entries expire shortly
+     * in case of changes that are not tracked by file watcher.
+     */
+    private final Cache<Path, Map<String, BasicFileAttributes>> attributesCache;
+
+    private final HashSumsCache md5SumsCache;
+    /**
+     * Pool in which files are read to count their hash sums, owned by the provider of this file system.
+     * If {@code null} hash sums are counted in the calling thread.
+     */
+    private final ForkJoinPool  hashSumsPool;
+
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
                                   SearcherProvider searcherProvider,
                                   AbstractVirtualFileSystemProvider.CloseCallback closeCallback) {
+        this(ioRoot, archiverFactory, searcherProvider, closeCallback, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public LocalVirtualFileSystem(File ioRoot,
+                                  ArchiverFactory archiverFactory,
+                                  SearcherProvider searcherProvider,
+                                  AbstractVirtualFileSystemProvider.CloseCallback closeCallback,
+                                  ForkJoinPool hashSumsPool) {
         this.ioRoot = ioRoot;
         this.archiverFactory = archiverFactory;
         this.searcherProvider = searcherProvider;
         this.closeCallback = closeCallback;
+        this.hashSumsPool = hashSumsPool;
 
         root = new LocalVirtualFile(ioRoot, Path.ROOT, this);
         pathLockFactory = new PathLockFactory(FILE_LOCK_MAX_THREADS);
@@ -162,6 +198,15 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        attributesCache = CacheBuilder.newBuilder()
+                                      .concurrencyLevel(8)
+                                      .maximumWeight(ATTRIBUTES_CACHE_SIZE)
+                                      .weigher((Path folder, Map<String, BasicFileAttributes> children) -> children.size())
+                                      .expireAfterWrite(ATTRIBUTES_CACHE_EXPIRE_SECONDS, SECONDS)
+                                      .build();
+
+        md5SumsCache = new HashSumsCache(MD5_SUMS_CACHE_SIZE);
     }
 
     @Override
@@ -208,6 +253,67 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private void cleanUpCaches() {
         lockTokensCache.invalidateAll();
         metadataCache.invalidateAll();
+        attributesCache.invalidateAll();
+        md5SumsCache.invalidateAll();
+    }
+
+    /** Invalidates cached lock tokens and properties of the item with given path and all its descendants. */
+    private void invalidateCaches(Path path) {
+        invalidateSubtree(lockTokensCache, path);
+        invalidateSubtree(metadataCache, path);
+    }
+
+    /**
+     * Invalidates cached attributes of the item with given path and of its parent folder,
+     * and if the item is a folder, attributes of all its descendants. Cached hash sums are
+     * checked against length and modification date of files, so only hash sum of a file
+     * is invalidated in case its modification is not visible by these attributes.
+     */
+    void invalidateAttributes(Path path, boolean isFolder) {
+        if (isFolder) {
+            invalidateSubtree(attributesCache, path);
+        } else {
+            md5SumsCache.invalidate(path);
+        }
+        if (!path.isRoot()) {
+            removeCachedAttributes(path);
+            removeCachedAttributes(path.getParent());
+        }
+    }
+
+    private void removeCachedAttributes(Path path) {
+        if (!path.isRoot()) {
+            final Map<String, BasicFileAttributes> siblings = attributesCache.getIfPresent(path.getParent());
+            if (siblings != null) {
+                siblings.remove(path.getName());
+            }
+        }
+    }
+
+    /** Returns attributes of the item or {@code null} if the item doesn't exist. */
+    BasicFileAttributes getAttributes(LocalVirtualFile virtualFile) {
+        final Path path = virtualFile.getPath();
+        if (!path.isRoot()) {
+            final Map<String, BasicFileAttributes> siblings = attributesCache.getIfPresent(path.getParent());
+            final BasicFileAttributes attributes = siblings == null ? null : siblings.get(path.getName());
+            if (attributes != null) {
+                return attributes;
+            }
+        }
+        return readAttributes(virtualFile.toIoFile());
+    }
+
+    private static BasicFileAttributes readAttributes(File ioFile) {
+        try {
+            return java.nio.file.Files.readAttributes(ioFile.toPath(), BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void invalidateSubtree(Cache<Path, ?> cache, Path path) {
+        cache.invalidate(path);
+        cache.invalidateAll(cache.asMap().keySet().stream().filter(cached -> cached.isChild(path)).collect(toList()));
     }
 
     /** Used in tests. Need this to check state of PathLockFactory. All locks MUST be released at the end of request lifecycle. */
@@ -243,8 +349,10 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
+            // No path lock: the folder is read with a single list call, which is consistent for direct children,
+            // while a path lock would wait for exclusive locks of any descendant, e.g. long content update.
             final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
             Collections.sort(children);
             return children;
@@ -269,13 +377,19 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
 
         final List<VirtualFile> children = newArrayListWithCapacity(names.length);
+        final Map<String, BasicFileAttributes> childrenAttributes = new ConcurrentHashMap<>(names.length);
         for (String name : names) {
             final Path childPath = parent.getPath().newPath(name);
             final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
+            final BasicFileAttributes attributes = readAttributes(child.toIoFile());
+            if (attributes != null) {
+                childrenAttributes.put(name, attributes);
+            }
             if (vfsFilter.accept(child)) {
                 children.add(child);
             }
         }
+        attributesCache.put(parent.getPath(), childrenAttributes);
 
         return children;
     }
@@ -304,6 +418,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
 
             final LocalVirtualFile newVirtualFile = new LocalVirtualFile(newIoFile, newPath, this);
+            invalidateAttributes(newPath, false);
 
             if (content != null) {
                 doUpdateContent(newVirtualFile, content);
@@ -330,6 +445,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                     throw new ConflictException(String.format("Item '%s' already exists", newPath));
                 }
             }
+            invalidateAttributes(newPath, true);
 
             return new LocalVirtualFile(newIoFile, newPath, this);
         } else {
@@ -382,6 +498,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
 
             IoUtil.copy(from.toIoFile(), to.toIoFile(), VFS_LOCK_FILTER);
+            invalidateAttributes(to.getPath(), true);
         } catch (IOException e) {
             String errorMessage = String.format("Unable copy '%s' to '%s'", from, to);
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
@@ -544,6 +661,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             String errorMessage = String.format("Unable set content of '%s'", virtualFile.getPath());
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
             throw new ServerException(errorMessage);
+        } finally {
+            invalidateAttributes(virtualFile.getPath(), false);
         }
     }
 
@@ -571,7 +690,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ForbiddenException(String.format("Unable delete file '%s'. File is locked", virtualFile.getPath()));
         }
 
-        cleanUpCaches();
+        invalidateCaches(virtualFile.getPath());
 
         final File fileLockIoFile = getFileLockIoFile(virtualFile.getPath());
         if (fileLockIoFile.delete()) {
@@ -589,7 +708,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
         }
 
-        if (!deleteRecursive(virtualFile.toIoFile())) {
+        final boolean deleted = deleteRecursive(virtualFile.toIoFile());
+        invalidateAttributes(virtualFile.getPath(), true);
+        if (!deleted) {
             LOG.error("Unable delete file {}", virtualFile.toIoFile());
             throw new ServerException(String.format("Unable delete item '%s'", virtualFile.getPath()));
         }
@@ -614,7 +735,12 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            try {
+                extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            } finally {
+                // extracted items may be new or replace items which attributes are cached
+                invalidateAttributes(parent.getPath(), true);
+            }
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import zip content. Item '%s' is not a folder", parent.getPath()));
@@ -639,7 +765,12 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            try {
+                extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            } finally {
+                // extracted items may be new or replace items which attributes are cached
+                invalidateAttributes(parent.getPath(), true);
+            }
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import tar archive. Item '%s' is not a folder", parent.getPath()));
@@ -694,6 +825,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                     locksSerializer.write(dos, lock);
                 }
                 lockTokensCache.put(virtualFile.getPath(), lock);
+                // lock file may create service folder, that changes modification date of the parent folder
+                invalidateAttributes(virtualFile.getPath(), false);
                 return lock.getLockToken();
             }
             throw new ConflictException(String.format("Unable lock file '%s'. File already locked", virtualFile.getPath()));
@@ -750,6 +883,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                 }
             }
             lockTokensCache.put(virtualFile.getPath(), NO_LOCK);
+            invalidateAttributes(virtualFile.getPath(), false);
         } catch (IOException e) {
             String errorMessage = String.format("Unable unlock file '%s'", virtualFile.getPath());
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
@@ -878,6 +1012,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             if (!virtualFile.toIoFile().setLastModified(System.currentTimeMillis())) {
                 LOG.warn("Unable to set timestamp to '{}'", virtualFile.toIoFile());
             }
+            invalidateAttributes(virtualFile.getPath(), virtualFile.isFolder());
         } catch (IOException e) {
             String errorMessage = String.format("Unable lock file '%s'", virtualFile.getPath());
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
@@ -908,7 +1043,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         if (virtualFile.isFile()) {
             return emptyList();
         }
-        return new HashSumsCounter(virtualFile, Hashing.md5()).countHashSums();
+        return new HashSumsCounter(virtualFile, Hashing.md5(), md5SumsCache, hashSumsPool).countHashSums();
     }
 
 
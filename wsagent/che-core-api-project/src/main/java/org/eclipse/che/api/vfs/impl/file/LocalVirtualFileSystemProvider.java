@@ -10,34 +10,55 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.primitives.Ints;
+
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
+import org.eclipse.che.commons.annotation.Nullable;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
 
 @Singleton
 public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemProvider {
+    /** Default number of threads which read files to count their hash sums. */
+    static final int DEFAULT_HASH_SUMS_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
     private final File             rootDirectory;
     private final SearcherProvider searcherProvider;
+    private final ForkJoinPool     hashSumsPool;
+
+    public LocalVirtualFileSystemProvider(File rootDirectory, SearcherProvider searcherProvider) throws IOException {
+        this(rootDirectory, searcherProvider, null);
+    }
 
     @Inject
     public LocalVirtualFileSystemProvider(@Named("che.user.workspaces.storage") File rootDirectory,
-                                          SearcherProvider searcherProvider) throws IOException {
+                                          SearcherProvider searcherProvider,
+                                          @Nullable @Named("vfs.local.hash_sums_threads") String hashSumsThreadsProp) throws IOException {
         this.rootDirectory = rootDirectory;
         this.searcherProvider = searcherProvider;
+        final Integer hashSumsThreads = hashSumsThreadsProp == null ? null : Ints.tryParse(hashSumsThreadsProp);
+        hashSumsPool = new ForkJoinPool(hashSumsThreads != null && hashSumsThreads > 0 ? hashSumsThreads : DEFAULT_HASH_SUMS_THREADS);
         Files.createDirectories(rootDirectory.toPath());
     }
 
     @Override
     protected VirtualFileSystem createVirtualFileSystem(CloseCallback closeCallback) throws ServerException {
-        return new LocalVirtualFileSystem(rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback);
+        return new LocalVirtualFileSystem(rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback, hashSumsPool);
+    }
+
+    @PreDestroy
+    void stop() {
+        hashSumsPool.shutdownNow();
     }
 }
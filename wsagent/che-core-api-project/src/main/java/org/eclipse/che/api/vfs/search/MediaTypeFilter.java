@@ -11,6 +11,7 @@
 package org.eclipse.che.api.vfs.search;
 
 import org.apache.tika.config.TikaConfig;
+import org.apache.tika.detect.Detector;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.mime.MediaType;
@@ -34,6 +35,9 @@ import static com.google.common.collect.Sets.newHashSet;
  * @author Roman Nikitenko
  */
 public class MediaTypeFilter implements VirtualFileFilter {
+    /** Detector of default Tika configuration, loading of configuration is expensive so it is shared. */
+    private static volatile Detector detector;
+
     private final Set<MediaType> excludedMediaTypes;
     private final Set<String> excludedTypes;
 
@@ -45,8 +49,7 @@ public class MediaTypeFilter implements VirtualFileFilter {
     @Override
     public boolean accept(VirtualFile file) {
         try (InputStream content = file.getContent()) {
-            TikaConfig tikaConfig = new TikaConfig();
-            MediaType mimeType = tikaConfig.getDetector().detect(content, new Metadata());
+            MediaType mimeType = getDetector().detect(content, new Metadata());
             if (excludedMediaTypes.contains(mimeType) || excludedTypes.contains(mimeType.getType())) {
                 return true;
             }
@@ -55,4 +58,12 @@ public class MediaTypeFilter implements VirtualFileFilter {
             return true;
         }
     }
+
+    private static Detector getDetector() throws TikaException, IOException {
+        Detector result = detector;
+        if (result == null) {
+            detector = result = new TikaConfig().getDetector();
+        }
+        return result;
+    }
 }
@@ -12,11 +12,13 @@ package org.eclipse.che.api.vfs.search;
 
 /** Container for parameters of query that executed by Searcher.*/
 public class QueryExpression {
-    private String name;
-    private String path;
-    private String text;
-    private int    skipCount;
-    private int    maxItems;
+    private String  name;
+    private String  path;
+    private String  text;
+    private int     skipCount;
+    private int     maxItems;
+    private boolean includeMatches;
+    private int     maxMatchesPerFile;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -68,6 +70,29 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Whether matches of the text should be found in each file of search result, see {@link SearchResultEntry#getMatches()}.
+     * Has effect only if text for searching is set.
+     */
+    public boolean isIncludeMatches() {
+        return includeMatches;
+    }
+
+    public QueryExpression setIncludeMatches(boolean includeMatches) {
+        this.includeMatches = includeMatches;
+        return this;
+    }
+
+    /** Max number of matches of the text that might be returned for each file, if not positive default limit of Searcher is used. */
+    public int getMaxMatchesPerFile() {
+        return maxMatchesPerFile;
+    }
+
+    public QueryExpression setMaxMatchesPerFile(int maxMatchesPerFile) {
+        this.maxMatchesPerFile = maxMatchesPerFile;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
@@ -76,6 +101,8 @@ public class QueryExpression {
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", includeMatches=" + includeMatches +
+               ", maxMatchesPerFile=" + maxMatchesPerFile +
                '}';
     }
 }
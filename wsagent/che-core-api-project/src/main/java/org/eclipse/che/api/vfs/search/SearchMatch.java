@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/**
+ * Single match of the searched text in the file of {@code SearchResultEntry}.
+ * Lines are numbered from 1, columns and offsets are indexes of characters of the line and of the file content.
+ */
+public class SearchMatch {
+    private final int    lineNumber;
+    private final int    startColumn;
+    private final int    endColumn;
+    private final int    startOffset;
+    private final int    endOffset;
+    private final String preview;
+    private final int    previewColumn;
+
+    public SearchMatch(int lineNumber, int startColumn, int endColumn, int startOffset, int endOffset, String preview, int previewColumn) {
+        this.lineNumber = lineNumber;
+        this.startColumn = startColumn;
+        this.endColumn = endColumn;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.preview = preview;
+        this.previewColumn = previewColumn;
+    }
+
+    /** Number of the line where match starts. */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /** Column of the first character of match. */
+    public int getStartColumn() {
+        return startColumn;
+    }
+
+    /** Column after the last character of match, end of the line if match continues on the next lines. */
+    public int getEndColumn() {
+        return endColumn;
+    }
+
+    /** Offset of the first character of match in the file. */
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    /** Offset after the last character of match in the file. */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    /** Text of the line where match starts, part of the line around match if the line is too long. */
+    public String getPreview() {
+        return preview;
+    }
+
+    /** Column of the first character of preview, not zero if preview is a part of the line. */
+    public int getPreviewColumn() {
+        return previewColumn;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchMatch{" +
+               "lineNumber=" + lineNumber +
+               ", startColumn=" + startColumn +
+               ", endColumn=" + endColumn +
+               ", startOffset=" + startOffset +
+               ", endOffset=" + endOffset +
+               ", preview='" + preview + '\'' +
+               ", previewColumn=" + previewColumn +
+               '}';
+    }
+}
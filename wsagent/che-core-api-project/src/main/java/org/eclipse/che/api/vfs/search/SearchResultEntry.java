@@ -10,18 +10,36 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search;
 
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+
 /**
  * Single item in {@code SearchResult}.
  */
 public class SearchResultEntry {
-    private final String filePath;
+    private final String            filePath;
+    private final List<SearchMatch> matches;
 
     public SearchResultEntry(String filePath) {
+        this(filePath, emptyList());
+    }
+
+    public SearchResultEntry(String filePath, List<SearchMatch> matches) {
         this.filePath = filePath;
+        this.matches = matches;
     }
 
     /** Path of file that matches the search criteria. */
     public String getFilePath() {
         return filePath;
     }
+
+    /**
+     * Matches of the searched text in the file ordered by their offsets. Empty if matches were not requested,
+     * see {@link QueryExpression#setIncludeMatches(boolean)}, or if searcher doesn't keep content of the file.
+     */
+    public List<SearchMatch> getMatches() {
+        return matches;
+    }
 }
@@ -33,6 +33,9 @@ import static com.google.common.collect.Lists.newArrayList;
 public abstract class AbstractLuceneSearcherProvider implements SearcherProvider {
     protected final VirtualFileFilter excludeFileIndexFilters;
     protected final AtomicReference<Searcher> searcherReference = new AtomicReference<>();
+    protected final int indexingThreads;
+    protected final double ramBufferSizeMB;
+    protected final int maxStoredTextSizeKB;
     private final ExecutorService executor;
 
     /**
@@ -40,7 +43,39 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
      *         set filter for files that should not be indexed
      */
     protected AbstractLuceneSearcherProvider(Set<VirtualFileFilter> excludeFileIndexFilters) {
+        this(excludeFileIndexFilters, LuceneSearcher.DEFAULT_INDEXING_THREADS, LuceneSearcher.DEFAULT_RAM_BUFFER_SIZE_MB);
+    }
+
+    /**
+     * @param excludeFileIndexFilters
+     *         set filter for files that should not be indexed
+     * @param indexingThreads
+     *         number of threads which index files of virtual filesystem
+     * @param ramBufferSizeMB
+     *         size of RAM buffer of index writer in megabytes
+     */
+    protected AbstractLuceneSearcherProvider(Set<VirtualFileFilter> excludeFileIndexFilters, int indexingThreads, double ramBufferSizeMB) {
+        this(excludeFileIndexFilters, indexingThreads, ramBufferSizeMB, LuceneSearcher.DEFAULT_MAX_STORED_TEXT_SIZE_KB);
+    }
+
+    /**
+     * @param excludeFileIndexFilters
+     *         set filter for files that should not be indexed
+     * @param indexingThreads
+     *         number of threads which index files of virtual filesystem
+     * @param ramBufferSizeMB
+     *         size of RAM buffer of index writer in megabytes
+     * @param maxStoredTextSizeKB
+     *         max size of file in kilobytes which text is stored in index, text is not stored if zero
+     */
+    protected AbstractLuceneSearcherProvider(Set<VirtualFileFilter> excludeFileIndexFilters,
+                                             int indexingThreads,
+                                             double ramBufferSizeMB,
+                                             int maxStoredTextSizeKB) {
         this.excludeFileIndexFilters = mergeFileIndexFilters(excludeFileIndexFilters);
+        this.indexingThreads = indexingThreads;
+        this.ramBufferSizeMB = ramBufferSizeMB;
+        this.maxStoredTextSizeKB = maxStoredTextSizeKB;
         executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
                                                              .setDaemon(true)
                                                              .setUncaughtExceptionHandler(
@@ -14,24 +14,20 @@ import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.SingleInstanceLockFactory;
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.util.FileCleaner;
+import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 
-import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
-
 /**
- * Filesystem based LuceneSearcher which cleans index directory after call method {@link #close()}.
+ * Filesystem based LuceneSearcher. Index is kept in the index directory after call method {@link #close()},
+ * so the next searcher which uses the same directory reindexes only files changed in the meantime.
+ * Index directory may be inside of the indexed virtual filesystem, e.g. in the projects root, it is not indexed itself.
  *
  * @author andrew00x
  */
 public class FSLuceneSearcher extends LuceneSearcher {
-    private static final Logger LOG = LoggerFactory.getLogger(FSLuceneSearcher.class);
-
     private final File indexDirectory;
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter) {
@@ -43,6 +39,22 @@ public class FSLuceneSearcher extends LuceneSearcher {
         this.indexDirectory = indexDirectory;
     }
 
+    FSLuceneSearcher(File indexDirectory,
+                     VirtualFileFilter filter,
+                     AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                     int indexingThreads,
+                     double ramBufferSizeMB,
+                     int maxStoredTextSizeKB) {
+        super(filter, closeCallback, indexingThreads, ramBufferSizeMB, maxStoredTextSizeKB);
+        this.indexDirectory = indexDirectory;
+    }
+
+    @Override
+    protected boolean isIndexFolder(VirtualFile folder) {
+        final File ioFile = folder.toIoFile();
+        return ioFile != null && ioFile.getAbsoluteFile().equals(indexDirectory.getAbsoluteFile());
+    }
+
     @Override
     protected Directory makeDirectory() throws ServerException {
         try {
@@ -51,13 +63,4 @@ public class FSLuceneSearcher extends LuceneSearcher {
             throw new ServerException(e);
         }
     }
-
-    @Override
-    protected void afterClose() throws IOException {
-        if (!deleteRecursive(indexDirectory)) {
-            LOG.warn("Unable delete index directory '{}', add it in FileCleaner", indexDirectory);
-            FileCleaner.addFile(indexDirectory);
-        }
-        super.afterClose();
-    }
 }
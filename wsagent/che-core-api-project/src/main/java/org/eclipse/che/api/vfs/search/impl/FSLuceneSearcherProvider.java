@@ -10,7 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Ints;
+
 import org.eclipse.che.api.vfs.VirtualFileFilters;
+import org.eclipse.che.commons.annotation.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -35,16 +39,103 @@ public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
      *         set filter for files that should not be indexed
      * @see LuceneSearcher
      */
-    @Inject
-    public FSLuceneSearcherProvider(@Named("vfs.local.fs_index_root_dir") File indexRootDirectory,
-                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns) throws IOException {
-        super(newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)));
+    public FSLuceneSearcherProvider(File indexRootDirectory, Set<PathMatcher> excludePatterns) throws IOException {
+        this(indexRootDirectory, excludePatterns, LuceneSearcher.DEFAULT_INDEXING_THREADS, LuceneSearcher.DEFAULT_RAM_BUFFER_SIZE_MB);
+    }
+
+    /**
+     * @param indexRootDirectory
+     *         root directory for creation index
+     * @param excludePatterns
+     *         set filter for files that should not be indexed
+     * @param indexingThreads
+     *         number of threads which index files of virtual filesystem
+     * @param ramBufferSizeMB
+     *         size of RAM buffer of index writer in megabytes
+     * @see LuceneSearcher
+     */
+    public FSLuceneSearcherProvider(File indexRootDirectory,
+                                    Set<PathMatcher> excludePatterns,
+                                    int indexingThreads,
+                                    double ramBufferSizeMB) throws IOException {
+        this(indexRootDirectory, excludePatterns, indexingThreads, ramBufferSizeMB, LuceneSearcher.DEFAULT_MAX_STORED_TEXT_SIZE_KB);
+    }
+
+    /**
+     * @param indexRootDirectory
+     *         root directory for creation index
+     * @param excludePatterns
+     *         set filter for files that should not be indexed
+     * @param indexingThreads
+     *         number of threads which index files of virtual filesystem
+     * @param ramBufferSizeMB
+     *         size of RAM buffer of index writer in megabytes
+     * @param maxStoredTextSizeKB
+     *         max size of file in kilobytes which text is stored in index, text is not stored if zero
+     * @see LuceneSearcher
+     */
+    public FSLuceneSearcherProvider(File indexRootDirectory,
+                                    Set<PathMatcher> excludePatterns,
+                                    int indexingThreads,
+                                    double ramBufferSizeMB,
+                                    int maxStoredTextSizeKB) throws IOException {
+        super(newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)), indexingThreads, ramBufferSizeMB, maxStoredTextSizeKB);
         this.indexRootDirectory = indexRootDirectory;
         Files.createDirectories(indexRootDirectory.toPath());
     }
 
+    /**
+     * @param indexRootDirectory
+     *         root directory for creation index
+     * @param excludePatterns
+     *         set filter for files that should not be indexed
+     * @param indexingThreadsProp
+     *         number of threads which index files of virtual filesystem,
+     *         {@link LuceneSearcher#DEFAULT_INDEXING_THREADS} is used when not set
+     * @param ramBufferSizeMBProp
+     *         size of RAM buffer of index writer in megabytes,
+     *         {@link LuceneSearcher#DEFAULT_RAM_BUFFER_SIZE_MB} is used when not set
+     * @param maxStoredTextSizeKBProp
+     *         max size of file in kilobytes which text is stored in index, text is not stored if zero,
+     *         {@link LuceneSearcher#DEFAULT_MAX_STORED_TEXT_SIZE_KB} is used when not set
+     * @see LuceneSearcher
+     */
+    @Inject
+    public FSLuceneSearcherProvider(@Named("vfs.local.fs_index_root_dir") File indexRootDirectory,
+                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
+                                    @Named("vfs.index.threads") @Nullable String indexingThreadsProp,
+                                    @Named("vfs.index.ram_buffer_size_mb") @Nullable String ramBufferSizeMBProp,
+                                    @Named("vfs.index.max_stored_text_size_kb") @Nullable String maxStoredTextSizeKBProp)
+            throws IOException {
+        this(indexRootDirectory,
+             excludePatterns,
+             indexingThreads(indexingThreadsProp),
+             ramBufferSizeMB(ramBufferSizeMBProp),
+             maxStoredTextSizeKB(maxStoredTextSizeKBProp));
+    }
+
+    private static int indexingThreads(String indexingThreadsProp) {
+        Integer indexingThreads = indexingThreadsProp == null ? null : Ints.tryParse(indexingThreadsProp);
+        return indexingThreads != null && indexingThreads > 0 ? indexingThreads : LuceneSearcher.DEFAULT_INDEXING_THREADS;
+    }
+
+    private static double ramBufferSizeMB(String ramBufferSizeMBProp) {
+        Double ramBufferSizeMB = ramBufferSizeMBProp == null ? null : Doubles.tryParse(ramBufferSizeMBProp);
+        return ramBufferSizeMB != null && ramBufferSizeMB > 0 ? ramBufferSizeMB : LuceneSearcher.DEFAULT_RAM_BUFFER_SIZE_MB;
+    }
+
+    private static int maxStoredTextSizeKB(String maxStoredTextSizeKBProp) {
+        Integer maxStoredTextSizeKB = maxStoredTextSizeKBProp == null ? null : Ints.tryParse(maxStoredTextSizeKBProp);
+        return maxStoredTextSizeKB != null && maxStoredTextSizeKB >= 0 ? maxStoredTextSizeKB : LuceneSearcher.DEFAULT_MAX_STORED_TEXT_SIZE_KB;
+    }
+
     @Override
     protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-        return new FSLuceneSearcher(indexRootDirectory, excludeFileIndexFilters, closeCallback);
+        return new FSLuceneSearcher(indexRootDirectory,
+                                    excludeFileIndexFilters,
+                                    closeCallback,
+                                    indexingThreads,
+                                    ramBufferSizeMB,
+                                    maxStoredTextSizeKB);
     }
 }
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of the initial indexing of virtual filesystem by {@link LuceneSearcher}.
+ * Search results may be incomplete until indexing is done.
+ *
+ * @see LuceneSearcher#getIndexingProgress()
+ */
+public class IndexingProgress {
+    private final AtomicLong checkedFiles;
+    private final AtomicLong indexedFiles;
+    private final AtomicLong deletedFiles;
+
+    private volatile long startTime;
+    private volatile long endTime;
+
+    IndexingProgress() {
+        checkedFiles = new AtomicLong();
+        indexedFiles = new AtomicLong();
+        deletedFiles = new AtomicLong();
+    }
+
+    public boolean isStarted() {
+        return startTime != 0;
+    }
+
+    public boolean isDone() {
+        return endTime != 0;
+    }
+
+    /** Returns the number of files found in virtual filesystem so far. */
+    public long getCheckedFiles() {
+        return checkedFiles.get();
+    }
+
+    /** Returns the number of files (re)indexed because they were new or changed since they had been indexed. */
+    public long getIndexedFiles() {
+        return indexedFiles.get();
+    }
+
+    /** Returns the number of documents deleted from index because their files don't exist any more. */
+    public long getDeletedFiles() {
+        return deletedFiles.get();
+    }
+
+    /** Returns time of indexing in milliseconds, for indexing in progress time passed since its start. */
+    public long getElapsedTime() {
+        final long start = startTime;
+        if (start == 0) {
+            return 0;
+        }
+        final long end = endTime;
+        return (end == 0 ? System.currentTimeMillis() : end) - start;
+    }
+
+    void start() {
+        checkedFiles.set(0);
+        indexedFiles.set(0);
+        deletedFiles.set(0);
+        endTime = 0;
+        startTime = System.currentTimeMillis();
+    }
+
+    void fileChecked() {
+        checkedFiles.incrementAndGet();
+    }
+
+    /** Returns the number of indexed files including this one. */
+    long fileIndexed() {
+        return indexedFiles.incrementAndGet();
+    }
+
+    void fileDeleted() {
+        deletedFiles.incrementAndGet();
+    }
+
+    void done() {
+        endTime = System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "IndexingProgress{" +
+               "done=" + isDone() +
+               ", checkedFiles=" + checkedFiles +
+               ", indexedFiles=" + indexedFiles +
+               ", deletedFiles=" + deletedFiles +
+               ", elapsedTime=" + getElapsedTime() +
+               '}';
+    }
+}
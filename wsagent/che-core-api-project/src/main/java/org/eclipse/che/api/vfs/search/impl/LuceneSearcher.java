@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.io.CharStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
@@ -17,6 +20,7 @@ import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.IndexWriter;
@@ -43,22 +47,38 @@ import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchMatch;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.emptyList;
 
 /**
  * Lucene based searcher.
@@ -71,12 +91,35 @@ public abstract class LuceneSearcher implements Searcher {
     private static final String PATH_FIELD   = "path";
     private static final String NAME_FIELD   = "name";
     private static final String TEXT_FIELD   = "text";
+    private static final String STAMP_FIELD  = "stamp";
+
+    /** Default number of threads which index files of a tree, files are indexed sequentially by default. */
+    public static final int    DEFAULT_INDEXING_THREADS        = 1;
+    /** Default size of RAM buffer of index writer in megabytes, buffered documents are flushed when the buffer is full. */
+    public static final double DEFAULT_RAM_BUFFER_SIZE_MB      = 64;
+    /** Default max size of file in kilobytes which text is stored in index, for larger files search doesn't report matches. */
+    public static final int    DEFAULT_MAX_STORED_TEXT_SIZE_KB = 64;
+
+    private static final int  QUEUE_SIZE_PER_THREAD  = 100;
+    private static final long INDEXER_KEEP_ALIVE_SEC = 60;
+    private static final int  COMMIT_INTERVAL        = 10_000;
+    private static final int  BINARY_DETECTION_BYTES = 8192;
+    private static final int  MATCHES_PER_FILE       = 100;
+    private static final int  MATCHES_LIMIT          = 1000;
+
+    /** Changes when layout of indexed documents changes, so documents indexed with other layout are reindexed on start. */
+    private static final String DOCUMENT_VERSION = "2";
 
     private final List<VirtualFileFilter>                      excludeFileIndexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
+    private final IndexingProgress                             indexingProgress;
+    private final int                                          indexingThreads;
+    private final double                                       ramBufferSizeMB;
+    private final long                                         maxStoredTextSize;
 
-    private IndexWriter     luceneIndexWriter;
-    private SearcherManager searcherManager;
+    private IndexWriter        luceneIndexWriter;
+    private SearcherManager    searcherManager;
+    private ThreadPoolExecutor indexer;
 
     private boolean closed = true;
 
@@ -94,7 +137,54 @@ public abstract class LuceneSearcher implements Searcher {
      *         with {@link VirtualFileFilters#createAndFilter} or {@link VirtualFileFilters#createOrFilter} methods
      */
     protected LuceneSearcher(VirtualFileFilter excludeFileIndexFilter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
+        this(excludeFileIndexFilter, closeCallback, DEFAULT_INDEXING_THREADS, DEFAULT_RAM_BUFFER_SIZE_MB);
+    }
+
+    /**
+     * @param excludeFileIndexFilter
+     *         common filter for files that should not be indexed
+     * @param indexingThreads
+     *         number of threads which read and index files when tree of files is indexed
+     * @param ramBufferSizeMB
+     *         size of RAM buffer of index writer in megabytes
+     */
+    protected LuceneSearcher(VirtualFileFilter excludeFileIndexFilter,
+                             AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                             int indexingThreads,
+                             double ramBufferSizeMB) {
+        this(excludeFileIndexFilter, closeCallback, indexingThreads, ramBufferSizeMB, DEFAULT_MAX_STORED_TEXT_SIZE_KB);
+    }
+
+    /**
+     * @param excludeFileIndexFilter
+     *         common filter for files that should not be indexed
+     * @param indexingThreads
+     *         number of threads which read and index files when tree of files is indexed
+     * @param ramBufferSizeMB
+     *         size of RAM buffer of index writer in megabytes
+     * @param maxStoredTextSizeKB
+     *         max size of file in kilobytes which text is stored in index to report matches in the file,
+     *         text is not stored if zero
+     */
+    protected LuceneSearcher(VirtualFileFilter excludeFileIndexFilter,
+                             AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                             int indexingThreads,
+                             double ramBufferSizeMB,
+                             int maxStoredTextSizeKB) {
+        if (indexingThreads < 1) {
+            throw new IllegalArgumentException("Number of indexing threads must be positive");
+        }
+        if (ramBufferSizeMB <= 0) {
+            throw new IllegalArgumentException("Size of RAM buffer must be positive");
+        }
+        if (maxStoredTextSizeKB < 0) {
+            throw new IllegalArgumentException("Max size of stored text must not be negative");
+        }
         this.closeCallback = closeCallback;
+        this.indexingThreads = indexingThreads;
+        this.ramBufferSizeMB = ramBufferSizeMB;
+        this.maxStoredTextSize = maxStoredTextSizeKB * 1024L;
+        indexingProgress = new IndexingProgress();
         excludeFileIndexFilters = new CopyOnWriteArrayList<>();
         excludeFileIndexFilters.add(excludeFileIndexFilter);
     }
@@ -123,7 +213,16 @@ public abstract class LuceneSearcher implements Searcher {
     protected abstract Directory makeDirectory() throws ServerException;
 
     /**
-     * Init lucene index. Need call this method if index directory is clean. Scan all files in virtual filesystem and add to index.
+     * Tells whether the folder keeps files of the index, such folder is skipped when a tree is indexed.
+     * Implementations which keep index inside of the virtual filesystem must override this method.
+     */
+    protected boolean isIndexFolder(VirtualFile folder) {
+        return false;
+    }
+
+    /**
+     * Init lucene index. Scan all files in virtual filesystem and add to index the ones which are not indexed yet
+     * or changed since they had been indexed, see {@link #reindexTree(VirtualFile)}.
      *
      * @param virtualFileSystem
      *         VirtualFileSystem
@@ -132,7 +231,7 @@ public abstract class LuceneSearcher implements Searcher {
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        reindexTree(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
@@ -140,7 +239,7 @@ public abstract class LuceneSearcher implements Searcher {
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.reindexTree(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -150,7 +249,9 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected final synchronized void doInit() throws ServerException {
         try {
-            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            final IndexWriterConfig config = new IndexWriterConfig(makeAnalyzer());
+            config.setRAMBufferSizeMB(ramBufferSizeMB);
+            luceneIndexWriter = new IndexWriter(makeDirectory(), config);
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
             closed = false;
         } catch (IOException e) {
@@ -161,6 +262,11 @@ public abstract class LuceneSearcher implements Searcher {
     public final synchronized void close() {
         if (!closed) {
             try {
+                if (indexer != null) {
+                    // files which are already queued are skipped once index writer is closed
+                    indexer.shutdown();
+                    indexer = null;
+                }
                 IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
                 afterClose();
             } catch (IOException e) {
@@ -185,6 +291,11 @@ public abstract class LuceneSearcher implements Searcher {
         return luceneIndexWriter;
     }
 
+    /** Returns progress of the initial indexing of virtual filesystem. */
+    public IndexingProgress getIndexingProgress() {
+        return indexingProgress;
+    }
+
     @Override
     public SearchResult search(QueryExpression query) throws ServerException {
         IndexSearcher luceneSearcher = null;
@@ -205,11 +316,27 @@ public abstract class LuceneSearcher implements Searcher {
             TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
             final int totalHitsNum = topDocs.totalHits;
 
+            final boolean includeMatches = query.isIncludeMatches() && query.getText() != null;
+            final Set<String> fieldsToLoad = includeMatches ? newHashSet(PATH_FIELD, TEXT_FIELD) : newHashSet(PATH_FIELD);
+            SearchMatchFinder matchFinder = null;
+            int maxMatches = 0;
+            if (includeMatches) {
+                matchFinder = new SearchMatchFinder(createTextQuery(query.getText()), makeAnalyzer(), TEXT_FIELD);
+                maxMatches = query.getMaxMatchesPerFile() > 0 ? Math.min(query.getMaxMatchesPerFile(), MATCHES_LIMIT) : MATCHES_PER_FILE;
+            }
+
             List<SearchResultEntry> results = newArrayList();
             for (int i = 0; i < topDocs.scoreDocs.length; i++) {
                 ScoreDoc scoreDoc = topDocs.scoreDocs[i];
-                String filePath = luceneSearcher.doc(scoreDoc.doc).getField(PATH_FIELD).stringValue();
-                results.add(new SearchResultEntry(filePath));
+                Document doc = luceneSearcher.doc(scoreDoc.doc, fieldsToLoad);
+                String filePath = doc.get(PATH_FIELD);
+                if (matchFinder == null) {
+                    results.add(new SearchResultEntry(filePath));
+                } else {
+                    String text = doc.get(TEXT_FIELD);
+                    List<SearchMatch> matches = text == null ? emptyList() : matchFinder.find(text, maxMatches);
+                    results.add(new SearchResultEntry(filePath, matches));
+                }
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
@@ -251,13 +378,17 @@ public abstract class LuceneSearcher implements Searcher {
             luceneQuery.add(qParser.parse(name), BooleanClause.Occur.MUST);
         }
         if (text != null) {
-            QueryParser qParser = new QueryParser(TEXT_FIELD, makeAnalyzer());
-            qParser.setAllowLeadingWildcard(true);
-            luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
+            luceneQuery.add(createTextQuery(text), BooleanClause.Occur.MUST);
         }
         return luceneQuery;
     }
 
+    private Query createTextQuery(String text) throws ParseException {
+        QueryParser qParser = new QueryParser(TEXT_FIELD, makeAnalyzer());
+        qParser.setAllowLeadingWildcard(true);
+        return qParser.parse(text);
+    }
+
     private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
         final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
         ScoreDoc scoreDoc = null;
@@ -284,7 +415,9 @@ public abstract class LuceneSearcher implements Searcher {
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
-                                    .setMaxItems(originalQuery.getMaxItems());
+                                    .setMaxItems(originalQuery.getMaxItems())
+                                    .setIncludeMatches(originalQuery.isIncludeMatches())
+                                    .setMaxMatchesPerFile(originalQuery.getMaxMatchesPerFile());
     }
 
     @Override
@@ -301,32 +434,221 @@ public abstract class LuceneSearcher implements Searcher {
     }
 
     protected void addTree(VirtualFile tree) throws ServerException {
-        final long start = System.currentTimeMillis();
-        final LinkedList<VirtualFile> q = new LinkedList<>();
-        q.add(tree);
-        int indexedFiles = 0;
-        while (!q.isEmpty()) {
-            final VirtualFile folder = q.pop();
-            if (folder.exists()) {
-                for (VirtualFile child : folder.getChildren()) {
-                    if (child.isFolder()) {
-                        q.push(child);
-                    } else {
-                        addFile(child);
-                        indexedFiles++;
+        final IndexingProgress progress = new IndexingProgress();
+        progress.start();
+        indexTree(tree, new HashMap<>(), progress);
+        progress.done();
+        LOG.debug("Indexed {} files from {}, time: {} ms", progress.getIndexedFiles(), tree.getPath(), progress.getElapsedTime());
+    }
+
+    /**
+     * Makes index of the tree up to date. Files which are not indexed yet or which size or modification date differ
+     * from the ones stored in index are (re)indexed, documents of files which don't exist any more are deleted.
+     * Unlike {@link #addTree(VirtualFile)} doesn't read content of files which are not changed since they had been indexed,
+     * e.g. by the previous searcher which used the same index directory.
+     */
+    protected void reindexTree(VirtualFile tree) throws ServerException {
+        indexingProgress.start();
+        final Map<String, String> stamps = readStamps(tree);
+        indexTree(tree, stamps, indexingProgress);
+        try {
+            for (String path : stamps.keySet()) {
+                getIndexWriter().deleteDocuments(new Term(PATH_FIELD, path));
+                indexingProgress.fileDeleted();
+            }
+            // persist index, so the next searcher which uses the same index directory doesn't need to reindex unchanged files
+            getIndexWriter().commit();
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        indexingProgress.done();
+        LOG.info("Index of {} is up to date, checked {} files, indexed {} files, deleted {} files, time: {} ms",
+                 tree.getPath(),
+                 indexingProgress.getCheckedFiles(),
+                 indexingProgress.getIndexedFiles(),
+                 indexingProgress.getDeletedFiles(),
+                 indexingProgress.getElapsedTime());
+    }
+
+    /**
+     * Indexes files of the tree which stamps differ from the given ones. The current thread walks the tree
+     * and passes files through the bounded queue to the indexing threads, which read and tokenize content of files
+     * and add documents to the shared index writer. Indexing threads are shared by all the trees indexed
+     * by this searcher. With single indexing thread files are indexed by the current thread in the order of walking.
+     * Stamps of the found files are removed from the map, so the map keeps stamps of the files which don't exist
+     * any more when the method returns.
+     */
+    private void indexTree(VirtualFile tree, Map<String, String> stamps, IndexingProgress progress) throws ServerException {
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final ExecutorService indexer = indexingThreads > 1 ? getIndexer() : null;
+        // tracks files of this tree which are not indexed yet
+        final Phaser pending = new Phaser(1);
+        boolean walked = false;
+        try {
+            final LinkedList<VirtualFile> q = new LinkedList<>();
+            q.add(tree);
+            while (!q.isEmpty() && failure.get() == null) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new ServerException(String.format("Indexing of %s is interrupted", tree.getPath()));
+                }
+                final VirtualFile folder = q.pop();
+                if (folder.exists()) {
+                    for (VirtualFile child : folder.getChildren()) {
+                        if (child.isFolder()) {
+                            if (!isIndexFolder(child)) {
+                                q.push(child);
+                            }
+                        } else {
+                            progress.fileChecked();
+                            final String stamp = stamps.remove(child.getPath().toString());
+                            if (indexer == null) {
+                                indexFile(child, stamp, progress, failure);
+                            } else {
+                                pending.register();
+                                try {
+                                    indexer.execute(() -> {
+                                        try {
+                                            indexFile(child, stamp, progress, failure);
+                                        } finally {
+                                            pending.arriveAndDeregister();
+                                        }
+                                    });
+                                } catch (RejectedExecutionException e) {
+                                    // indexing threads are shut down by close of the searcher
+                                    pending.arriveAndDeregister();
+                                    throw new ServerException(String.format("Indexing of %s is cancelled, searcher is closed",
+                                                                            tree.getPath()));
+                                }
+                            }
+                        }
                     }
                 }
             }
+            final int phase = pending.arrive();
+            for (; ; ) {
+                try {
+                    pending.awaitAdvanceInterruptibly(phase, 1, TimeUnit.MINUTES);
+                    break;
+                } catch (TimeoutException e) {
+                    LOG.debug("Indexing of {} is in progress, {} files indexed", tree.getPath(), progress.getIndexedFiles());
+                }
+            }
+            walked = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException(String.format("Indexing of %s is interrupted", tree.getPath()));
+        } finally {
+            if (!walked) {
+                // files of this tree which are still queued are skipped
+                failure.compareAndSet(null, new ServerException(String.format("Indexing of %s is interrupted", tree.getPath())));
+            }
+        }
+        final Throwable error = failure.get();
+        if (error instanceof ServerException) {
+            throw (ServerException)error;
+        }
+        if (error instanceof Error) {
+            throw (Error)error;
+        }
+        if (error != null) {
+            throw new ServerException(error.getMessage(), error);
+        }
+    }
+
+    /** Returns indexing threads of this searcher, threads are started on demand and stopped when they are idle. */
+    private synchronized ExecutorService getIndexer() {
+        if (indexer == null) {
+            indexer = new ThreadPoolExecutor(indexingThreads,
+                                             indexingThreads,
+                                             INDEXER_KEEP_ALIVE_SEC,
+                                             TimeUnit.SECONDS,
+                                             new ArrayBlockingQueue<>(indexingThreads * QUEUE_SIZE_PER_THREAD),
+                                             new ThreadFactoryBuilder().setNameFormat("LuceneIndexerThread-%d")
+                                                                       .setDaemon(true)
+                                                                       .setUncaughtExceptionHandler(
+                                                                               LoggingUncaughtExceptionHandler.getInstance())
+                                                                       .build(),
+                                             // walker indexes files itself when the queue is full and stops when the searcher is closed
+                                             (file, executor) -> {
+                                                 if (executor.isShutdown()) {
+                                                     throw new RejectedExecutionException("Searcher is closed");
+                                                 }
+                                                 file.run();
+                                             });
+            indexer.allowCoreThreadTimeOut(true);
+        }
+        return indexer;
+    }
+
+    private void indexFile(VirtualFile virtualFile, String stamp, IndexingProgress progress, AtomicReference<Throwable> failure) {
+        if (failure.get() != null) {
+            return;
+        }
+        try {
+            if (stamp == null || !stamp.equals(createStamp(virtualFile))) {
+                addFile(virtualFile);
+                if (progress.fileIndexed() % COMMIT_INTERVAL == 0) {
+                    // keep already done work if indexing is interrupted by shutdown of the agent
+                    getIndexWriter().commit();
+                }
+            }
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /** Reads stamps of the indexed files of the tree, see {@link #createStamp(VirtualFile)}. */
+    private Map<String, String> readStamps(VirtualFile tree) throws ServerException {
+        final String treePath = tree.getPath().toString();
+        final String prefix = treePath.endsWith("/") ? treePath : treePath + '/';
+        final Set<String> fieldsToLoad = new HashSet<>();
+        fieldsToLoad.add(PATH_FIELD);
+        fieldsToLoad.add(STAMP_FIELD);
+        final Map<String, String> stamps = new HashMap<>();
+        final Query treeQuery = new PrefixQuery(new Term(PATH_FIELD, prefix));
+        IndexSearcher luceneSearcher = null;
+        try {
+            searcherManager.maybeRefresh();
+            luceneSearcher = searcherManager.acquire();
+            ScoreDoc after = null;
+            TopDocs topDocs;
+            do {
+                // read documents of the tree by frames, without walking documents of other trees
+                topDocs = luceneSearcher.searchAfter(after, treeQuery, RESULT_LIMIT);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    final Document doc = luceneSearcher.doc(scoreDoc.doc, fieldsToLoad);
+                    // documents indexed without stamp get empty one, so they are reindexed
+                    final String stamp = doc.get(STAMP_FIELD);
+                    stamps.put(doc.get(PATH_FIELD), stamp == null ? "" : stamp);
+                    after = scoreDoc;
+                }
+            } while (topDocs.scoreDocs.length == RESULT_LIMIT);
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            try {
+                searcherManager.release(luceneSearcher);
+            } catch (IOException e) {
+                LOG.error(e.getMessage());
+            }
         }
-        final long end = System.currentTimeMillis();
-        LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
+        return stamps;
+    }
+
+    /**
+     * Creates stamp of the indexed state of the file. File needs to be reindexed when its stamp
+     * differs from the stamp stored in index, e.g. when content of the file is changed.
+     */
+    private String createStamp(VirtualFile virtualFile) throws ServerException {
+        return DOCUMENT_VERSION + ":" + virtualFile.getLength() + ":" + virtualFile.getLastModificationDate();
     }
 
     protected void addFile(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.exists()) {
-            try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                         ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                         : null) {
+            try (Reader fContentReader = openContentReader(virtualFile)) {
                 getIndexWriter().updateDocument(new Term(PATH_FIELD, virtualFile.getPath().toString()),
                                                 createDocument(virtualFile, fContentReader));
             } catch (OutOfMemoryError oome) {
@@ -364,9 +686,7 @@ public abstract class LuceneSearcher implements Searcher {
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
-        try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                     ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                     : null) {
+        try (Reader fContentReader = openContentReader(virtualFile)) {
             getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
         } catch (OutOfMemoryError oome) {
             close();
@@ -382,12 +702,55 @@ public abstract class LuceneSearcher implements Searcher {
         final Document doc = new Document();
         doc.add(new StringField(PATH_FIELD, virtualFile.getPath().toString(), Field.Store.YES));
         doc.add(new TextField(NAME_FIELD, virtualFile.getName(), Field.Store.YES));
+        doc.add(new StoredField(STAMP_FIELD, createStamp(virtualFile)));
         if (reader != null) {
-            doc.add(new TextField(TEXT_FIELD, reader));
+            if (maxStoredTextSize > 0 && virtualFile.getLength() <= maxStoredTextSize) {
+                // keep text of small files in index, so search finds matches in the file without reading it again
+                try {
+                    doc.add(new TextField(TEXT_FIELD, CharStreams.toString(reader), Field.Store.YES));
+                } catch (IOException e) {
+                    throw new ServerException(e.getMessage(), e);
+                }
+            } else {
+                doc.add(new TextField(TEXT_FIELD, reader));
+            }
         }
         return doc;
     }
 
+    /**
+     * Opens reader of the content of the file which should be tokenized, returns null if content of the file
+     * should not be indexed because of the filters or because it looks binary, i.e. contains zero bytes
+     * in the beginning.
+     */
+    private Reader openContentReader(VirtualFile virtualFile) throws ForbiddenException, ServerException, IOException {
+        if (!shouldIndexContent(virtualFile)) {
+            return null;
+        }
+        final BufferedInputStream content = new BufferedInputStream(virtualFile.getContent(), BINARY_DETECTION_BYTES);
+        try {
+            content.mark(BINARY_DETECTION_BYTES);
+            final byte[] head = new byte[BINARY_DETECTION_BYTES];
+            int length = 0;
+            int read;
+            while (length < head.length && (read = content.read(head, length, head.length - length)) != -1) {
+                length += read;
+            }
+            for (int i = 0; i < length; i++) {
+                if (head[i] == 0) {
+                    LOG.debug("Content of binary file {} is not indexed", virtualFile.getPath());
+                    content.close();
+                    return null;
+                }
+            }
+            content.reset();
+            return new BufferedReader(new InputStreamReader(content));
+        } catch (IOException | RuntimeException e) {
+            content.close();
+            throw e;
+        }
+    }
+
     private boolean shouldIndexContent(VirtualFile virtualFile) {
         for (VirtualFileFilter indexFilter : excludeFileIndexFilters) {
             if (indexFilter.accept(virtualFile)) {
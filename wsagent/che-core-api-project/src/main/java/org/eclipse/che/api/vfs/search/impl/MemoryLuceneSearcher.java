@@ -26,6 +26,21 @@ public class MemoryLuceneSearcher extends LuceneSearcher {
         super(filter, closeCallback);
     }
 
+    MemoryLuceneSearcher(VirtualFileFilter filter,
+                         AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                         int indexingThreads,
+                         double ramBufferSizeMB) {
+        super(filter, closeCallback, indexingThreads, ramBufferSizeMB);
+    }
+
+    MemoryLuceneSearcher(VirtualFileFilter filter,
+                         AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                         int indexingThreads,
+                         double ramBufferSizeMB,
+                         int maxStoredTextSizeKB) {
+        super(filter, closeCallback, indexingThreads, ramBufferSizeMB, maxStoredTextSizeKB);
+    }
+
     @Override
     protected Directory makeDirectory() {
         return new RAMDirectory();
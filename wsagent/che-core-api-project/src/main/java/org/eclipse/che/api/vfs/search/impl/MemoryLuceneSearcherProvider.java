@@ -28,6 +28,6 @@ public class MemoryLuceneSearcherProvider extends AbstractLuceneSearcherProvider
 
     @Override
     protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-        return new MemoryLuceneSearcher(excludeFileIndexFilters, closeCallback);
+        return new MemoryLuceneSearcher(excludeFileIndexFilters, closeCallback, indexingThreads, ramBufferSizeMB, maxStoredTextSizeKB);
     }
 }
@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.eclipse.che.api.vfs.search.SearchMatch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static java.util.Comparator.comparingInt;
+
+/**
+ * Finds matches of the text query in the text of the file. Text is tokenized with the analyzer which is used for indexing,
+ * so found offsets are the same as offsets of the terms which matched the query in index. Terms, prefixes, wildcards
+ * and phrases of the query are matched, other kinds of queries, e.g. fuzzy ones, find the file but don't report
+ * matches in it.
+ */
+class SearchMatchFinder {
+    private static final int MAX_PREVIEW_LENGTH = 256;
+    private static final int PREVIEW_CONTEXT    = 64;
+
+    private final Analyzer                analyzer;
+    private final String                  fieldName;
+    private final List<Predicate<String>> termMatchers;
+    private final List<PhraseQuery>       phrases;
+    private final Set<String>             phraseTerms;
+
+    SearchMatchFinder(Query textQuery, Analyzer analyzer, String fieldName) {
+        this.analyzer = analyzer;
+        this.fieldName = fieldName;
+        termMatchers = new ArrayList<>();
+        phrases = new ArrayList<>();
+        phraseTerms = new HashSet<>();
+        addQuery(textQuery);
+    }
+
+    /** Adds matchers of the query, queries of other fields, e.g. {@code name:pom.xml}, are skipped. */
+    private void addQuery(Query query) {
+        if (query instanceof TermQuery) {
+            final Term term = ((TermQuery)query).getTerm();
+            if (isQueriedField(term)) {
+                final String text = term.text();
+                termMatchers.add(text::equals);
+            }
+        } else if (query instanceof PrefixQuery) {
+            final Term prefix = ((PrefixQuery)query).getPrefix();
+            if (isQueriedField(prefix)) {
+                final String text = prefix.text();
+                termMatchers.add(term -> term.startsWith(text));
+            }
+        } else if (query instanceof WildcardQuery) {
+            final Term wildcard = ((WildcardQuery)query).getTerm();
+            if (isQueriedField(wildcard)) {
+                final Pattern pattern = toPattern(wildcard.text());
+                termMatchers.add(term -> pattern.matcher(term).matches());
+            }
+        } else if (query instanceof PhraseQuery) {
+            final PhraseQuery phrase = (PhraseQuery)query;
+            if (phrase.getTerms().length > 0 && isQueriedField(phrase.getTerms()[0])) {
+                phrases.add(phrase);
+                for (Term term : phrase.getTerms()) {
+                    phraseTerms.add(term.text());
+                }
+            }
+        } else if (query instanceof BooleanQuery) {
+            for (BooleanClause clause : ((BooleanQuery)query).getClauses()) {
+                if (!clause.isProhibited()) {
+                    addQuery(clause.getQuery());
+                }
+            }
+        }
+    }
+
+    private boolean isQueriedField(Term term) {
+        return fieldName.equals(term.field());
+    }
+
+    /** Converts wildcard of {@code WildcardQuery} to regular expression, '*' matches any sequence of characters and '?' any character. */
+    private static Pattern toPattern(String wildcard) {
+        final StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < wildcard.length(); i++) {
+            final char c = wildcard.charAt(i);
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                if (c == '\\' && i + 1 < wildcard.length()) {
+                    i++;
+                }
+                final char literal = wildcard.charAt(i);
+                if (!Character.isLetterOrDigit(literal)) {
+                    regex.append('\\');
+                }
+                regex.append(literal);
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    /**
+     * Finds matches of the query in the text.
+     *
+     * @param text
+     *         text of the file
+     * @param maxMatches
+     *         max number of returned matches, the first ones in the text are returned
+     * @return matches ordered by their offsets
+     */
+    List<SearchMatch> find(String text, int maxMatches) throws IOException {
+        final List<Token> matched = new ArrayList<>();
+        // tokens of phrase terms by their positions
+        final Map<Integer, Token> phraseTokens = new HashMap<>();
+        try (TokenStream tokens = analyzer.tokenStream(fieldName, text)) {
+            final CharTermAttribute termAttribute = tokens.addAttribute(CharTermAttribute.class);
+            final OffsetAttribute offsetAttribute = tokens.addAttribute(OffsetAttribute.class);
+            final PositionIncrementAttribute positionAttribute = tokens.addAttribute(PositionIncrementAttribute.class);
+            tokens.reset();
+            int position = -1;
+            while (tokens.incrementToken()) {
+                position += positionAttribute.getPositionIncrement();
+                final String term = termAttribute.toString();
+                if (matchesTerm(term)) {
+                    matched.add(new Token(term, offsetAttribute.startOffset(), offsetAttribute.endOffset()));
+                    if (phrases.isEmpty() && matched.size() >= maxMatches) {
+                        // tokens are ordered by offsets, following matches are not needed
+                        break;
+                    }
+                }
+                if (phraseTerms.contains(term)) {
+                    phraseTokens.put(position, new Token(term, offsetAttribute.startOffset(), offsetAttribute.endOffset()));
+                }
+            }
+            tokens.end();
+        }
+        if (!phrases.isEmpty()) {
+            matched.addAll(findPhrases(phraseTokens));
+            // the longest match is kept from the ones which start at the same offset
+            matched.sort(comparingInt((Token token) -> token.startOffset).thenComparingInt(token -> -token.endOffset));
+        }
+        return toSearchMatches(text, matched, maxMatches);
+    }
+
+    private boolean matchesTerm(String term) {
+        for (Predicate<String> termMatcher : termMatchers) {
+            if (termMatcher.test(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds phrases in the same way as {@code PhraseQuery} does. Position of each token of the phrase term is shifted
+     * by position of the term in the phrase, the phrase matches if shifted positions of all its terms fit in the window
+     * which size is the slop of the phrase, so with zero slop terms must follow each other as in the phrase.
+     */
+    private List<Token> findPhrases(Map<Integer, Token> phraseTokens) {
+        final List<Token> matched = new ArrayList<>();
+        for (PhraseQuery phrase : phrases) {
+            final Term[] terms = phrase.getTerms();
+            final int[] positions = phrase.getPositions();
+            final int slop = phrase.getSlop();
+            final List<TreeMap<Integer, Token>> shiftedTokens = new ArrayList<>(terms.length);
+            for (int i = 0; i < terms.length; i++) {
+                final TreeMap<Integer, Token> termTokens = new TreeMap<>();
+                for (Map.Entry<Integer, Token> entry : phraseTokens.entrySet()) {
+                    if (terms[i].text().equals(entry.getValue().term)) {
+                        termTokens.put(entry.getKey() - positions[i], entry.getValue());
+                    }
+                }
+                shiftedTokens.add(termTokens);
+            }
+            // each shifted position is tried as the start of the window, with zero slop the first term is enough
+            for (TreeMap<Integer, Token> windowStarts : slop == 0 ? shiftedTokens.subList(0, 1) : shiftedTokens) {
+                for (int windowStart : windowStarts.keySet()) {
+                    int startOffset = Integer.MAX_VALUE;
+                    int endOffset = -1;
+                    for (TreeMap<Integer, Token> termTokens : shiftedTokens) {
+                        final Map.Entry<Integer, Token> inWindow = termTokens.ceilingEntry(windowStart);
+                        if (inWindow == null || inWindow.getKey() > windowStart + slop) {
+                            endOffset = -1;
+                            break;
+                        }
+                        startOffset = Math.min(startOffset, inWindow.getValue().startOffset);
+                        endOffset = Math.max(endOffset, inWindow.getValue().endOffset);
+                    }
+                    if (endOffset != -1) {
+                        matched.add(new Token(terms[0].text(), startOffset, endOffset));
+                    }
+                }
+            }
+        }
+        return matched;
+    }
+
+    private List<SearchMatch> toSearchMatches(String text, List<Token> matched, int maxMatches) {
+        final List<SearchMatch> matches = new ArrayList<>(Math.min(matched.size(), maxMatches));
+        int lineNumber = 1;
+        int lineStart = 0;
+        int lineBreak = lineBreak(text, lineStart);
+        int lastStartOffset = -1;
+        for (Token token : matched) {
+            if (matches.size() >= maxMatches) {
+                break;
+            }
+            if (token.startOffset == lastStartOffset) {
+                // the same place is matched by term and phrase or by few phrases
+                continue;
+            }
+            lastStartOffset = token.startOffset;
+            while (lineBreak < token.startOffset) {
+                lineStart = lineBreak + 1;
+                lineBreak = lineBreak(text, lineStart);
+                lineNumber++;
+            }
+            final int lineEnd = lineBreak > lineStart && text.charAt(lineBreak - 1) == '\r' ? lineBreak - 1 : lineBreak;
+            int previewStart = lineStart;
+            int previewEnd = lineEnd;
+            if (previewEnd - previewStart > MAX_PREVIEW_LENGTH) {
+                previewStart = Math.max(lineStart, Math.min(token.startOffset - PREVIEW_CONTEXT, lineEnd - MAX_PREVIEW_LENGTH));
+                previewEnd = previewStart + MAX_PREVIEW_LENGTH;
+            }
+            matches.add(new SearchMatch(lineNumber,
+                                        token.startOffset - lineStart,
+                                        Math.min(token.endOffset, lineEnd) - lineStart,
+                                        token.startOffset,
+                                        token.endOffset,
+                                        text.substring(previewStart, previewEnd),
+                                        previewStart - lineStart));
+        }
+        return matches;
+    }
+
+    /** Returns offset of the line feed which ends the line or length of the text for the last line. */
+    private static int lineBreak(String text, int lineStart) {
+        final int lineBreak = text.indexOf('\n', lineStart);
+        return lineBreak == -1 ? text.length() : lineBreak;
+    }
+
+    private static class Token {
+        final String term;
+        final int    startOffset;
+        final int    endOffset;
+
+        Token(String term, int startOffset, int endOffset) {
+            this.term = term;
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+        }
+    }
+}
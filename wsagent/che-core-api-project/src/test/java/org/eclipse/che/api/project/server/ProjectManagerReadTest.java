@@ -125,6 +125,14 @@ public class ProjectManagerReadTest extends WsAgentTestBase {
     }
 
 
+    @Test
+    public void testCheFolderOfProjectsRootIsNotProject() throws Exception {
+        new File(root, "/.che/indexes").mkdirs();
+
+        assertEquals(4, projectRegistry.getProjects().size());
+        assertNull(projectRegistry.getProject("/.che"));
+    }
+
     @Test
     public void testNormalProject() throws Exception {
 
@@ -40,6 +40,7 @@ import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.SearchMatchDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.user.server.spi.UserDao;
@@ -1772,6 +1773,28 @@ public class ProjectServiceTest {
         Assert.assertTrue(paths.contains("/my_project/x/y/__test.txt"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchByTextWithMatches() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("x/y").createFile("__test.txt",
+                                                                 "first line\nsearchhit and searchhit".getBytes(Charset.defaultCharset()));
+
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search/my_project?text=searchhit" +
+                                                      "&includeMatches=true&maxMatchesPerFile=1",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<ItemReference> result = (List<ItemReference>)response.getEntity();
+        assertEquals(result.size(), 1);
+        List<SearchMatchDto> matches = result.get(0).getMatches();
+        assertEquals(matches.size(), 1);
+        assertEquals(matches.get(0).getLineNumber(), 2);
+        assertEquals(matches.get(0).getStartColumn(), 0);
+        assertEquals(matches.get(0).getEndColumn(), 9);
+        assertEquals(matches.get(0).getPreview(), "searchhit and searchhit");
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testSearchByTextWhenFileWasNotIndexed() throws Exception {
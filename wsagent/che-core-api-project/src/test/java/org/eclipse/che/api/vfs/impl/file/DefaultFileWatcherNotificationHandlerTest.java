@@ -80,6 +80,13 @@ public class DefaultFileWatcherNotificationHandlerTest {
         verify(notificationListener).onFileWatcherEvent(eq(_viVirtualFile), eq(DELETED));
     }
 
+    @Test
+    public void invalidatesCachedAttributesOfChangedPath() throws Exception {
+        notificationHandler.handleFileWatcherEvent(MODIFIED, testDirectory, "/a/b/c", true);
+
+        verify(virtualFileSystem).invalidateAttributes(virtualFilePath, true);
+    }
+
     private void deleteFile() {
         virtualFile = null;
     }
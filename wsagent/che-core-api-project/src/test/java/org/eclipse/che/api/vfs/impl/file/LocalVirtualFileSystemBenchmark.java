@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures concurrent listing of folders of a large synthetic tree
+ * by {@link LocalVirtualFileSystem}.
+ *
+ * <p>Run with {@code main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Threads(8)
+@Fork(1)
+public class LocalVirtualFileSystemBenchmark {
+    @Param({"100"})
+    private int folders;
+
+    @Param({"500"})
+    private int filesPerFolder;
+
+    private File                   root;
+    private LocalVirtualFileSystem fileSystem;
+    private LocalVirtualFile[]     folderFiles;
+
+    /** Keeps results of listing reachable so they are not optimized away. */
+    private volatile Object sink;
+
+    @Setup
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("vfs-benchmark").toFile();
+        for (int i = 0; i < folders; i++) {
+            File folder = new File(root, "folder" + i);
+            if (!folder.mkdir()) {
+                throw new IOException("Unable create folder " + folder);
+            }
+            for (int j = 0; j < filesPerFolder; j++) {
+                Files.write(new File(folder, "file" + j + ".txt").toPath(), new byte[]{'x'});
+            }
+        }
+
+        fileSystem = new LocalVirtualFileSystem(root, mock(ArchiverFactory.class), null, null);
+        folderFiles = new LocalVirtualFile[folders];
+        for (int i = 0; i < folders; i++) {
+            folderFiles[i] = (LocalVirtualFile)fileSystem.getRoot().getChild(Path.of("folder" + i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Benchmark
+    public void listRandomFolder() throws Exception {
+        LocalVirtualFile folder = folderFiles[ThreadLocalRandom.current().nextInt(folders)];
+        List<VirtualFile> children = folder.getChildren();
+        sink = children;
+    }
+
+    @Benchmark
+    public void listRoot() throws Exception {
+        sink = fileSystem.getRoot().getChildren();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LocalVirtualFileSystemBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -13,6 +13,7 @@ package org.eclipse.che.api.vfs.impl.file;
 import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -22,7 +23,12 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -64,4 +70,38 @@ public class LocalVirtualFileSystemTest {
         fileSystem.close();
         verify(searcher).close();
     }
-}
\ No newline at end of file
+
+    @Test(timeout = 10000)
+    public void listsFolderWhileContentOfItsDescendantIsUpdated() throws Exception {
+        VirtualFile file = fileSystem.getRoot().createFolder("a").createFolder("b").createFile("c.txt", "content");
+        CountDownLatch updateStarted = new CountDownLatch(1);
+        CountDownLatch listed = new CountDownLatch(1);
+        InputStream blockingContent = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                updateStarted.countDown();
+                try {
+                    listed.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return -1;
+            }
+        };
+        Thread updater = new Thread(() -> {
+            try {
+                file.updateContent(blockingContent);
+            } catch (Exception ignored) {
+            }
+        });
+        updater.start();
+        updateStarted.await();
+
+        List<VirtualFile> children = fileSystem.getRoot().getChildren();
+        listed.countDown();
+        updater.join();
+
+        assertEquals(1, children.size());
+        assertEquals("a", children.get(0).getName());
+    }
+}
@@ -45,6 +45,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -61,6 +62,7 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -326,6 +328,36 @@ public class LocalVirtualFileTest {
         assertEquals(expectedResult, root.getChildren());
     }
 
+    @Test
+    public void updatesAttributesOfListedChildrenAfterModification() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        VirtualFile file = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+
+        VirtualFile listedFile = folder.getChildren().get(0);
+        assertEquals(DEFAULT_CONTENT_BYTES.length, listedFile.getLength());
+
+        file.updateContent("updated content");
+        assertEquals("updated content".length(), listedFile.getLength());
+
+        file.delete();
+        assertFalse(listedFile.exists());
+        assertFalse(listedFile.isFile());
+    }
+
+    @Test
+    public void updatesModificationDateOfListedChildAfterPropertiesUpdate() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        VirtualFile listedFile = folder.getChildren().get(0);
+        long beforeUpdate = listedFile.getLastModificationDate();
+        Thread.sleep(1000);
+
+        listedFile.updateProperties(ImmutableMap.of("property1", "value1"));
+
+        assertTrue(listedFile.getLastModificationDate() > beforeUpdate);
+    }
+
     @Test
     public void doesNotShowDotVfsFolderInListOfChildren() throws Exception {
         VirtualFile root = getRoot();
@@ -1417,6 +1449,24 @@ public class LocalVirtualFileTest {
         verify(archiver).extract(any(InputStream.class), eq(false), eq(0));
     }
 
+    @Test
+    public void updatesAttributesOfListedChildrenAfterUnzip() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        VirtualFile listedFile = folder.getChildren().get(0);
+        assertEquals(DEFAULT_CONTENT_BYTES.length, listedFile.getLength());
+        Archiver archiver = mock(Archiver.class);
+        when(archiverFactory.createArchiver(eq(folder), eq("zip"))).thenReturn(archiver);
+        doAnswer(invocation -> {
+            Files.write(((LocalVirtualFile)listedFile).toIoFile().toPath(), "extracted content".getBytes());
+            return null;
+        }).when(archiver).extract(any(InputStream.class), eq(true), eq(0));
+
+        folder.unzip(new ByteArrayInputStream(new byte[0]), true, 0);
+
+        assertEquals("extracted content".length(), listedFile.getLength());
+    }
+
     @Test
     public void failsUnzipInFile() throws Exception {
         VirtualFile root = getRoot();
@@ -10,8 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
@@ -20,9 +23,15 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.util.Set;
 
+import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
@@ -89,6 +98,82 @@ public class FSLuceneSearcherProviderTest {
         assertNull(fsLuceneSearcherProvider.getSearcher(virtualFileSystem, false));
     }
 
+    @Test
+    public void usesDefaultIndexingSettingsWhenPropertiesAreNotSetOrInvalid() throws Exception {
+        FSLuceneSearcherProvider provider = new FSLuceneSearcherProvider(indexRootDirectory,
+                                                                         newHashSet(mock(PathMatcher.class)),
+                                                                         (String)null,
+                                                                         "many",
+                                                                         "-1");
+
+        assertEquals(LuceneSearcher.DEFAULT_INDEXING_THREADS, provider.indexingThreads);
+        assertEquals(LuceneSearcher.DEFAULT_RAM_BUFFER_SIZE_MB, provider.ramBufferSizeMB, 0);
+        assertEquals(LuceneSearcher.DEFAULT_MAX_STORED_TEXT_SIZE_KB, provider.maxStoredTextSizeKB);
+    }
+
+    @Test
+    public void usesIndexingSettingsFromProperties() throws Exception {
+        FSLuceneSearcherProvider provider = new FSLuceneSearcherProvider(indexRootDirectory,
+                                                                         newHashSet(mock(PathMatcher.class)),
+                                                                         "4",
+                                                                         "32",
+                                                                         "0");
+
+        assertEquals(4, provider.indexingThreads);
+        assertEquals(32, provider.ramBufferSizeMB, 0);
+        assertEquals(0, provider.maxStoredTextSizeKB);
+    }
+
+    @Test
+    public void reusesIndexKeptInProjectsRootWhenAgentIsRestarted() throws Exception {
+        File projectsRoot = new File(indexRootDirectory, "projects");
+        File project = new File(projectsRoot, "project");
+        assertTrue(project.mkdirs());
+        Files.write(new File(project, "README.txt").toPath(), "persistent search index".getBytes(UTF_8));
+        File indexDirectory = new File(projectsRoot, ".che/indexes");
+        Set<PathMatcher> excludePatterns = newHashSet(FSLuceneSearcherProviderTest::isInCheFolder);
+
+        FSLuceneSearcherProvider provider = new FSLuceneSearcherProvider(indexDirectory, excludePatterns);
+        LuceneSearcher searcher = awaitInitialIndexing(provider.getSearcher(localVirtualFileSystem(projectsRoot), true));
+        assertEquals(1, searcher.getIndexingProgress().getIndexedFiles());
+        provider.close();
+        provider.stop();
+
+        // agent is restarted, files of the index are kept
+        provider = new FSLuceneSearcherProvider(indexDirectory, excludePatterns);
+        searcher = awaitInitialIndexing(provider.getSearcher(localVirtualFileSystem(projectsRoot), true));
+        try {
+            assertEquals(0, searcher.getIndexingProgress().getIndexedFiles());
+            assertEquals(newArrayList("/project/README.txt"),
+                         searcher.search(new QueryExpression().setText("persistent")).getFilePaths());
+        } finally {
+            provider.close();
+            provider.stop();
+        }
+    }
+
+    private static boolean isInCheFolder(Path path) {
+        for (Path pathElement : path) {
+            if (".che".equals(pathElement.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LocalVirtualFileSystem localVirtualFileSystem(File root) {
+        return new LocalVirtualFileSystem(root, mock(ArchiverFactory.class), null, null);
+    }
+
+    private static LuceneSearcher awaitInitialIndexing(Searcher searcher) throws InterruptedException {
+        LuceneSearcher luceneSearcher = (LuceneSearcher)searcher;
+        for (int i = 0; i < 100 && !luceneSearcher.getIndexingProgress().isDone(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(luceneSearcher.getIndexingProgress().isDone());
+        return luceneSearcher;
+    }
+
     private VirtualFileSystem mockVirtualFileSystem() {
         VirtualFileSystem virtualFileSystem = mock(VirtualFileSystem.class);
         VirtualFile root = mock(VirtualFile.class);
@@ -131,6 +131,33 @@ public class FSLuceneSearcherTest {
         assertEquals(newArrayList(file.getPath().toString()), paths);
     }
 
+    @Test
+    public void reindexesOnlyChangedFilesWhenIndexIsReopened() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        VirtualFile changed = folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        VirtualFile deleted = folder.createFile("yyy.txt", TEST_CONTENT[1]);
+        folder.createFile("zzz.txt", TEST_CONTENT[0]);
+        searcher.init(virtualFileSystem);
+        assertEquals(searcher.getIndexingProgress().getIndexedFiles(), 3);
+        searcher.close();
+
+        changed.updateContent(TEST_CONTENT[3]);
+        deleted.delete();
+        folder.createFile("aaa.txt", TEST_CONTENT[1]);
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+        searcher.init(virtualFileSystem);
+
+        IndexingProgress progress = searcher.getIndexingProgress();
+        assertTrue(progress.isDone());
+        assertEquals(progress.getCheckedFiles(), 3);
+        assertEquals(progress.getIndexedFiles(), 2);
+        assertEquals(progress.getDeletedFiles(), 1);
+        assertEquals(searcher.search(new QueryExpression().setText("should")).getFilePaths(), newArrayList("/folder/aaa.txt"));
+        assertEquals(searcher.search(new QueryExpression().setText("nasa")).getFilePaths(), newArrayList("/folder/xxx.txt"));
+        assertEquals(searcher.search(new QueryExpression().setText("apollo")).getFilePaths(), newArrayList("/folder/zzz.txt"));
+    }
+
     @Test
     public void deletesSingleFileFromIndex() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.MediaTypeFilter;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures initial indexing of a synthetic tree of 100 000 files, mostly small text files
+ * with some binary ones, by {@link LuceneSearcher} with different number of indexing threads.
+ *
+ * <p>Run with {@code main} method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LuceneSearcherBenchmark {
+    private static final String[] LINES = {
+            "public class Sample implements Runnable {",
+            "    private final Map<String, List<Integer>> values = new HashMap<>();",
+            "    @Override public void run() { values.clear(); }",
+            "Apollo set several major human spaceflight milestones",
+            "In early 1961, direct ascent was generally the mission mode in favor at NASA"
+    };
+
+    @Param({"100"})
+    private int folders;
+
+    @Param({"1000"})
+    private int filesPerFolder;
+
+    /** Every n-th file is binary. */
+    @Param({"50"})
+    private int binaryFileInterval;
+
+    @Param({"1", "4"})
+    private int indexingThreads;
+
+    @Param({"16", "64"})
+    private double ramBufferSizeMB;
+
+    private File                   root;
+    private LocalVirtualFileSystem fileSystem;
+
+    @Setup
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("index-benchmark").toFile();
+        for (int i = 0; i < folders; i++) {
+            File folder = new File(root, "folder" + i);
+            if (!folder.mkdir()) {
+                throw new IOException("Unable create folder " + folder);
+            }
+            for (int j = 0; j < filesPerFolder; j++) {
+                if (j % binaryFileInterval == 0) {
+                    byte[] content = new byte[4096];
+                    for (int k = 0; k < content.length; k++) {
+                        content[k] = (byte)(k * 31 + j);
+                    }
+                    Files.write(new File(folder, "file" + j + ".bin").toPath(), content);
+                } else {
+                    StringBuilder content = new StringBuilder();
+                    for (int k = 0; k < 40; k++) {
+                        content.append(LINES[(j + k) % LINES.length]).append(" token").append(i * k + j).append('\n');
+                    }
+                    Files.write(new File(folder, "file" + j + ".txt").toPath(), content.toString().getBytes(UTF_8));
+                }
+            }
+        }
+        fileSystem = new LocalVirtualFileSystem(root, mock(ArchiverFactory.class), null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Benchmark
+    public long indexTree() throws Exception {
+        MemoryLuceneSearcher searcher = new MemoryLuceneSearcher(new MediaTypeFilter(), null, indexingThreads, ramBufferSizeMB);
+        try {
+            searcher.init(fileSystem);
+            return searcher.getIndexingProgress().getIndexedFiles();
+        } finally {
+            searcher.close();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LuceneSearcherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -18,6 +18,7 @@ import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchMatch;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.junit.After;
 import org.junit.Before;
@@ -26,8 +27,10 @@ import org.mockito.ArgumentMatcher;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -229,6 +232,71 @@ public class MemoryLuceneSearcherTest {
         assertEquals(newArrayList("/folder/xxx.txt", "/folder/zzz.txt"), paths);
     }
 
+    @Test
+    public void doesNotIndexContentOfBinaryFiles() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        byte[] binary = (TEST_CONTENT[2] + '\0').getBytes();
+        folder.createFile("yyy.bin", binary);
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        assertEquals(newArrayList("/folder/xxx.txt"), paths);
+        paths = searcher.search(new QueryExpression().setName("yyy.bin")).getFilePaths();
+        assertEquals(newArrayList("/folder/yyy.bin"), paths);
+    }
+
+    @Test
+    public void indexesFileTreeWithMultipleThreads() throws Exception {
+        searcher.close();
+        searcher = new MemoryLuceneSearcher(filter, closeCallback, 4, 16);
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        List<String> expected = newArrayList();
+        for (int i = 0; i < 10; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder" + i);
+            for (int j = 0; j < 100; j++) {
+                VirtualFile file = folder.createFile(String.format("file%02d", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+                if (j % TEST_CONTENT.length == 1) {
+                    expected.add(file.getPath().toString());
+                }
+            }
+        }
+
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("think")).getFilePaths();
+        Collections.sort(paths);
+        Collections.sort(expected);
+        assertEquals(expected, paths);
+        assertEquals(1000, searcher.getIndexingProgress().getIndexedFiles());
+    }
+
+    @Test
+    public void sharesIndexingThreadsBetweenIndexedTrees() throws Exception {
+        searcher.close();
+        Set<Thread> indexingThreads = newConcurrentHashSet();
+        VirtualFileFilter threadsRecorder = file -> {
+            indexingThreads.add(Thread.currentThread());
+            return false;
+        };
+        searcher = new MemoryLuceneSearcher(threadsRecorder, closeCallback, 4, 16);
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher.init(virtualFileSystem);
+
+        for (int i = 0; i < 5; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder" + i);
+            for (int j = 0; j < 100; j++) {
+                folder.createFile(String.format("file%02d", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+            }
+            searcher.add(folder);
+        }
+
+        assertEquals(500, searcher.search(new QueryExpression().setName("file*")).getTotalHits());
+        // four indexing threads and the walker which indexes files itself when the queue is full
+        assertTrue(indexingThreads.size() <= 5);
+    }
+
     @Test
     public void limitsNumberOfSearchResultsWhenMaxItemIsSet() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -284,6 +352,101 @@ public class MemoryLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void findsMatchesOfTextInFoundFiles() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFile("xxx.txt", TEST_CONTENT[1] + "\r\n" + TEST_CONTENT[2] + '\n' + TEST_CONTENT[3]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be"));
+        assertTrue(result.getResults().get(0).getMatches().isEmpty());
+
+        result = searcher.search(new QueryExpression().setText("be").setIncludeMatches(true));
+
+        List<SearchMatch> matches = result.getResults().get(0).getMatches();
+        assertEquals(2, matches.size());
+        assertMatch(matches.get(0), 2, 3, 5, 33, 35);
+        assertMatch(matches.get(1), 2, 16, 18, 46, 48);
+        assertEquals(TEST_CONTENT[2], matches.get(0).getPreview());
+        assertEquals(0, matches.get(0).getPreviewColumn());
+    }
+
+    @Test
+    public void findsMatchesOfPhraseInFoundFiles() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFile("xxx.txt", TEST_CONTENT[1] + "\r\n" + TEST_CONTENT[2] + '\n' + TEST_CONTENT[3]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("\"to be\"").setIncludeMatches(true));
+
+        List<SearchMatch> matches = result.getResults().get(0).getMatches();
+        assertEquals(2, matches.size());
+        assertMatch(matches.get(0), 2, 0, 5, 30, 35);
+        assertMatch(matches.get(1), 2, 13, 18, 43, 48);
+    }
+
+    @Test
+    public void findsFilesWithoutMatchesWhenTextIsNotStoredInIndex() throws Exception {
+        searcher.close();
+        searcher = new MemoryLuceneSearcher(filter, closeCallback, 1, 16, 0);
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be").setIncludeMatches(true));
+
+        assertEquals(newArrayList("/xxx.txt"), result.getFilePaths());
+        assertTrue(result.getResults().get(0).getMatches().isEmpty());
+    }
+
+    @Test
+    public void findsMatchesOfSloppyPhraseInFoundFiles() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        assertTrue(searcher.search(new QueryExpression().setText("\"to or\"")).getResults().isEmpty());
+        SearchResult result = searcher.search(new QueryExpression().setText("\"to or\"~1").setIncludeMatches(true));
+
+        List<SearchMatch> matches = result.getResults().get(0).getMatches();
+        assertEquals(1, matches.size());
+        assertMatch(matches.get(0), 1, 0, 8, 0, 8);
+    }
+
+    @Test
+    public void doesNotReportMatchesOfQueriesOfOtherFields() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFile("xxx.txt", "see xxx.txt to be");
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("+be +name:xxx.txt").setIncludeMatches(true));
+
+        List<SearchMatch> matches = result.getResults().get(0).getMatches();
+        assertEquals(1, matches.size());
+        assertMatch(matches.get(0), 1, 15, 17, 15, 17);
+    }
+
+    @Test
+    public void limitsNumberOfMatchesPerFile() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFile("xxx.txt", TEST_CONTENT[2] + '\n' + TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be").setIncludeMatches(true).setMaxMatchesPerFile(3));
+
+        List<SearchMatch> matches = result.getResults().get(0).getMatches();
+        assertEquals(3, matches.size());
+        assertMatch(matches.get(2), 2, 3, 5, 22, 24);
+    }
+
+    private static void assertMatch(SearchMatch match, int lineNumber, int startColumn, int endColumn, int startOffset, int endOffset) {
+        assertEquals(lineNumber, match.getLineNumber());
+        assertEquals(startColumn, match.getStartColumn());
+        assertEquals(endColumn, match.getEndColumn());
+        assertEquals(startOffset, match.getStartOffset());
+        assertEquals(endOffset, match.getEndOffset());
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
@@ -35,10 +35,12 @@ class JGitConfigImpl extends Config {
     private final String CONFIGURATION_NOT_FOUND_MESSAGE = "Can not find property '%s' in Git configuration settings.";
 
     private final Repository repository;
+    private final Runnable   onSaved;
 
-    JGitConfigImpl(Repository repository) throws GitException {
+    JGitConfigImpl(Repository repository, Runnable onSaved) throws GitException {
         super(repository.getDirectory());
         this.repository = repository;
+        this.onSaved = onSaved;
     }
 
     @Override
@@ -100,11 +102,12 @@ class JGitConfigImpl extends Config {
     @Override
     public Config set(String name, String value) throws GitException {
         ConfigKey key = parseName(name);
-        repository.getConfig().setString(key.section, key.subsection, key.name, value);
-        try {
-            this.repository.getConfig().save();
-        } catch (IOException e) {
-            throw new GitException(e.getMessage(), e);
+        StoredConfig config = repository.getConfig();
+        // configuration is shared by all connections to the repository
+        synchronized (config) {
+            config.setString(key.section, key.subsection, key.name, value);
+            save(config);
+            onSaved.run();
         }
         return this;
     }
@@ -117,13 +120,21 @@ class JGitConfigImpl extends Config {
     @Override
     public Config unset(String name) throws GitException {
         ConfigKey key = parseName(name);
-        repository.getConfig().unset(key.section, key.subsection, key.name);
+        StoredConfig config = repository.getConfig();
+        synchronized (config) {
+            config.unset(key.section, key.subsection, key.name);
+            save(config);
+            onSaved.run();
+        }
+        return this;
+    }
+
+    private static void save(StoredConfig config) throws GitException {
         try {
-            this.repository.getConfig().save();
+            config.save();
         } catch (IOException e) {
             throw new GitException(e.getMessage(), e);
         }
-        return this;
     }
 
     private static class ConfigKey {
@@ -73,6 +73,7 @@ import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.git.shared.StatusFormat;
 import org.eclipse.che.api.git.shared.Tag;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
 import org.eclipse.che.commons.proxy.ProxyAuthenticator;
 import org.eclipse.jgit.api.AddCommand;
@@ -120,7 +121,9 @@ import org.eclipse.jgit.lib.RepositoryState;
 import org.eclipse.jgit.lib.StoredConfig;
 import org.eclipse.jgit.merge.ResolveMerger;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevFlag;
 import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevSort;
 import org.eclipse.jgit.revwalk.RevTag;
 import org.eclipse.jgit.revwalk.RevTree;
 import org.eclipse.jgit.revwalk.RevWalk;
@@ -158,9 +161,12 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -254,14 +260,28 @@ class JGitConnection implements GitConnection {
     private final SshKeyProvider    sshKeyProvider;
     private final GitUserResolver   userResolver;
     private final Repository        repository;
+    private final Runnable          onClose;
+    private final Runnable          onConfigSaved;
 
     @Inject
     JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
                    GitUserResolver userResolver) {
+        this(repository, credentialsLoader, sshKeyProvider, userResolver, repository::close, () -> {});
+    }
+
+    /**
+     * Creates connection to the repository which is not closed along with the connection,
+     * {@code onClose} is called instead, e.g. to release the repository shared between connections.
+     * {@code onConfigSaved} is called after the connection modifies the configuration of the repository.
+     */
+    JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
+                   GitUserResolver userResolver, Runnable onClose, Runnable onConfigSaved) {
         this.repository = repository;
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.onClose = onClose;
+        this.onConfigSaved = onConfigSaved;
     }
 
     @Override
@@ -308,6 +328,7 @@ class JGitConnection implements GitConnection {
 
         // checkout files?
         List<String> files = params.getFiles();
+        boolean createBranch = false;
         boolean shouldCheckoutToFile = name != null && new File(getWorkingDir(), name).exists();
         if (shouldCheckoutToFile || !files.isEmpty()) {
             if (shouldCheckoutToFile) {
@@ -327,7 +348,7 @@ class JGitConnection implements GitConnection {
                 checkoutCommand.setStartPoint(startPoint);
             }
             if (params.isCreateNew()) {
-                checkoutCommand.setCreateBranch(true);
+                createBranch = true;
                 checkoutCommand.setName(name);
             } else if (name != null) {
                 checkoutCommand.setName(name);
@@ -339,7 +360,7 @@ class JGitConnection implements GitConnection {
                                                                            .filter(branch -> branch.getName().contains(name))
                                                                            .findFirst();
                     if (remoteBranch.isPresent()) {
-                        checkoutCommand.setCreateBranch(true);
+                        createBranch = true;
                         checkoutCommand.setStartPoint(remoteBranch.get().getName());
                     }
                 }
@@ -348,13 +369,19 @@ class JGitConnection implements GitConnection {
                 if (name == null) {
                     checkoutCommand.setName(cleanRemoteName(trackBranch));
                 }
-                checkoutCommand.setCreateBranch(true);
+                createBranch = true;
                 checkoutCommand.setStartPoint(trackBranch);
             }
+            checkoutCommand.setCreateBranch(createBranch);
             checkoutCommand.setUpstreamMode(SetupUpstreamMode.SET_UPSTREAM);
         }
         try {
-            checkoutCommand.call();
+            if (createBranch) {
+                // new branch and its upstream are saved to the configuration
+                modifyConfig(checkoutCommand::call);
+            } else {
+                checkoutCommand.call();
+            }
         } catch (CheckoutConflictException exception) {
             throw new GitConflictException(exception.getMessage(), exception.getConflictingPaths());
         } catch (RefAlreadyExistsException exception) {
@@ -378,7 +405,7 @@ class JGitConnection implements GitConnection {
             createBranchCommand.setStartPoint(startPoint);
         }
         try {
-            Ref brRef = createBranchCommand.call();
+            Ref brRef = modifyConfig(createBranchCommand::call);
             String refName = brRef.getName();
             String displayName = Repository.shortenRefName(refName);
             return newDto(Branch.class).withName(refName)
@@ -393,10 +420,9 @@ class JGitConnection implements GitConnection {
     @Override
     public void branchDelete(String name, boolean force) throws GitException {
         try {
-            getGit().branchDelete()
-                    .setBranchNames(name)
-                    .setForce(force)
-                    .call();
+            modifyConfig(getGit().branchDelete()
+                                 .setBranchNames(name)
+                                 .setForce(force)::call);
         } catch (GitAPIException exception) {
             throw new GitException(exception.getMessage(), exception);
         }
@@ -405,10 +431,9 @@ class JGitConnection implements GitConnection {
     @Override
     public void branchRename(String oldName, String newName) throws GitException {
         try {
-            getGit().branchRename()
-                    .setOldName(oldName)
-                    .setNewName(newName)
-                    .call();
+            modifyConfig(getGit().branchRename()
+                                 .setOldName(oldName)
+                                 .setNewName(newName)::call);
         } catch (GitAPIException exception) {
             throw new GitException(exception.getMessage(), exception);
         }
@@ -785,11 +810,15 @@ class JGitConnection implements GitConnection {
                 logCommand.addPath(filePath);
             }
             Iterator<RevCommit> revIterator = logCommand.call().iterator();
-            List<Revision> commits = new ArrayList<>();
+            List<RevCommit> revCommits = new ArrayList<>();
             while (revIterator.hasNext()) {
-                RevCommit commit = revIterator.next();
-                Revision revision = getRevision(commit, filePath);
-                commits.add(revision);
+                revCommits.add(revIterator.next());
+            }
+            Map<ObjectId, List<Branch>> branchesOfCommits = getBranchesOfCommits(revCommits);
+            List<Revision> commits = new ArrayList<>(revCommits.size());
+            for (RevCommit commit : revCommits) {
+                List<DiffCommitFile> diffFiles = params.isDiffFiles() ? getCommitDiffFiles(commit, filePath) : Collections.emptyList();
+                commits.add(getRevision(commit, branchesOfCommits.get(commit), diffFiles));
             }
             return new LogPage(commits);
         } catch (GitAPIException | IOException exception) {
@@ -803,7 +832,7 @@ class JGitConnection implements GitConnection {
         }
     }
 
-    private Revision getRevision(RevCommit commit, String filePath) throws GitAPIException, IOException {
+    private Revision getRevision(RevCommit commit, List<Branch> branches, List<DiffCommitFile> diffFiles) {
         List<String> commitParentsList = Stream.of(commit.getParents())
                                                .map(RevCommit::getName)
                                                .collect(Collectors.toList());
@@ -813,9 +842,9 @@ class JGitConnection implements GitConnection {
                                      .withCommitTime((long)commit.getCommitTime() * 1000)
                                      .withCommitter(getCommitCommitter(commit))
                                      .withAuthor(getCommitAuthor(commit))
-                                     .withBranches(getBranchesOfCommit(commit, ListMode.ALL))
+                                     .withBranches(branches)
                                      .withCommitParent(commitParentsList)
-                                     .withDiffCommitFile(getCommitDiffFiles(commit, filePath));
+                                     .withDiffCommitFile(diffFiles);
     }
 
     private GitUser getCommitCommitter(RevCommit commit) {
@@ -830,14 +859,95 @@ class JGitConnection implements GitConnection {
                                     .withEmail(authorIdentity.getEmailAddress());
     }
 
-    private List<Branch> getBranchesOfCommit(RevCommit commit, ListMode mode) throws GitAPIException {
-        List<Ref> branches = getGit().branchList()
-                                     .setListMode(mode)
-                                     .setContains(commit.getName())
-                                     .call();
-        return branches.stream()
-                       .map(branch -> newDto(Branch.class).withName(branch.getName()))
-                       .collect(Collectors.toList());
+    /**
+     * Finds local and remote branches which contain given commits. Instead of checking each commit
+     * against each branch, a single walk is started from all branch tips and each walked commit
+     * passes the set of branches it belongs to on to its parents. The walk stops after all given
+     * commits and all commits not older than them are walked.
+     */
+    private Map<ObjectId, List<Branch>> getBranchesOfCommits(List<RevCommit> commits) throws IOException {
+        Map<ObjectId, List<Branch>> branchesOfCommits = new HashMap<>();
+        if (commits.isEmpty()) {
+            return branchesOfCommits;
+        }
+        int oldestCommitTime = Integer.MAX_VALUE;
+        for (RevCommit commit : commits) {
+            branchesOfCommits.put(commit.copy(), new ArrayList<>());
+            oldestCommitTime = Math.min(oldestCommitTime, commit.getCommitTime());
+        }
+
+        List<Ref> branches = new ArrayList<>();
+        Ref head = repository.exactRef(Constants.HEAD);
+        if (head != null && !head.isSymbolic()) {
+            // detached HEAD is listed as a branch the same way as 'git branch --contains' does
+            branches.add(head);
+        }
+        branches.addAll(repository.getRefDatabase().getRefs(Constants.R_HEADS).values());
+        branches.addAll(repository.getRefDatabase().getRefs(Constants.R_REMOTES).values());
+
+        Map<ObjectId, BitSet> branchesOfWalked = new HashMap<>();
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.sort(RevSort.COMMIT_TIME_DESC);
+            walk.setRetainBody(false);
+            RevFlag walked = walk.newFlag("WALKED");
+            for (int i = 0; i < branches.size(); i++) {
+                ObjectId tipId = branches.get(i).getObjectId();
+                if (tipId == null) {
+                    continue;
+                }
+                RevObject tip = walk.peel(walk.parseAny(tipId));
+                if (tip instanceof RevCommit) {
+                    branchesOfWalked.computeIfAbsent(tip.copy(), id -> new BitSet()).set(i);
+                    walk.markStart((RevCommit)tip);
+                }
+            }
+
+            int left = branchesOfCommits.size();
+            RevCommit commit;
+            while ((commit = walk.next()) != null && (left > 0 || commit.getCommitTime() >= oldestCommitTime)) {
+                BitSet branchesOfCommit = branchesOfWalked.get(commit);
+                for (RevCommit parent : commit.getParents()) {
+                    inheritBranches(parent, branchesOfCommit, branchesOfWalked, walked);
+                }
+                commit.add(walked);
+                if (branchesOfCommits.containsKey(commit)) {
+                    left--;
+                }
+            }
+        }
+
+        branchesOfCommits.forEach((commitId, result) -> {
+            BitSet branchesOfCommit = branchesOfWalked.get(commitId);
+            if (branchesOfCommit != null) {
+                branchesOfCommit.stream().forEach(i -> result.add(newDto(Branch.class).withName(branches.get(i).getName())));
+            }
+        });
+        return branchesOfCommits;
+    }
+
+    /**
+     * Adds branches to the commit. Commits are walked from the newest ones, but if the commit has already been
+     * walked because of a skew in commit times, branches are passed on to its already walked ancestors as well.
+     */
+    private static void inheritBranches(RevCommit commit, BitSet branches, Map<ObjectId, BitSet> branchesOfWalked, RevFlag walked) {
+        Deque<Pair<RevCommit, BitSet>> pending = new ArrayDeque<>();
+        pending.push(Pair.of(commit, branches));
+        while (!pending.isEmpty()) {
+            Pair<RevCommit, BitSet> next = pending.pop();
+            BitSet existing = branchesOfWalked.computeIfAbsent(next.first.copy(), id -> new BitSet());
+            if (!next.first.has(walked)) {
+                existing.or(next.second);
+                continue;
+            }
+            BitSet added = (BitSet)next.second.clone();
+            added.andNot(existing);
+            if (!added.isEmpty()) {
+                existing.or(added);
+                for (RevCommit parent : next.first.getParents()) {
+                    pending.push(Pair.of(parent, added));
+                }
+            }
+        }
     }
 
     private List<DiffCommitFile> getCommitDiffFiles(RevCommit revCommit, String pattern) throws IOException {
@@ -1279,6 +1389,15 @@ class JGitConnection implements GitConnection {
         }
 
         StoredConfig config = repository.getConfig();
+        // configuration is shared by all connections to the repository
+        synchronized (config) {
+            addRemote(config, params);
+            onConfigSaved.run();
+        }
+    }
+
+    private void addRemote(StoredConfig config, RemoteAddParams params) throws GitException {
+        String remoteName = params.getName();
         Set<String> remoteNames = config.getSubsections("remote");
         if (remoteNames.contains(remoteName)) {
             throw new GitException(format(ERROR_ADD_REMOTE_NAME_ALREADY_EXISTS, remoteName));
@@ -1326,6 +1445,13 @@ class JGitConnection implements GitConnection {
     @Override
     public void remoteDelete(String name) throws GitException {
         StoredConfig config = repository.getConfig();
+        synchronized (config) {
+            deleteRemote(config, name);
+            onConfigSaved.run();
+        }
+    }
+
+    private void deleteRemote(StoredConfig config, String name) throws GitException {
         Set<String> remoteNames = config.getSubsections(ConfigConstants.CONFIG_KEY_REMOTE);
         if (!remoteNames.contains(name)) {
             throw new GitException("error: Could not remove config section 'remote." + name + "'");
@@ -1386,6 +1512,14 @@ class JGitConnection implements GitConnection {
         }
 
         StoredConfig config = repository.getConfig();
+        synchronized (config) {
+            updateRemote(config, params);
+            onConfigSaved.run();
+        }
+    }
+
+    private void updateRemote(StoredConfig config, RemoteUpdateParams params) throws GitException {
+        String remoteName = params.getName();
         Set<String> remoteNames = config.getSubsections(ConfigConstants.CONFIG_KEY_REMOTE);
         if (!remoteNames.contains(remoteName)) {
             throw new GitException("Remote " + remoteName + " not found. ");
@@ -1611,7 +1745,7 @@ class JGitConnection implements GitConnection {
 
     @Override
     public void close() {
-        repository.close();
+        onClose.run();
     }
 
     @Override
@@ -1643,7 +1777,7 @@ class JGitConnection implements GitConnection {
         if (config != null) {
             return config;
         }
-        return config = new JGitConfigImpl(repository);
+        return config = new JGitConfigImpl(repository, onConfigSaved);
     }
 
     @Override
@@ -1659,6 +1793,25 @@ class JGitConnection implements GitConnection {
         return git = new Git(repository);
     }
 
+    /**
+     * Calls the command which modifies the configuration. The configuration is shared by all
+     * connections to the repository, so such commands are serialized.
+     */
+    private <T> T modifyConfig(ConfigModification<T> modification) throws GitAPIException {
+        StoredConfig config = repository.getConfig();
+        synchronized (config) {
+            try {
+                return modification.call();
+            } finally {
+                onConfigSaved.run();
+            }
+        }
+    }
+
+    private interface ConfigModification<T> {
+        T call() throws GitAPIException;
+    }
+
     @Override
     public List<String> listFiles(LsFilesParams params) throws GitException {
         return Arrays.asList(getWorkingDir().list(new FilenameFilter() {
@@ -1839,7 +1992,7 @@ class JGitConnection implements GitConnection {
         }
     }
 
-    private Repository getRepository() {
+    Repository getRepository() {
         return repository;
     }
 
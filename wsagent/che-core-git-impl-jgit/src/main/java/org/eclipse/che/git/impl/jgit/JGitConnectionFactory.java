@@ -11,6 +11,9 @@
  *******************************************************************************/
 package org.eclipse.che.git.impl.jgit;
 
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.GitConnectionFactory;
@@ -21,35 +24,97 @@ import org.eclipse.jgit.internal.storage.file.FileRepository;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.UserAgent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * JGit implementation for GitConnectionFactory
+ *
+ * <p>Repositories are shared between connections to the same working directory, so
+ * configuration, references and pack files are not read again for each connection.
+ * A repository is closed when it is not used by any connection longer than the idle
+ * timeout. When a repository is leased its {@code .git} folder is checked for changes
+ * the repository can't pick up itself: the folder is recreated, the configuration,
+ * packed references or the pack files are changed, e.g. from the terminal. The
+ * repository is reopened in such case, changes of the configuration saved by connections
+ * themselves don't reopen it. A repository which {@code .git} folder is deleted is closed
+ * once it is not used, without waiting for the idle timeout.
  * 
  * @author Tareq Sharafy (tareq.sha@gmail.com)
  */
+@Singleton
 public class JGitConnectionFactory extends GitConnectionFactory {
+    private static final Logger LOG = LoggerFactory.getLogger(JGitConnectionFactory.class);
 
     private static final String USER_AGENT = "git/2.1.0";
 
-    private final CredentialsLoader credentialsLoader;
-    private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
+    /** Interval of checks for deleted {@code .git} folders of cached repositories. */
+    private static final long GIT_DIR_CHECK_INTERVAL_SEC = 5;
+
+    private final CredentialsLoader           credentialsLoader;
+    private final SshKeyProvider              sshKeyProvider;
+    private final GitUserResolver             userResolver;
+    private final long                        idleTimeoutNanos;
+    private final Ticker                      ticker;
+    private final ScheduledExecutorService    evictor;
+    private final Map<Path, CachedRepository> repositories = new ConcurrentHashMap<>();
 
     @Inject
-    public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver) throws GitException {
+    public JGitConnectionFactory(CredentialsLoader credentialsLoader,
+                                 SshKeyProvider sshKeyProvider,
+                                 GitUserResolver userResolver,
+                                 @Named("che.git.repository_cache.idle_timeout_sec") long idleTimeoutSec) throws GitException {
+        this(credentialsLoader,
+             sshKeyProvider,
+             userResolver,
+             idleTimeoutSec,
+             Ticker.systemTicker(),
+             Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("JGitRepositoryEvictor-%d")
+                                                                                  .setDaemon(true)
+                                                                                  .build()));
+    }
+
+    JGitConnectionFactory(CredentialsLoader credentialsLoader,
+                          SshKeyProvider sshKeyProvider,
+                          GitUserResolver userResolver,
+                          long idleTimeoutSec,
+                          Ticker ticker,
+                          ScheduledExecutorService evictor) throws GitException {
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.idleTimeoutNanos = SECONDS.toNanos(idleTimeoutSec);
+        this.ticker = ticker;
+        this.evictor = evictor;
+        if (idleTimeoutSec > 0) {
+            evictor.scheduleWithFixedDelay(this::evictIdle, idleTimeoutSec, idleTimeoutSec, SECONDS);
+            evictor.scheduleWithFixedDelay(this::evictDeleted, GIT_DIR_CHECK_INTERVAL_SEC, GIT_DIR_CHECK_INTERVAL_SEC, SECONDS);
+        }
 
         UserAgent.set(USER_AGENT);
         // Install the all-trusting trust manager
@@ -76,17 +141,188 @@ public class JGitConnectionFactory extends GitConnectionFactory {
         }
     }
 
+    @PreDestroy
+    void stop() {
+        evictor.shutdownNow();
+        repositories.keySet().forEach(this::invalidate);
+    }
+
     @Override
     public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory) throws GitException {
-        Repository gitRepo = createRepository(workDir);
-        JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver);
+        File gitDir = new File(workDir, Constants.DOT_GIT);
+        Object gitDirKey = idleTimeoutNanos > 0 ? getGitDirKey(gitDir) : null;
+        Path key = workDir.toPath().toAbsolutePath().normalize();
+        JGitConnection conn;
+        if (gitDirKey == null) {
+            // repository is not created yet (e.g. is going to be cloned or initialized) or caching is disabled
+            if (idleTimeoutNanos > 0) {
+                // .git folder may be deleted since the repository was cached
+                invalidate(key);
+            }
+            Repository gitRepo = createRepository(gitDir);
+            conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver);
+        } else {
+            CachedRepository cached = acquire(key, gitDir, gitDirKey);
+            conn = new JGitConnection(cached.repository,
+                                      credentialsLoader,
+                                      sshKeyProvider,
+                                      userResolver,
+                                      releaser(key, cached),
+                                      () -> updateConfigStamp(cached));
+        }
         conn.setOutputLineConsumerFactory(outputPublisherFactory);
         return conn;
     }
 
-    private static Repository createRepository(File workDir) throws GitException {
+    /** Returns the number of cached repositories, used or idle. */
+    int getCachedCount() {
+        return repositories.size();
+    }
+
+    private CachedRepository acquire(Path key, File gitDir, Object gitDirKey) throws GitException {
+        long configStamp = getConfigStamp(gitDir);
+        List<Long> metadataStamp = getMetadataStamp(gitDir);
+        GitException[] error = new GitException[1];
+        CachedRepository[] stale = new CachedRepository[1];
+        CachedRepository acquired = repositories.compute(key, (k, cached) -> {
+            if (cached != null && !cached.isUpToDate(gitDirKey, configStamp, metadataStamp)) {
+                // .git folder is recreated or its metadata is changed since the repository was opened
+                synchronized (cached) {
+                    cached.invalidated = true;
+                }
+                stale[0] = cached;
+                cached = null;
+            }
+            if (cached == null) {
+                try {
+                    cached = new CachedRepository(createRepository(gitDir), gitDir, gitDirKey, configStamp, metadataStamp);
+                } catch (GitException e) {
+                    error[0] = e;
+                    return null;
+                }
+            }
+            synchronized (cached) {
+                cached.users++;
+            }
+            return cached;
+        });
+        if (stale[0] != null) {
+            closeIfUnused(stale[0]);
+        }
+        if (error[0] != null) {
+            throw error[0];
+        }
+        return acquired;
+    }
+
+    private Runnable releaser(Path key, CachedRepository cached) {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                synchronized (cached) {
+                    cached.users--;
+                    cached.releasedAt = ticker.read();
+                }
+                if (!cached.gitDir.isDirectory()) {
+                    // .git folder is deleted by the connection, e.g. when clone fails
+                    invalidate(key, cached);
+                }
+                closeIfUnused(cached);
+            }
+        };
+    }
+
+    /** Updates the configuration stamp after the configuration is saved by a connection, so the repository is not reopened. */
+    private static void updateConfigStamp(CachedRepository cached) {
+        long configStamp = getConfigStamp(cached.gitDir);
+        synchronized (cached) {
+            cached.configStamp = configStamp;
+        }
+    }
+
+    private void invalidate(Path key) {
+        CachedRepository cached = repositories.get(key);
+        if (cached != null) {
+            invalidate(key, cached);
+        }
+    }
+
+    private void invalidate(Path key, CachedRepository cached) {
+        if (repositories.remove(key, cached)) {
+            LOG.debug("Invalidating cached repository {}", key);
+            synchronized (cached) {
+                cached.invalidated = true;
+            }
+            closeIfUnused(cached);
+        }
+    }
+
+    private void evictDeleted() {
+        repositories.forEach((key, cached) -> {
+            if (!cached.gitDir.isDirectory()) {
+                invalidate(key, cached);
+            }
+        });
+    }
+
+    private void evictIdle() {
+        long now = ticker.read();
+        repositories.forEach((key, cached) -> {
+            boolean idle;
+            synchronized (cached) {
+                idle = cached.users == 0 && now - cached.releasedAt >= idleTimeoutNanos;
+            }
+            if (idle && repositories.remove(key, cached)) {
+                LOG.debug("Evicting idle repository {}", key);
+                synchronized (cached) {
+                    cached.invalidated = true;
+                }
+                closeIfUnused(cached);
+            }
+        });
+    }
+
+    /** Closes the repository which is removed from the cache once the last connection to it is closed. */
+    private static void closeIfUnused(CachedRepository cached) {
+        synchronized (cached) {
+            if (!cached.invalidated || cached.users > 0 || cached.closed) {
+                return;
+            }
+            cached.closed = true;
+        }
+        cached.repository.close();
+    }
+
+    /** Returns the identity of the .git folder which changes when it is recreated, or null if it doesn't exist. */
+    private static Object getGitDirKey(File gitDir) {
         try {
-            return new FileRepository(new File(workDir, Constants.DOT_GIT));
+            BasicFileAttributes attributes = Files.readAttributes(gitDir.toPath(), BasicFileAttributes.class);
+            if (!attributes.isDirectory()) {
+                return null;
+            }
+            return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Returns modification time of the configuration file. */
+    private static long getConfigStamp(File gitDir) {
+        return new File(gitDir, Constants.CONFIG).lastModified();
+    }
+
+    /**
+     * Returns modification times of other files which changes are not picked up by an open repository:
+     * packed references and the pack folder, which is modified when pack files are added or removed.
+     */
+    private static List<Long> getMetadataStamp(File gitDir) {
+        return Arrays.asList(new File(gitDir, Constants.PACKED_REFS).lastModified(),
+                             new File(new File(gitDir, Constants.OBJECTS), "pack").lastModified());
+    }
+
+    private static Repository createRepository(File gitDir) throws GitException {
+        try {
+            return new FileRepository(gitDir);
         } catch (IOException e) {
             throw new GitException(e.getMessage(), e);
         }
@@ -96,4 +332,30 @@ public class JGitConnectionFactory extends GitConnectionFactory {
     public CredentialsLoader getCredentialsLoader() {
         return credentialsLoader;
     }
+
+    /** Repository shared by connections to the same working directory, guarded by its own monitor. */
+    private static class CachedRepository {
+        private final Repository repository;
+        private final File       gitDir;
+        private final Object     gitDirKey;
+        private final List<Long> metadataStamp;
+
+        private long    configStamp;
+        private int     users;
+        private long    releasedAt;
+        private boolean invalidated;
+        private boolean closed;
+
+        private CachedRepository(Repository repository, File gitDir, Object gitDirKey, long configStamp, List<Long> metadataStamp) {
+            this.repository = repository;
+            this.gitDir = gitDir;
+            this.gitDirKey = gitDirKey;
+            this.configStamp = configStamp;
+            this.metadataStamp = metadataStamp;
+        }
+
+        private synchronized boolean isUpToDate(Object gitDirKey, long configStamp, List<Long> metadataStamp) {
+            return this.gitDirKey.equals(gitDirKey) && this.configStamp == configStamp && this.metadataStamp.equals(metadataStamp);
+        }
+    }
 }
@@ -37,7 +37,8 @@ public class GitConnectionFactoryProvider {
                         new JGitConnectionFactory(
                                 mock(CredentialsLoader.class),
                                 mock(SshKeyProvider.class),
-                                resolver
+                                resolver,
+                                60
                         )
                 }
         };
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.base.Ticker;
+import com.google.common.io.Files;
+
+import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.git.CredentialsLoader;
+import org.eclipse.che.api.git.GitUserResolver;
+import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.util.FileUtils;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests for {@link JGitConnectionFactory}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class JGitConnectionFactoryTest {
+    private static final long IDLE_TIMEOUT_SEC = 60;
+
+    @Mock
+    private CredentialsLoader        credentialsLoader;
+    @Mock
+    private SshKeyProvider           sshKeyProvider;
+    @Mock
+    private GitUserResolver          userResolver;
+    @Mock
+    private ScheduledExecutorService evictor;
+
+    private File                  root;
+    private File                  workDir;
+    private FakeTicker            ticker;
+    private JGitConnectionFactory factory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDir();
+        workDir = new File(root, "project");
+        new FileRepository(new File(workDir, Constants.DOT_GIT)).create();
+
+        ticker = new FakeTicker();
+        factory = new JGitConnectionFactory(credentialsLoader, sshKeyProvider, userResolver, IDLE_TIMEOUT_SEC, ticker, evictor);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        factory.stop();
+        FileUtils.delete(root, FileUtils.RECURSIVE | FileUtils.IGNORE_ERRORS);
+    }
+
+    @Test
+    public void shouldShareRepositoryBetweenConnections() throws Exception {
+        JGitConnection first = connect(workDir);
+        JGitConnection second = connect(workDir);
+
+        assertSame(first.getRepository(), second.getRepository());
+        assertEquals(factory.getCachedCount(), 1);
+    }
+
+    @Test
+    public void shouldNotCacheRepositoryWhichDoesNotExistYet() throws Exception {
+        JGitConnection connection = connect(new File(root, "not-cloned-yet"));
+        connection.close();
+
+        assertEquals(factory.getCachedCount(), 0);
+    }
+
+    @Test
+    public void shouldEvictIdleRepository() throws Exception {
+        Runnable eviction = captureEviction();
+        connect(workDir).close();
+
+        ticker.advance(IDLE_TIMEOUT_SEC);
+        eviction.run();
+
+        assertEquals(factory.getCachedCount(), 0);
+    }
+
+    @Test
+    public void shouldNotEvictRepositoryWhichIsInUse() throws Exception {
+        Runnable eviction = captureEviction();
+        JGitConnection used = connect(workDir);
+        connect(workDir).close();
+
+        ticker.advance(IDLE_TIMEOUT_SEC);
+        eviction.run();
+
+        assertEquals(factory.getCachedCount(), 1);
+        assertSame(connect(workDir).getRepository(), used.getRepository());
+    }
+
+    @Test
+    public void shouldNotReleaseRepositoryTwiceWhenConnectionIsClosedTwice() throws Exception {
+        Runnable eviction = captureEviction();
+        connect(workDir);
+        JGitConnection closedTwice = connect(workDir);
+        closedTwice.close();
+        closedTwice.close();
+
+        ticker.advance(IDLE_TIMEOUT_SEC);
+        eviction.run();
+
+        assertEquals(factory.getCachedCount(), 1);
+    }
+
+    @Test
+    public void shouldReopenRepositoryWhenItsConfigurationIsChanged() throws Exception {
+        JGitConnection connection = connect(workDir);
+        File config = new File(workDir, Constants.DOT_GIT + '/' + Constants.CONFIG);
+        config.setLastModified(config.lastModified() + SECONDS.toMillis(10));
+
+        JGitConnection reopened = connect(workDir);
+
+        assertNotSame(reopened.getRepository(), connection.getRepository());
+        assertSame(connect(workDir).getRepository(), reopened.getRepository());
+        assertEquals(factory.getCachedCount(), 1);
+    }
+
+    @Test
+    public void shouldReopenRepositoryWhenPackFilesAreChanged() throws Exception {
+        JGitConnection connection = connect(workDir);
+        File packDir = new File(workDir, Constants.DOT_GIT + '/' + Constants.OBJECTS + "/pack");
+        packDir.setLastModified(packDir.lastModified() + SECONDS.toMillis(10));
+
+        assertNotSame(connect(workDir).getRepository(), connection.getRepository());
+    }
+
+    @Test
+    public void shouldNotReopenRepositoryWhenConfigurationIsSavedByConnection() throws Exception {
+        JGitConnection connection = connect(workDir);
+
+        connection.getConfig().set("user.name", "Che");
+
+        assertSame(connect(workDir).getRepository(), connection.getRepository());
+    }
+
+    @Test
+    public void shouldCloseRepositoryWhenItsGitFolderIsDeleted() throws Exception {
+        connect(workDir).close();
+
+        FileUtils.delete(new File(workDir, Constants.DOT_GIT), FileUtils.RECURSIVE);
+        connect(workDir).close();
+
+        assertEquals(factory.getCachedCount(), 0);
+    }
+
+    @Test
+    public void shouldCloseRepositoryWhenItsGitFolderIsDeletedWhileInUse() throws Exception {
+        JGitConnection connection = connect(workDir);
+
+        FileUtils.delete(new File(workDir, Constants.DOT_GIT), FileUtils.RECURSIVE);
+        connection.close();
+
+        assertEquals(factory.getCachedCount(), 0);
+    }
+
+    private JGitConnection connect(File workDir) throws Exception {
+        return factory.getConnection(workDir, LineConsumerFactory.NULL);
+    }
+
+    private Runnable captureEviction() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(evictor).scheduleWithFixedDelay(captor.capture(), anyLong(), eq(IDLE_TIMEOUT_SEC), eq(SECONDS));
+        return captor.getValue();
+    }
+
+    private static class FakeTicker extends Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long seconds) {
+            nanos += SECONDS.toNanos(seconds);
+        }
+    }
+}
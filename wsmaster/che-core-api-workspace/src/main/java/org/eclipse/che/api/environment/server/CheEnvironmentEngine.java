@@ -11,6 +11,8 @@
 package org.eclipse.che.api.environment.server;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
@@ -34,6 +36,7 @@ import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.util.AbstractLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.MessageConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.BatchingLineConsumer;
 import org.eclipse.che.api.core.util.lineconsumer.ConcurrentCompositeLineConsumer;
 import org.eclipse.che.api.core.util.lineconsumer.ConcurrentFileLineConsumer;
 import org.eclipse.che.api.environment.server.exception.EnvironmentException;
@@ -60,13 +63,16 @@ import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.event.MachineStartTimeEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.slf4j.Logger;
 
@@ -79,16 +85,26 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.DIE;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.OOM;
@@ -108,6 +124,12 @@ public class CheEnvironmentEngine {
     private static final NoOpStartedHandler NO_OP_HANDLER = new NoOpStartedHandler();
     private static final Logger             LOG           = getLogger(CheEnvironmentEngine.class);
 
+    /** Machine logs are written in batches of this size or more often, see {@link MachineProcessManager}. */
+    private static final int  LOG_BATCH_SIZE        = 500;
+    private static final long LOG_FLUSH_INTERVAL_MS = 200;
+    /** Max number of lines of a machine buffered before writing, further lines are dropped. */
+    private static final int  LOG_BUFFER_CAPACITY   = 50_000;
+
     private final Map<String, EnvironmentHolder> environments;
     private final StripedLocks                   stripedLocks;
     private final File                           machineLogsDir;
@@ -124,6 +146,9 @@ public class CheEnvironmentEngine {
     private final ContainerNameGenerator         containerNameGenerator;
     private final AgentRegistry                  agentRegistry;
     private final WorkspaceSharedPool            sharedPool;
+    private final boolean                        parallelStart;
+    private final ExecutorService                machineStartExecutor;
+    private final ScheduledExecutorService       logsFlusher;
 
     private volatile boolean isPreDestroyInvoked;
 
@@ -141,7 +166,13 @@ public class CheEnvironmentEngine {
                                 RecipeDownloader recipeDownloader,
                                 ContainerNameGenerator containerNameGenerator,
                                 AgentRegistry agentRegistry,
-                                WorkspaceSharedPool sharedPool) {
+                                WorkspaceSharedPool sharedPool,
+                                @Named("che.workspace.machines.parallel_start") boolean parallelStart,
+                                @Named("che.workspace.machines.parallel_start.max_machines") int maxParallelMachines) {
+        if (maxParallelMachines < 1) {
+            throw new IllegalArgumentException(format("Value of 'che.workspace.machines.parallel_start.max_machines' must be " +
+                                                      "positive, but it is %d", maxParallelMachines));
+        }
         this.snapshotDao = snapshotDao;
         this.eventService = eventService;
         this.environmentParser = environmentParser;
@@ -161,6 +192,18 @@ public class CheEnvironmentEngine {
                                                 apiEndpoint.substring(apiEndpoint.indexOf(":")) +
                                                 "/recipe/.*$)|(^/recipe/.*$)");
         this.containerNameGenerator = containerNameGenerator;
+        this.parallelStart = parallelStart;
+        // the pool limits the number of machines started in parallel by this server
+        ThreadFactory factory = new ThreadFactoryBuilder().setNameFormat("MachineStarter-%d")
+                                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                                          .setDaemon(true)
+                                                          .build();
+        this.machineStartExecutor = Executors.newFixedThreadPool(maxParallelMachines, factory);
+        this.logsFlusher = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("MachineLogsFlusher-%d")
+                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                          .setDaemon(true)
+                                          .build());
     }
 
     /**
@@ -577,11 +620,19 @@ public class CheEnvironmentEngine {
                   workspaceId,
                   internalEnv);
 
-        List<String> servicesOrder = startStrategy.order(internalEnv);
+        List<List<String>> startLevels;
+        if (parallelStart) {
+            startLevels = startStrategy.orderByLevel(internalEnv);
+        } else {
+            startLevels = startStrategy.order(internalEnv)
+                                       .stream()
+                                       .map(Collections::singletonList)
+                                       .collect(toList());
+        }
 
         normalizeNames(internalEnv);
 
-        EnvironmentHolder environmentHolder = new EnvironmentHolder(servicesOrder,
+        EnvironmentHolder environmentHolder = new EnvironmentHolder(startLevels,
                                                                     internalEnv,
                                                                     envConfig,
                                                                     messageConsumer,
@@ -722,6 +773,10 @@ public class CheEnvironmentEngine {
 
     /**
      * Starts all machine from machine queue of environment.
+     *
+     * <p>Machines are started level by level, a level contains a single machine if machines are started
+     * sequentially, or all the machines which depend on the machines of the previous levels only
+     * if machines are started in parallel.
      */
     private void startEnvironmentQueue(String namespace,
                                        String workspaceId,
@@ -731,11 +786,12 @@ public class CheEnvironmentEngine {
                                        MachineStartedHandler startedHandler)
             throws ServerException,
                    EnvironmentException {
-        // Starting all machines in environment one by one by getting configs
-        // from the corresponding starting queue.
-        // Config will be null only if there are no machines left in the queue
+        // Starting all machines in environment level by level, the start queue
+        // contains machines which are not started yet.
+        // Queue will be null only if environment start was interrupted
         String envName;
         MessageConsumer<MachineLogMessage> envLogger;
+        List<List<String>> startLevels;
         String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
         try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
@@ -744,126 +800,30 @@ public class CheEnvironmentEngine {
             }
             envName = environmentHolder.name;
             envLogger = environmentHolder.logger;
+            startLevels = environmentHolder.startLevels;
         }
 
+        EnvironmentStarter starter = new EnvironmentStarter(namespace,
+                                                            workspaceId,
+                                                            envName,
+                                                            envLogger,
+                                                            creator,
+                                                            devMachineName,
+                                                            networkId,
+                                                            recover,
+                                                            startedHandler);
         try {
             machineProvider.createNetwork(networkId);
 
-            String machineName = queuePeekOrFail(workspaceId);
-            while (machineName != null) {
-                boolean isDev = devMachineName.equals(machineName);
-                // Environment start is failed when any machine start is failed, so if any error
-                // occurs during machine creation then environment start fail is reported and
-                // start resources such as queue and descriptor must be cleaned up
-
-                CheServiceImpl service;
-                @Nullable ExtendedMachine extendedMachine;
-                try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder == null) {
-                        throw new ServerException("Environment start is interrupted.");
-                    }
-                    service = environmentHolder.environment.getServices().get(machineName);
-                    extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
-                }
-                // should not happen
-                if (service == null) {
-                    LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-                              machineName, workspaceId);
-                    throw new ServerException(
-                            format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
-                }
-
-                final String finalMachineName = machineName;
-                // needed to reuse startInstance method and
-                // create machine instances by different implementation-specific providers
-                MachineStarter machineStarter = (machineLogger, machineSource) -> {
-                    CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
-                    return machineProvider.startService(namespace,
-                                                        workspaceId,
-                                                        envName,
-                                                        finalMachineName,
-                                                        isDev,
-                                                        networkId,
-                                                        serviceWithNormalizedSource,
-                                                        machineLogger);
-                };
-
-                MachineImpl machine =
-                        MachineImpl.builder()
-                                   .setConfig(MachineConfigImpl.builder()
-                                                               .setDev(isDev)
-                                                               .setLimits(new MachineLimitsImpl(
-                                                                       bytesToMB(service.getMemLimit())))
-                                                               .setType("docker")
-                                                               .setName(machineName)
-                                                               .setEnvVariables(service.getEnvironment())
-                                                               .build())
-                                   .setId(service.getId())
-                                   .setWorkspaceId(workspaceId)
-                                   .setStatus(MachineStatus.CREATING)
-                                   .setEnvName(envName)
-                                   .setOwner(creator)
-                                   .build();
-
-                checkInterruption(workspaceId, envName);
-                Instance instance = startInstance(recover,
-                                                  envLogger,
-                                                  machine,
-                                                  machineStarter);
-                checkInterruption(workspaceId, envName);
-
-                startedHandler.started(instance, extendedMachine);
-                checkInterruption(workspaceId, envName);
-
-                // Machine destroying is an expensive operation which must be
-                // performed outside of the lock, this section checks if
-                // the environment wasn't stopped while it is starting and sets
-                // polled flag to true if the environment wasn't stopped.
-                // Also polls the proceeded machine configuration from the queue
-                boolean queuePolled = false;
-                try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
-                    ensurePreDestroyIsNotExecuted();
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder != null) {
-                        final Queue<String> queue = environmentHolder.startQueue;
-                        if (queue != null) {
-                            queue.poll();
-                            queuePolled = true;
-                        }
-                    }
+            for (List<String> level : startLevels) {
+                if (queuePeekOrFail(workspaceId) == null) {
+                    break;
                 }
-
-                // If machine config is not polled from the queue
-                // then environment was stopped and newly created machine
-                // must be destroyed
-                if (!queuePolled) {
-                    try {
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-
-                        instance.destroy();
-
-                        removeMachine(workspaceId, instance.getId());
-
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-                    } catch (MachineException e) {
-                        LOG.error(e.getLocalizedMessage(), e);
-                    }
-                    throw new ServerException("Workspace '" + workspaceId +
-                                              "' start interrupted. Workspace stopped before all its machines started");
+                if (level.size() == 1) {
+                    starter.startMachine(level.get(0));
+                } else {
+                    startInParallel(level, starter);
                 }
-
-                machineName = queuePeekOrFail(workspaceId);
             }
         } catch (RuntimeException | ServerException | EnvironmentStartInterruptedException e) {
             boolean interrupted = Thread.interrupted();
@@ -891,6 +851,45 @@ public class CheEnvironmentEngine {
         }
     }
 
+    /**
+     * Starts machines of a level in parallel. When start of any machine fails, starts of
+     * the other machines are interrupted and this method returns once all of them finish,
+     * so the environment can be rolled back.
+     */
+    private void startInParallel(List<String> machineNames, EnvironmentStarter starter) throws ServerException,
+                                                                                             EnvironmentException {
+        ParallelStart parallelStart = new ParallelStart(machineNames.size());
+        for (String machineName : machineNames) {
+            try {
+                machineStartExecutor.execute(ThreadLocalPropagateContext.wrap(
+                        () -> parallelStart.run(() -> starter.startMachine(machineName))));
+            } catch (RejectedExecutionException e) {
+                parallelStart.fail(new ServerException("Machine start is rejected: " + machineName, e));
+                parallelStart.finished.countDown();
+            }
+        }
+
+        try {
+            parallelStart.finished.await();
+        } catch (InterruptedException e) {
+            parallelStart.abort();
+            Uninterruptibles.awaitUninterruptibly(parallelStart.finished);
+            Thread.currentThread().interrupt();
+            throw new EnvironmentStartInterruptedException(starter.workspaceId, starter.envName);
+        }
+
+        Exception failure = parallelStart.getFailure();
+        if (failure != null) {
+            try {
+                throw failure;
+            } catch (ServerException | EnvironmentException | RuntimeException rethrow) {
+                throw rethrow;
+            } catch (Exception wrap) {
+                throw new ServerException(wrap.getMessage(), wrap);
+            }
+        }
+    }
+
     private void checkInterruption(String workspaceId, String envName) throws EnvironmentStartInterruptedException {
         if (Thread.interrupted()) {
             throw new EnvironmentStartInterruptedException(workspaceId, envName);
@@ -1201,6 +1200,8 @@ public class CheEnvironmentEngine {
     @SuppressWarnings("unused")
     void cleanup() {
         isPreDestroyInvoked = true;
+        machineStartExecutor.shutdownNow();
+        logsFlusher.shutdown();
         final java.io.File[] files = machineLogsDir.listFiles();
         if (files != null && files.length > 0) {
             for (java.io.File f : files) {
@@ -1223,8 +1224,12 @@ public class CheEnvironmentEngine {
             }
         };
         try {
-            return new ConcurrentCompositeLineConsumer(new ConcurrentFileLineConsumer(getMachineLogsFile(machineId)),
-                                                       lineConsumer);
+            LineConsumer fileLogger = new ConcurrentFileLineConsumer(getMachineLogsFile(machineId));
+            return new BatchingLineConsumer(new ConcurrentCompositeLineConsumer(fileLogger, lineConsumer),
+                                            logsFlusher,
+                                            LOG_BATCH_SIZE,
+                                            LOG_FLUSH_INTERVAL_MS,
+                                            LOG_BUFFER_CAPACITY);
         } catch (IOException e) {
             throw new MachineException(format("Unable create log file '%s' for machine '%s'.",
                                               e.getLocalizedMessage(),
@@ -1311,6 +1316,7 @@ public class CheEnvironmentEngine {
     }
 
     private static class EnvironmentHolder {
+        final List<List<String>>                 startLevels;
         final Queue<String>                      startQueue;
         final CheServicesEnvironmentImpl         environment;
         final MessageConsumer<MachineLogMessage> logger;
@@ -1321,14 +1327,16 @@ public class CheEnvironmentEngine {
         List<Instance> machines;
         EnvStatus      status;
 
-        EnvironmentHolder(List<String> startQueue,
+        EnvironmentHolder(List<List<String>> startLevels,
                           CheServicesEnvironmentImpl environment,
                           Environment environmentConfig,
                           MessageConsumer<MachineLogMessage> envLogger,
                           EnvStatus envStatus,
                           String name,
                           String networkId) {
-            this.startQueue = new ArrayDeque<>(startQueue);
+            this.startLevels = startLevels;
+            this.startQueue = new ArrayDeque<>();
+            startLevels.forEach(startQueue::addAll);
             this.machines = new CopyOnWriteArrayList<>();
             this.logger = envLogger;
             this.status = envStatus;
@@ -1406,6 +1414,231 @@ public class CheEnvironmentEngine {
         }
     }
 
+    /** Starts machines of an environment, may be used by several threads at once. */
+    private class EnvironmentStarter {
+        final String                             namespace;
+        final String                             workspaceId;
+        final String                             envName;
+        final MessageConsumer<MachineLogMessage> envLogger;
+        final String                             creator;
+        final String                             devMachineName;
+        final String                             networkId;
+        final boolean                            recover;
+        final MachineStartedHandler              startedHandler;
+
+        EnvironmentStarter(String namespace,
+                           String workspaceId,
+                           String envName,
+                           MessageConsumer<MachineLogMessage> envLogger,
+                           String creator,
+                           String devMachineName,
+                           String networkId,
+                           boolean recover,
+                           MachineStartedHandler startedHandler) {
+            this.namespace = namespace;
+            this.workspaceId = workspaceId;
+            this.envName = envName;
+            this.envLogger = envLogger;
+            this.creator = creator;
+            this.devMachineName = devMachineName;
+            this.networkId = networkId;
+            this.recover = recover;
+            this.startedHandler = startedHandler;
+        }
+
+        /** Starts the machine, publishes the time of the start whether it succeeded or not. */
+        void startMachine(String machineName) throws ServerException, EnvironmentException {
+            long startNanos = System.nanoTime();
+            String error = null;
+            try {
+                doStartMachine(machineName);
+            } catch (ServerException | EnvironmentException | RuntimeException e) {
+                error = e.getLocalizedMessage() == null ? e.getClass().getSimpleName() : e.getLocalizedMessage();
+                throw e;
+            } finally {
+                long startTimeMs = NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                LOG.info("Start of machine '{}' in workspace '{}' {} in {} ms",
+                         machineName, workspaceId, error == null ? "succeeded" : "failed", startTimeMs);
+                eventService.publish(new MachineStartTimeEvent(workspaceId, machineName, startTimeMs, error));
+            }
+        }
+
+        private void doStartMachine(String machineName) throws ServerException, EnvironmentException {
+            boolean isDev = devMachineName.equals(machineName);
+            // Environment start is failed when any machine start is failed, so if any error
+            // occurs during machine creation then environment start fail is reported and
+            // start resources such as queue and descriptor must be cleaned up
+
+            CheServiceImpl service;
+            @Nullable ExtendedMachine extendedMachine;
+            try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
+                EnvironmentHolder environmentHolder = environments.get(workspaceId);
+                if (environmentHolder == null) {
+                    throw new ServerException("Environment start is interrupted.");
+                }
+                service = environmentHolder.environment.getServices().get(machineName);
+                extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
+            }
+            // should not happen
+            if (service == null) {
+                LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+                          machineName, workspaceId);
+                throw new ServerException(
+                        format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+            }
+
+            // needed to reuse startInstance method and
+            // create machine instances by different implementation-specific providers
+            MachineStarter machineStarter = (machineLogger, machineSource) -> {
+                CheServiceImpl serviceWithNormalizedSource = normalizeServiceSource(service, machineSource);
+                return machineProvider.startService(namespace,
+                                                    workspaceId,
+                                                    envName,
+                                                    machineName,
+                                                    isDev,
+                                                    networkId,
+                                                    serviceWithNormalizedSource,
+                                                    machineLogger);
+            };
+
+            MachineImpl machine =
+                    MachineImpl.builder()
+                               .setConfig(MachineConfigImpl.builder()
+                                                           .setDev(isDev)
+                                                           .setLimits(new MachineLimitsImpl(
+                                                                   bytesToMB(service.getMemLimit())))
+                                                           .setType("docker")
+                                                           .setName(machineName)
+                                                           .setEnvVariables(service.getEnvironment())
+                                                           .build())
+                               .setId(service.getId())
+                               .setWorkspaceId(workspaceId)
+                               .setStatus(MachineStatus.CREATING)
+                               .setEnvName(envName)
+                               .setOwner(creator)
+                               .build();
+
+            checkInterruption(workspaceId, envName);
+            Instance instance = startInstance(recover,
+                                              envLogger,
+                                              machine,
+                                              machineStarter);
+            checkInterruption(workspaceId, envName);
+
+            startedHandler.started(instance, extendedMachine);
+            checkInterruption(workspaceId, envName);
+
+            // Machine destroying is an expensive operation which must be
+            // performed outside of the lock, this section checks if
+            // the environment wasn't stopped while it is starting and sets
+            // polled flag to true if the environment wasn't stopped.
+            // Also removes the proceeded machine from the queue
+            boolean queuePolled = false;
+            try (@SuppressWarnings("unused") Unlocker u = stripedLocks.writeLock(workspaceId)) {
+                ensurePreDestroyIsNotExecuted();
+                EnvironmentHolder environmentHolder = environments.get(workspaceId);
+                if (environmentHolder != null) {
+                    final Queue<String> queue = environmentHolder.startQueue;
+                    if (queue != null) {
+                        queue.remove(machineName);
+                        queuePolled = true;
+                    }
+                }
+            }
+
+            // If machine is not removed from the queue
+            // then environment was stopped and newly created machine
+            // must be destroyed
+            if (!queuePolled) {
+                try {
+                    eventService.publish(newDto(MachineStatusEvent.class)
+                                                 .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                                                 .withDev(isDev)
+                                                 .withMachineName(machineName)
+                                                 .withMachineId(instance.getId())
+                                                 .withWorkspaceId(workspaceId));
+
+                    instance.destroy();
+
+                    removeMachine(workspaceId, instance.getId());
+
+                    eventService.publish(newDto(MachineStatusEvent.class)
+                                                 .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                                                 .withDev(isDev)
+                                                 .withMachineName(machineName)
+                                                 .withMachineId(instance.getId())
+                                                 .withWorkspaceId(workspaceId));
+                } catch (MachineException e) {
+                    LOG.error(e.getLocalizedMessage(), e);
+                }
+                throw new ServerException("Workspace '" + workspaceId +
+                                          "' start interrupted. Workspace stopped before all its machines started");
+            }
+        }
+    }
+
+    private interface MachineStartAction {
+        void start() throws Exception;
+    }
+
+    /**
+     * Parallel start of machines of a level. The first failure is kept and aborts
+     * the level: machines which are being started are interrupted, machines which
+     * are not started yet are skipped.
+     */
+    private static class ParallelStart {
+        final CountDownLatch finished;
+
+        private final Set<Thread> runners = new HashSet<>();
+
+        private Exception failure;
+        private boolean   aborted;
+
+        ParallelStart(int machines) {
+            this.finished = new CountDownLatch(machines);
+        }
+
+        void run(MachineStartAction action) {
+            try {
+                synchronized (this) {
+                    if (aborted) {
+                        return;
+                    }
+                    runners.add(Thread.currentThread());
+                }
+                try {
+                    action.start();
+                } catch (Exception e) {
+                    fail(e);
+                } finally {
+                    synchronized (this) {
+                        runners.remove(Thread.currentThread());
+                        // clear interruption caused by abort, the thread is reused by the pool
+                        Thread.interrupted();
+                    }
+                }
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        synchronized void fail(Exception e) {
+            if (failure == null) {
+                failure = e;
+            }
+            abort();
+        }
+
+        synchronized void abort() {
+            aborted = true;
+            runners.forEach(Thread::interrupt);
+        }
+
+        synchronized Exception getFailure() {
+            return failure;
+        }
+    }
+
     private static class NoOpStartedHandler implements MachineStartedHandler {
         @Override
         public void started(Instance machine, ExtendedMachine extendedMachine) throws ServerException {}
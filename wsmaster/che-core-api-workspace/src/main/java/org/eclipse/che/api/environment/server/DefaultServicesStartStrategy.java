@@ -16,12 +16,14 @@ import com.google.common.collect.Sets;
 import org.eclipse.che.api.environment.server.model.CheServiceImpl;
 import org.eclipse.che.api.environment.server.model.CheServicesEnvironmentImpl;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
@@ -46,6 +48,23 @@ public class DefaultServicesStartStrategy {
         return sortByWeight(weights);
     }
 
+    /**
+     * Resolves levels of machines in an environment, machines of a level depend on machines
+     * of the previous levels only, so they can be started in parallel once the previous levels are started.
+     *
+     * @throws IllegalArgumentException
+     *         if order of machines can not be calculated
+     */
+    public List<List<String>> orderByLevel(CheServicesEnvironmentImpl composeEnvironment) throws IllegalArgumentException {
+        Map<String, Integer> weights = weightMachines(composeEnvironment.getServices());
+
+        TreeMap<Integer, List<String>> levels = new TreeMap<>();
+        for (String machine : sortByWeight(weights)) {
+            levels.computeIfAbsent(weights.get(machine), weight -> new ArrayList<>()).add(machine);
+        }
+        return new ArrayList<>(levels.values());
+    }
+
     /**
      * Returns mapping of names of machines to its weights in dependency graph.
      *
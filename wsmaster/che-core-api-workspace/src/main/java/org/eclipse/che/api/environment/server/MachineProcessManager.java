@@ -11,6 +11,8 @@
 package org.eclipse.che.api.environment.server;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.BadRequestException;
@@ -20,10 +22,13 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
-import org.eclipse.che.api.core.util.FileLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.api.core.util.WebsocketLineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.BatchingLineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.ConsumerAlreadyClosedException;
+import org.eclipse.che.api.core.util.lineconsumer.IndexedFileLineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.LineIndexedFile;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
@@ -43,8 +48,10 @@ import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
@@ -60,6 +67,15 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 public class MachineProcessManager {
     private static final Logger LOG = LoggerFactory.getLogger(MachineProcessManager.class);
 
+    /** Process output is written to the log file and the output channel in batches of this size or more often. */
+    private static final int  LOG_BATCH_SIZE        = 500;
+    private static final long LOG_FLUSH_INTERVAL_MS = 200;
+    /** Max number of lines of a process buffered before writing, further lines are dropped. */
+    private static final int  LOG_BUFFER_CAPACITY   = 50_000;
+    /** Number of lines between offsets kept in the index of a process log file. */
+    private static final int  LOG_INDEX_INTERVAL    = 1000;
+    private static final long LOG_FOLLOW_WAIT_MS    = 1000;
+
     private final File                 machineLogsDir;
     private final CheEnvironmentEngine environmentEngine;
     private final EventService         eventService;
@@ -67,6 +83,10 @@ public class MachineProcessManager {
     @VisibleForTesting
     final ExecutorService executor;
 
+    private final ScheduledExecutorService     logsFlusher;
+    /** Indexes of process logs, indexes of running processes are referenced by their loggers. */
+    private final Cache<File, LineIndexedFile> processLogs;
+
     @Inject
     public MachineProcessManager(@Named("che.workspace.logs") String machineLogsDir,
                                  EventService eventService,
@@ -80,6 +100,12 @@ public class MachineProcessManager {
                                                                                    LoggingUncaughtExceptionHandler.getInstance())
                                                                            .setDaemon(false)
                                                                            .build());
+        logsFlusher = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("MachineProcessLogsFlusher-%d")
+                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                          .setDaemon(true)
+                                          .build());
+        processLogs = CacheBuilder.newBuilder().softValues().build();
     }
 
     /**
@@ -102,6 +128,20 @@ public class MachineProcessManager {
                                 Command command,
                                 @Nullable String outputChannel)
             throws NotFoundException, MachineException, BadRequestException {
+        return exec(workspaceId, machineId, command, outputChannel, null);
+    }
+
+    /**
+     * Execute a command in machine, lines of the process output are also written to the given listener.
+     *
+     * @see #exec(String, String, Command, String)
+     */
+    public InstanceProcess exec(String workspaceId,
+                                String machineId,
+                                Command command,
+                                @Nullable String outputChannel,
+                                @Nullable LineConsumer outputListener)
+            throws NotFoundException, MachineException, BadRequestException {
         requiredNotNull(machineId, "Machine ID is required");
         requiredNotNull(command, "Command is required");
         requiredNotNull(command.getCommandLine(), "Command line is required");
@@ -112,7 +152,10 @@ public class MachineProcessManager {
         final InstanceProcess instanceProcess = machine.createProcess(command, outputChannel);
         final int pid = instanceProcess.getPid();
 
-        final LineConsumer processLogger = getProcessLogger(machineId, pid, outputChannel);
+        final LineConsumer processLogger = outputListener == null
+                                           ? getProcessLogger(machineId, pid, outputChannel)
+                                           : new CompositeLineConsumer(getProcessLogger(machineId, pid, outputChannel),
+                                                                       outputListener);
 
         executor.execute(ThreadLocalPropagateContext.wrap(() -> {
             try {
@@ -219,13 +262,130 @@ public class MachineProcessManager {
         throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
     }
 
+    /**
+     * Reads a range of lines of process logs.
+     *
+     * @param machineId
+     *         machine id
+     * @param pid
+     *         process id
+     * @param fromLine
+     *         number of the first line to read, starting from 0
+     * @param maxLines
+     *         max number of lines to read
+     * @return read lines, empty if the logs have no lines after the given one
+     * @throws NotFoundException
+     *         if logs of the process are not available
+     * @throws MachineException
+     *         if other error occur
+     */
+    public LineIndexedFile.Lines getProcessLogLines(String machineId, int pid, long fromLine, int maxLines)
+            throws NotFoundException, MachineException {
+        try {
+            return getIndexedProcessLogs(machineId, pid).readLines(fromLine, maxLines);
+        } catch (IOException e) {
+            throw new MachineException(
+                    String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
+        }
+    }
+
+    /**
+     * Reads the last lines of process logs.
+     *
+     * @param machineId
+     *         machine id
+     * @param pid
+     *         process id
+     * @param maxLines
+     *         max number of lines to read
+     * @throws NotFoundException
+     *         if logs of the process are not available
+     * @throws MachineException
+     *         if other error occur
+     */
+    public LineIndexedFile.Lines getProcessLogTail(String machineId, int pid, int maxLines)
+            throws NotFoundException, MachineException {
+        try {
+            return getIndexedProcessLogs(machineId, pid).tail(maxLines);
+        } catch (IOException e) {
+            throw new MachineException(
+                    String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
+        }
+    }
+
+    /**
+     * Passes lines of process logs starting from the given one to the consumer as soon as they are written.
+     * Returns once the process finishes and all its lines are consumed or the consumer is closed.
+     *
+     * @param machineId
+     *         machine id
+     * @param pid
+     *         process id
+     * @param fromLine
+     *         number of the first line to pass, starting from 0
+     * @param consumer
+     *         consumer of lines
+     * @throws NotFoundException
+     *         if logs of the process are not available
+     * @throws MachineException
+     *         if other error occur
+     * @throws InterruptedException
+     *         if the thread is interrupted while waiting for new lines
+     */
+    public void followProcessLogs(String machineId, int pid, long fromLine, LineConsumer consumer)
+            throws NotFoundException, MachineException, InterruptedException {
+        final LineIndexedFile logs = getIndexedProcessLogs(machineId, pid);
+        long nextLine = fromLine;
+        try {
+            for (; ; ) {
+                // all the lines are written before logs are marked complete
+                final boolean complete = logs.isComplete();
+                final LineIndexedFile.Lines lines = logs.readLines(nextLine, LOG_BATCH_SIZE);
+                if (!lines.getLines().isEmpty()) {
+                    consumer.writeLines(lines.getLines());
+                    nextLine = lines.getNextLine();
+                } else if (complete) {
+                    return;
+                } else {
+                    logs.awaitLines(nextLine, LOG_FOLLOW_WAIT_MS);
+                }
+            }
+        } catch (ConsumerAlreadyClosedException ignored) {
+            // client is not interested in logs any more
+        } catch (IOException e) {
+            throw new MachineException(
+                    String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
+        }
+    }
+
+    private LineIndexedFile getIndexedProcessLogs(String machineId, int pid) throws NotFoundException, MachineException {
+        final File processLogsFile = getProcessLogsFile(machineId, pid);
+        if (!processLogsFile.isFile()) {
+            throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
+        }
+        try {
+            // logs of running processes are always in the cache, so logs which are not there are not written any more
+            return processLogs.get(processLogsFile, () -> {
+                final LineIndexedFile logs = new LineIndexedFile(processLogsFile, Charset.defaultCharset(), LOG_INDEX_INTERVAL);
+                logs.complete();
+                return logs;
+            });
+        } catch (ExecutionException e) {
+            throw new MachineException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
     private File getProcessLogsFile(String machineId, int pid) {
         return new File(new File(machineLogsDir, machineId), Integer.toString(pid));
     }
 
-    private FileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
+    private IndexedFileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
+        final File processLogsFile = getProcessLogsFile(machineId, pid);
         try {
-            return new FileLineConsumer(getProcessLogsFile(machineId, pid));
+            final LineIndexedFile logs = new LineIndexedFile(processLogsFile, Charset.defaultCharset(), LOG_INDEX_INTERVAL);
+            final IndexedFileLineConsumer fileLogger = new IndexedFileLineConsumer(logs);
+            processLogs.put(processLogsFile, logs);
+            return fileLogger;
         } catch (IOException e) {
             throw new MachineException(
                     String.format("Unable create log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
@@ -234,7 +394,11 @@ public class MachineProcessManager {
 
     @VisibleForTesting
     LineConsumer getProcessLogger(String machineId, int pid, String outputChannel) throws MachineException {
-        return getLogger(getProcessFileLogger(machineId, pid), outputChannel);
+        return new BatchingLineConsumer(getLogger(getProcessFileLogger(machineId, pid), outputChannel),
+                                        logsFlusher,
+                                        LOG_BATCH_SIZE,
+                                        LOG_FLUSH_INTERVAL_MS,
+                                        LOG_BUFFER_CAPACITY);
     }
 
     private LineConsumer getLogger(LineConsumer fileLogger, String outputChannel) throws MachineException {
@@ -277,6 +441,8 @@ public class MachineProcessManager {
             interrupted = true;
             executor.shutdownNow();
         }
+        // loggers of finished processes flush their lines on close
+        logsFlusher.shutdownNow();
 
         if (interrupted) {
             Thread.currentThread().interrupt();
@@ -12,6 +12,7 @@ package org.eclipse.che.api.workspace.server;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
@@ -20,6 +21,7 @@ import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.AgentKey;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -48,26 +50,33 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -116,6 +125,8 @@ public class WorkspaceRuntimes {
     private final AgentRegistry                       agentRegistry;
     private final SnapshotDao                         snapshotDao;
     private final WorkspaceSharedPool                 sharedPool;
+    private final boolean                             parallelAgentsLaunch;
+    private final ExecutorService                     agentsLaunchExecutor;
 
     private final AtomicBoolean         isShutdown            = new AtomicBoolean(false);
     private final AtomicBoolean         isStartRefused        = new AtomicBoolean(false);
@@ -128,7 +139,8 @@ public class WorkspaceRuntimes {
                              AgentLauncherFactory launcherFactory,
                              AgentRegistry agentRegistry,
                              SnapshotDao snapshotDao,
-                             WorkspaceSharedPool sharedPool) {
+                             WorkspaceSharedPool sharedPool,
+                             @Named("che.workspace.agents.parallel_launch") boolean parallelAgentsLaunch) {
         this(eventsService,
              envEngine,
              agentSorter,
@@ -136,6 +148,7 @@ public class WorkspaceRuntimes {
              agentRegistry,
              snapshotDao,
              sharedPool,
+             parallelAgentsLaunch,
              new ConcurrentHashMap<>());
     }
 
@@ -146,6 +159,7 @@ public class WorkspaceRuntimes {
                              AgentRegistry agentRegistry,
                              SnapshotDao snapshotDao,
                              WorkspaceSharedPool sharedPool,
+                             boolean parallelAgentsLaunch,
                              ConcurrentMap<String, RuntimeState> states) {
         this.eventsService = eventsService;
         this.envEngine = envEngine;
@@ -157,6 +171,16 @@ public class WorkspaceRuntimes {
         this.locks = new StripedLocks(16);
         this.sharedPool = sharedPool;
         this.states = states;
+        this.parallelAgentsLaunch = parallelAgentsLaunch;
+        // agents are launched in this pool, launchers which can't launch agents asynchronously wait
+        // for readiness of agents here, it is separate from the shared pool as the shared pool runs
+        // tasks waiting for launched agents
+        this.agentsLaunchExecutor =
+                Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("AgentsLauncher-%d")
+                                                                        .setUncaughtExceptionHandler(
+                                                                                LoggingUncaughtExceptionHandler.getInstance())
+                                                                        .setDaemon(true)
+                                                                        .build());
     }
 
     /**
@@ -617,6 +641,8 @@ public class WorkspaceRuntimes {
             throw new IllegalStateException("Workspace runtimes service shutdown has been already called");
         }
 
+        agentsLaunchExecutor.shutdownNow();
+
         List<String> idsToStop;
         try (@SuppressWarnings("unused") Unlocker u = locks.writeAllLock()) {
             idsToStop = states.entrySet()
@@ -687,12 +713,14 @@ public class WorkspaceRuntimes {
 
     protected void launchAgents(Instance instance, List<String> agents) throws ServerException {
         try {
-            for (AgentKey agentKey : agentSorter.sort(agents)) {
+            List<AgentKey> agentKeys = agentSorter.sort(agents);
+            if (parallelAgentsLaunch && agentKeys.size() > 1) {
+                launchAgentsInParallel(instance, agentKeys);
+                return;
+            }
+            for (AgentKey agentKey : agentKeys) {
                 if (!Thread.currentThread().isInterrupted()) {
-                    LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
-                    Agent agent = agentRegistry.getAgent(agentKey);
-                    AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
-                    launcher.launch(instance, agent);
+                    launchAgent(instance, agentKey, agentRegistry.getAgent(agentKey));
                 }
             }
         } catch (AgentException e) {
@@ -700,6 +728,76 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /**
+     * Launches agents as a graph of futures, each agent is launched once all
+     * of its dependencies are launched, so independent agents are launched in parallel.
+     * Agents are launched asynchronously, so no thread waits for agents readiness
+     * except the calling one. When launch of any agent fails, launches of the other
+     * agents are cancelled and this method returns once all of them finish.
+     */
+    private void launchAgentsInParallel(Instance instance, List<AgentKey> agentKeys) throws ServerException,
+                                                                                           AgentException {
+        // sorted agents go after their dependencies, so futures of dependencies are already created
+        AgentsLaunch agentsLaunch = new AgentsLaunch();
+        Map<String, CompletableFuture<Void>> launches = new HashMap<>();
+        for (AgentKey agentKey : agentKeys) {
+            Agent agent = agentRegistry.getAgent(agentKey);
+            CompletableFuture<?>[] dependencies = agent.getDependencies()
+                                                       .stream()
+                                                       .map(dependency -> AgentKeyImpl.parse(dependency).getId())
+                                                       .map(launches::get)
+                                                       .filter(Objects::nonNull)
+                                                       .toArray(CompletableFuture[]::new);
+            Callable<CompletableFuture<Void>> launch = ThreadLocalPropagateContext.wrap(
+                    (Callable<CompletableFuture<Void>>)() -> launchAgentAsync(instance, agentKey, agent));
+            launches.put(agentKey.getId(), CompletableFuture.allOf(dependencies)
+                                                            .thenComposeAsync(ignored -> agentsLaunch.run(launch),
+                                                                              agentsLaunchExecutor));
+        }
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(launches.values().toArray(new CompletableFuture[0]));
+        try {
+            all.get();
+        } catch (InterruptedException e) {
+            // environment start is interrupted, stop launching agents the same way as sequential launch does
+            agentsLaunch.abort();
+            awaitUninterruptibly(all);
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            agentsLaunch.fail(e.getCause());
+        }
+
+        Throwable failure = agentsLaunch.getFailure();
+        if (failure instanceof ServerException) {
+            throw (ServerException)failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException)failure;
+        } else if (failure != null) {
+            throw new ServerException(failure.getMessage(), failure);
+        }
+    }
+
+    private void launchAgent(Instance instance, AgentKey agentKey, Agent agent) throws ServerException {
+        LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
+        AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
+        launcher.launch(instance, agent);
+    }
+
+    private CompletableFuture<Void> launchAgentAsync(Instance instance, AgentKey agentKey, Agent agent) {
+        LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
+        AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
+        return launcher.launchAsync(instance, agent);
+    }
+
+    private static void awaitUninterruptibly(Future<?> future) {
+        try {
+            Uninterruptibles.getUninterruptibly(future);
+        } catch (ExecutionException ignored) {
+            // failures of launches are already collected
+        }
+    }
+
     /**
      * Starts the environment publishing all the necessary events.
      * Respects task interruption & stops the workspace if starting task is cancelled.
@@ -1041,6 +1139,78 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /**
+     * Keeps the first failure of agents launched in parallel, threads which are
+     * starting launches and futures of started launches, so the launches can be
+     * interrupted or cancelled once any of them fails.
+     */
+    private static class AgentsLaunch {
+        private final Set<Thread>                  runners  = new HashSet<>();
+        private final Set<CompletableFuture<Void>> launches = new HashSet<>();
+
+        private Throwable failure;
+        private boolean   aborted;
+
+        CompletableFuture<Void> run(Callable<CompletableFuture<Void>> action) {
+            synchronized (this) {
+                if (aborted) {
+                    throw new CancellationException("Agents launch is aborted");
+                }
+                runners.add(Thread.currentThread());
+            }
+            CompletableFuture<Void> launch;
+            try {
+                launch = action.call();
+            } catch (Exception e) {
+                fail(e);
+                // fails futures of dependent agents, so they are not launched
+                throw new CompletionException(e);
+            } finally {
+                synchronized (this) {
+                    runners.remove(Thread.currentThread());
+                    // clear interruption caused by abort, the thread is reused by the pool
+                    Thread.interrupted();
+                }
+            }
+            synchronized (this) {
+                if (aborted) {
+                    launch.cancel(false);
+                } else {
+                    launches.add(launch);
+                }
+            }
+            return launch.whenComplete((ignored, error) -> {
+                synchronized (this) {
+                    launches.remove(launch);
+                }
+                if (error != null) {
+                    fail(error);
+                }
+            });
+        }
+
+        synchronized void fail(Throwable e) {
+            if (e instanceof CompletionException && e.getCause() != null) {
+                e = e.getCause();
+            }
+            if (failure == null && !(e instanceof CancellationException)) {
+                failure = e;
+            }
+            abort();
+        }
+
+        synchronized void abort() {
+            aborted = true;
+            runners.forEach(Thread::interrupt);
+            // cancelled launches remove themselves from the set
+            new ArrayList<>(launches).forEach(launch -> launch.cancel(false));
+        }
+
+        synchronized Throwable getFailure() {
+            return failure;
+        }
+    }
+
     private class MachineAgentsLauncher implements MachineStartedHandler {
         @Override
         public void started(Instance machine, @Nullable ExtendedMachine extendedMachine) throws ServerException {
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.event;
+
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Informs about the time it took to start a machine of an environment
+ * including start of its agents, published whether the start succeeded or failed.
+ */
+public class MachineStartTimeEvent {
+    private final String workspaceId;
+    private final String machineName;
+    private final long   startTimeMs;
+    private final String error;
+
+    public MachineStartTimeEvent(String workspaceId, String machineName, long startTimeMs, @Nullable String error) {
+        this.workspaceId = workspaceId;
+        this.machineName = machineName;
+        this.startTimeMs = startTimeMs;
+        this.error = error;
+    }
+
+    public String getWorkspaceId() {
+        return workspaceId;
+    }
+
+    public String getMachineName() {
+        return machineName;
+    }
+
+    /** Returns the time of the machine start in milliseconds. */
+    public long getStartTimeMs() {
+        return startTimeMs;
+    }
+
+    /** Returns the error message if the machine start failed, or null otherwise. */
+    @Nullable
+    public String getError() {
+        return error;
+    }
+}
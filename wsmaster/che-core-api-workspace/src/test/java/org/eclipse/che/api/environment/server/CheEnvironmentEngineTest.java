@@ -46,6 +46,7 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
+import org.eclipse.che.api.workspace.server.event.MachineStartTimeEvent;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
@@ -70,6 +71,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
@@ -156,7 +161,9 @@ public class CheEnvironmentEngineTest {
                                               recipeDownloader,
                                               containerNameGenerator,
                                               agentRegistry,
-                                              sharedPool));
+                                              sharedPool,
+                                              false,
+                                              1));
 
         when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
         when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
@@ -183,6 +190,27 @@ public class CheEnvironmentEngineTest {
         assertEquals(actualMachines, instances);
     }
 
+    @Test(expectedExceptions = IllegalArgumentException.class,
+          expectedExceptionsMessageRegExp = "Value of 'che.workspace.machines.parallel_start.max_machines' must be positive, but it is 0")
+    public void shouldNotBeCreatedWithNonPositiveNumberOfParallelMachines() throws Exception {
+        new CheEnvironmentEngine(snapshotDao,
+                                 machineInstanceProviders,
+                                 System.getProperty("java.io.tmpdir"),
+                                 DEFAULT_MACHINE_MEM_LIMIT_MB,
+                                 eventService,
+                                 environmentParser,
+                                 new DefaultServicesStartStrategy(),
+                                 machineProvider,
+                                 infrastructureProvisioner,
+                                 API_ENDPOINT,
+                                 recipeDownloader,
+                                 containerNameGenerator,
+                                 agentRegistry,
+                                 sharedPool,
+                                 true,
+                                 0);
+    }
+
     @Test(expectedExceptions = EnvironmentNotRunningException.class,
           expectedExceptionsMessageRegExp = "Environment with ID '.*' is not found")
     public void shouldThrowExceptionOnGetMachinesIfEnvironmentIsNotFound() throws Exception {
@@ -330,6 +358,106 @@ public class CheEnvironmentEngineTest {
         }
     }
 
+    @Test
+    public void shouldStartMachinesWhichDoNotDependOnEachOtherInParallel() throws Exception {
+        // given
+        engine = createParallelEngine();
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        // each machine start waits for the other one, so the start fails if machines are started one by one
+        CyclicBarrier barrier = new CyclicBarrier(env.getMachines().size());
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    barrier.await(10, TimeUnit.SECONDS);
+                    Object[] arguments = invocationOnMock.getArguments();
+                    return spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                     envName,
+                                                                     (CheServiceImpl)arguments[6],
+                                                                     (String)arguments[3],
+                                                                     (boolean)arguments[4])));
+                });
+        when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+        // when
+        List<Instance> machines = engine.start(workspaceId,
+                                               envName,
+                                               env,
+                                               false,
+                                               messageConsumer,
+                                               startedHandler);
+
+        // then
+        assertEquals(machines.size(), 2);
+        verify(startedHandler, times(2)).started(any(Instance.class), any(ExtendedMachine.class));
+        verify(eventService, times(2)).publish(any(MachineStartTimeEvent.class));
+    }
+
+    @Test
+    public void shouldDestroyStartedMachinesWhenParallelStartOfAnotherMachineFails() throws Exception {
+        // given
+        engine = createParallelEngine();
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CountDownLatch devMachineStarted = new CountDownLatch(1);
+        List<Instance> created = new CopyOnWriteArrayList<>();
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    if ("machine2".equals(arguments[3])) {
+                        devMachineStarted.await(10, TimeUnit.SECONDS);
+                        throw new ServerException("start failed");
+                    }
+                    NoOpMachineInstance instance = spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                                             envName,
+                                                                                             (CheServiceImpl)arguments[6],
+                                                                                             (String)arguments[3],
+                                                                                             (boolean)arguments[4])));
+                    created.add(instance);
+                    devMachineStarted.countDown();
+                    return instance;
+                });
+        when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+        // when
+        try {
+            engine.start(workspaceId,
+                         envName,
+                         env,
+                         false,
+                         messageConsumer,
+                         startedHandler);
+            fail("environment must not be running");
+        } catch (ServerException x) {
+            assertEquals(x.getMessage(), "start failed");
+        }
+
+        // then
+        try {
+            engine.getMachines(workspaceId);
+            fail("environment must not be running");
+        } catch (EnvironmentNotRunningException x) {
+            assertEquals(x.getMessage(), format("Environment with ID '%s' is not found", workspaceId));
+        }
+        assertEquals(created.size(), 1);
+        verify(created.get(0)).destroy();
+    }
+
     @Test
     public void shouldSetDefaultRamToMachinesWithoutRamOnEnvironmentStart() throws Exception {
         // given
@@ -1287,6 +1415,25 @@ public class CheEnvironmentEngineTest {
         }
     }
 
+    private CheEnvironmentEngine createParallelEngine() {
+        return spy(new CheEnvironmentEngine(snapshotDao,
+                                            machineInstanceProviders,
+                                            System.getProperty("java.io.tmpdir"),
+                                            DEFAULT_MACHINE_MEM_LIMIT_MB,
+                                            eventService,
+                                            environmentParser,
+                                            new DefaultServicesStartStrategy(),
+                                            machineProvider,
+                                            infrastructureProvisioner,
+                                            API_ENDPOINT,
+                                            recipeDownloader,
+                                            containerNameGenerator,
+                                            agentRegistry,
+                                            sharedPool,
+                                            true,
+                                            2));
+    }
+
     private List<Instance> startEnv() throws Exception {
         EnvironmentImpl env = createEnv();
         CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
@@ -67,6 +67,25 @@ public class DefaultServicesStartStrategyTest {
         assertEquals(actual, expected);
     }
 
+    @Test
+    public void shouldGroupServicesWhichDoNotDependOnEachOtherIntoLevels() throws Exception {
+        // given
+        CheServicesEnvironmentImpl composeEnvironment = new CheServicesEnvironmentImpl();
+        composeEnvironment.getServices().put("app", new CheServiceImpl().withDependsOn(asList("db", "cache")));
+        composeEnvironment.getServices().put("db", new CheServiceImpl().withDependsOn(emptyList()));
+        composeEnvironment.getServices().put("cache", new CheServiceImpl().withDependsOn(emptyList()));
+        composeEnvironment.getServices().put("dev-machine", new CheServiceImpl().withDependsOn(singletonList("app")));
+
+        // when
+        List<List<String>> levels = strategy.orderByLevel(composeEnvironment);
+
+        // then
+        assertEquals(levels.size(), 3);
+        assertEqualsNoOrder(levels.get(0).toArray(), new String[] {"db", "cache"});
+        assertEquals(levels.get(1), singletonList("app"));
+        assertEquals(levels.get(2), singletonList("dev-machine"));
+    }
+
     @Test
     public void testOrderingOfServicesWithoutDependencies() throws Exception {
         // given
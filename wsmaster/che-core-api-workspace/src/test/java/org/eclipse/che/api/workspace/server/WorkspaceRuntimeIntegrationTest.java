@@ -122,7 +122,9 @@ public class WorkspaceRuntimeIntegrationTest {
                                                                           recipeDownloader,
                                                                           containerNameGenerator,
                                                                           agentRegistry,
-                                                                          sharedPool);
+                                                                          sharedPool,
+                                                                          false,
+                                                                          1);
 
         runtimes = new WorkspaceRuntimes(eventService,
                                          environmentEngine,
@@ -130,7 +132,8 @@ public class WorkspaceRuntimeIntegrationTest {
                                          launcherFactory,
                                          agentRegistry,
                                          snapshotDao,
-                                         sharedPool);
+                                         sharedPool,
+                                         false);
 
         executor = Executors.newFixedThreadPool(
                 1, new ThreadFactoryBuilder().setNameFormat(this.getClass().toString() + "-%d").build());
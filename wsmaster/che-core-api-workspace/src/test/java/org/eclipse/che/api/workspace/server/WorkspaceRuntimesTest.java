@@ -16,7 +16,11 @@ import com.google.common.util.concurrent.Futures;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
+import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.agent.shared.model.AgentKey;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -72,6 +76,7 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutionException;
@@ -81,12 +86,15 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -146,6 +154,7 @@ public class WorkspaceRuntimesTest {
                                          agentRegistry,
                                          snapshotDao,
                                          sharedPool,
+                                         false,
                                          runtimeStates = new ConcurrentHashMap<>());
     }
 
@@ -823,6 +832,129 @@ public class WorkspaceRuntimesTest {
         runtimes.startAsync(newWorkspace("workspace1", "env-name"), "env-name", false);
     }
 
+    @Test
+    public void launchesIndependentAgentsInParallel() throws Exception {
+        runtimes = createRuntimesLaunchingAgentsInParallel();
+        Instance machine = prepareAgents(ImmutableMap.of("terminal", emptyList(),
+                                                         "exec", emptyList(),
+                                                         "ws-agent", asList("terminal", "exec")));
+        // terminal and exec agents are launched only if they are launched at the same time
+        CyclicBarrier independentAgentsBarrier = new CyclicBarrier(2);
+        List<String> launched = new CopyOnWriteArrayList<>();
+        AgentLauncher launcher = mock(AgentLauncher.class);
+        doAnswer(invocation -> {
+            String agentId = ((Agent)invocation.getArguments()[1]).getId();
+            if (!agentId.equals("ws-agent")) {
+                independentAgentsBarrier.await(5, TimeUnit.SECONDS);
+            }
+            launched.add(agentId);
+            return CompletableFuture.completedFuture(null);
+        }).when(launcher).launchAsync(any(Instance.class), any(Agent.class));
+        when(launcherFactory.find(anyString(), anyString())).thenReturn(launcher);
+
+        runtimes.launchAgents(machine, asList("terminal", "exec", "ws-agent"));
+
+        assertEquals(launched.size(), 3);
+        assertEquals(launched.get(2), "ws-agent");
+    }
+
+    @Test
+    public void doesNotLaunchAgentIfItsDependencyFailedToLaunch() throws Exception {
+        runtimes = createRuntimesLaunchingAgentsInParallel();
+        Instance machine = prepareAgents(ImmutableMap.of("terminal", emptyList(),
+                                                         "exec", emptyList(),
+                                                         "ws-agent", singletonList("terminal")));
+        List<String> launched = new CopyOnWriteArrayList<>();
+        AgentLauncher launcher = mock(AgentLauncher.class);
+        doAnswer(invocation -> {
+            String agentId = ((Agent)invocation.getArguments()[1]).getId();
+            CompletableFuture<Void> launch = new CompletableFuture<>();
+            if (agentId.equals("terminal")) {
+                launch.completeExceptionally(new ServerException("terminal launch failed"));
+            } else {
+                launched.add(agentId);
+                launch.complete(null);
+            }
+            return launch;
+        }).when(launcher).launchAsync(any(Instance.class), any(Agent.class));
+        when(launcherFactory.find(anyString(), anyString())).thenReturn(launcher);
+
+        try {
+            runtimes.launchAgents(machine, asList("terminal", "exec", "ws-agent"));
+            fail("Agents launch is expected to fail");
+        } catch (ServerException x) {
+            assertEquals(x.getMessage(), "terminal launch failed");
+        }
+
+        assertFalse(launched.contains("ws-agent"));
+    }
+
+    @Test
+    public void cancelsLaunchesOfOtherAgentsWhenLaunchOfAgentFails() throws Exception {
+        runtimes = createRuntimesLaunchingAgentsInParallel();
+        Instance machine = prepareAgents(ImmutableMap.of("terminal", emptyList(),
+                                                         "exec", emptyList()));
+        // exec agent is never ready, terminal fails once exec launch is started
+        CompletableFuture<Void> execLaunch = new CompletableFuture<>();
+        CountDownLatch execLaunchStarted = new CountDownLatch(1);
+        AgentLauncher launcher = mock(AgentLauncher.class);
+        doAnswer(invocation -> {
+            String agentId = ((Agent)invocation.getArguments()[1]).getId();
+            if (agentId.equals("exec")) {
+                execLaunchStarted.countDown();
+                return execLaunch;
+            }
+            CompletableFuture<Void> launch = new CompletableFuture<>();
+            if (execLaunchStarted.await(5, TimeUnit.SECONDS)) {
+                launch.completeExceptionally(new ServerException("terminal launch failed"));
+            }
+            return launch;
+        }).when(launcher).launchAsync(any(Instance.class), any(Agent.class));
+        when(launcherFactory.find(anyString(), anyString())).thenReturn(launcher);
+
+        try {
+            runtimes.launchAgents(machine, asList("terminal", "exec"));
+            fail("Agents launch is expected to fail");
+        } catch (ServerException x) {
+            assertEquals(x.getMessage(), "terminal launch failed");
+        }
+
+        assertTrue(execLaunch.isCancelled());
+    }
+
+    private WorkspaceRuntimes createRuntimesLaunchingAgentsInParallel() {
+        return new WorkspaceRuntimes(eventService,
+                                     envEngine,
+                                     agentSorter,
+                                     launcherFactory,
+                                     agentRegistry,
+                                     snapshotDao,
+                                     sharedPool,
+                                     true,
+                                     runtimeStates);
+    }
+
+    /** Registers agents with their dependencies, agents must be sorted respecting dependencies. */
+    private Instance prepareAgents(Map<String, List<String>> dependencies) throws Exception {
+        List<AgentKey> agentKeys = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : dependencies.entrySet()) {
+            AgentKey agentKey = AgentKeyImpl.parse(entry.getKey());
+            Agent agent = mock(Agent.class);
+            when(agent.getId()).thenReturn(entry.getKey());
+            when(agent.getDependencies()).thenReturn(entry.getValue());
+            when(agentRegistry.getAgent(agentKey)).thenReturn(agent);
+            agentKeys.add(agentKey);
+        }
+        when(agentSorter.sort(any())).thenReturn(agentKeys);
+
+        Instance machine = mock(Instance.class);
+        MachineConfig config = mock(MachineConfig.class);
+        when(config.getType()).thenReturn("docker");
+        doReturn(config).when(machine).getConfig();
+        when(machine.getWorkspaceId()).thenReturn("workspace");
+        return machine;
+    }
+
     private void captureAsyncTaskAndExecuteSynchronously() throws Exception {
         verify(sharedPool).submit(taskCaptor.capture());
         taskCaptor.getValue().call();